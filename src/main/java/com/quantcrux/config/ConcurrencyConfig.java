@@ -0,0 +1,93 @@
+package com.quantcrux.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+@EnableScheduling
+public class ConcurrencyConfig {
+    
+    @Value("${backtest.executor.pool-size:4}")
+    private int backtestPoolSize;
+    
+    @Value("${backtest.sweep.parallelism:0}")
+    private int sweepParallelism;
+    
+    @Value("${strategy.evaluation.parallelism:0}")
+    private int evaluationParallelism;
+    
+    @Value("${stream.sender-threads:8}")
+    private int streamSenderThreads;
+    
+    @Value("${stream.max-connections:1000}")
+    private int maxStreamConnections;
+    
+    @Value("${market-data.refresh.threads:4}")
+    private int marketDataRefreshThreads;
+    
+    @Value("${market-data.refresh.queue-capacity:1000}")
+    private int marketDataRefreshQueueCapacity;
+    
+    @Bean(name = "backtestExecutor")
+    public ThreadPoolTaskExecutor backtestExecutor() {
+        // Fixed-size pool; BacktestScheduler only hands over as many jobs as there are free workers,
+        // the small queue just absorbs the hand-off race while a worker is finishing up.
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(backtestPoolSize);
+        executor.setMaxPoolSize(backtestPoolSize);
+        executor.setQueueCapacity(backtestPoolSize);
+        executor.setThreadNamePrefix("backtest-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = "backtestSweepPool", destroyMethod = "shutdownNow")
+    public ForkJoinPool backtestSweepPool() {
+        // Sweeps are pure CPU work over in-memory bars; kept off the common pool so they
+        // cannot starve parallel streams elsewhere. 0 means one thread per core.
+        int parallelism = sweepParallelism > 0 ? sweepParallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism);
+    }
+    
+    @Bean(name = "signalEvaluationPool", destroyMethod = "shutdownNow")
+    public ForkJoinPool signalEvaluationPool() {
+        // Batch signal evaluation; separate from the sweep pool so screener scans and
+        // parameter sweeps do not queue behind each other.
+        int parallelism = evaluationParallelism > 0 ? evaluationParallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism);
+    }
+    
+    @Bean(name = "streamExecutor")
+    public ThreadPoolTaskExecutor streamExecutor() {
+        // Writes to event streams; each connection has at most one drain queued or running,
+        // so the queue never needs to hold more than one task per connection.
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamSenderThreads);
+        executor.setMaxPoolSize(streamSenderThreads);
+        executor.setQueueCapacity(maxStreamConnections);
+        executor.setThreadNamePrefix("stream-sender-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = "marketDataRefreshExecutor")
+    public ThreadPoolTaskExecutor marketDataRefreshExecutor() {
+        // Background quote refreshes; mostly waiting on external sources, so sized independently
+        // of the CPU-bound pools. MarketDataService queues at most one refresh per cache key.
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(marketDataRefreshThreads);
+        executor.setMaxPoolSize(marketDataRefreshThreads);
+        executor.setQueueCapacity(marketDataRefreshQueueCapacity);
+        executor.setThreadNamePrefix("market-data-refresh-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
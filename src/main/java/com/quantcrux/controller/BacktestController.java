@@ -2,6 +2,7 @@ package com.quantcrux.controller;
 
 import com.quantcrux.dto.*;
 import com.quantcrux.security.UserPrincipal;
+import com.quantcrux.service.BacktestScheduler;
 import com.quantcrux.service.BacktestService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,7 +11,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -21,11 +21,16 @@ public class BacktestController {
     @Autowired
     private BacktestService backtestService;
     
+    @Autowired
+    private BacktestScheduler backtestScheduler;
+    
     @GetMapping
     @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
-    public ResponseEntity<?> getUserBacktests(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<?> getUserBacktests(@RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String cursor,
+                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            List<BacktestResponse> backtests = backtestService.getUserBacktests(userPrincipal);
+            BacktestPageResponse backtests = backtestService.getUserBacktests(limit, cursor, userPrincipal);
             return ResponseEntity.ok(new ApiResponse(true, "Backtests retrieved successfully", backtests));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -35,9 +40,11 @@ public class BacktestController {
     
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
-    public ResponseEntity<?> getBacktest(@PathVariable UUID id, @AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<?> getBacktest(@PathVariable UUID id,
+                                       @RequestParam(required = false) Integer points,
+                                       @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            BacktestResponse backtest = backtestService.getBacktest(id, userPrincipal);
+            BacktestResponse backtest = backtestService.getBacktest(id, points, userPrincipal);
             return ResponseEntity.ok(new ApiResponse(true, "Backtest retrieved successfully", backtest));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -45,6 +52,18 @@ public class BacktestController {
         }
     }
     
+    @GetMapping("/{id}/progress")
+    @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getBacktestProgress(@PathVariable UUID id, @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            BacktestProgressResponse progress = backtestService.getBacktestProgress(id, userPrincipal);
+            return ResponseEntity.ok(new ApiResponse(true, "Backtest progress retrieved successfully", progress));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve backtest progress: " + e.getMessage()));
+        }
+    }
+    
     @PostMapping
     @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
     public ResponseEntity<?> createBacktest(@Valid @RequestBody BacktestRequest request, 
@@ -58,6 +77,34 @@ public class BacktestController {
         }
     }
     
+    @PostMapping("/sweep")
+    @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<?> runSweep(@Valid @RequestBody BacktestSweepRequest request,
+                                      @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            BacktestSweepResponse sweep = backtestService.runSweep(request, userPrincipal);
+            return ResponseEntity.ok(new ApiResponse(true, "Parameter sweep completed successfully", sweep));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to run parameter sweep: " + e.getMessage()));
+        }
+    }
+    
+    @PutMapping("/{id}/pin")
+    @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<?> setPinned(@PathVariable UUID id,
+                                       @RequestParam(defaultValue = "true") boolean pinned,
+                                       @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            BacktestResponse backtest = backtestService.setPinned(id, pinned, userPrincipal);
+            return ResponseEntity.ok(new ApiResponse(true, pinned ? "Backtest pinned successfully"
+                                                                  : "Backtest unpinned successfully", backtest));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to update backtest pin: " + e.getMessage()));
+        }
+    }
+    
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
     public ResponseEntity<?> deleteBacktest(@PathVariable UUID id, @AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -72,14 +119,28 @@ public class BacktestController {
     
     @GetMapping("/strategy/{strategyId}")
     @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
-    public ResponseEntity<?> getStrategyBacktests(@PathVariable UUID strategyId, 
+    public ResponseEntity<?> getStrategyBacktests(@PathVariable UUID strategyId,
+                                                @RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) String cursor,
                                                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            List<BacktestResponse> backtests = backtestService.getStrategyBacktests(strategyId, userPrincipal);
+            BacktestPageResponse backtests = backtestService.getStrategyBacktests(strategyId, limit, cursor, userPrincipal);
             return ResponseEntity.ok(new ApiResponse(true, "Strategy backtests retrieved successfully", backtests));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Failed to retrieve strategy backtests: " + e.getMessage()));
         }
     }
+    
+    @GetMapping("/executor/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getExecutorStats() {
+        try {
+            BacktestExecutorStats stats = backtestScheduler.getStats();
+            return ResponseEntity.ok(new ApiResponse(true, "Backtest executor stats retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve backtest executor stats: " + e.getMessage()));
+        }
+    }
 }
\ No newline at end of file
@@ -113,6 +113,18 @@ public class MarketDataController {
         }
     }
     
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCacheStats() {
+        try {
+            MarketDataCacheStats stats = marketDataService.getCacheStats();
+            return ResponseEntity.ok(new ApiResponse(true, "Market data cache stats retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve market data cache stats: " + e.getMessage()));
+        }
+    }
+    
     @PostMapping("/refresh-cache")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> refreshCache() {
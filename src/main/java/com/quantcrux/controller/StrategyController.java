@@ -1,9 +1,11 @@
 package com.quantcrux.controller;
 
 import com.quantcrux.dto.*;
-import com.quantcrux.model.StrategyVersion;
 import com.quantcrux.security.UserPrincipal;
+import com.quantcrux.service.CompiledStrategyCache;
+import com.quantcrux.service.LiveSignalEngine;
 import com.quantcrux.service.StrategyService;
+import com.quantcrux.service.StrategyVersionCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,6 +25,15 @@ public class StrategyController {
     @Autowired
     private StrategyService strategyService;
     
+    @Autowired
+    private CompiledStrategyCache compiledStrategyCache;
+    
+    @Autowired
+    private LiveSignalEngine liveSignalEngine;
+    
+    @Autowired
+    private StrategyVersionCache strategyVersionCache;
+    
     @GetMapping
     @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
     public ResponseEntity<?> getUserStrategies(@AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -97,15 +109,69 @@ public class StrategyController {
         }
     }
     
+    @PostMapping("/evaluate/batch")
+    @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<?> evaluateBatch(@Valid @RequestBody BatchSignalEvaluationRequest request,
+                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            BatchSignalEvaluationResponse evaluation = strategyService.evaluateBatch(request, userPrincipal);
+            return ResponseEntity.ok(new ApiResponse(true, "Batch evaluation completed successfully", evaluation));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to evaluate batch: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/{id}/versions")
     @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
-    public ResponseEntity<?> getStrategyVersions(@PathVariable UUID id, @AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<?> getStrategyVersions(@PathVariable UUID id,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            List<StrategyVersion> versions = strategyService.getStrategyVersions(id, userPrincipal);
+            StrategyVersionPageResponse versions = strategyService.getStrategyVersions(id, limit, cursor, userPrincipal);
             return ResponseEntity.ok(new ApiResponse(true, "Strategy versions retrieved successfully", versions));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Failed to retrieve strategy versions: " + e.getMessage()));
         }
     }
+    
+    @GetMapping("/{id}/versions/{versionNumber}")
+    @PreAuthorize("hasRole('RESEARCHER') or hasRole('PORTFOLIO_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getStrategyVersion(@PathVariable UUID id, @PathVariable Integer versionNumber,
+                                                @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            StrategyVersionResponse version = strategyService.getStrategyVersion(id, versionNumber, userPrincipal);
+            return ResponseEntity.ok(new ApiResponse(true, "Strategy version retrieved successfully", version));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve strategy version: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCompiledStrategyCacheStats() {
+        try {
+            List<CacheStats> stats = new ArrayList<>(compiledStrategyCache.getStats());
+            stats.add(strategyVersionCache.getStats());
+            return ResponseEntity.ok(new ApiResponse(true, "Strategy cache stats retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve strategy cache stats: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/live/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getLiveSignalEngineStats() {
+        try {
+            LiveSignalEngineStats stats = liveSignalEngine.getStats();
+            return ResponseEntity.ok(new ApiResponse(true, "Live signal engine stats retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve live signal engine stats: " + e.getMessage()));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.quantcrux.controller;
+
+import com.quantcrux.dto.ApiResponse;
+import com.quantcrux.dto.StreamStats;
+import com.quantcrux.security.UserPrincipal;
+import com.quantcrux.service.SignalStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/stream")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class StreamController {
+    
+    @Autowired
+    private SignalStreamService signalStreamService;
+    
+    /**
+     * Server-sent events: {@code price} with a MarketDataResponse for each watched symbol,
+     * {@code signal} with a StrategySignalUpdate for each watched strategy.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('CLIENT') or hasRole('PORTFOLIO_MANAGER') or hasRole('RESEARCHER') or hasRole('ADMIN')")
+    public SseEmitter openStream(@RequestParam(required = false) List<String> symbols,
+                                 @RequestParam(required = false) List<UUID> strategyIds,
+                                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            return signalStreamService.open(symbols, strategyIds, userPrincipal);
+        } catch (Exception e) {
+            // The response is already an event stream; report the failure as its only event
+            SseEmitter emitter = new SseEmitter();
+            try {
+                emitter.send(SseEmitter.event().name("error")
+                        .data(new ApiResponse(false, "Failed to open stream: " + e.getMessage())));
+            } catch (IOException ignored) {
+                // Client already gone
+            }
+            emitter.complete();
+            return emitter;
+        }
+    }
+    
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getStreamStats() {
+        try {
+            StreamStats stats = signalStreamService.getStats();
+            return ResponseEntity.ok(new ApiResponse(true, "Stream stats retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to retrieve stream stats: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.quantcrux.dto;
+
+public class BacktestExecutorStats {
+    
+    // Worker pool
+    private Integer poolSize;
+    private Integer activeWorkers;
+    private Integer maxPerUser;
+    private Integer lowPriorityWorkers;
+    private Integer maxLowPriorityWorkers;
+    
+    // Queue
+    private Long pendingJobs;
+    private Long runningJobs;
+    
+    // Throughput since startup
+    private Long submittedJobs;
+    private Long completedJobs;
+    private Long failedJobs;
+    private Long recoveredJobs;
+    private Double avgRunMillis;
+    
+    // JDBC connection pool
+    private Integer dbPoolActive;
+    private Integer dbPoolIdle;
+    private Integer dbPoolTotal;
+    private Integer dbPoolWaiting;
+    
+    // Bar series reused across runs of the same range
+    private CacheStats barCache;
+    
+    // Constructors
+    public BacktestExecutorStats() {}
+    
+    // Getters and Setters
+    public Integer getPoolSize() { return poolSize; }
+    public void setPoolSize(Integer poolSize) { this.poolSize = poolSize; }
+    
+    public Integer getActiveWorkers() { return activeWorkers; }
+    public void setActiveWorkers(Integer activeWorkers) { this.activeWorkers = activeWorkers; }
+    
+    public Integer getMaxPerUser() { return maxPerUser; }
+    public void setMaxPerUser(Integer maxPerUser) { this.maxPerUser = maxPerUser; }
+    
+    public Integer getLowPriorityWorkers() { return lowPriorityWorkers; }
+    public void setLowPriorityWorkers(Integer lowPriorityWorkers) { this.lowPriorityWorkers = lowPriorityWorkers; }
+    
+    public Integer getMaxLowPriorityWorkers() { return maxLowPriorityWorkers; }
+    public void setMaxLowPriorityWorkers(Integer maxLowPriorityWorkers) { this.maxLowPriorityWorkers = maxLowPriorityWorkers; }
+    
+    public Long getPendingJobs() { return pendingJobs; }
+    public void setPendingJobs(Long pendingJobs) { this.pendingJobs = pendingJobs; }
+    
+    public Long getRunningJobs() { return runningJobs; }
+    public void setRunningJobs(Long runningJobs) { this.runningJobs = runningJobs; }
+    
+    public Long getSubmittedJobs() { return submittedJobs; }
+    public void setSubmittedJobs(Long submittedJobs) { this.submittedJobs = submittedJobs; }
+    
+    public Long getCompletedJobs() { return completedJobs; }
+    public void setCompletedJobs(Long completedJobs) { this.completedJobs = completedJobs; }
+    
+    public Long getFailedJobs() { return failedJobs; }
+    public void setFailedJobs(Long failedJobs) { this.failedJobs = failedJobs; }
+    
+    public Long getRecoveredJobs() { return recoveredJobs; }
+    public void setRecoveredJobs(Long recoveredJobs) { this.recoveredJobs = recoveredJobs; }
+    
+    public Double getAvgRunMillis() { return avgRunMillis; }
+    public void setAvgRunMillis(Double avgRunMillis) { this.avgRunMillis = avgRunMillis; }
+    
+    public Integer getDbPoolActive() { return dbPoolActive; }
+    public void setDbPoolActive(Integer dbPoolActive) { this.dbPoolActive = dbPoolActive; }
+    
+    public Integer getDbPoolIdle() { return dbPoolIdle; }
+    public void setDbPoolIdle(Integer dbPoolIdle) { this.dbPoolIdle = dbPoolIdle; }
+    
+    public Integer getDbPoolTotal() { return dbPoolTotal; }
+    public void setDbPoolTotal(Integer dbPoolTotal) { this.dbPoolTotal = dbPoolTotal; }
+    
+    public Integer getDbPoolWaiting() { return dbPoolWaiting; }
+    public void setDbPoolWaiting(Integer dbPoolWaiting) { this.dbPoolWaiting = dbPoolWaiting; }
+    
+    public CacheStats getBarCache() { return barCache; }
+    public void setBarCache(CacheStats barCache) { this.barCache = barCache; }
+}
@@ -0,0 +1,32 @@
+package com.quantcrux.dto;
+
+import java.util.List;
+
+public class BacktestPageResponse {
+    
+    private List<BacktestSummaryResponse> items;
+    
+    // Opaque position after the last item; pass back as ?cursor= for the next page
+    private String nextCursor;
+    
+    private boolean hasMore;
+    
+    // Constructors
+    public BacktestPageResponse() {}
+    
+    public BacktestPageResponse(List<BacktestSummaryResponse> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters and Setters
+    public List<BacktestSummaryResponse> getItems() { return items; }
+    public void setItems(List<BacktestSummaryResponse> items) { this.items = items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,31 @@
+package com.quantcrux.dto;
+
+import com.quantcrux.model.BacktestStatus;
+
+import java.util.UUID;
+
+public class BacktestProgressResponse {
+    
+    private UUID backtestId;
+    private BacktestStatus status;
+    private Integer progress;
+    
+    // Constructors
+    public BacktestProgressResponse() {}
+    
+    public BacktestProgressResponse(UUID backtestId, BacktestStatus status, Integer progress) {
+        this.backtestId = backtestId;
+        this.status = status;
+        this.progress = progress;
+    }
+    
+    // Getters and Setters
+    public UUID getBacktestId() { return backtestId; }
+    public void setBacktestId(UUID backtestId) { this.backtestId = backtestId; }
+    
+    public BacktestStatus getStatus() { return status; }
+    public void setStatus(BacktestStatus status) { this.status = status; }
+    
+    public Integer getProgress() { return progress; }
+    public void setProgress(Integer progress) { this.progress = progress; }
+}
@@ -1,8 +1,10 @@
 package com.quantcrux.dto;
 
+import com.quantcrux.model.BacktestPriority;
 import com.quantcrux.model.BacktestStatus;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,7 +20,7 @@ public class BacktestRequest {
     @NotBlank
     private String name;
     
-    @NotBlank
+    // Required unless a portfolio is given
     private String symbol;
     
     private String timeframe = "1d";
@@ -29,6 +31,8 @@ public class BacktestRequest {
     @NotNull
     private LocalDate endDate;
     
+    @NotNull
+    @Positive
     private BigDecimal initialCapital = BigDecimal.valueOf(100000.00);
     
     private BigDecimal commissionRate = BigDecimal.valueOf(0.001);
@@ -42,8 +46,16 @@ public class BacktestRequest {
     
     private Boolean walkForwardEnabled = false;
     
+    private WalkForwardConfig walkForward;
+    
+    private PortfolioBacktestConfig portfolio;
+    
     private String benchmarkSymbol;
     
+    private BacktestPriority priority = BacktestPriority.NORMAL;
+    
+    private Boolean pinned = false;
+    
     // Constructors
     public BacktestRequest() {}
     
@@ -95,6 +107,18 @@ public class BacktestRequest {
     public Boolean getWalkForwardEnabled() { return walkForwardEnabled; }
     public void setWalkForwardEnabled(Boolean walkForwardEnabled) { this.walkForwardEnabled = walkForwardEnabled; }
     
+    public WalkForwardConfig getWalkForward() { return walkForward; }
+    public void setWalkForward(WalkForwardConfig walkForward) { this.walkForward = walkForward; }
+    
+    public PortfolioBacktestConfig getPortfolio() { return portfolio; }
+    public void setPortfolio(PortfolioBacktestConfig portfolio) { this.portfolio = portfolio; }
+    
     public String getBenchmarkSymbol() { return benchmarkSymbol; }
     public void setBenchmarkSymbol(String benchmarkSymbol) { this.benchmarkSymbol = benchmarkSymbol; }
+    
+    public BacktestPriority getPriority() { return priority; }
+    public void setPriority(BacktestPriority priority) { this.priority = priority; }
+    
+    public Boolean getPinned() { return pinned; }
+    public void setPinned(Boolean pinned) { this.pinned = pinned; }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class BacktestResponse {
@@ -23,6 +24,11 @@ public class BacktestResponse {
     private Integer progress;
     private String errorMessage;
     
+    // Dependency tracking
+    private Integer strategyVersionNumber;
+    private Boolean pinned;
+    private UUID sourceBacktestId;
+    
     // Results summary
     private BigDecimal finalCapital;
     private BigDecimal totalReturn;
@@ -46,6 +52,10 @@ public class BacktestResponse {
     private List<DrawdownPoint> drawdownCurve;
     private Object monthlyReturns;
     
+    // Walk-forward results
+    private Boolean walkForwardEnabled;
+    private List<WalkForwardWindow> walkForwardWindows;
+    
     private String ownerName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -88,6 +98,59 @@ public class BacktestResponse {
         public void setDrawdown(BigDecimal drawdown) { this.drawdown = drawdown; }
     }
     
+    public static class WalkForwardWindow {
+        private Integer windowNumber;
+        private LocalDate inSampleStart;
+        private LocalDate inSampleEnd;
+        private LocalDate outOfSampleStart;
+        private LocalDate outOfSampleEnd;
+        private Map<String, BigDecimal> parameters;
+        private Integer combinationsTested;
+        private BigDecimal inSampleReturn;
+        private BigDecimal outOfSampleReturn;
+        private Integer outOfSampleTrades;
+        private BigDecimal outOfSampleWinRate;
+        private BigDecimal outOfSampleMaxDrawdown;
+        
+        public WalkForwardWindow() {}
+        
+        public Integer getWindowNumber() { return windowNumber; }
+        public void setWindowNumber(Integer windowNumber) { this.windowNumber = windowNumber; }
+        
+        public LocalDate getInSampleStart() { return inSampleStart; }
+        public void setInSampleStart(LocalDate inSampleStart) { this.inSampleStart = inSampleStart; }
+        
+        public LocalDate getInSampleEnd() { return inSampleEnd; }
+        public void setInSampleEnd(LocalDate inSampleEnd) { this.inSampleEnd = inSampleEnd; }
+        
+        public LocalDate getOutOfSampleStart() { return outOfSampleStart; }
+        public void setOutOfSampleStart(LocalDate outOfSampleStart) { this.outOfSampleStart = outOfSampleStart; }
+        
+        public LocalDate getOutOfSampleEnd() { return outOfSampleEnd; }
+        public void setOutOfSampleEnd(LocalDate outOfSampleEnd) { this.outOfSampleEnd = outOfSampleEnd; }
+        
+        public Map<String, BigDecimal> getParameters() { return parameters; }
+        public void setParameters(Map<String, BigDecimal> parameters) { this.parameters = parameters; }
+        
+        public Integer getCombinationsTested() { return combinationsTested; }
+        public void setCombinationsTested(Integer combinationsTested) { this.combinationsTested = combinationsTested; }
+        
+        public BigDecimal getInSampleReturn() { return inSampleReturn; }
+        public void setInSampleReturn(BigDecimal inSampleReturn) { this.inSampleReturn = inSampleReturn; }
+        
+        public BigDecimal getOutOfSampleReturn() { return outOfSampleReturn; }
+        public void setOutOfSampleReturn(BigDecimal outOfSampleReturn) { this.outOfSampleReturn = outOfSampleReturn; }
+        
+        public Integer getOutOfSampleTrades() { return outOfSampleTrades; }
+        public void setOutOfSampleTrades(Integer outOfSampleTrades) { this.outOfSampleTrades = outOfSampleTrades; }
+        
+        public BigDecimal getOutOfSampleWinRate() { return outOfSampleWinRate; }
+        public void setOutOfSampleWinRate(BigDecimal outOfSampleWinRate) { this.outOfSampleWinRate = outOfSampleWinRate; }
+        
+        public BigDecimal getOutOfSampleMaxDrawdown() { return outOfSampleMaxDrawdown; }
+        public void setOutOfSampleMaxDrawdown(BigDecimal outOfSampleMaxDrawdown) { this.outOfSampleMaxDrawdown = outOfSampleMaxDrawdown; }
+    }
+    
     // Constructors
     public BacktestResponse() {}
     
@@ -128,6 +191,15 @@ public class BacktestResponse {
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
     
+    public Integer getStrategyVersionNumber() { return strategyVersionNumber; }
+    public void setStrategyVersionNumber(Integer strategyVersionNumber) { this.strategyVersionNumber = strategyVersionNumber; }
+    
+    public Boolean getPinned() { return pinned; }
+    public void setPinned(Boolean pinned) { this.pinned = pinned; }
+    
+    public UUID getSourceBacktestId() { return sourceBacktestId; }
+    public void setSourceBacktestId(UUID sourceBacktestId) { this.sourceBacktestId = sourceBacktestId; }
+    
     public BigDecimal getFinalCapital() { return finalCapital; }
     public void setFinalCapital(BigDecimal finalCapital) { this.finalCapital = finalCapital; }
     
@@ -179,6 +251,12 @@ public class BacktestResponse {
     public Object getMonthlyReturns() { return monthlyReturns; }
     public void setMonthlyReturns(Object monthlyReturns) { this.monthlyReturns = monthlyReturns; }
     
+    public Boolean getWalkForwardEnabled() { return walkForwardEnabled; }
+    public void setWalkForwardEnabled(Boolean walkForwardEnabled) { this.walkForwardEnabled = walkForwardEnabled; }
+    
+    public List<WalkForwardWindow> getWalkForwardWindows() { return walkForwardWindows; }
+    public void setWalkForwardWindows(List<WalkForwardWindow> walkForwardWindows) { this.walkForwardWindows = walkForwardWindows; }
+    
     public String getOwnerName() { return ownerName; }
     public void setOwnerName(String ownerName) { this.ownerName = ownerName; }
     
@@ -0,0 +1,143 @@
+package com.quantcrux.dto;
+
+import com.quantcrux.model.BacktestStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the backtest list views. Filled straight from a JPQL constructor expression,
+ * so it only carries scalar columns (no curves, no entity associations).
+ */
+public class BacktestSummaryResponse {
+    
+    private UUID id;
+    private String name;
+    private UUID strategyId;
+    private String strategyName;
+    private String symbol;
+    private String timeframe;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal initialCapital;
+    private BacktestStatus status;
+    private Integer progress;
+    
+    // Headline results
+    private BigDecimal finalCapital;
+    private BigDecimal totalReturn;
+    private Integer totalTrades;
+    private BigDecimal sharpeRatio;
+    private BigDecimal maxDrawdown;
+    private BigDecimal winRate;
+    
+    private Integer strategyVersionNumber;
+    private Boolean pinned;
+    
+    private String ownerName;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    
+    // Constructors
+    public BacktestSummaryResponse() {}
+    
+    public BacktestSummaryResponse(UUID id, String name, UUID strategyId, String strategyName, String symbol,
+                                   String timeframe, LocalDate startDate, LocalDate endDate, BigDecimal initialCapital,
+                                   BacktestStatus status, Integer progress, BigDecimal finalCapital,
+                                   BigDecimal totalReturn, Integer totalTrades, BigDecimal sharpeRatio,
+                                   BigDecimal maxDrawdown, BigDecimal winRate, Integer strategyVersionNumber,
+                                   Boolean pinned, String ownerName,
+                                   LocalDateTime createdAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.name = name;
+        this.strategyId = strategyId;
+        this.strategyName = strategyName;
+        this.symbol = symbol;
+        this.timeframe = timeframe;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.initialCapital = initialCapital;
+        this.status = status;
+        this.progress = progress;
+        this.finalCapital = finalCapital;
+        this.totalReturn = totalReturn;
+        this.totalTrades = totalTrades;
+        this.sharpeRatio = sharpeRatio;
+        this.maxDrawdown = maxDrawdown;
+        this.winRate = winRate;
+        this.strategyVersionNumber = strategyVersionNumber;
+        this.pinned = pinned;
+        this.ownerName = ownerName;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+    }
+    
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public UUID getStrategyId() { return strategyId; }
+    public void setStrategyId(UUID strategyId) { this.strategyId = strategyId; }
+    
+    public String getStrategyName() { return strategyName; }
+    public void setStrategyName(String strategyName) { this.strategyName = strategyName; }
+    
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    
+    public String getTimeframe() { return timeframe; }
+    public void setTimeframe(String timeframe) { this.timeframe = timeframe; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public BigDecimal getInitialCapital() { return initialCapital; }
+    public void setInitialCapital(BigDecimal initialCapital) { this.initialCapital = initialCapital; }
+    
+    public BacktestStatus getStatus() { return status; }
+    public void setStatus(BacktestStatus status) { this.status = status; }
+    
+    public Integer getProgress() { return progress; }
+    public void setProgress(Integer progress) { this.progress = progress; }
+    
+    public BigDecimal getFinalCapital() { return finalCapital; }
+    public void setFinalCapital(BigDecimal finalCapital) { this.finalCapital = finalCapital; }
+    
+    public BigDecimal getTotalReturn() { return totalReturn; }
+    public void setTotalReturn(BigDecimal totalReturn) { this.totalReturn = totalReturn; }
+    
+    public Integer getTotalTrades() { return totalTrades; }
+    public void setTotalTrades(Integer totalTrades) { this.totalTrades = totalTrades; }
+    
+    public BigDecimal getSharpeRatio() { return sharpeRatio; }
+    public void setSharpeRatio(BigDecimal sharpeRatio) { this.sharpeRatio = sharpeRatio; }
+    
+    public BigDecimal getMaxDrawdown() { return maxDrawdown; }
+    public void setMaxDrawdown(BigDecimal maxDrawdown) { this.maxDrawdown = maxDrawdown; }
+    
+    public BigDecimal getWinRate() { return winRate; }
+    public void setWinRate(BigDecimal winRate) { this.winRate = winRate; }
+    
+    public Integer getStrategyVersionNumber() { return strategyVersionNumber; }
+    public void setStrategyVersionNumber(Integer strategyVersionNumber) { this.strategyVersionNumber = strategyVersionNumber; }
+    
+    public Boolean getPinned() { return pinned; }
+    public void setPinned(Boolean pinned) { this.pinned = pinned; }
+    
+    public String getOwnerName() { return ownerName; }
+    public void setOwnerName(String ownerName) { this.ownerName = ownerName; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,112 @@
+package com.quantcrux.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class BacktestSweepRequest {
+    
+    @NotNull
+    private UUID strategyId;
+    
+    @NotBlank
+    private String symbol;
+    
+    private String timeframe = "1d";
+    
+    @NotNull
+    private LocalDate startDate;
+    
+    @NotNull
+    private LocalDate endDate;
+    
+    @NotNull
+    @Positive
+    private BigDecimal initialCapital = BigDecimal.valueOf(100000.00);
+    
+    private BigDecimal commissionRate = BigDecimal.valueOf(0.001);
+    
+    private BigDecimal slippageRate = BigDecimal.valueOf(0.0005);
+    
+    // Parameter name -> values to try
+    @NotEmpty
+    private Map<String, ParameterRange> parameters = new LinkedHashMap<>();
+    
+    // Result ranking
+    private String rankBy = "totalReturn";
+    
+    private Integer topN = 50;
+    
+    // Nested class for a single parameter axis
+    public static class ParameterRange {
+        private BigDecimal start;
+        private BigDecimal end;
+        private BigDecimal step;
+        private List<BigDecimal> values; // Explicit values take precedence over start/end/step
+        
+        public ParameterRange() {}
+        
+        public ParameterRange(BigDecimal start, BigDecimal end, BigDecimal step) {
+            this.start = start;
+            this.end = end;
+            this.step = step;
+        }
+        
+        public BigDecimal getStart() { return start; }
+        public void setStart(BigDecimal start) { this.start = start; }
+        
+        public BigDecimal getEnd() { return end; }
+        public void setEnd(BigDecimal end) { this.end = end; }
+        
+        public BigDecimal getStep() { return step; }
+        public void setStep(BigDecimal step) { this.step = step; }
+        
+        public List<BigDecimal> getValues() { return values; }
+        public void setValues(List<BigDecimal> values) { this.values = values; }
+    }
+    
+    // Constructors
+    public BacktestSweepRequest() {}
+    
+    // Getters and Setters
+    public UUID getStrategyId() { return strategyId; }
+    public void setStrategyId(UUID strategyId) { this.strategyId = strategyId; }
+    
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    
+    public String getTimeframe() { return timeframe; }
+    public void setTimeframe(String timeframe) { this.timeframe = timeframe; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public BigDecimal getInitialCapital() { return initialCapital; }
+    public void setInitialCapital(BigDecimal initialCapital) { this.initialCapital = initialCapital; }
+    
+    public BigDecimal getCommissionRate() { return commissionRate; }
+    public void setCommissionRate(BigDecimal commissionRate) { this.commissionRate = commissionRate; }
+    
+    public BigDecimal getSlippageRate() { return slippageRate; }
+    public void setSlippageRate(BigDecimal slippageRate) { this.slippageRate = slippageRate; }
+    
+    public Map<String, ParameterRange> getParameters() { return parameters; }
+    public void setParameters(Map<String, ParameterRange> parameters) { this.parameters = parameters; }
+    
+    public String getRankBy() { return rankBy; }
+    public void setRankBy(String rankBy) { this.rankBy = rankBy; }
+    
+    public Integer getTopN() { return topN; }
+    public void setTopN(Integer topN) { this.topN = topN; }
+}
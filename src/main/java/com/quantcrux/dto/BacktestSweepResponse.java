@@ -0,0 +1,88 @@
+package com.quantcrux.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class BacktestSweepResponse {
+    
+    private UUID strategyId;
+    private String strategyName;
+    private String symbol;
+    private String timeframe;
+    private String rankBy;
+    private Integer totalCombinations;
+    private Integer barCount;
+    private Long elapsedMillis;
+    private List<SweepResult> results;
+    
+    // Nested class for one row of the ranked result table
+    public static class SweepResult {
+        private Integer rank;
+        private Map<String, BigDecimal> parameters;
+        private BigDecimal finalCapital;
+        private BigDecimal totalReturn;
+        private Integer totalTrades;
+        private BigDecimal winRate;
+        private BigDecimal maxDrawdown;
+        private BigDecimal sharpeRatio;
+        
+        public SweepResult() {}
+        
+        public Integer getRank() { return rank; }
+        public void setRank(Integer rank) { this.rank = rank; }
+        
+        public Map<String, BigDecimal> getParameters() { return parameters; }
+        public void setParameters(Map<String, BigDecimal> parameters) { this.parameters = parameters; }
+        
+        public BigDecimal getFinalCapital() { return finalCapital; }
+        public void setFinalCapital(BigDecimal finalCapital) { this.finalCapital = finalCapital; }
+        
+        public BigDecimal getTotalReturn() { return totalReturn; }
+        public void setTotalReturn(BigDecimal totalReturn) { this.totalReturn = totalReturn; }
+        
+        public Integer getTotalTrades() { return totalTrades; }
+        public void setTotalTrades(Integer totalTrades) { this.totalTrades = totalTrades; }
+        
+        public BigDecimal getWinRate() { return winRate; }
+        public void setWinRate(BigDecimal winRate) { this.winRate = winRate; }
+        
+        public BigDecimal getMaxDrawdown() { return maxDrawdown; }
+        public void setMaxDrawdown(BigDecimal maxDrawdown) { this.maxDrawdown = maxDrawdown; }
+        
+        public BigDecimal getSharpeRatio() { return sharpeRatio; }
+        public void setSharpeRatio(BigDecimal sharpeRatio) { this.sharpeRatio = sharpeRatio; }
+    }
+    
+    // Constructors
+    public BacktestSweepResponse() {}
+    
+    // Getters and Setters
+    public UUID getStrategyId() { return strategyId; }
+    public void setStrategyId(UUID strategyId) { this.strategyId = strategyId; }
+    
+    public String getStrategyName() { return strategyName; }
+    public void setStrategyName(String strategyName) { this.strategyName = strategyName; }
+    
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    
+    public String getTimeframe() { return timeframe; }
+    public void setTimeframe(String timeframe) { this.timeframe = timeframe; }
+    
+    public String getRankBy() { return rankBy; }
+    public void setRankBy(String rankBy) { this.rankBy = rankBy; }
+    
+    public Integer getTotalCombinations() { return totalCombinations; }
+    public void setTotalCombinations(Integer totalCombinations) { this.totalCombinations = totalCombinations; }
+    
+    public Integer getBarCount() { return barCount; }
+    public void setBarCount(Integer barCount) { this.barCount = barCount; }
+    
+    public Long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(Long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    
+    public List<SweepResult> getResults() { return results; }
+    public void setResults(List<SweepResult> results) { this.results = results; }
+}
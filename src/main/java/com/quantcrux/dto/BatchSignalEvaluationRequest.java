@@ -0,0 +1,37 @@
+package com.quantcrux.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class BatchSignalEvaluationRequest {
+    
+    // Every strategy below is evaluated against every symbol
+    @NotEmpty
+    private List<String> symbols = new ArrayList<>();
+    
+    // Ad-hoc strategy config, saved strategies, or both
+    private String configJson;
+    
+    private List<UUID> strategyIds = new ArrayList<>();
+    
+    private String timeframe = "1m";
+    
+    // Constructors
+    public BatchSignalEvaluationRequest() {}
+    
+    // Getters and Setters
+    public List<String> getSymbols() { return symbols; }
+    public void setSymbols(List<String> symbols) { this.symbols = symbols; }
+    
+    public String getConfigJson() { return configJson; }
+    public void setConfigJson(String configJson) { this.configJson = configJson; }
+    
+    public List<UUID> getStrategyIds() { return strategyIds; }
+    public void setStrategyIds(List<UUID> strategyIds) { this.strategyIds = strategyIds; }
+    
+    public String getTimeframe() { return timeframe; }
+    public void setTimeframe(String timeframe) { this.timeframe = timeframe; }
+}
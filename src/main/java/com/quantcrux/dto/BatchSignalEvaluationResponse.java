@@ -0,0 +1,33 @@
+package com.quantcrux.dto;
+
+import java.util.List;
+
+public class BatchSignalEvaluationResponse {
+    
+    private String timeframe;
+    private Integer symbolCount;
+    private Integer strategyCount;
+    private Long elapsedMillis;
+    
+    // One entry per (strategy, symbol) pair
+    private List<SignalEvaluationResponse> results;
+    
+    // Constructors
+    public BatchSignalEvaluationResponse() {}
+    
+    // Getters and Setters
+    public String getTimeframe() { return timeframe; }
+    public void setTimeframe(String timeframe) { this.timeframe = timeframe; }
+    
+    public Integer getSymbolCount() { return symbolCount; }
+    public void setSymbolCount(Integer symbolCount) { this.symbolCount = symbolCount; }
+    
+    public Integer getStrategyCount() { return strategyCount; }
+    public void setStrategyCount(Integer strategyCount) { this.strategyCount = strategyCount; }
+    
+    public Long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(Long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    
+    public List<SignalEvaluationResponse> getResults() { return results; }
+    public void setResults(List<SignalEvaluationResponse> results) { this.results = results; }
+}
@@ -0,0 +1,53 @@
+package com.quantcrux.dto;
+
+public class CacheStats {
+    
+    private String name;
+    private Integer size;
+    private Integer maxSize;
+    
+    // Summed entry weights; maxWeight is only set on weight-bounded caches
+    private Long weight;
+    private Long maxWeight;
+    
+    // Counters since startup
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Long expirations;
+    private Double hitRate;
+    
+    // Constructors
+    public CacheStats() {}
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+    
+    public Integer getMaxSize() { return maxSize; }
+    public void setMaxSize(Integer maxSize) { this.maxSize = maxSize; }
+    
+    public Long getWeight() { return weight; }
+    public void setWeight(Long weight) { this.weight = weight; }
+    
+    public Long getMaxWeight() { return maxWeight; }
+    public void setMaxWeight(Long maxWeight) { this.maxWeight = maxWeight; }
+    
+    public Long getHits() { return hits; }
+    public void setHits(Long hits) { this.hits = hits; }
+    
+    public Long getMisses() { return misses; }
+    public void setMisses(Long misses) { this.misses = misses; }
+    
+    public Long getEvictions() { return evictions; }
+    public void setEvictions(Long evictions) { this.evictions = evictions; }
+    
+    public Long getExpirations() { return expirations; }
+    public void setExpirations(Long expirations) { this.expirations = expirations; }
+    
+    public Double getHitRate() { return hitRate; }
+    public void setHitRate(Double hitRate) { this.hitRate = hitRate; }
+}
@@ -0,0 +1,51 @@
+package com.quantcrux.dto;
+
+import java.time.LocalDateTime;
+
+public class LiveSignalEngineStats {
+    
+    private Boolean enabled;
+    
+    // Current state
+    private Integer feeds;
+    private Integer strategies;
+    private Integer indicators;
+    
+    // Counters since startup
+    private Long barsProcessed;
+    private Long signalsEmitted;
+    private Long failedPolls;
+    private Long lastPollMillis;
+    private LocalDateTime lastPollAt;
+    
+    // Constructors
+    public LiveSignalEngineStats() {}
+    
+    // Getters and Setters
+    public Boolean getEnabled() { return enabled; }
+    public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+    
+    public Integer getFeeds() { return feeds; }
+    public void setFeeds(Integer feeds) { this.feeds = feeds; }
+    
+    public Integer getStrategies() { return strategies; }
+    public void setStrategies(Integer strategies) { this.strategies = strategies; }
+    
+    public Integer getIndicators() { return indicators; }
+    public void setIndicators(Integer indicators) { this.indicators = indicators; }
+    
+    public Long getBarsProcessed() { return barsProcessed; }
+    public void setBarsProcessed(Long barsProcessed) { this.barsProcessed = barsProcessed; }
+    
+    public Long getSignalsEmitted() { return signalsEmitted; }
+    public void setSignalsEmitted(Long signalsEmitted) { this.signalsEmitted = signalsEmitted; }
+    
+    public Long getFailedPolls() { return failedPolls; }
+    public void setFailedPolls(Long failedPolls) { this.failedPolls = failedPolls; }
+    
+    public Long getLastPollMillis() { return lastPollMillis; }
+    public void setLastPollMillis(Long lastPollMillis) { this.lastPollMillis = lastPollMillis; }
+    
+    public LocalDateTime getLastPollAt() { return lastPollAt; }
+    public void setLastPollAt(LocalDateTime lastPollAt) { this.lastPollAt = lastPollAt; }
+}
@@ -0,0 +1,52 @@
+package com.quantcrux.dto;
+
+public class MarketDataCacheStats {
+    
+    // In-memory tier
+    private CacheStats quoteCache;
+    
+    // External fetches
+    private Integer fetchesInFlight;
+    private Long externalFetches;
+    private Long coalescedFetches;
+    
+    // Stale-while-revalidate
+    private Long staleServed;
+    private Long backgroundRefreshes;
+    private Integer refreshesPending;
+    
+    // Pre-warming
+    private Integer trackedSymbols;
+    private Long prewarmRefreshes;
+    
+    // Constructors
+    public MarketDataCacheStats() {}
+    
+    // Getters and Setters
+    public CacheStats getQuoteCache() { return quoteCache; }
+    public void setQuoteCache(CacheStats quoteCache) { this.quoteCache = quoteCache; }
+    
+    public Integer getFetchesInFlight() { return fetchesInFlight; }
+    public void setFetchesInFlight(Integer fetchesInFlight) { this.fetchesInFlight = fetchesInFlight; }
+    
+    public Long getExternalFetches() { return externalFetches; }
+    public void setExternalFetches(Long externalFetches) { this.externalFetches = externalFetches; }
+    
+    public Long getCoalescedFetches() { return coalescedFetches; }
+    public void setCoalescedFetches(Long coalescedFetches) { this.coalescedFetches = coalescedFetches; }
+    
+    public Long getStaleServed() { return staleServed; }
+    public void setStaleServed(Long staleServed) { this.staleServed = staleServed; }
+    
+    public Long getBackgroundRefreshes() { return backgroundRefreshes; }
+    public void setBackgroundRefreshes(Long backgroundRefreshes) { this.backgroundRefreshes = backgroundRefreshes; }
+    
+    public Integer getRefreshesPending() { return refreshesPending; }
+    public void setRefreshesPending(Integer refreshesPending) { this.refreshesPending = refreshesPending; }
+    
+    public Integer getTrackedSymbols() { return trackedSymbols; }
+    public void setTrackedSymbols(Integer trackedSymbols) { this.trackedSymbols = trackedSymbols; }
+    
+    public Long getPrewarmRefreshes() { return prewarmRefreshes; }
+    public void setPrewarmRefreshes(Long prewarmRefreshes) { this.prewarmRefreshes = prewarmRefreshes; }
+}
@@ -0,0 +1,38 @@
+package com.quantcrux.dto;
+
+import com.quantcrux.engine.backtest.RebalanceFrequency;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class PortfolioBacktestConfig {
+    
+    // Either an existing portfolio (weights taken from its holdings) or explicit weights
+    private UUID portfolioId;
+    
+    // Symbol -> target weight as a fraction of equity; any remainder stays in cash
+    private Map<String, BigDecimal> weights = new LinkedHashMap<>();
+    
+    private RebalanceFrequency rebalanceFrequency = RebalanceFrequency.MONTHLY;
+    
+    // Rebalance early once any weight drifts this far from target (0 disables)
+    private BigDecimal rebalanceThreshold = BigDecimal.valueOf(0.05);
+    
+    // Constructors
+    public PortfolioBacktestConfig() {}
+    
+    // Getters and Setters
+    public UUID getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(UUID portfolioId) { this.portfolioId = portfolioId; }
+    
+    public Map<String, BigDecimal> getWeights() { return weights; }
+    public void setWeights(Map<String, BigDecimal> weights) { this.weights = weights; }
+    
+    public RebalanceFrequency getRebalanceFrequency() { return rebalanceFrequency; }
+    public void setRebalanceFrequency(RebalanceFrequency rebalanceFrequency) { this.rebalanceFrequency = rebalanceFrequency; }
+    
+    public BigDecimal getRebalanceThreshold() { return rebalanceThreshold; }
+    public void setRebalanceThreshold(BigDecimal rebalanceThreshold) { this.rebalanceThreshold = rebalanceThreshold; }
+}
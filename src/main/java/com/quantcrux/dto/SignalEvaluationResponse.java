@@ -6,9 +6,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 public class SignalEvaluationResponse {
     
+    // Identify the result within a batch evaluation
+    private String symbol;
+    private UUID strategyId;
+    private String strategyName;
+    
     private SignalType signal;
     private BigDecimal currentPrice;
     private Map<String, Object> indicatorValues;
@@ -27,6 +33,15 @@ public class SignalEvaluationResponse {
     }
     
     // Getters and Setters
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    
+    public UUID getStrategyId() { return strategyId; }
+    public void setStrategyId(UUID strategyId) { this.strategyId = strategyId; }
+    
+    public String getStrategyName() { return strategyName; }
+    public void setStrategyName(String strategyName) { this.strategyName = strategyName; }
+    
     public SignalType getSignal() { return signal; }
     public void setSignal(SignalType signal) { this.signal = signal; }
     
@@ -0,0 +1,60 @@
+package com.quantcrux.dto;
+
+import com.quantcrux.model.SignalType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class StrategySignalUpdate {
+    
+    private UUID signalId;
+    private UUID strategyId;
+    private String strategyName;
+    private String symbol;
+    private String timeframe;
+    private SignalType signal;
+    private BigDecimal price;
+    private BigDecimal confidenceScore;
+    private List<String> matchedRules;
+    private String indicatorValues;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public StrategySignalUpdate() {}
+    
+    // Getters and Setters
+    public UUID getSignalId() { return signalId; }
+    public void setSignalId(UUID signalId) { this.signalId = signalId; }
+    
+    public UUID getStrategyId() { return strategyId; }
+    public void setStrategyId(UUID strategyId) { this.strategyId = strategyId; }
+    
+    public String getStrategyName() { return strategyName; }
+    public void setStrategyName(String strategyName) { this.strategyName = strategyName; }
+    
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    
+    public String getTimeframe() { return timeframe; }
+    public void setTimeframe(String timeframe) { this.timeframe = timeframe; }
+    
+    public SignalType getSignal() { return signal; }
+    public void setSignal(SignalType signal) { this.signal = signal; }
+    
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    
+    public BigDecimal getConfidenceScore() { return confidenceScore; }
+    public void setConfidenceScore(BigDecimal confidenceScore) { this.confidenceScore = confidenceScore; }
+    
+    public List<String> getMatchedRules() { return matchedRules; }
+    public void setMatchedRules(List<String> matchedRules) { this.matchedRules = matchedRules; }
+    
+    public String getIndicatorValues() { return indicatorValues; }
+    public void setIndicatorValues(String indicatorValues) { this.indicatorValues = indicatorValues; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,32 @@
+package com.quantcrux.dto;
+
+import java.util.List;
+
+public class StrategyVersionPageResponse {
+    
+    private List<StrategyVersionSummary> items;
+    
+    // Opaque position after the last item; pass back as ?cursor= for the next page
+    private String nextCursor;
+    
+    private boolean hasMore;
+    
+    // Constructors
+    public StrategyVersionPageResponse() {}
+    
+    public StrategyVersionPageResponse(List<StrategyVersionSummary> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters and Setters
+    public List<StrategyVersionSummary> getItems() { return items; }
+    public void setItems(List<StrategyVersionSummary> items) { this.items = items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,44 @@
+package com.quantcrux.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class StrategyVersionResponse {
+    
+    private UUID id;
+    private UUID strategyId;
+    private Integer versionNumber;
+    private String configJson;
+    private String configHash;
+    private String changeDescription;
+    private String authorName;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public StrategyVersionResponse() {}
+    
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public UUID getStrategyId() { return strategyId; }
+    public void setStrategyId(UUID strategyId) { this.strategyId = strategyId; }
+    
+    public Integer getVersionNumber() { return versionNumber; }
+    public void setVersionNumber(Integer versionNumber) { this.versionNumber = versionNumber; }
+    
+    public String getConfigJson() { return configJson; }
+    public void setConfigJson(String configJson) { this.configJson = configJson; }
+    
+    public String getConfigHash() { return configHash; }
+    public void setConfigHash(String configHash) { this.configHash = configHash; }
+    
+    public String getChangeDescription() { return changeDescription; }
+    public void setChangeDescription(String changeDescription) { this.changeDescription = changeDescription; }
+    
+    public String getAuthorName() { return authorName; }
+    public void setAuthorName(String authorName) { this.authorName = authorName; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,65 @@
+package com.quantcrux.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Version history row: metadata plus the stored diff against the previous version,
+ * without the config body itself.
+ */
+public class StrategyVersionSummary {
+    
+    private UUID id;
+    private Integer versionNumber;
+    private String changeDescription;
+    private String authorName;
+    private LocalDateTime createdAt;
+    private String configHash;
+    private Integer configSize;
+    
+    // Already serialized JSON; written out verbatim
+    private String diff;
+    
+    // Constructors
+    public StrategyVersionSummary() {}
+    
+    public StrategyVersionSummary(UUID id, Integer versionNumber, String changeDescription, String authorName,
+                                  LocalDateTime createdAt, String configHash, Integer configSize, String diff) {
+        this.id = id;
+        this.versionNumber = versionNumber;
+        this.changeDescription = changeDescription;
+        this.authorName = authorName;
+        this.createdAt = createdAt;
+        this.configHash = configHash;
+        this.configSize = configSize;
+        this.diff = diff;
+    }
+    
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public Integer getVersionNumber() { return versionNumber; }
+    public void setVersionNumber(Integer versionNumber) { this.versionNumber = versionNumber; }
+    
+    public String getChangeDescription() { return changeDescription; }
+    public void setChangeDescription(String changeDescription) { this.changeDescription = changeDescription; }
+    
+    public String getAuthorName() { return authorName; }
+    public void setAuthorName(String authorName) { this.authorName = authorName; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public String getConfigHash() { return configHash; }
+    public void setConfigHash(String configHash) { this.configHash = configHash; }
+    
+    public Integer getConfigSize() { return configSize; }
+    public void setConfigSize(Integer configSize) { this.configSize = configSize; }
+    
+    @JsonRawValue
+    public String getDiff() { return diff; }
+    public void setDiff(String diff) { this.diff = diff; }
+}
@@ -0,0 +1,56 @@
+package com.quantcrux.dto;
+
+public class StreamStats {
+    
+    // Current state
+    private Integer connections;
+    private Integer maxConnections;
+    private Integer watchedSymbols;
+    private Integer watchedStrategies;
+    private Integer pendingUpdates;
+    
+    // Counters since startup
+    private Long openedConnections;
+    private Long closedConnections;
+    private Long stalledConnections;
+    private Long sentEvents;
+    private Long coalescedEvents;
+    private Long priceRefreshes;
+    
+    // Constructors
+    public StreamStats() {}
+    
+    // Getters and Setters
+    public Integer getConnections() { return connections; }
+    public void setConnections(Integer connections) { this.connections = connections; }
+    
+    public Integer getMaxConnections() { return maxConnections; }
+    public void setMaxConnections(Integer maxConnections) { this.maxConnections = maxConnections; }
+    
+    public Integer getWatchedSymbols() { return watchedSymbols; }
+    public void setWatchedSymbols(Integer watchedSymbols) { this.watchedSymbols = watchedSymbols; }
+    
+    public Integer getWatchedStrategies() { return watchedStrategies; }
+    public void setWatchedStrategies(Integer watchedStrategies) { this.watchedStrategies = watchedStrategies; }
+    
+    public Integer getPendingUpdates() { return pendingUpdates; }
+    public void setPendingUpdates(Integer pendingUpdates) { this.pendingUpdates = pendingUpdates; }
+    
+    public Long getOpenedConnections() { return openedConnections; }
+    public void setOpenedConnections(Long openedConnections) { this.openedConnections = openedConnections; }
+    
+    public Long getClosedConnections() { return closedConnections; }
+    public void setClosedConnections(Long closedConnections) { this.closedConnections = closedConnections; }
+    
+    public Long getStalledConnections() { return stalledConnections; }
+    public void setStalledConnections(Long stalledConnections) { this.stalledConnections = stalledConnections; }
+    
+    public Long getSentEvents() { return sentEvents; }
+    public void setSentEvents(Long sentEvents) { this.sentEvents = sentEvents; }
+    
+    public Long getCoalescedEvents() { return coalescedEvents; }
+    public void setCoalescedEvents(Long coalescedEvents) { this.coalescedEvents = coalescedEvents; }
+    
+    public Long getPriceRefreshes() { return priceRefreshes; }
+    public void setPriceRefreshes(Long priceRefreshes) { this.priceRefreshes = priceRefreshes; }
+}
@@ -0,0 +1,32 @@
+package com.quantcrux.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class WalkForwardConfig {
+    
+    private Integer inSampleDays = 252;
+    
+    private Integer outOfSampleDays = 63;
+    
+    // Parameters optimised in each in-sample window
+    private Map<String, BacktestSweepRequest.ParameterRange> parameters = new LinkedHashMap<>();
+    
+    private String optimizeFor = "totalReturn";
+    
+    // Constructors
+    public WalkForwardConfig() {}
+    
+    // Getters and Setters
+    public Integer getInSampleDays() { return inSampleDays; }
+    public void setInSampleDays(Integer inSampleDays) { this.inSampleDays = inSampleDays; }
+    
+    public Integer getOutOfSampleDays() { return outOfSampleDays; }
+    public void setOutOfSampleDays(Integer outOfSampleDays) { this.outOfSampleDays = outOfSampleDays; }
+    
+    public Map<String, BacktestSweepRequest.ParameterRange> getParameters() { return parameters; }
+    public void setParameters(Map<String, BacktestSweepRequest.ParameterRange> parameters) { this.parameters = parameters; }
+    
+    public String getOptimizeFor() { return optimizeFor; }
+    public void setOptimizeFor(String optimizeFor) { this.optimizeFor = optimizeFor; }
+}
@@ -0,0 +1,174 @@
+package com.quantcrux.engine.backtest;
+
+import com.quantcrux.model.MarketData;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar, primitive copy of an OHLCV series. Loaded once per backtest so the
+ * simulation loop only touches double/long arrays instead of MarketData entities.
+ * Timestamps are stored as UTC epoch seconds.
+ */
+public final class BarSeries {
+    
+    private final String symbol;
+    private final String timeframe;
+    private final int size;
+    private final long[] timestamps;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    
+    public BarSeries(String symbol, String timeframe, long[] timestamps, double[] open, double[] high,
+                     double[] low, double[] close, double[] volume) {
+        this.symbol = symbol;
+        this.timeframe = timeframe;
+        this.size = timestamps.length;
+        this.timestamps = timestamps;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+    
+    public static BarSeries fromMarketData(String symbol, String timeframe, List<MarketData> data) {
+        int n = data.size();
+        long[] timestamps = new long[n];
+        double[] open = new double[n];
+        double[] high = new double[n];
+        double[] low = new double[n];
+        double[] close = new double[n];
+        double[] volume = new double[n];
+        
+        for (int i = 0; i < n; i++) {
+            MarketData bar = data.get(i);
+            timestamps[i] = toEpochSecond(bar.getTimestamp());
+            open[i] = bar.getOpenPrice().doubleValue();
+            high[i] = bar.getHighPrice().doubleValue();
+            low[i] = bar.getLowPrice().doubleValue();
+            close[i] = bar.getClosePrice().doubleValue();
+            volume[i] = bar.getVolume().doubleValue();
+        }
+        
+        return new BarSeries(symbol, timeframe, timestamps, open, high, low, close, volume);
+    }
+    
+    public static Builder builder(String symbol, String timeframe, int expectedSize) {
+        return new Builder(symbol, timeframe, expectedSize);
+    }
+    
+    public static long toEpochSecond(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC);
+    }
+    
+    public static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+    
+    public LocalDateTime timestampAt(int bar) {
+        return toLocalDateTime(timestamps[bar]);
+    }
+    
+    /**
+     * Index of the first bar at or after {@code epochSecond}, or {@link #size()} if there is none.
+     */
+    public int lowerBound(long epochSecond) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[mid] < epochSecond) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    public String getSymbol() { return symbol; }
+    public String getTimeframe() { return timeframe; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    
+    // Raw columns are exposed for tight loops; callers must not modify them
+    public long[] timestamps() { return timestamps; }
+    public double[] open() { return open; }
+    public double[] high() { return high; }
+    public double[] low() { return low; }
+    public double[] close() { return close; }
+    public double[] volume() { return volume; }
+    
+    /**
+     * Appends bars one at a time, so a series can be filled from a cursor without first
+     * holding every row as an entity.
+     */
+    public static final class Builder {
+        
+        private final String symbol;
+        private final String timeframe;
+        private int size;
+        private long[] timestamps;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private double[] volume;
+        
+        private Builder(String symbol, String timeframe, int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            this.symbol = symbol;
+            this.timeframe = timeframe;
+            this.timestamps = new long[capacity];
+            this.open = new double[capacity];
+            this.high = new double[capacity];
+            this.low = new double[capacity];
+            this.close = new double[capacity];
+            this.volume = new double[capacity];
+        }
+        
+        public Builder add(MarketData bar) {
+            return add(toEpochSecond(bar.getTimestamp()), bar.getOpenPrice().doubleValue(),
+                       bar.getHighPrice().doubleValue(), bar.getLowPrice().doubleValue(),
+                       bar.getClosePrice().doubleValue(), bar.getVolume().doubleValue());
+        }
+        
+        public Builder add(long epochSecond, double o, double h, double l, double c, double v) {
+            if (size == timestamps.length) {
+                grow();
+            }
+            timestamps[size] = epochSecond;
+            open[size] = o;
+            high[size] = h;
+            low[size] = l;
+            close[size] = c;
+            volume[size] = v;
+            size++;
+            return this;
+        }
+        
+        public int size() { return size; }
+        
+        public BarSeries build() {
+            return new BarSeries(symbol, timeframe, Arrays.copyOf(timestamps, size), Arrays.copyOf(open, size),
+                                 Arrays.copyOf(high, size), Arrays.copyOf(low, size), Arrays.copyOf(close, size),
+                                 Arrays.copyOf(volume, size));
+        }
+        
+        private void grow() {
+            int capacity = timestamps.length * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.quantcrux.engine.backtest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding for equity curves:
+ * <pre>
+ *   version (1 byte) | count (varint) | first time (zig-zag varint) |
+ *   time deltas (zig-zag varints, count - 1) | equity (float32 big-endian, count)
+ * </pre>
+ * Regular bars make every delta the same small number, so timestamps cost 2-3 bytes
+ * and a point about 7 bytes in total, against roughly 70 bytes as JSON.
+ */
+public final class CurveCodec {
+    
+    private static final byte VERSION = 1;
+    
+    private CurveCodec() {}
+    
+    public static byte[] encode(EquityCurve curve) {
+        long[] times = curve.times();
+        double[] equity = curve.equity();
+        int n = times.length;
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + n * 7);
+        out.write(VERSION);
+        writeVarLong(out, n);
+        long previous = 0L;
+        for (int k = 0; k < n; k++) {
+            writeVarLong(out, zigZag(times[k] - previous));
+            previous = times[k];
+        }
+        
+        ByteBuffer values = ByteBuffer.allocate(n * Float.BYTES);
+        for (int k = 0; k < n; k++) {
+            values.putFloat((float) equity[k]);
+        }
+        out.write(values.array(), 0, values.capacity());
+        
+        return out.toByteArray();
+    }
+    
+    public static EquityCurve decode(byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported curve encoding version " + version);
+        }
+        
+        int n = (int) readVarLong(in);
+        long[] times = new long[n];
+        long previous = 0L;
+        for (int k = 0; k < n; k++) {
+            previous += unZigZag(readVarLong(in));
+            times[k] = previous;
+        }
+        
+        double[] equity = new double[n];
+        for (int k = 0; k < n; k++) {
+            equity[k] = in.getFloat();
+        }
+        
+        return new EquityCurve(times, equity);
+    }
+    
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0L;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
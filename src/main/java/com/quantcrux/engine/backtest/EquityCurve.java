@@ -0,0 +1,80 @@
+package com.quantcrux.engine.backtest;
+
+import java.util.List;
+
+/**
+ * Equity samples keyed by UTC epoch seconds. Drawdown is not stored; it is derived from
+ * the running peak whenever it is needed.
+ */
+public final class EquityCurve {
+    
+    private final long[] times;
+    private final double[] equity;
+    
+    public EquityCurve(long[] times, double[] equity) {
+        if (times.length != equity.length) {
+            throw new IllegalArgumentException("Curve columns differ in length");
+        }
+        this.times = times;
+        this.equity = equity;
+    }
+    
+    public static EquityCurve of(BarSeries bars, int[] curveBars, double[] equity) {
+        long[] times = new long[curveBars.length];
+        for (int k = 0; k < curveBars.length; k++) {
+            times[k] = bars.timestamps()[curveBars[k]];
+        }
+        return new EquityCurve(times, equity);
+    }
+    
+    public static EquityCurve concat(List<EquityCurve> parts) {
+        int n = 0;
+        for (EquityCurve part : parts) {
+            n += part.size();
+        }
+        long[] times = new long[n];
+        double[] equity = new double[n];
+        int offset = 0;
+        for (EquityCurve part : parts) {
+            System.arraycopy(part.times, 0, times, offset, part.size());
+            System.arraycopy(part.equity, 0, equity, offset, part.size());
+            offset += part.size();
+        }
+        return new EquityCurve(times, equity);
+    }
+    
+    /** Drawdown of every point from the running peak, as a positive fraction. */
+    public double[] drawdown() {
+        double[] drawdown = new double[equity.length];
+        double peak = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < equity.length; k++) {
+            peak = Math.max(peak, equity[k]);
+            drawdown[k] = peak > 0.0 ? (peak - equity[k]) / peak : 0.0;
+        }
+        return drawdown;
+    }
+    
+    /** Deepest drawdown from the running peak, as a positive fraction. */
+    public double maxDrawdown() {
+        double max = 0.0;
+        for (double drawdown : drawdown()) {
+            max = Math.max(max, drawdown);
+        }
+        return max;
+    }
+    
+    /** Subset of points, keeping the given (ascending) indices. */
+    public EquityCurve select(int[] indices) {
+        long[] t = new long[indices.length];
+        double[] e = new double[indices.length];
+        for (int k = 0; k < indices.length; k++) {
+            t[k] = times[indices[k]];
+            e[k] = equity[indices[k]];
+        }
+        return new EquityCurve(t, e);
+    }
+    
+    public int size() { return times.length; }
+    public long[] times() { return times; }
+    public double[] equity() { return equity; }
+}
@@ -0,0 +1,32 @@
+package com.quantcrux.engine.backtest;
+
+/**
+ * Fallback for strategies whose config defines no entry or exit rules: buy every
+ * {@code entryInterval} bars when flat, sell every {@code exitInterval} bars when long.
+ */
+public class IntervalSignalSource implements SignalSource {
+    
+    private final int entryInterval;
+    private final int exitInterval;
+    
+    public IntervalSignalSource(int entryInterval, int exitInterval) {
+        this.entryInterval = entryInterval;
+        this.exitInterval = exitInterval;
+    }
+    
+    @Override
+    public int evaluate(BarSeries bars, int bar, boolean inPosition) {
+        if (!inPosition && bar % entryInterval == 0) {
+            return ENTER_LONG;
+        }
+        if (inPosition && bar % exitInterval == 0) {
+            return EXIT_LONG;
+        }
+        return NONE;
+    }
+    
+    @Override
+    public String reason(int signal) {
+        return signal == ENTER_LONG ? "Every " + entryInterval + " bars" : "Every " + exitInterval + " bars";
+    }
+}
@@ -0,0 +1,77 @@
+package com.quantcrux.engine.backtest;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling. Keeps the first and last point and, from
+ * each bucket in between, the point forming the largest triangle with its neighbours,
+ * which preserves the peaks and troughs a chart needs far better than every-nth sampling.
+ */
+public final class Lttb {
+    
+    private Lttb() {}
+    
+    /**
+     * Indices of at most {@code threshold} points to keep, in ascending order.
+     */
+    public static int[] downsample(long[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (threshold < 3) {
+            throw new IllegalArgumentException("LTTB needs a threshold of at least 3 points");
+        }
+        if (threshold >= n) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        
+        int[] selected = new int[threshold];
+        int count = 0;
+        selected[count++] = 0;
+        
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket is the third triangle vertex
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, n);
+            double avgX = 0.0;
+            double avgY = 0.0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i];
+                avgY += y[i];
+            }
+            int nextCount = Math.max(1, nextEnd - nextStart);
+            avgX /= nextCount;
+            avgY /= nextCount;
+            
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double ax = x[a];
+            double ay = y[a];
+            double maxArea = -1.0;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((ax - avgX) * (y[i] - ay) - (ax - x[i]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            
+            selected[count++] = chosen;
+            a = chosen;
+        }
+        
+        selected[count++] = n - 1;
+        return selected;
+    }
+    
+    public static EquityCurve downsample(EquityCurve curve, int threshold) {
+        if (curve.size() <= threshold) {
+            return curve;
+        }
+        return curve.select(downsample(curve.times(), curve.equity(), threshold));
+    }
+}
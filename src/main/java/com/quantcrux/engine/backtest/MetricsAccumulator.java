@@ -0,0 +1,113 @@
+package com.quantcrux.engine.backtest;
+
+/**
+ * Single-pass, O(1)-memory performance statistics fed once per bar from inside the
+ * simulation loop. Per-bar returns go through Welford's algorithm for mean/variance and
+ * a running sum of squared negative returns for downside deviation; drawdown depth and
+ * duration come from a running peak.
+ *
+ * Annualisation uses the observed bar density (bars per year of elapsed time) rather
+ * than a fixed calendar, so daily, intraday and 24/7 series are all scaled correctly.
+ * The risk-free rate is taken as zero.
+ */
+public final class MetricsAccumulator {
+    
+    private static final double SECONDS_PER_YEAR = 365.25 * 24 * 3600;
+    
+    private final double initialEquity;
+    
+    // Per-bar returns (Welford)
+    private long returns;
+    private double mean;
+    private double m2;
+    private double downsideSquares;
+    
+    private long firstTime = Long.MIN_VALUE;
+    private long lastTime;
+    private double lastEquity;
+    
+    // Drawdown
+    private double peakEquity;
+    private long peakTime;
+    private double maxDrawdown;
+    private long maxDrawdownDuration;
+    
+    // Closed trades
+    private int closedTrades;
+    private int winningTrades;
+    private int losingTrades;
+    private double grossProfit;
+    private double grossLoss;
+    private long totalTradeSeconds;
+    
+    public MetricsAccumulator(double initialEquity) {
+        this.initialEquity = initialEquity;
+        this.lastEquity = initialEquity;
+        this.peakEquity = initialEquity;
+    }
+    
+    public void onBar(long epochSecond, double equity) {
+        if (firstTime == Long.MIN_VALUE) {
+            firstTime = epochSecond;
+            peakTime = epochSecond;
+        } else if (lastEquity > 0.0) {
+            double r = equity / lastEquity - 1.0;
+            returns++;
+            double delta = r - mean;
+            mean += delta / returns;
+            m2 += delta * (r - mean);
+            if (r < 0.0) {
+                downsideSquares += r * r;
+            }
+        }
+        lastTime = epochSecond;
+        lastEquity = equity;
+        
+        if (equity >= peakEquity) {
+            peakEquity = equity;
+            peakTime = epochSecond;
+        } else {
+            double drawdown = (peakEquity - equity) / peakEquity;
+            if (drawdown > maxDrawdown) {
+                maxDrawdown = drawdown;
+            }
+            long underwater = epochSecond - peakTime;
+            if (underwater > maxDrawdownDuration) {
+                maxDrawdownDuration = underwater;
+            }
+        }
+    }
+    
+    public void onTradeClosed(double netPnl, long durationSeconds) {
+        closedTrades++;
+        totalTradeSeconds += Math.max(0L, durationSeconds);
+        if (netPnl > 0.0) {
+            winningTrades++;
+            grossProfit += netPnl;
+        } else if (netPnl < 0.0) {
+            losingTrades++;
+            grossLoss -= netPnl;
+        }
+    }
+    
+    public PerformanceMetrics snapshot() {
+        double elapsedYears = firstTime == Long.MIN_VALUE ? 0.0 : (lastTime - firstTime) / SECONDS_PER_YEAR;
+        double periodsPerYear = elapsedYears > 0.0 ? returns / elapsedYears : Double.NaN;
+        
+        double stdDev = returns > 1 ? Math.sqrt(m2 / (returns - 1)) : Double.NaN;
+        double downsideDev = returns > 0 ? Math.sqrt(downsideSquares / returns) : Double.NaN;
+        double annualiser = Math.sqrt(periodsPerYear);
+        
+        double sharpe = stdDev > 0.0 ? mean / stdDev * annualiser : Double.NaN;
+        double sortino = downsideDev > 0.0 ? mean / downsideDev * annualiser : Double.NaN;
+        double volatility = stdDev * annualiser;
+        double cagr = elapsedYears > 0.0 && lastEquity > 0.0 && initialEquity > 0.0
+                ? Math.pow(lastEquity / initialEquity, 1.0 / elapsedYears) - 1.0
+                : Double.NaN;
+        double profitFactor = grossLoss > 0.0 ? grossProfit / grossLoss : Double.NaN;
+        long avgTradeSeconds = closedTrades > 0 ? totalTradeSeconds / closedTrades : 0L;
+        
+        return new PerformanceMetrics(sharpe, sortino, volatility, cagr, maxDrawdown, maxDrawdownDuration,
+                                      profitFactor, closedTrades, winningTrades, losingTrades, avgTradeSeconds);
+    }
+}
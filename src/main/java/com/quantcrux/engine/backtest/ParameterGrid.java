@@ -0,0 +1,67 @@
+package com.quantcrux.engine.backtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cartesian product of named parameter values. Combinations are decoded on demand from
+ * a mixed-radix index, so a large grid is never materialised.
+ */
+public final class ParameterGrid {
+    
+    private final List<String> names;
+    private final double[][] values;
+    private final int size;
+    
+    public ParameterGrid(Map<String, double[]> axes) {
+        this.names = Collections.unmodifiableList(new ArrayList<>(axes.keySet()));
+        this.values = axes.values().toArray(new double[0][]);
+        
+        long combinations = 1;
+        for (double[] axis : values) {
+            if (axis.length == 0) {
+                throw new IllegalArgumentException("Parameter ranges must not be empty");
+            }
+            combinations *= axis.length;
+            if (combinations > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Parameter grid is too large");
+            }
+        }
+        this.size = (int) combinations;
+    }
+    
+    public static double[] expand(double start, double end, double step) {
+        if (step <= 0.0 || end < start) {
+            return new double[] { start };
+        }
+        int count = (int) Math.floor((end - start) / step + 1e-9) + 1;
+        double[] axis = new double[count];
+        for (int i = 0; i < count; i++) {
+            axis[i] = start + i * step;
+        }
+        return axis;
+    }
+    
+    public int size() { return size; }
+    public List<String> getNames() { return names; }
+    
+    public Map<String, Double> combination(int index) {
+        Map<String, Double> combination = new LinkedHashMap<>();
+        int remainder = index;
+        for (int p = values.length - 1; p >= 0; p--) {
+            double[] axis = values[p];
+            combination.put(names.get(p), axis[remainder % axis.length]);
+            remainder /= axis.length;
+        }
+        
+        // Restore declaration order for readability in results
+        Map<String, Double> ordered = new LinkedHashMap<>();
+        for (String name : names) {
+            ordered.put(name, combination.get(name));
+        }
+        return ordered;
+    }
+}
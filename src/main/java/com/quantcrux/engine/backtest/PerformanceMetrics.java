@@ -0,0 +1,52 @@
+package com.quantcrux.engine.backtest;
+
+/**
+ * Immutable snapshot of a {@link MetricsAccumulator}. Ratios that are undefined for the
+ * run (e.g. Sharpe with zero volatility, profit factor without losing trades) are NaN.
+ */
+public final class PerformanceMetrics {
+    
+    private final double sharpeRatio;
+    private final double sortinoRatio;
+    private final double volatility;
+    private final double cagr;
+    private final double maxDrawdown;
+    private final long maxDrawdownDurationSeconds;
+    private final double profitFactor;
+    private final int closedTrades;
+    private final int winningTrades;
+    private final int losingTrades;
+    private final long avgTradeDurationSeconds;
+    
+    PerformanceMetrics(double sharpeRatio, double sortinoRatio, double volatility, double cagr, double maxDrawdown,
+                       long maxDrawdownDurationSeconds, double profitFactor, int closedTrades, int winningTrades,
+                       int losingTrades, long avgTradeDurationSeconds) {
+        this.sharpeRatio = sharpeRatio;
+        this.sortinoRatio = sortinoRatio;
+        this.volatility = volatility;
+        this.cagr = cagr;
+        this.maxDrawdown = maxDrawdown;
+        this.maxDrawdownDurationSeconds = maxDrawdownDurationSeconds;
+        this.profitFactor = profitFactor;
+        this.closedTrades = closedTrades;
+        this.winningTrades = winningTrades;
+        this.losingTrades = losingTrades;
+        this.avgTradeDurationSeconds = avgTradeDurationSeconds;
+    }
+    
+    public double getWinRate() {
+        return closedTrades > 0 ? (double) winningTrades / closedTrades : 0.0;
+    }
+    
+    public double getSharpeRatio() { return sharpeRatio; }
+    public double getSortinoRatio() { return sortinoRatio; }
+    public double getVolatility() { return volatility; }
+    public double getCagr() { return cagr; }
+    public double getMaxDrawdown() { return maxDrawdown; }
+    public long getMaxDrawdownDurationSeconds() { return maxDrawdownDurationSeconds; }
+    public double getProfitFactor() { return profitFactor; }
+    public int getClosedTrades() { return closedTrades; }
+    public int getWinningTrades() { return winningTrades; }
+    public int getLosingTrades() { return losingTrades; }
+    public long getAvgTradeDurationSeconds() { return avgTradeDurationSeconds; }
+}
@@ -0,0 +1,45 @@
+package com.quantcrux.engine.backtest;
+
+/**
+ * One rebalancing order. Sells carry the average cost and open time of the position
+ * they reduce so realised PnL can be reported per fill.
+ */
+public final class PortfolioFill {
+    
+    private final int symbolIndex;
+    private final boolean buy;
+    private final long epochSecond;
+    private final double quantity;
+    private final double price;
+    private final double commission;
+    private final double targetWeight;
+    private final double averageCost;
+    private final long openedAt;
+    private final double grossPnl;
+    
+    PortfolioFill(int symbolIndex, boolean buy, long epochSecond, double quantity, double price, double commission,
+                  double targetWeight, double averageCost, long openedAt, double grossPnl) {
+        this.symbolIndex = symbolIndex;
+        this.buy = buy;
+        this.epochSecond = epochSecond;
+        this.quantity = quantity;
+        this.price = price;
+        this.commission = commission;
+        this.targetWeight = targetWeight;
+        this.averageCost = averageCost;
+        this.openedAt = openedAt;
+        this.grossPnl = grossPnl;
+    }
+    
+    public int getSymbolIndex() { return symbolIndex; }
+    public boolean isBuy() { return buy; }
+    public long getEpochSecond() { return epochSecond; }
+    public double getQuantity() { return quantity; }
+    public double getPrice() { return price; }
+    public double getCommission() { return commission; }
+    public double getTargetWeight() { return targetWeight; }
+    public double getAverageCost() { return averageCost; }
+    public long getOpenedAt() { return openedAt; }
+    public double getGrossPnl() { return grossPnl; }
+    public double getNetPnl() { return grossPnl - commission; }
+}
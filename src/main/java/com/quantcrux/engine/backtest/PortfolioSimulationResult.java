@@ -0,0 +1,43 @@
+package com.quantcrux.engine.backtest;
+
+import java.util.List;
+
+public class PortfolioSimulationResult {
+    
+    private final double initialCapital;
+    private final double finalEquity;
+    private final PerformanceMetrics metrics;
+    private final int slices;
+    private final int rebalances;
+    private final List<PortfolioFill> fills;
+    
+    // Sampled curve keyed by UTC epoch seconds
+    private final long[] curveTimes;
+    private final double[] equityCurve;
+    
+    public PortfolioSimulationResult(double initialCapital, double finalEquity, PerformanceMetrics metrics, int slices,
+                                     int rebalances, List<PortfolioFill> fills, long[] curveTimes,
+                                     double[] equityCurve) {
+        this.initialCapital = initialCapital;
+        this.finalEquity = finalEquity;
+        this.metrics = metrics;
+        this.slices = slices;
+        this.rebalances = rebalances;
+        this.fills = fills;
+        this.curveTimes = curveTimes;
+        this.equityCurve = equityCurve;
+    }
+    
+    public double getTotalReturn() {
+        return (finalEquity - initialCapital) / initialCapital;
+    }
+    
+    public double getInitialCapital() { return initialCapital; }
+    public double getFinalEquity() { return finalEquity; }
+    public PerformanceMetrics getMetrics() { return metrics; }
+    public int getSlices() { return slices; }
+    public int getRebalances() { return rebalances; }
+    public List<PortfolioFill> getFills() { return fills; }
+    public long[] getCurveTimes() { return curveTimes; }
+    public double[] getEquityCurve() { return equityCurve; }
+}
@@ -0,0 +1,178 @@
+package com.quantcrux.engine.backtest;
+
+import com.quantcrux.model.MarketData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Target-weight portfolio simulator over a stream of time-aligned slices. Cash is shared
+ * by all symbols; positions are rebalanced back to their target weights on the calendar
+ * schedule and whenever any weight drifts further than the threshold. Symbols start
+ * trading on their first bar, so series with different histories can be mixed.
+ */
+public final class PortfolioSimulator {
+    
+    // Orders below this fraction of equity are not worth the commission
+    private static final double MIN_ORDER_FRACTION = 1e-6;
+    
+    private PortfolioSimulator() {}
+    
+    /**
+     * @param expectedSlices rough number of slices, only used to scale progress reports
+     */
+    public static PortfolioSimulationResult run(Iterator<TimeSlice> slices, double[] targetWeights,
+                                                SimulationSettings settings, RebalanceFrequency frequency,
+                                                double driftThreshold, int expectedSlices,
+                                                IntConsumer progressListener) {
+        final int k = targetWeights.length;
+        final double commissionRate = settings.getCommissionRate();
+        final int sampleInterval = Math.max(1, settings.getCurveSampleInterval());
+        
+        double cash = settings.getInitialCapital();
+        double[] quantity = new double[k];
+        double[] lastPrice = new double[k];
+        double[] averageCost = new double[k];
+        long[] openedAt = new long[k];
+        boolean[] priced = new boolean[k];
+        
+        List<PortfolioFill> fills = new ArrayList<>();
+        long[] curveTimes = new long[64];
+        double[] equityCurve = new double[64];
+        int samples = 0;
+        
+        MetricsAccumulator metrics = new MetricsAccumulator(cash);
+        long lastPeriod = Long.MIN_VALUE;
+        int sliceCount = 0;
+        int rebalances = 0;
+        int progress = 0;
+        
+        while (slices.hasNext()) {
+            TimeSlice slice = slices.next();
+            long time = slice.getEpochSecond();
+            MarketData[] bars = slice.getBars();
+            
+            boolean listed = false;
+            for (int s = 0; s < k; s++) {
+                if (bars[s] != null) {
+                    lastPrice[s] = bars[s].getClosePrice().doubleValue();
+                    if (!priced[s]) {
+                        priced[s] = true;
+                        listed |= targetWeights[s] > 0.0;
+                    }
+                }
+            }
+            
+            double equity = markToMarket(cash, quantity, lastPrice);
+            
+            long period = frequency.periodKey(time);
+            boolean due = listed
+                || (frequency != RebalanceFrequency.NEVER && period != lastPeriod)
+                || (driftThreshold > 0.0 && maxDrift(equity, quantity, lastPrice, targetWeights, priced) > driftThreshold);
+            lastPeriod = period;
+            
+            if (due && equity > 0.0) {
+                double minOrder = equity * MIN_ORDER_FRACTION;
+                
+                // Sells first so their proceeds can fund the buys
+                for (int s = 0; s < k; s++) {
+                    if (!priced[s]) {
+                        continue;
+                    }
+                    double price = lastPrice[s];
+                    double delta = equity * targetWeights[s] / price - quantity[s];
+                    if (delta >= 0.0 || -delta * price < minOrder) {
+                        continue;
+                    }
+                    double sold = -delta;
+                    double fee = sold * price * commissionRate;
+                    double gross = sold * (price - averageCost[s]);
+                    fills.add(new PortfolioFill(s, false, time, sold, price, fee, targetWeights[s],
+                                                averageCost[s], openedAt[s], gross));
+                    metrics.onTradeClosed(gross - fee, time - openedAt[s]);
+                    cash += sold * price - fee;
+                    quantity[s] -= sold;
+                    if (quantity[s] * price < minOrder) {
+                        quantity[s] = 0.0;
+                        averageCost[s] = 0.0;
+                    }
+                }
+                
+                for (int s = 0; s < k; s++) {
+                    if (!priced[s]) {
+                        continue;
+                    }
+                    double price = lastPrice[s];
+                    double delta = equity * targetWeights[s] / price - quantity[s];
+                    // Commission is paid from cash too, so never buy more than cash covers
+                    delta = Math.min(delta, cash / (price * (1.0 + commissionRate)));
+                    if (delta <= 0.0 || delta * price < minOrder) {
+                        continue;
+                    }
+                    double fee = delta * price * commissionRate;
+                    if (quantity[s] == 0.0) {
+                        openedAt[s] = time;
+                    }
+                    averageCost[s] = (averageCost[s] * quantity[s] + delta * price) / (quantity[s] + delta);
+                    fills.add(new PortfolioFill(s, true, time, delta, price, fee, targetWeights[s],
+                                                averageCost[s], openedAt[s], 0.0));
+                    cash -= delta * price + fee;
+                    quantity[s] += delta;
+                }
+                
+                rebalances++;
+                equity = markToMarket(cash, quantity, lastPrice);
+            }
+            
+            metrics.onBar(time, equity);
+            
+            if (sliceCount % sampleInterval == 0) {
+                if (samples == curveTimes.length) {
+                    curveTimes = Arrays.copyOf(curveTimes, samples * 2);
+                    equityCurve = Arrays.copyOf(equityCurve, samples * 2);
+                }
+                curveTimes[samples] = time;
+                equityCurve[samples] = equity;
+                samples++;
+            }
+            
+            sliceCount++;
+            if (progressListener != null && expectedSlices > 0) {
+                int pct = (int) Math.min(99L, (long) sliceCount * 100 / expectedSlices);
+                if (pct != progress) {
+                    progressListener.accept(pct);
+                    progress = pct;
+                }
+            }
+        }
+        
+        return new PortfolioSimulationResult(settings.getInitialCapital(), markToMarket(cash, quantity, lastPrice),
+                                             metrics.snapshot(), sliceCount, rebalances, fills,
+                                             Arrays.copyOf(curveTimes, samples), Arrays.copyOf(equityCurve, samples));
+    }
+    
+    private static double markToMarket(double cash, double[] quantity, double[] lastPrice) {
+        double equity = cash;
+        for (int s = 0; s < quantity.length; s++) {
+            equity += quantity[s] * lastPrice[s];
+        }
+        return equity;
+    }
+    
+    private static double maxDrift(double equity, double[] quantity, double[] lastPrice, double[] targetWeights,
+                                   boolean[] priced) {
+        if (equity <= 0.0) {
+            return 0.0;
+        }
+        double drift = 0.0;
+        for (int s = 0; s < quantity.length; s++) {
+            if (priced[s]) {
+                drift = Math.max(drift, Math.abs(quantity[s] * lastPrice[s] / equity - targetWeights[s]));
+            }
+        }
+        return drift;
+    }
+}
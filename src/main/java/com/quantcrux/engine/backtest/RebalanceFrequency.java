@@ -0,0 +1,27 @@
+package com.quantcrux.engine.backtest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+
+/**
+ * Calendar schedule for portfolio rebalancing. A rebalance is due on the first slice
+ * whose period key differs from the previous slice's.
+ */
+public enum RebalanceFrequency {
+    NEVER,
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    QUARTERLY;
+    
+    long periodKey(long epochSecond) {
+        LocalDateTime time = BarSeries.toLocalDateTime(epochSecond);
+        switch (this) {
+            case DAILY: return time.toLocalDate().toEpochDay();
+            case WEEKLY: return time.get(IsoFields.WEEK_BASED_YEAR) * 100L + time.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            case MONTHLY: return time.getYear() * 100L + time.getMonthValue();
+            case QUARTERLY: return time.getYear() * 10L + time.get(IsoFields.QUARTER_OF_YEAR);
+            default: return 0L;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.quantcrux.engine.backtest;
+
+/**
+ * Decides, bar by bar, whether the simulation should open or close its position.
+ * Implementations are invoked for every bar in order and may keep per-run state,
+ * so a new instance is needed for each simulation.
+ */
+public interface SignalSource {
+    
+    int NONE = 0;
+    int ENTER_LONG = 1;
+    int EXIT_LONG = 2;
+    
+    int evaluate(BarSeries bars, int bar, boolean inPosition);
+    
+    /**
+     * Why the last {@link #evaluate} call returned {@code signal}, e.g. the rules that matched,
+     * or null if the source cannot tell. Only asked when a trade opens or closes.
+     */
+    default String reason(int signal) {
+        return null;
+    }
+}
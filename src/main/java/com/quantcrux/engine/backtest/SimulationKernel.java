@@ -0,0 +1,107 @@
+package com.quantcrux.engine.backtest;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Single-position long-only bar simulator working purely on primitive columns.
+ * The loop allocates nothing per bar; BigDecimal conversion is left to the caller
+ * when results are persisted.
+ */
+public final class SimulationKernel {
+    
+    private SimulationKernel() {}
+    
+    public static SimulationResult run(BarSeries bars, SimulationSettings settings, SignalSource signals,
+                                       IntConsumer progressListener) {
+        return run(bars, 0, bars.size(), settings, signals, progressListener);
+    }
+    
+    /**
+     * Simulates bars {@code [from, to)} only, starting flat with the initial capital.
+     * Trade and curve bar indices stay absolute so they can be resolved against {@code bars}.
+     */
+    public static SimulationResult run(BarSeries bars, int from, int to, SimulationSettings settings,
+                                       SignalSource signals, IntConsumer progressListener) {
+        return run(bars, from, to, settings, signals, new MetricsAccumulator(settings.getInitialCapital()), progressListener);
+    }
+    
+    /**
+     * As above, feeding every bar and closed trade into {@code metrics}. Passing the same
+     * accumulator to consecutive runs yields statistics for the stitched result.
+     */
+    public static SimulationResult run(BarSeries bars, int from, int to, SimulationSettings settings,
+                                       SignalSource signals, MetricsAccumulator metrics,
+                                       IntConsumer progressListener) {
+        if (from < 0 || to > bars.size() || from > to) {
+            throw new IllegalArgumentException("Invalid bar range [" + from + ", " + to + ")");
+        }
+        
+        final int n = to - from;
+        final double[] close = bars.close();
+        final long[] timestamps = bars.timestamps();
+        final double commissionRate = settings.getCommissionRate();
+        final double sizeFraction = settings.getPositionSizePct() / 100.0;
+        final int sampleInterval = Math.max(1, settings.getCurveSampleInterval());
+        
+        int samples = n == 0 ? 0 : (n - 1) / sampleInterval + 1;
+        int[] curveBars = new int[samples];
+        double[] equityCurve = new double[samples];
+        
+        TradeLog trades = new TradeLog();
+        double capital = settings.getInitialCapital();
+        double position = 0.0;
+        double positionPrice = 0.0;
+        int openTrade = -1;
+        
+        // Progress is reported on whole-percent boundaries without a division per bar
+        int progress = 0;
+        int nextProgressBar = n == 0 ? Integer.MAX_VALUE : 0;
+        
+        for (int j = 0; j < n; j++) {
+            final int i = from + j;
+            if (j >= nextProgressBar) {
+                int pct = (int) ((long) j * 100 / n);
+                if (pct != progress && progressListener != null) {
+                    progressListener.accept(pct);
+                }
+                progress = pct;
+                nextProgressBar = (int) (((long) (pct + 1) * n + 99) / 100);
+            }
+            
+            double price = close[i];
+            int signal = signals.evaluate(bars, i, position > 0.0);
+            
+            if (signal == SignalSource.ENTER_LONG && position == 0.0) {
+                position = capital * sizeFraction / price;
+                positionPrice = price;
+                openTrade = trades.open(i, price, position, settings.getPositionSizePct(), signals.reason(signal));
+            } else if (signal == SignalSource.EXIT_LONG && position > 0.0 && openTrade >= 0) {
+                double gross = position * (price - positionPrice);
+                double fee = position * price * commissionRate;
+                double net = gross - fee;
+                trades.close(openTrade, i, price, gross, fee, net, net / capital * 100.0, signals.reason(signal));
+                metrics.onTradeClosed(net, timestamps[i] - timestamps[trades.entryBar(openTrade)]);
+                
+                capital += net;
+                position = 0.0;
+                openTrade = -1;
+            }
+            
+            double equity = capital;
+            if (position > 0.0) {
+                equity += position * (price - positionPrice);
+            }
+            // Drawdown depth and duration are tracked by the accumulator alone
+            metrics.onBar(timestamps[i], equity);
+            
+            if (j % sampleInterval == 0) {
+                int k = j / sampleInterval;
+                curveBars[k] = i;
+                equityCurve[k] = equity;
+            }
+        }
+        
+        return new SimulationResult(settings.getInitialCapital(), capital, trades,
+                                    curveBars, equityCurve, metrics.snapshot());
+    }
+}
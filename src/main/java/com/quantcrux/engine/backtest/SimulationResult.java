@@ -0,0 +1,62 @@
+package com.quantcrux.engine.backtest;
+
+public class SimulationResult {
+    
+    private final double initialCapital;
+    private final double finalCapital;
+    private final TradeLog trades;
+    
+    // Sampled curve; index k refers to bar curveBars[k]
+    private final int[] curveBars;
+    private final double[] equityCurve;
+    
+    private final PerformanceMetrics metrics;
+    
+    public SimulationResult(double initialCapital, double finalCapital, TradeLog trades,
+                            int[] curveBars, double[] equityCurve, PerformanceMetrics metrics) {
+        this.initialCapital = initialCapital;
+        this.finalCapital = finalCapital;
+        this.trades = trades;
+        this.curveBars = curveBars;
+        this.equityCurve = equityCurve;
+        this.metrics = metrics;
+    }
+    
+    public double getTotalReturn() {
+        return (finalCapital - initialCapital) / initialCapital;
+    }
+    
+    public int getClosedTrades() {
+        int closed = 0;
+        for (int t = 0; t < trades.size(); t++) {
+            if (trades.isClosed(t)) {
+                closed++;
+            }
+        }
+        return closed;
+    }
+    
+    public int getWinningTrades() {
+        int winners = 0;
+        for (int t = 0; t < trades.size(); t++) {
+            if (trades.isClosed(t) && trades.netPnl(t) > 0.0) {
+                winners++;
+            }
+        }
+        return winners;
+    }
+    
+    public double getWinRate() {
+        int closed = getClosedTrades();
+        return closed > 0 ? (double) getWinningTrades() / closed : 0.0;
+    }
+    
+    public double getInitialCapital() { return initialCapital; }
+    public double getFinalCapital() { return finalCapital; }
+    // Covers every run that fed the same accumulator, not just this one
+    public double getMaxDrawdown() { return metrics.getMaxDrawdown(); }
+    public TradeLog getTrades() { return trades; }
+    public int[] getCurveBars() { return curveBars; }
+    public double[] getEquityCurve() { return equityCurve; }
+    public PerformanceMetrics getMetrics() { return metrics; }
+}
@@ -0,0 +1,30 @@
+package com.quantcrux.engine.backtest;
+
+public class SimulationSettings {
+    
+    private double initialCapital = 100000.0;
+    private double commissionRate = 0.001;
+    private double positionSizePct = 10.0;
+    private int curveSampleInterval = 1;
+    
+    // Constructors
+    public SimulationSettings() {}
+    
+    public SimulationSettings(double initialCapital, double commissionRate) {
+        this.initialCapital = initialCapital;
+        this.commissionRate = commissionRate;
+    }
+    
+    // Getters and Setters
+    public double getInitialCapital() { return initialCapital; }
+    public void setInitialCapital(double initialCapital) { this.initialCapital = initialCapital; }
+    
+    public double getCommissionRate() { return commissionRate; }
+    public void setCommissionRate(double commissionRate) { this.commissionRate = commissionRate; }
+    
+    public double getPositionSizePct() { return positionSizePct; }
+    public void setPositionSizePct(double positionSizePct) { this.positionSizePct = positionSizePct; }
+    
+    public int getCurveSampleInterval() { return curveSampleInterval; }
+    public void setCurveSampleInterval(int curveSampleInterval) { this.curveSampleInterval = curveSampleInterval; }
+}
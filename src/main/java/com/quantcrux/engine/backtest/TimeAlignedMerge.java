@@ -0,0 +1,74 @@
+package com.quantcrux.engine.backtest;
+
+import com.quantcrux.model.MarketData;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of per-symbol bar streams, each already ordered by timestamp. Only the
+ * current head of every stream is held, so memory is O(k) however long the series are;
+ * bars with equal timestamps are grouped into one {@link TimeSlice}.
+ */
+public final class TimeAlignedMerge implements Iterator<TimeSlice> {
+    
+    private final List<? extends Iterator<MarketData>> sources;
+    private final PriorityQueue<Head> heads;
+    
+    public TimeAlignedMerge(List<? extends Iterator<MarketData>> sources) {
+        this.sources = sources;
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()));
+        for (int s = 0; s < sources.size(); s++) {
+            advance(s);
+        }
+    }
+    
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+    
+    @Override
+    public TimeSlice next() {
+        if (heads.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        
+        long time = heads.peek().epochSecond;
+        MarketData[] bars = new MarketData[sources.size()];
+        while (!heads.isEmpty() && heads.peek().epochSecond == time) {
+            Head head = heads.poll();
+            bars[head.source] = head.bar;
+            advance(head.source);
+        }
+        return new TimeSlice(time, bars);
+    }
+    
+    private void advance(int source) {
+        Iterator<MarketData> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            MarketData bar = iterator.next();
+            heads.add(new Head(source, BarSeries.toEpochSecond(bar.getTimestamp()), bar));
+        }
+    }
+    
+    private static final class Head implements Comparable<Head> {
+        private final int source;
+        private final long epochSecond;
+        private final MarketData bar;
+        
+        Head(int source, long epochSecond, MarketData bar) {
+            this.source = source;
+            this.epochSecond = epochSecond;
+            this.bar = bar;
+        }
+        
+        @Override
+        public int compareTo(Head other) {
+            int byTime = Long.compare(epochSecond, other.epochSecond);
+            return byTime != 0 ? byTime : Integer.compare(source, other.source);
+        }
+    }
+}
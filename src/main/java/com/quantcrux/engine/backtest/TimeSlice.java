@@ -0,0 +1,21 @@
+package com.quantcrux.engine.backtest;
+
+import com.quantcrux.model.MarketData;
+
+/**
+ * All bars sharing one timestamp across a merged set of symbols. {@code bars[s]} is the
+ * bar of symbol {@code s} at this time, or {@code null} if that symbol has no bar here.
+ */
+public final class TimeSlice {
+    
+    private final long epochSecond;
+    private final MarketData[] bars;
+    
+    TimeSlice(long epochSecond, MarketData[] bars) {
+        this.epochSecond = epochSecond;
+        this.bars = bars;
+    }
+    
+    public long getEpochSecond() { return epochSecond; }
+    public MarketData[] getBars() { return bars; }
+}
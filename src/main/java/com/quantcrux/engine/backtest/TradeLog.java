@@ -0,0 +1,79 @@
+package com.quantcrux.engine.backtest;
+
+import java.util.Arrays;
+
+/**
+ * Growable struct-of-arrays record of simulated trades. A trade that is still open at
+ * the end of the run has {@code exitBar == -1}.
+ */
+public final class TradeLog {
+    
+    private int size;
+    private int[] entryBar = new int[16];
+    private int[] exitBar = new int[16];
+    private double[] entryPrice = new double[16];
+    private double[] exitPrice = new double[16];
+    private double[] quantity = new double[16];
+    private double[] grossPnl = new double[16];
+    private double[] netPnl = new double[16];
+    private double[] commission = new double[16];
+    private double[] returnPct = new double[16];
+    private double[] positionSizePct = new double[16];
+    private String[] entryReason = new String[16];
+    private String[] exitReason = new String[16];
+    
+    int open(int bar, double price, double qty, double sizePct, String reason) {
+        if (size == entryBar.length) {
+            grow();
+        }
+        int t = size++;
+        entryBar[t] = bar;
+        exitBar[t] = -1;
+        entryPrice[t] = price;
+        quantity[t] = qty;
+        positionSizePct[t] = sizePct;
+        entryReason[t] = reason;
+        return t;
+    }
+    
+    void close(int t, int bar, double price, double gross, double fee, double net, double retPct, String reason) {
+        exitBar[t] = bar;
+        exitPrice[t] = price;
+        grossPnl[t] = gross;
+        commission[t] = fee;
+        netPnl[t] = net;
+        returnPct[t] = retPct;
+        exitReason[t] = reason;
+    }
+    
+    private void grow() {
+        int capacity = entryBar.length * 2;
+        entryBar = Arrays.copyOf(entryBar, capacity);
+        exitBar = Arrays.copyOf(exitBar, capacity);
+        entryPrice = Arrays.copyOf(entryPrice, capacity);
+        exitPrice = Arrays.copyOf(exitPrice, capacity);
+        quantity = Arrays.copyOf(quantity, capacity);
+        grossPnl = Arrays.copyOf(grossPnl, capacity);
+        netPnl = Arrays.copyOf(netPnl, capacity);
+        commission = Arrays.copyOf(commission, capacity);
+        returnPct = Arrays.copyOf(returnPct, capacity);
+        positionSizePct = Arrays.copyOf(positionSizePct, capacity);
+        entryReason = Arrays.copyOf(entryReason, capacity);
+        exitReason = Arrays.copyOf(exitReason, capacity);
+    }
+    
+    public int size() { return size; }
+    public boolean isClosed(int t) { return exitBar[t] >= 0; }
+    public int entryBar(int t) { return entryBar[t]; }
+    public int exitBar(int t) { return exitBar[t]; }
+    public double entryPrice(int t) { return entryPrice[t]; }
+    public double exitPrice(int t) { return exitPrice[t]; }
+    public double quantity(int t) { return quantity[t]; }
+    public double grossPnl(int t) { return grossPnl[t]; }
+    public double netPnl(int t) { return netPnl[t]; }
+    public double commission(int t) { return commission[t]; }
+    public double returnPct(int t) { return returnPct[t]; }
+    public double positionSizePct(int t) { return positionSizePct[t]; }
+    public String entryReason(int t) { return entryReason[t]; }
+    public String exitReason(int t) { return exitReason[t]; }
+}
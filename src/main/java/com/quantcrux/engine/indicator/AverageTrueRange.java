@@ -0,0 +1,43 @@
+package com.quantcrux.engine.indicator;
+
+/**
+ * Wilder's average true range. The first bar's true range is its high-low span; the
+ * average is seeded with the mean of the first {@code period} ranges.
+ */
+public final class AverageTrueRange implements Indicator {
+    
+    private final int period;
+    private double previousClose = Double.NaN;
+    private int count;
+    private double value;
+    
+    public AverageTrueRange(int period) {
+        this.period = period;
+    }
+    
+    @Override
+    public void update(double high, double low, double close) {
+        double trueRange = high - low;
+        if (!Double.isNaN(previousClose)) {
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        }
+        previousClose = close;
+        
+        if (count < period) {
+            count++;
+            value += (trueRange - value) / count;
+        } else {
+            value = (value * (period - 1) + trueRange) / period;
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+    
+    @Override
+    public double value() {
+        return count == 0 ? Double.NaN : value;
+    }
+}
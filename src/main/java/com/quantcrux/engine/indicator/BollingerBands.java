@@ -0,0 +1,63 @@
+package com.quantcrux.engine.indicator;
+
+/**
+ * Simple moving average of closes with bands {@code multiplier} population standard
+ * deviations either side. Outputs: middle, upper, lower.
+ */
+public final class BollingerBands implements Indicator {
+    
+    public static final int MIDDLE = 0;
+    public static final int UPPER = 1;
+    public static final int LOWER = 2;
+    
+    private final RingBuffer window;
+    private final double multiplier;
+    private double sum;
+    private double sumOfSquares;
+    
+    public BollingerBands(int period, double multiplier) {
+        this.window = new RingBuffer(period);
+        this.multiplier = multiplier;
+    }
+    
+    @Override
+    public void update(double high, double low, double close) {
+        double evicted = window.add(close);
+        if (window.wrapped()) {
+            // Periodic exact re-sum keeps the variance from drifting negative
+            sum = window.sum();
+            sumOfSquares = window.sumOfSquares();
+        } else {
+            sum += close;
+            sumOfSquares += close * close;
+            if (!Double.isNaN(evicted)) {
+                sum -= evicted;
+                sumOfSquares -= evicted * evicted;
+            }
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+    
+    @Override
+    public double value() {
+        return value(MIDDLE);
+    }
+    
+    @Override
+    public double value(int output) {
+        int n = window.size();
+        if (n == 0) {
+            return Double.NaN;
+        }
+        double mean = sum / n;
+        if (output == MIDDLE) {
+            return mean;
+        }
+        double deviation = Math.sqrt(Math.max(0.0, sumOfSquares / n - mean * mean));
+        return output == UPPER ? mean + multiplier * deviation : mean - multiplier * deviation;
+    }
+}
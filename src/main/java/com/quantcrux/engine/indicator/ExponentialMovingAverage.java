@@ -0,0 +1,38 @@
+package com.quantcrux.engine.indicator;
+
+/**
+ * Exponential moving average with smoothing {@code 2 / (period + 1)}, seeded with the
+ * simple average of the first {@code period} closes.
+ */
+public final class ExponentialMovingAverage implements Indicator {
+    
+    private final int period;
+    private final double alpha;
+    private int count;
+    private double value;
+    
+    public ExponentialMovingAverage(int period) {
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+    
+    @Override
+    public void update(double high, double low, double close) {
+        if (count < period) {
+            value += (close - value) / (count + 1);
+            count++;
+        } else {
+            value += alpha * (close - value);
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+    
+    @Override
+    public double value() {
+        return count == 0 ? Double.NaN : value;
+    }
+}
@@ -0,0 +1,93 @@
+package com.quantcrux.engine.indicator;
+
+import com.quantcrux.engine.backtest.BarSeries;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Indicator columns over a whole {@link BarSeries}, computed on first use and memoized by
+ * {@link IndicatorSpec}. Each column is filled in one pass over the primitive price arrays,
+ * so every variant of a sweep that reads {@code SMA(50)} shares a single computation. A
+ * value is NaN until its indicator is ready. Safe for concurrent readers; once the cell
+ * budget is spent further columns are computed on demand but no longer kept.
+ */
+public final class FeatureFrame {
+    
+    private final BarSeries bars;
+    private final long maxCells;
+    private final Map<IndicatorSpec, double[][]> columns = new ConcurrentHashMap<>();
+    private final AtomicLong storedCells = new AtomicLong();
+    private final AtomicLong computed = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    
+    public FeatureFrame(BarSeries bars) {
+        this(bars, Long.MAX_VALUE);
+    }
+    
+    public FeatureFrame(BarSeries bars, long maxCells) {
+        this.bars = bars;
+        this.maxCells = maxCells;
+    }
+    
+    /**
+     * Column of {@code output} of {@code spec}, one value per bar. Callers must not modify it.
+     */
+    public double[] column(IndicatorSpec spec, int output) {
+        return columns(spec)[output];
+    }
+    
+    public double[][] columns(IndicatorSpec spec) {
+        double[][] cached = columns.get(spec);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        
+        double[][] values = compute(spec);
+        long cells = (long) values.length * bars.size();
+        if (storedCells.addAndGet(cells) > maxCells) {
+            storedCells.addAndGet(-cells);
+            return values;
+        }
+        // Two threads may race on the same spec; the first stored copy wins
+        double[][] previous = columns.putIfAbsent(spec, values);
+        if (previous != null) {
+            storedCells.addAndGet(-cells);
+            return previous;
+        }
+        return values;
+    }
+    
+    public BarSeries getBars() { return bars; }
+    public int getColumnCount() { return columns.size(); }
+    public long getComputedColumns() { return computed.get(); }
+    public long getHits() { return hits.get(); }
+    
+    private double[][] compute(IndicatorSpec spec) {
+        int n = bars.size();
+        int outputs = spec.getType().getOutputs().length;
+        double[] high = bars.high();
+        double[] low = bars.low();
+        double[] close = bars.close();
+        
+        double[][] values = new double[outputs][n];
+        for (double[] column : values) {
+            Arrays.fill(column, Double.NaN);
+        }
+        
+        Indicator indicator = spec.create();
+        for (int i = 0; i < n; i++) {
+            indicator.update(high[i], low[i], close[i]);
+            if (indicator.isReady()) {
+                for (int o = 0; o < outputs; o++) {
+                    values[o][i] = indicator.value(o);
+                }
+            }
+        }
+        computed.incrementAndGet();
+        return values;
+    }
+}
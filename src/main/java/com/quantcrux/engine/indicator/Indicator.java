@@ -0,0 +1,24 @@
+package com.quantcrux.engine.indicator;
+
+/**
+ * Technical indicator fed one bar at a time. Implementations keep running state so
+ * each update is constant time; a new instance is needed for every series.
+ */
+public interface Indicator {
+    
+    void update(double high, double low, double close);
+    
+    /**
+     * True once enough bars have been seen for {@link #value()} to be meaningful.
+     */
+    boolean isReady();
+    
+    double value();
+    
+    /**
+     * Secondary outputs of multi-line indicators, numbered as in {@link IndicatorType#getOutputs()}.
+     */
+    default double value(int output) {
+        return value();
+    }
+}
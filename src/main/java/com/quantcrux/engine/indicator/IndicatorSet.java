@@ -0,0 +1,62 @@
+package com.quantcrux.engine.indicator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One live instance per distinct {@link IndicatorSpec}, all advanced together. Every rule
+ * or output that refers to the same spec reads the same instance, so each indicator is
+ * updated exactly once per bar however often it is mentioned. A set may be shared by
+ * several strategies on the same series; specs can be registered while it is running.
+ */
+public final class IndicatorSet {
+    
+    private final Map<IndicatorSpec, Integer> index = new HashMap<>();
+    private IndicatorSpec[] specs = new IndicatorSpec[0];
+    private Indicator[] indicators = new Indicator[0];
+    private int size;
+    
+    public IndicatorSet() {}
+    
+    public IndicatorSet(IndicatorSpec[] specs) {
+        for (IndicatorSpec spec : specs) {
+            register(spec);
+        }
+    }
+    
+    /**
+     * Index of the instance for {@code spec}, creating it if needed. A newly created
+     * instance has seen no bars; callers sharing a running set replay history into it.
+     */
+    public int register(IndicatorSpec spec) {
+        Integer existing = index.get(spec);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == indicators.length) {
+            int capacity = Math.max(4, size * 2);
+            specs = Arrays.copyOf(specs, capacity);
+            indicators = Arrays.copyOf(indicators, capacity);
+        }
+        specs[size] = spec;
+        indicators[size] = spec.create();
+        index.put(spec, size);
+        return size++;
+    }
+    
+    public int indexOf(IndicatorSpec spec) {
+        Integer existing = index.get(spec);
+        return existing != null ? existing : -1;
+    }
+    
+    public void update(double high, double low, double close) {
+        for (int k = 0; k < size; k++) {
+            indicators[k].update(high, low, close);
+        }
+    }
+    
+    public int size() { return size; }
+    public IndicatorSpec spec(int k) { return specs[k]; }
+    public Indicator get(int k) { return indicators[k]; }
+}
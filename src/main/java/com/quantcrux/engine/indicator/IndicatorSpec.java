@@ -0,0 +1,108 @@
+package com.quantcrux.engine.indicator;
+
+import java.util.Arrays;
+
+/**
+ * Identity of an indicator within a strategy: its type plus parameters. Rules that
+ * reference equal specs share one {@link Indicator} instance.
+ */
+public final class IndicatorSpec {
+    
+    private final IndicatorType type;
+    private final double[] params;
+    private final String key;
+    
+    private IndicatorSpec(IndicatorType type, double[] params) {
+        this.type = type;
+        this.params = params;
+        this.key = buildKey(type, params);
+    }
+    
+    public static IndicatorSpec of(IndicatorType type, double... params) {
+        double[] defaults = type.getDefaults();
+        if (params.length > defaults.length) {
+            throw new IllegalArgumentException(type + " takes at most " + defaults.length + " parameters");
+        }
+        double[] resolved = defaults.clone();
+        System.arraycopy(params, 0, resolved, 0, params.length);
+        
+        // Fail on invalid parameters when the strategy is compiled, not on the first bar
+        type.create(resolved);
+        return new IndicatorSpec(type, resolved);
+    }
+    
+    /**
+     * Parses tokens like {@code RSI}, {@code SMA_50} or {@code BB_20_2.5}. Returns null when
+     * the token does not name a known indicator type.
+     */
+    public static IndicatorSpec parse(String token) {
+        String[] parts = token.split("_", -1);
+        IndicatorType type = IndicatorType.fromName(parts[0]);
+        if (type == null) {
+            return null;
+        }
+        
+        double[] params = new double[parts.length - 1];
+        for (int i = 1; i < parts.length; i++) {
+            try {
+                params[i - 1] = Double.parseDouble(parts[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid indicator parameter in " + token);
+            }
+        }
+        return of(type, params);
+    }
+    
+    public Indicator create() {
+        return type.create(params);
+    }
+    
+    public int warmupBars() {
+        return type.warmupBars(params);
+    }
+    
+    public IndicatorType getType() { return type; }
+    
+    /**
+     * Name of one output: the key itself for the main value, {@code key.output} otherwise.
+     */
+    public String outputKey(int output) {
+        return output == 0 ? key : key + "." + type.getOutputs()[output];
+    }
+    
+    /**
+     * Canonical name, e.g. {@code SMA_50}; used in rule descriptions and indicator value maps.
+     */
+    public String getKey() { return key; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IndicatorSpec)) return false;
+        IndicatorSpec other = (IndicatorSpec) o;
+        return type == other.type && Arrays.equals(params, other.params);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + Arrays.hashCode(params);
+    }
+    
+    @Override
+    public String toString() {
+        return key;
+    }
+    
+    private static String buildKey(IndicatorType type, double[] params) {
+        StringBuilder key = new StringBuilder(type.name());
+        for (double param : params) {
+            key.append('_');
+            if (param == Math.rint(param)) {
+                key.append((long) param);
+            } else {
+                key.append(param);
+            }
+        }
+        return key.toString();
+    }
+}
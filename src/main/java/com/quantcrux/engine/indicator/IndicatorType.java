@@ -0,0 +1,143 @@
+package com.quantcrux.engine.indicator;
+
+/**
+ * Indicators a strategy config can reference, with their parameter names in the order
+ * used by tokens such as {@code SMA_50} or {@code MACD_12_26_9}, the defaults applied when
+ * a parameter is omitted and the outputs a rule can select ({@code MACD_12_26_9.signal}).
+ */
+public enum IndicatorType {
+    
+    SMA(new String[] {"period"}, new double[] {20}, new String[] {"value"}) {
+        @Override
+        Indicator create(double[] params) {
+            return new SimpleMovingAverage(period(params[0]));
+        }
+        
+        @Override
+        int warmupBars(double[] params) {
+            return period(params[0]);
+        }
+    },
+    
+    EMA(new String[] {"period"}, new double[] {20}, new String[] {"value"}) {
+        @Override
+        Indicator create(double[] params) {
+            return new ExponentialMovingAverage(period(params[0]));
+        }
+        
+        @Override
+        int warmupBars(double[] params) {
+            return period(params[0]);
+        }
+    },
+    
+    RSI(new String[] {"period"}, new double[] {14}, new String[] {"value"}) {
+        @Override
+        Indicator create(double[] params) {
+            return new RelativeStrengthIndex(period(params[0]));
+        }
+        
+        @Override
+        int warmupBars(double[] params) {
+            return period(params[0]) + 1;
+        }
+    },
+    
+    MACD(new String[] {"fast", "slow", "signal"}, new double[] {12, 26, 9}, new String[] {"macd", "signal", "histogram"}) {
+        @Override
+        Indicator create(double[] params) {
+            return new MovingAverageConvergenceDivergence(period(params[0]), period(params[1]), period(params[2]));
+        }
+        
+        @Override
+        int warmupBars(double[] params) {
+            return period(params[1]) + period(params[2]) - 1;
+        }
+    },
+    
+    BOLLINGER(new String[] {"period", "stdDev"}, new double[] {20, 2}, new String[] {"middle", "upper", "lower"}) {
+        @Override
+        Indicator create(double[] params) {
+            if (!(params[1] > 0.0) || params[1] > MAX_BAND_WIDTH) {
+                throw new IllegalArgumentException("Bollinger band width must be above 0 and at most "
+                    + MAX_BAND_WIDTH + " standard deviations, got " + params[1]);
+            }
+            return new BollingerBands(period(params[0]), params[1]);
+        }
+        
+        @Override
+        int warmupBars(double[] params) {
+            return period(params[0]);
+        }
+    },
+    
+    ATR(new String[] {"period"}, new double[] {14}, new String[] {"value"}) {
+        @Override
+        Indicator create(double[] params) {
+            return new AverageTrueRange(period(params[0]));
+        }
+        
+        @Override
+        int warmupBars(double[] params) {
+            return period(params[0]);
+        }
+    };
+    
+    // Indicators allocate their look-back window up front, so configs cannot ask for an unbounded one
+    public static final int MAX_PERIOD = 10_000;
+    public static final double MAX_BAND_WIDTH = 10.0;
+    
+    private final String[] parameterNames;
+    private final double[] defaults;
+    private final String[] outputs;
+    
+    IndicatorType(String[] parameterNames, double[] defaults, String[] outputs) {
+        this.parameterNames = parameterNames;
+        this.defaults = defaults;
+        this.outputs = outputs;
+    }
+    
+    abstract Indicator create(double[] params);
+    
+    abstract int warmupBars(double[] params);
+    
+    public String[] getParameterNames() { return parameterNames.clone(); }
+    public double[] getDefaults() { return defaults.clone(); }
+    public String[] getOutputs() { return outputs.clone(); }
+    
+    /**
+     * Index of the named output; the first output is the indicator's main value.
+     */
+    public int outputIndex(String output) {
+        for (int i = 0; i < outputs.length; i++) {
+            if (outputs[i].equalsIgnoreCase(output)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(name() + " has no output named " + output);
+    }
+    
+    public static IndicatorType fromName(String name) {
+        switch (name.toUpperCase()) {
+            case "BB": case "BBANDS": return BOLLINGER;
+            default: break;
+        }
+        for (IndicatorType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+    
+    static int period(double value) {
+        int period = (int) Math.round(value);
+        if (period < 1 || period != value) {
+            throw new IllegalArgumentException("Indicator period must be a positive whole number, got " + value);
+        }
+        if (period > MAX_PERIOD) {
+            throw new IllegalArgumentException("Indicator period must be at most " + MAX_PERIOD + ", got " + period);
+        }
+        return period;
+    }
+}
@@ -0,0 +1,58 @@
+package com.quantcrux.engine.indicator;
+
+/**
+ * MACD line (fast EMA minus slow EMA), its signal EMA and the histogram between them.
+ * The signal line only starts once the slow EMA is seeded.
+ */
+public final class MovingAverageConvergenceDivergence implements Indicator {
+    
+    public static final int MACD = 0;
+    public static final int SIGNAL = 1;
+    public static final int HISTOGRAM = 2;
+    
+    private final ExponentialMovingAverage fast;
+    private final ExponentialMovingAverage slow;
+    private final ExponentialMovingAverage signal;
+    
+    public MovingAverageConvergenceDivergence(int fastPeriod, int slowPeriod, int signalPeriod) {
+        if (fastPeriod >= slowPeriod) {
+            throw new IllegalArgumentException("MACD fast period must be shorter than the slow period");
+        }
+        this.fast = new ExponentialMovingAverage(fastPeriod);
+        this.slow = new ExponentialMovingAverage(slowPeriod);
+        this.signal = new ExponentialMovingAverage(signalPeriod);
+    }
+    
+    @Override
+    public void update(double high, double low, double close) {
+        fast.update(high, low, close);
+        slow.update(high, low, close);
+        if (slow.isReady()) {
+            double line = fast.value() - slow.value();
+            signal.update(line, line, line);
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return signal.isReady();
+    }
+    
+    @Override
+    public double value() {
+        return value(MACD);
+    }
+    
+    @Override
+    public double value(int output) {
+        if (!slow.isReady()) {
+            return Double.NaN;
+        }
+        double line = fast.value() - slow.value();
+        switch (output) {
+            case SIGNAL: return signal.value();
+            case HISTOGRAM: return line - signal.value();
+            default: return line;
+        }
+    }
+}
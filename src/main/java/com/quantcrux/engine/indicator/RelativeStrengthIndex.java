@@ -0,0 +1,56 @@
+package com.quantcrux.engine.indicator;
+
+/**
+ * Wilder's RSI: average gains and losses are seeded with a simple mean over the first
+ * {@code period} changes and smoothed with {@code 1 / period} afterwards.
+ */
+public final class RelativeStrengthIndex implements Indicator {
+    
+    private final int period;
+    private double previousClose = Double.NaN;
+    private int changes;
+    private double avgGain;
+    private double avgLoss;
+    
+    public RelativeStrengthIndex(int period) {
+        this.period = period;
+    }
+    
+    @Override
+    public void update(double high, double low, double close) {
+        if (Double.isNaN(previousClose)) {
+            previousClose = close;
+            return;
+        }
+        
+        double change = close - previousClose;
+        double gain = change > 0 ? change : 0.0;
+        double loss = change < 0 ? -change : 0.0;
+        previousClose = close;
+        
+        if (changes < period) {
+            changes++;
+            avgGain += (gain - avgGain) / changes;
+            avgLoss += (loss - avgLoss) / changes;
+        } else {
+            avgGain = (avgGain * (period - 1) + gain) / period;
+            avgLoss = (avgLoss * (period - 1) + loss) / period;
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return changes >= period;
+    }
+    
+    @Override
+    public double value() {
+        if (changes == 0) {
+            return Double.NaN;
+        }
+        if (avgLoss == 0.0) {
+            return avgGain == 0.0 ? 50.0 : 100.0;
+        }
+        return 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+    }
+}
@@ -0,0 +1,70 @@
+package com.quantcrux.engine.indicator;
+
+/**
+ * Fixed-capacity window of doubles. Adding to a full buffer overwrites the oldest value.
+ */
+public final class RingBuffer {
+    
+    private final double[] values;
+    private int next;
+    private int size;
+    
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive");
+        }
+        this.values = new double[capacity];
+    }
+    
+    /**
+     * Appends {@code value} and returns the value it displaced, or NaN while the buffer is filling.
+     */
+    public double add(double value) {
+        double evicted = size == values.length ? values[next] : Double.NaN;
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+        if (size < values.length) {
+            size++;
+        }
+        return evicted;
+    }
+    
+    /**
+     * Value {@code age} bars back, 0 being the most recent.
+     */
+    public double get(int age) {
+        if (age < 0 || age >= size) {
+            throw new IndexOutOfBoundsException("No value " + age + " bars back");
+        }
+        int index = next - 1 - age;
+        return values[index < 0 ? index + values.length : index];
+    }
+    
+    /**
+     * True when the next {@link #add} overwrites the slot the window started at, i.e. once
+     * per {@code capacity} additions after filling. Running sums re-sum here to shed drift.
+     */
+    public boolean wrapped() {
+        return size == values.length && next == 0;
+    }
+    
+    public double sum() {
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+    
+    public double sumOfSquares() {
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i] * values[i];
+        }
+        return sum;
+    }
+    
+    public boolean isFull() { return size == values.length; }
+    public int size() { return size; }
+    public int capacity() { return values.length; }
+}
@@ -0,0 +1,36 @@
+package com.quantcrux.engine.indicator;
+
+/**
+ * Arithmetic mean of the last {@code period} closes, kept as a running sum over a
+ * {@link RingBuffer}. The sum is rebuilt from the window once per period so floating
+ * point error cannot accumulate; that keeps updates amortised O(1).
+ */
+public final class SimpleMovingAverage implements Indicator {
+    
+    private final RingBuffer window;
+    private double sum;
+    
+    public SimpleMovingAverage(int period) {
+        this.window = new RingBuffer(period);
+    }
+    
+    @Override
+    public void update(double high, double low, double close) {
+        double evicted = window.add(close);
+        if (window.wrapped()) {
+            sum = window.sum();
+        } else {
+            sum += Double.isNaN(evicted) ? close : close - evicted;
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+    
+    @Override
+    public double value() {
+        return window.size() == 0 ? Double.NaN : sum / window.size();
+    }
+}
@@ -0,0 +1,40 @@
+package com.quantcrux.engine.live;
+
+import com.quantcrux.model.SignalType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A strategy's signal flipping on a bar of its {@link SymbolFeed}.
+ */
+public final class SignalChange {
+    
+    private final UUID strategyId;
+    private final SignalType signal;
+    private final long barTime;
+    private final double price;
+    private final Map<String, Double> indicatorValues;
+    private final List<String> matchedRules;
+    private final double confidence;
+    
+    public SignalChange(UUID strategyId, SignalType signal, long barTime, double price,
+                        Map<String, Double> indicatorValues, List<String> matchedRules, double confidence) {
+        this.strategyId = strategyId;
+        this.signal = signal;
+        this.barTime = barTime;
+        this.price = price;
+        this.indicatorValues = indicatorValues;
+        this.matchedRules = matchedRules;
+        this.confidence = confidence;
+    }
+    
+    public UUID getStrategyId() { return strategyId; }
+    public SignalType getSignal() { return signal; }
+    public long getBarTime() { return barTime; }
+    public double getPrice() { return price; }
+    public Map<String, Double> getIndicatorValues() { return indicatorValues; }
+    public List<String> getMatchedRules() { return matchedRules; }
+    public double getConfidence() { return confidence; }
+}
@@ -0,0 +1,173 @@
+package com.quantcrux.engine.live;
+
+import com.quantcrux.engine.indicator.Indicator;
+import com.quantcrux.engine.indicator.IndicatorSet;
+import com.quantcrux.engine.indicator.IndicatorSpec;
+import com.quantcrux.engine.rules.CompiledStrategy;
+import com.quantcrux.engine.rules.StrategyEvaluator;
+import com.quantcrux.model.SignalType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Live state of one (symbol, timeframe) series. All strategies attached to the feed read a
+ * single {@link IndicatorSet}, so an indicator used by a thousand strategies is still
+ * updated once per bar; each strategy only keeps its rule state and last signal. A short
+ * bar history is retained to warm up indicators registered by strategies attached later.
+ */
+public final class SymbolFeed {
+    
+    private final String symbol;
+    private final String timeframe;
+    private final IndicatorSet indicators = new IndicatorSet();
+    private final Map<UUID, Subscriber> subscribers = new LinkedHashMap<>();
+    
+    private final long[] timestamps;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private int next;
+    private int size;
+    
+    public SymbolFeed(String symbol, String timeframe, int historyCapacity) {
+        if (historyCapacity < 1) {
+            throw new IllegalArgumentException("History capacity must be positive");
+        }
+        this.symbol = symbol;
+        this.timeframe = timeframe;
+        this.timestamps = new long[historyCapacity];
+        this.open = new double[historyCapacity];
+        this.high = new double[historyCapacity];
+        this.low = new double[historyCapacity];
+        this.close = new double[historyCapacity];
+        this.volume = new double[historyCapacity];
+    }
+    
+    /**
+     * Attaches {@code strategy}, replacing any earlier version attached under the same id.
+     * Indicators the feed does not compute yet are created and replayed over the retained
+     * history. {@code configHash} identifies the config it was compiled from, and
+     * {@code lastSignal} is the last signal already recorded for the strategy, so a restart
+     * does not emit it again.
+     */
+    public synchronized void attach(UUID strategyId, String configHash, CompiledStrategy strategy, SignalType lastSignal) {
+        for (IndicatorSpec spec : strategy.getIndicatorSpecs()) {
+            int before = indicators.size();
+            int k = indicators.register(spec);
+            if (k == before) {
+                replayHistory(indicators.get(k));
+            }
+        }
+        
+        StrategyEvaluator evaluator = strategy.newEvaluator(indicators);
+        if (size > 0) {
+            int last = index(0);
+            evaluator.refresh(open[last], high[last], low[last], close[last], volume[last]);
+        }
+        subscribers.put(strategyId, new Subscriber(strategyId, configHash, evaluator, lastSignal));
+    }
+    
+    public synchronized boolean detach(UUID strategyId) {
+        return subscribers.remove(strategyId) != null;
+    }
+    
+    /**
+     * Whether the strategy is attached with the config of the given hash. Compared by hash,
+     * not by compiled instance, since a cache eviction recompiles an unchanged config.
+     */
+    public synchronized boolean isAttached(UUID strategyId, String configHash) {
+        Subscriber subscriber = subscribers.get(strategyId);
+        return subscriber != null && subscriber.configHash.equals(configHash);
+    }
+    
+    /**
+     * Advances every shared indicator and then every attached strategy by one bar. Bars at
+     * or before the last one seen are ignored. With {@code emit} set, returns one change
+     * per strategy whose signal differs from the last one recorded; otherwise the bar only
+     * warms up state.
+     */
+    public synchronized List<SignalChange> onBar(long epochSecond, double o, double h, double l, double c, double v,
+                                                 boolean emit) {
+        if (size > 0 && epochSecond <= timestamps[index(0)]) {
+            return Collections.emptyList();
+        }
+        
+        timestamps[next] = epochSecond;
+        open[next] = o;
+        high[next] = h;
+        low[next] = l;
+        close[next] = c;
+        volume[next] = v;
+        next = next + 1 == timestamps.length ? 0 : next + 1;
+        if (size < timestamps.length) {
+            size++;
+        }
+        
+        indicators.update(h, l, c);
+        
+        List<SignalChange> changes = emit ? new ArrayList<>() : Collections.emptyList();
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.evaluator.refresh(o, h, l, c, v);
+            if (!emit) {
+                continue;
+            }
+            
+            SignalType signal = subscriber.evaluator.currentSignal();
+            if (signal != SignalType.NO_SIGNAL && signal != subscriber.lastSignal) {
+                subscriber.lastSignal = signal;
+                changes.add(new SignalChange(subscriber.strategyId, signal, epochSecond, c,
+                                             subscriber.evaluator.indicatorValues(),
+                                             subscriber.evaluator.matchedRules(),
+                                             subscriber.evaluator.confidence()));
+            }
+        }
+        return changes;
+    }
+    
+    public String getSymbol() { return symbol; }
+    public String getTimeframe() { return timeframe; }
+    
+    public synchronized boolean isEmpty() { return subscribers.isEmpty(); }
+    public synchronized int getSubscriberCount() { return subscribers.size(); }
+    public synchronized int getIndicatorCount() { return indicators.size(); }
+    
+    /**
+     * Epoch second of the latest bar, or {@link Long#MIN_VALUE} before the first one.
+     */
+    public synchronized long getLastBarTime() {
+        return size > 0 ? timestamps[index(0)] : Long.MIN_VALUE;
+    }
+    
+    private void replayHistory(Indicator indicator) {
+        for (int age = size - 1; age >= 0; age--) {
+            int i = index(age);
+            indicator.update(high[i], low[i], close[i]);
+        }
+    }
+    
+    private int index(int age) {
+        int i = next - 1 - age;
+        return i < 0 ? i + timestamps.length : i;
+    }
+    
+    private static final class Subscriber {
+        private final UUID strategyId;
+        private final String configHash;
+        private final StrategyEvaluator evaluator;
+        private SignalType lastSignal;
+        
+        Subscriber(UUID strategyId, String configHash, StrategyEvaluator evaluator, SignalType lastSignal) {
+            this.strategyId = strategyId;
+            this.configHash = configHash;
+            this.evaluator = evaluator;
+            this.lastSignal = lastSignal;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.quantcrux.engine.rules;
+
+import java.util.List;
+
+final class Comparison implements Condition {
+    
+    private final Operand left;
+    private final ComparisonOperator operator;
+    private final Operand right;
+    private final String description;
+    
+    Comparison(Operand left, ComparisonOperator operator, Operand right) {
+        this.left = left;
+        this.operator = operator;
+        this.right = right;
+        this.description = left.label() + " " + operator.symbol() + " " + right.label();
+    }
+    
+    @Override
+    public boolean test(RuleState state) {
+        return operator.test(left.previous(state), left.current(state), right.previous(state), right.current(state));
+    }
+    
+    @Override
+    public void collectMatched(RuleState state, List<String> matched) {
+        if (test(state)) {
+            matched.add(description);
+        }
+    }
+    
+    @Override
+    public int ruleCount() {
+        return 1;
+    }
+    
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,76 @@
+package com.quantcrux.engine.rules;
+
+/**
+ * Operators allowed in a rule. Crossings compare the previous bar with the current one.
+ */
+enum ComparisonOperator {
+    
+    GREATER_THAN(">") {
+        @Override
+        boolean test(double leftPrev, double left, double rightPrev, double right) {
+            return left > right;
+        }
+    },
+    GREATER_OR_EQUAL(">=") {
+        @Override
+        boolean test(double leftPrev, double left, double rightPrev, double right) {
+            return left >= right;
+        }
+    },
+    LESS_THAN("<") {
+        @Override
+        boolean test(double leftPrev, double left, double rightPrev, double right) {
+            return left < right;
+        }
+    },
+    LESS_OR_EQUAL("<=") {
+        @Override
+        boolean test(double leftPrev, double left, double rightPrev, double right) {
+            return left <= right;
+        }
+    },
+    EQUAL("==") {
+        @Override
+        boolean test(double leftPrev, double left, double rightPrev, double right) {
+            return left == right;
+        }
+    },
+    CROSSES_ABOVE("crosses above") {
+        @Override
+        boolean test(double leftPrev, double left, double rightPrev, double right) {
+            return leftPrev <= rightPrev && left > right;
+        }
+    },
+    CROSSES_BELOW("crosses below") {
+        @Override
+        boolean test(double leftPrev, double left, double rightPrev, double right) {
+            return leftPrev >= rightPrev && left < right;
+        }
+    };
+    
+    private final String symbol;
+    
+    ComparisonOperator(String symbol) {
+        this.symbol = symbol;
+    }
+    
+    abstract boolean test(double leftPrev, double left, double rightPrev, double right);
+    
+    String symbol() {
+        return symbol;
+    }
+    
+    static ComparisonOperator parse(String text) {
+        String normalized = text.trim().toLowerCase().replace(' ', '_');
+        switch (normalized) {
+            case ">": case "gt": case "greater_than": case "above": return GREATER_THAN;
+            case ">=": case "gte": case "greater_or_equal": return GREATER_OR_EQUAL;
+            case "<": case "lt": case "less_than": case "below": return LESS_THAN;
+            case "<=": case "lte": case "less_or_equal": return LESS_OR_EQUAL;
+            case "=": case "==": case "eq": case "equals": return EQUAL;
+            case "crosses_above": case "cross_above": case "crossover": return CROSSES_ABOVE;
+            case "crosses_below": case "cross_below": case "crossunder": return CROSSES_BELOW;
+            default: throw new IllegalArgumentException("Unsupported rule operator: " + text);
+        }
+    }
+}
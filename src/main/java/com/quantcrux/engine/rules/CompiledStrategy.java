@@ -0,0 +1,127 @@
+package com.quantcrux.engine.rules;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.quantcrux.engine.backtest.SignalSource;
+import com.quantcrux.engine.indicator.FeatureFrame;
+import com.quantcrux.engine.indicator.IndicatorSet;
+import com.quantcrux.engine.indicator.IndicatorSpec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of compiling a strategy config: de-duplicated indicator specs, the
+ * (indicator, output) pairs rules read, and entry and exit condition trees addressing
+ * those pairs by slot. Evaluation state lives in the
+ * {@link StrategyEvaluator}s it creates, so one instance can be shared across threads.
+ */
+public final class CompiledStrategy {
+    
+    private final JsonNode source;
+    private final Map<String, Double> parameters;
+    private final IndicatorSpec[] indicators;
+    private final int[] slotIndicators;
+    private final int[] slotOutputs;
+    private final Condition entry;
+    private final Condition exit;
+    private final int warmupBars;
+    
+    CompiledStrategy(JsonNode source, Map<String, Double> parameters, IndicatorSpec[] indicators,
+                     int[] slotIndicators, int[] slotOutputs, Condition entry, Condition exit) {
+        this.source = source;
+        this.parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+        this.indicators = indicators;
+        this.slotIndicators = slotIndicators;
+        this.slotOutputs = slotOutputs;
+        this.entry = entry;
+        this.exit = exit;
+        
+        int warmup = 1;
+        for (IndicatorSpec spec : indicators) {
+            warmup = Math.max(warmup, spec.warmupBars());
+        }
+        this.warmupBars = warmup;
+    }
+    
+    public StrategyEvaluator newEvaluator() {
+        return new StrategyEvaluator(this, new IndicatorSet(indicators), true);
+    }
+    
+    /**
+     * Evaluator that reads indicators from {@code shared} instead of owning them. The
+     * owner of the set registers this strategy's specs beforehand, advances the set once
+     * per bar and then calls {@link StrategyEvaluator#refresh} on every attached evaluator.
+     */
+    public StrategyEvaluator newEvaluator(IndicatorSet shared) {
+        return new StrategyEvaluator(this, shared, false);
+    }
+    
+    /**
+     * Backtest signal source over {@code frame}; indicator columns are taken from the frame
+     * and computed there at most once per spec, however many strategies read them.
+     */
+    public SignalSource newSignalSource(FeatureFrame frame) {
+        return new FrameSignalSource(this, frame);
+    }
+    
+    public List<IndicatorSpec> getIndicatorSpecs() {
+        return List.of(indicators);
+    }
+    
+    /**
+     * Recompiles with some declared parameters replaced. Names the config does not declare
+     * are ignored, so callers can pass a mixed map of strategy and simulation parameters.
+     */
+    public CompiledStrategy bind(Map<String, Double> overrides) {
+        Map<String, Double> bound = new LinkedHashMap<>(parameters);
+        boolean changed = false;
+        for (Map.Entry<String, Double> override : overrides.entrySet()) {
+            if (parameters.containsKey(override.getKey()) && !override.getValue().equals(parameters.get(override.getKey()))) {
+                bound.put(override.getKey(), override.getValue());
+                changed = true;
+            }
+        }
+        return changed ? StrategyCompiler.compile(source, bound) : this;
+    }
+    
+    /**
+     * False for configs without any entry or exit rule.
+     */
+    public boolean hasRules() {
+        return entry.ruleCount() + exit.ruleCount() > 0;
+    }
+    
+    public Map<String, Double> getParameters() { return parameters; }
+    
+    /**
+     * Bars needed before every indicator is ready.
+     */
+    public int getWarmupBars() { return warmupBars; }
+    
+    public int getEntryRuleCount() { return entry.ruleCount(); }
+    public int getExitRuleCount() { return exit.ruleCount(); }
+    
+    public List<String> getIndicatorKeys() {
+        List<String> keys = new ArrayList<>(indicators.length);
+        for (IndicatorSpec spec : indicators) {
+            keys.add(spec.getKey());
+        }
+        return keys;
+    }
+    
+    IndicatorSpec[] indicators() { return indicators; }
+    int[] slotIndicators() { return slotIndicators; }
+    int[] slotOutputs() { return slotOutputs; }
+    Condition entry() { return entry; }
+    Condition exit() { return exit; }
+    
+    // Descriptions of the entry or exit rules that hold in state, joined for a trade record
+    String matchedRules(int signal, RuleState state) {
+        List<String> matched = new ArrayList<>();
+        (signal == SignalSource.ENTER_LONG ? entry : exit).collectMatched(state, matched);
+        return matched.isEmpty() ? null : String.join(", ", matched);
+    }
+}
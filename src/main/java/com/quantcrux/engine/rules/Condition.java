@@ -0,0 +1,18 @@
+package com.quantcrux.engine.rules;
+
+import java.util.List;
+
+/**
+ * Node of a compiled rule tree.
+ */
+interface Condition {
+    
+    boolean test(RuleState state);
+    
+    /**
+     * Adds the descriptions of all leaf rules that currently hold.
+     */
+    void collectMatched(RuleState state, List<String> matched);
+    
+    int ruleCount();
+}
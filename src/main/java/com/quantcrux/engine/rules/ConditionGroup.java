@@ -0,0 +1,65 @@
+package com.quantcrux.engine.rules;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * AND/OR over child conditions, short-circuiting in declaration order. An empty group
+ * never holds, so a strategy without exit rules simply never exits.
+ */
+final class ConditionGroup implements Condition {
+    
+    private final boolean requireAll;
+    private final Condition[] children;
+    
+    ConditionGroup(boolean requireAll, Condition[] children) {
+        this.requireAll = requireAll;
+        this.children = children;
+    }
+    
+    @Override
+    public boolean test(RuleState state) {
+        if (children.length == 0) {
+            return false;
+        }
+        if (requireAll) {
+            for (Condition child : children) {
+                if (!child.test(state)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (Condition child : children) {
+            if (child.test(state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public void collectMatched(RuleState state, List<String> matched) {
+        for (Condition child : children) {
+            child.collectMatched(state, matched);
+        }
+    }
+    
+    @Override
+    public int ruleCount() {
+        int count = 0;
+        for (Condition child : children) {
+            count += child.ruleCount();
+        }
+        return count;
+    }
+    
+    @Override
+    public String toString() {
+        StringJoiner joined = new StringJoiner(requireAll ? " AND " : " OR ", "(", ")");
+        for (Condition child : children) {
+            joined.add(child.toString());
+        }
+        return joined.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.quantcrux.engine.rules;
+
+import com.quantcrux.engine.backtest.BarSeries;
+import com.quantcrux.engine.backtest.SignalSource;
+import com.quantcrux.engine.indicator.FeatureFrame;
+import com.quantcrux.engine.indicator.IndicatorSpec;
+
+import java.util.Arrays;
+
+/**
+ * Backtest-only counterpart of {@link StrategyEvaluator} that reads precomputed columns of
+ * a {@link FeatureFrame} instead of advancing indicators bar by bar. Signals are identical;
+ * the difference is that strategies evaluated over the same frame share indicator work.
+ * Bars may start anywhere in the series, as the previous bar is read straight from the frame.
+ */
+final class FrameSignalSource implements SignalSource {
+    
+    private final CompiledStrategy strategy;
+    private final BarSeries bars;
+    private final double[][] slotColumns;
+    private final RuleState state;
+    private int lastBar = Integer.MIN_VALUE;
+    
+    FrameSignalSource(CompiledStrategy strategy, FeatureFrame frame) {
+        this.strategy = strategy;
+        this.bars = frame.getBars();
+        
+        IndicatorSpec[] specs = strategy.indicators();
+        int[] slotIndicators = strategy.slotIndicators();
+        int[] slotOutputs = strategy.slotOutputs();
+        this.slotColumns = new double[slotIndicators.length][];
+        for (int s = 0; s < slotColumns.length; s++) {
+            slotColumns[s] = frame.column(specs[slotIndicators[s]], slotOutputs[s]);
+        }
+        this.state = new RuleState(RuleState.FIRST_INDICATOR + slotColumns.length);
+    }
+    
+    @Override
+    public int evaluate(BarSeries series, int bar, boolean inPosition) {
+        if (series != bars) {
+            throw new IllegalArgumentException("Signal source was built for a different bar series");
+        }
+        if (bar != lastBar + 1) {
+            load(bar - 1);
+        }
+        load(bar);
+        lastBar = bar;
+        
+        if (!inPosition && strategy.entry().test(state)) {
+            return ENTER_LONG;
+        }
+        if (inPosition && strategy.exit().test(state)) {
+            return EXIT_LONG;
+        }
+        return NONE;
+    }
+    
+    @Override
+    public String reason(int signal) {
+        return strategy.matchedRules(signal, state);
+    }
+    
+    private void load(int bar) {
+        state.advance();
+        double[] current = state.current;
+        if (bar < 0) {
+            Arrays.fill(current, Double.NaN);
+            return;
+        }
+        
+        current[RuleState.OPEN] = bars.open()[bar];
+        current[RuleState.HIGH] = bars.high()[bar];
+        current[RuleState.LOW] = bars.low()[bar];
+        current[RuleState.CLOSE] = bars.close()[bar];
+        current[RuleState.VOLUME] = bars.volume()[bar];
+        for (int s = 0; s < slotColumns.length; s++) {
+            current[RuleState.FIRST_INDICATOR + s] = slotColumns[s][bar];
+        }
+    }
+}
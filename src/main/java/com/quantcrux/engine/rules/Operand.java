@@ -0,0 +1,40 @@
+package com.quantcrux.engine.rules;
+
+/**
+ * Either a constant or a slot of {@link RuleState}. Unready indicators hold NaN, so any
+ * comparison against them is false.
+ */
+final class Operand {
+    
+    private final int slot;
+    private final double constant;
+    private final String label;
+    
+    private Operand(int slot, double constant, String label) {
+        this.slot = slot;
+        this.constant = constant;
+        this.label = label;
+    }
+    
+    static Operand constant(double value) {
+        String label = value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value) : Double.toString(value);
+        return new Operand(-1, value, label);
+    }
+    
+    static Operand slot(int slot, String label) {
+        return new Operand(slot, Double.NaN, label);
+    }
+    
+    double current(RuleState state) {
+        return slot < 0 ? constant : state.current[slot];
+    }
+    
+    double previous(RuleState state) {
+        return slot < 0 ? constant : state.previous[slot];
+    }
+    
+    String label() {
+        return label;
+    }
+}
@@ -0,0 +1,31 @@
+package com.quantcrux.engine.rules;
+
+import java.util.Arrays;
+
+/**
+ * Per-run values the compiled rules read from: one slot per price field and per
+ * distinct indicator, for the current bar and the bar before it.
+ */
+final class RuleState {
+    
+    static final int OPEN = 0;
+    static final int HIGH = 1;
+    static final int LOW = 2;
+    static final int CLOSE = 3;
+    static final int VOLUME = 4;
+    static final int FIRST_INDICATOR = 5;
+    
+    final double[] current;
+    final double[] previous;
+    
+    RuleState(int slots) {
+        this.current = new double[slots];
+        this.previous = new double[slots];
+        Arrays.fill(current, Double.NaN);
+        Arrays.fill(previous, Double.NaN);
+    }
+    
+    void advance() {
+        System.arraycopy(current, 0, previous, 0, current.length);
+    }
+}
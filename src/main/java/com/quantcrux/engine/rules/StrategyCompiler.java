@@ -0,0 +1,310 @@
+package com.quantcrux.engine.rules;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantcrux.engine.indicator.IndicatorSpec;
+import com.quantcrux.engine.indicator.IndicatorType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles {@code Strategy.configJson} into a {@link CompiledStrategy}. All name resolution
+ * happens here; the resulting trees only hold slot indices and constants.
+ *
+ * <pre>
+ * {
+ *   "parameters": { "fast": 10, "slow": 30 },
+ *   "indicators": [ { "id": "trend", "type": "EMA", "period": "${slow}" } ],
+ *   "entry": { "logic": "AND", "rules": [
+ *     { "left": "SMA_${fast}", "operator": "crosses_above", "right": "trend" },
+ *     { "indicator": "RSI_14", "operator": "<", "value": 70 }
+ *   ] },
+ *   "exit": [ "close < trend" ]
+ * }
+ * </pre>
+ *
+ * Operands are numbers, price fields ({@code open}, {@code high}, {@code low},
+ * {@code close}/{@code price}, {@code volume}), ids from {@code indicators}, inline tokens
+ * such as {@code RSI_14} or objects like {@code {"type": "SMA", "period": 50}}. A suffix
+ * like {@code MACD_12_26_9.signal} or {@code bands.upper} selects a secondary output.
+ * {@code ${name}} is replaced by the bound value of a declared parameter. Groups nest.
+ */
+public final class StrategyCompiler {
+    
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Pattern PARAMETER_REFERENCE = Pattern.compile("\\$\\{([A-Za-z0-9_.-]+)}");
+    private static final Pattern INLINE_RULE = Pattern.compile(
+        "^(.+?)\\s*(crosses above|crosses below|>=|<=|==|>|<|=)\\s*(.+)$", Pattern.CASE_INSENSITIVE);
+    
+    private StrategyCompiler() {}
+    
+    public static CompiledStrategy compile(String configJson) {
+        if (configJson == null || configJson.isBlank()) {
+            return compile(objectMapper.createObjectNode(), Collections.emptyMap());
+        }
+        try {
+            return compile(objectMapper.readTree(configJson), Collections.emptyMap());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Strategy config is not valid JSON: " + e.getOriginalMessage());
+        }
+    }
+    
+    static CompiledStrategy compile(JsonNode root, Map<String, Double> overrides) {
+        if (!root.isObject()) {
+            throw new IllegalArgumentException("Strategy config must be a JSON object");
+        }
+        
+        Map<String, Double> parameters = new LinkedHashMap<>();
+        root.path("parameters").fields().forEachRemaining(field -> {
+            JsonNode value = field.getValue().isObject() ? firstPresent(field.getValue(), "value", "default") : field.getValue();
+            if (value == null || !value.isNumber()) {
+                throw new IllegalArgumentException("Strategy parameter " + field.getKey() + " must be numeric");
+            }
+            parameters.put(field.getKey(), value.doubleValue());
+        });
+        parameters.putAll(overrides);
+        
+        Scope scope = new Scope(parameters);
+        for (JsonNode declaration : root.path("indicators")) {
+            IndicatorSpec spec = scope.indicator(declaration);
+            scope.slotFor(spec, 0);
+            String id = text(firstPresent(declaration, "id", "name", "alias"));
+            if (id != null) {
+                scope.named.put(id.toLowerCase(Locale.ROOT), spec);
+            }
+        }
+        
+        Condition entry = scope.condition(firstPresent(root, "entry", "entryRules", "entry_rules", "entryConditions"));
+        Condition exit = scope.condition(firstPresent(root, "exit", "exitRules", "exit_rules", "exitConditions"));
+        
+        int[] slotIndicators = new int[scope.slotIndicators.size()];
+        int[] slotOutputs = new int[slotIndicators.length];
+        for (int s = 0; s < slotIndicators.length; s++) {
+            slotIndicators[s] = scope.slotIndicators.get(s);
+            slotOutputs[s] = scope.slotOutputs.get(s);
+        }
+        
+        return new CompiledStrategy(root, parameters, scope.indicators.keySet().toArray(new IndicatorSpec[0]),
+                                    slotIndicators, slotOutputs, entry, exit);
+    }
+    
+    private static JsonNode firstPresent(JsonNode node, String... names) {
+        for (String name : names) {
+            JsonNode value = node.get(name);
+            if (value != null && !value.isNull()) {
+                return value;
+            }
+        }
+        return null;
+    }
+    
+    private static String text(JsonNode node) {
+        return node != null && node.isTextual() ? node.asText() : null;
+    }
+    
+    /**
+     * Name resolution state for a single compilation.
+     */
+    private static final class Scope {
+        
+        private final Map<String, Double> parameters;
+        // Distinct specs in first-use order; each becomes one shared indicator instance
+        private final Map<IndicatorSpec, Integer> indicators = new LinkedHashMap<>();
+        // One slot per (indicator, output) pair that a rule actually reads
+        private final Map<String, Integer> slots = new LinkedHashMap<>();
+        private final List<Integer> slotIndicators = new ArrayList<>();
+        private final List<Integer> slotOutputs = new ArrayList<>();
+        private final Map<String, IndicatorSpec> named = new LinkedHashMap<>();
+        
+        Scope(Map<String, Double> parameters) {
+            this.parameters = parameters;
+        }
+        
+        int slotFor(IndicatorSpec spec, int output) {
+            int indicator = indicators.computeIfAbsent(spec, s -> indicators.size());
+            return slots.computeIfAbsent(indicator + ":" + output, key -> {
+                slotIndicators.add(indicator);
+                slotOutputs.add(output);
+                return RuleState.FIRST_INDICATOR + slotIndicators.size() - 1;
+            });
+        }
+        
+        private Operand indicatorOperand(IndicatorSpec spec, String output) {
+            int index = output == null ? 0 : spec.getType().outputIndex(output);
+            return Operand.slot(slotFor(spec, index), spec.outputKey(index));
+        }
+        
+        Condition condition(JsonNode node) {
+            if (node == null) {
+                return new ConditionGroup(true, new Condition[0]);
+            }
+            if (node.isArray()) {
+                return group(true, node);
+            }
+            if (node.isTextual()) {
+                return inlineRule(node.asText());
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Invalid rule: " + node);
+            }
+            
+            JsonNode children = firstPresent(node, "rules", "conditions");
+            if (children != null) {
+                String logic = text(firstPresent(node, "logic", "type", "combinator"));
+                return group(logic == null || isAll(logic), children);
+            }
+            
+            JsonNode left = firstPresent(node, "left", "indicator", "operand", "source");
+            JsonNode operator = firstPresent(node, "operator", "op", "condition", "comparison");
+            JsonNode right = firstPresent(node, "right", "value", "compareTo", "target");
+            if (left == null || operator == null || right == null) {
+                throw new IllegalArgumentException("Rule needs a left operand, an operator and a right operand: " + node);
+            }
+            return new Comparison(operand(left), ComparisonOperator.parse(substitute(operator.asText())), operand(right));
+        }
+        
+        private Condition group(boolean requireAll, JsonNode children) {
+            List<Condition> conditions = new ArrayList<>();
+            for (JsonNode child : children) {
+                conditions.add(condition(child));
+            }
+            return new ConditionGroup(requireAll, conditions.toArray(new Condition[0]));
+        }
+        
+        private boolean isAll(String logic) {
+            switch (logic.trim().toUpperCase(Locale.ROOT)) {
+                case "AND": case "ALL": return true;
+                case "OR": case "ANY": return false;
+                default: throw new IllegalArgumentException("Unsupported rule logic: " + logic);
+            }
+        }
+        
+        private Condition inlineRule(String rule) {
+            Matcher matcher = INLINE_RULE.matcher(substitute(rule).trim());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Cannot parse rule: " + rule);
+            }
+            return new Comparison(operand(matcher.group(1).trim()), ComparisonOperator.parse(matcher.group(2)),
+                                  operand(matcher.group(3).trim()));
+        }
+        
+        private Operand operand(JsonNode node) {
+            if (node.isNumber()) {
+                return Operand.constant(node.doubleValue());
+            }
+            if (node.isTextual()) {
+                return operand(substitute(node.asText()).trim());
+            }
+            if (node.isObject()) {
+                if (firstPresent(node, "type", "indicator") != null) {
+                    return indicatorOperand(indicator(node), text(node.get("output")));
+                }
+                String parameter = text(firstPresent(node, "param", "parameter"));
+                if (parameter != null) {
+                    return operand(substitute("${" + parameter + "}"));
+                }
+                JsonNode value = node.get("value");
+                if (value != null) {
+                    return operand(value);
+                }
+            }
+            throw new IllegalArgumentException("Invalid rule operand: " + node);
+        }
+        
+        private Operand operand(String token) {
+            try {
+                return Operand.constant(Double.parseDouble(token));
+            } catch (NumberFormatException e) {
+                // Not a literal
+            }
+            
+            switch (token.toLowerCase(Locale.ROOT)) {
+                case "open": return Operand.slot(RuleState.OPEN, token);
+                case "high": return Operand.slot(RuleState.HIGH, token);
+                case "low": return Operand.slot(RuleState.LOW, token);
+                case "close": case "price": return Operand.slot(RuleState.CLOSE, token);
+                case "volume": return Operand.slot(RuleState.VOLUME, token);
+                default: break;
+            }
+            
+            // Dots only separate outputs; decimals such as BB_20_2.5 parse as part of the name
+            int dot = token.lastIndexOf('.');
+            String name = token;
+            String output = null;
+            if (dot > 0 && dot + 1 < token.length() && !Character.isDigit(token.charAt(dot + 1))) {
+                name = token.substring(0, dot);
+                output = token.substring(dot + 1);
+            }
+            
+            IndicatorSpec spec = named.get(name.toLowerCase(Locale.ROOT));
+            if (spec == null) {
+                spec = IndicatorSpec.parse(name.toUpperCase(Locale.ROOT));
+            }
+            if (spec == null) {
+                throw new IllegalArgumentException("Unknown rule operand: " + token);
+            }
+            
+            // Named indicators keep the user's alias in rule descriptions
+            int index = output == null ? 0 : spec.getType().outputIndex(output);
+            String label = named.containsKey(name.toLowerCase(Locale.ROOT)) ? token : spec.outputKey(index);
+            return Operand.slot(slotFor(spec, index), label);
+        }
+        
+        IndicatorSpec indicator(JsonNode declaration) {
+            String typeName = text(firstPresent(declaration, "type", "indicator"));
+            IndicatorType type = typeName != null ? IndicatorType.fromName(typeName) : null;
+            if (type == null) {
+                throw new IllegalArgumentException("Unknown indicator type: " + typeName);
+            }
+            
+            String[] names = type.getParameterNames();
+            double[] params = type.getDefaults();
+            JsonNode list = declaration.get("params");
+            for (int p = 0; p < names.length; p++) {
+                JsonNode value = list != null && list.isArray() ? list.get(p) : declaration.get(names[p]);
+                if (value != null && !value.isNull()) {
+                    params[p] = number(value);
+                }
+            }
+            return IndicatorSpec.of(type, params);
+        }
+        
+        private double number(JsonNode node) {
+            if (node.isNumber()) {
+                return node.doubleValue();
+            }
+            String text = substitute(node.asText()).trim();
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected a number but got " + node);
+            }
+        }
+        
+        private String substitute(String text) {
+            if (text.indexOf('$') < 0) {
+                return text;
+            }
+            Matcher matcher = PARAMETER_REFERENCE.matcher(text);
+            StringBuilder resolved = new StringBuilder();
+            while (matcher.find()) {
+                Double value = parameters.get(matcher.group(1));
+                if (value == null) {
+                    throw new IllegalArgumentException("Unknown strategy parameter: " + matcher.group(1));
+                }
+                String formatted = value == Math.rint(value) ? Long.toString(value.longValue()) : value.toString();
+                matcher.appendReplacement(resolved, Matcher.quoteReplacement(formatted));
+            }
+            matcher.appendTail(resolved);
+            return resolved.toString();
+        }
+    }
+}
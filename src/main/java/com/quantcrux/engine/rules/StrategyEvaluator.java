@@ -0,0 +1,216 @@
+package com.quantcrux.engine.rules;
+
+import com.quantcrux.engine.backtest.BarSeries;
+import com.quantcrux.engine.backtest.SignalSource;
+import com.quantcrux.engine.indicator.Indicator;
+import com.quantcrux.engine.indicator.IndicatorSet;
+import com.quantcrux.engine.indicator.IndicatorSpec;
+import com.quantcrux.model.SignalType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-run state of a {@link CompiledStrategy}. Bars are pushed in time order; each update
+ * advances every indicator once and the rule trees then read plain array slots.
+ * As a {@link SignalSource} it feeds itself every bar up to the one being evaluated, so
+ * a simulation starting part-way through a series still sees warmed-up indicators.
+ */
+public final class StrategyEvaluator implements SignalSource {
+    
+    private final CompiledStrategy strategy;
+    private final IndicatorSet indicators;
+    private final boolean ownsIndicators;
+    // Positions in the indicator set of this strategy's specs, and of the spec behind each slot
+    private final int[] strategyIndicators;
+    private final int[] slotIndicators;
+    private final int[] slotOutputs;
+    private final RuleState state;
+    private int barsSeen;
+    private int nextBar;
+    
+    StrategyEvaluator(CompiledStrategy strategy, IndicatorSet indicators, boolean ownsIndicators) {
+        this.strategy = strategy;
+        this.indicators = indicators;
+        this.ownsIndicators = ownsIndicators;
+        
+        IndicatorSpec[] specs = strategy.indicators();
+        this.strategyIndicators = new int[specs.length];
+        for (int k = 0; k < specs.length; k++) {
+            strategyIndicators[k] = indicators.indexOf(specs[k]);
+            if (strategyIndicators[k] < 0) {
+                throw new IllegalStateException("Indicator " + specs[k] + " is not registered in the shared set");
+            }
+        }
+        
+        int[] localSlots = strategy.slotIndicators();
+        this.slotIndicators = new int[localSlots.length];
+        for (int s = 0; s < localSlots.length; s++) {
+            slotIndicators[s] = strategyIndicators[localSlots[s]];
+        }
+        this.slotOutputs = strategy.slotOutputs();
+        this.state = new RuleState(RuleState.FIRST_INDICATOR + slotIndicators.length);
+    }
+    
+    public void update(double open, double high, double low, double close, double volume) {
+        if (!ownsIndicators) {
+            throw new IllegalStateException("Shared indicators are advanced by their owner; call refresh instead");
+        }
+        // Each distinct indicator advances once, then every slot reading it is refreshed
+        indicators.update(high, low, close);
+        refresh(open, high, low, close, volume);
+    }
+    
+    public void update(BarSeries bars, int bar) {
+        update(bars.open()[bar], bars.high()[bar], bars.low()[bar], bars.close()[bar], bars.volume()[bar]);
+    }
+    
+    /**
+     * Moves to a new bar whose indicators have already been advanced in the shared set.
+     */
+    public void refresh(double open, double high, double low, double close, double volume) {
+        state.advance();
+        double[] current = state.current;
+        current[RuleState.OPEN] = open;
+        current[RuleState.HIGH] = high;
+        current[RuleState.LOW] = low;
+        current[RuleState.CLOSE] = close;
+        current[RuleState.VOLUME] = volume;
+        
+        for (int s = 0; s < slotIndicators.length; s++) {
+            Indicator indicator = indicators.get(slotIndicators[s]);
+            current[RuleState.FIRST_INDICATOR + s] = indicator.isReady() ? indicator.value(slotOutputs[s]) : Double.NaN;
+        }
+        barsSeen++;
+    }
+    
+    @Override
+    public int evaluate(BarSeries bars, int bar, boolean inPosition) {
+        if (bar < nextBar) {
+            throw new IllegalStateException("Bars must be evaluated in order");
+        }
+        while (nextBar <= bar) {
+            update(bars, nextBar++);
+        }
+        
+        if (!inPosition && strategy.entry().test(state)) {
+            return ENTER_LONG;
+        }
+        if (inPosition && strategy.exit().test(state)) {
+            return EXIT_LONG;
+        }
+        return NONE;
+    }
+    
+    @Override
+    public String reason(int signal) {
+        return strategy.matchedRules(signal, state);
+    }
+    
+    public boolean isReady() {
+        if (barsSeen == 0) {
+            return false;
+        }
+        for (int k : strategyIndicators) {
+            if (!indicators.get(k).isReady()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public boolean entryTriggered() {
+        return strategy.entry().test(state);
+    }
+    
+    public boolean exitTriggered() {
+        return strategy.exit().test(state);
+    }
+    
+    public List<String> matchedEntryRules() {
+        List<String> matched = new ArrayList<>();
+        strategy.entry().collectMatched(state, matched);
+        return matched;
+    }
+    
+    public List<String> matchedExitRules() {
+        List<String> matched = new ArrayList<>();
+        strategy.exit().collectMatched(state, matched);
+        return matched;
+    }
+    
+    /**
+     * Position-agnostic reading of the rules: BUY when the entry rules hold, otherwise SELL
+     * when the exit rules hold, otherwise HOLD. NO_SIGNAL until every indicator is ready.
+     */
+    public SignalType currentSignal() {
+        if (!strategy.hasRules() || !isReady()) {
+            return SignalType.NO_SIGNAL;
+        }
+        if (entryTriggered()) {
+            return SignalType.BUY;
+        }
+        if (exitTriggered()) {
+            return SignalType.SELL;
+        }
+        return SignalType.HOLD;
+    }
+    
+    /**
+     * Rules behind {@link #currentSignal()}: the entry side for BUY, the exit side for SELL
+     * and everything that holds otherwise.
+     */
+    public List<String> matchedRules() {
+        switch (currentSignal()) {
+            case BUY: return matchedEntryRules();
+            case SELL: return matchedExitRules();
+            case HOLD:
+                List<String> matched = matchedEntryRules();
+                matched.addAll(matchedExitRules());
+                return matched;
+            default: return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Share of the deciding side's rules that currently hold; for HOLD, one minus the share
+     * of all rules that hold.
+     */
+    public double confidence() {
+        SignalType signal = currentSignal();
+        int matched = matchedRules().size();
+        switch (signal) {
+            case BUY: return share(matched, strategy.getEntryRuleCount());
+            case SELL: return share(matched, strategy.getExitRuleCount());
+            case HOLD: return 1.0 - share(matched, strategy.getEntryRuleCount() + strategy.getExitRuleCount());
+            default: return 0.0;
+        }
+    }
+    
+    /**
+     * Every output of this strategy's indicators keyed as in {@link IndicatorSpec#outputKey};
+     * unready indicators are omitted.
+     */
+    public Map<String, Double> indicatorValues() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (int k : strategyIndicators) {
+            Indicator indicator = indicators.get(k);
+            if (!indicator.isReady()) {
+                continue;
+            }
+            IndicatorSpec spec = indicators.spec(k);
+            for (int output = 0; output < spec.getType().getOutputs().length; output++) {
+                values.put(spec.outputKey(output), indicator.value(output));
+            }
+        }
+        return values;
+    }
+    
+    public CompiledStrategy getStrategy() { return strategy; }
+    
+    private static double share(int matched, int total) {
+        return total == 0 ? 0.0 : (double) matched / total;
+    }
+}
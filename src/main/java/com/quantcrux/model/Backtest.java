@@ -13,7 +13,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "backtests")
+@Table(name = "backtests", indexes = {
+    @Index(name = "idx_backtests_user_created", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_backtests_strategy_created", columnList = "strategy_id, created_at, id"),
+    @Index(name = "idx_backtests_strategy_pinned", columnList = "strategy_id, pinned")
+})
 public class Backtest {
     
     @Id
@@ -32,6 +36,15 @@ public class Backtest {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
+    // Pinned backtests are re-run automatically when their strategy's config changes
+    @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean pinned = false;
+    
+    // The first run of a re-run chain; null for backtests submitted directly
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_backtest_id")
+    private Backtest sourceBacktest;
+    
     @NotBlank
     @Column(nullable = false)
     private String name;
@@ -64,6 +77,11 @@ public class Backtest {
     @Column(nullable = false)
     private BacktestStatus status = BacktestStatus.PENDING;
     
+    // Scheduling lane; lower ordinal is dispatched first
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(10) DEFAULT 'NORMAL'")
+    private BacktestPriority priority = BacktestPriority.NORMAL;
+    
     @Column
     private Integer progress = 0;
     
@@ -124,6 +142,17 @@ public class Backtest {
     @Column(name = "monthly_returns", columnDefinition = "TEXT")
     private String monthlyReturns;
     
+    // Walk-forward optimisation (config JSON; per-window results in backtest_walk_forward_windows)
+    @Column(name = "walk_forward_enabled", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean walkForwardEnabled = false;
+    
+    @Column(name = "walk_forward_config", columnDefinition = "TEXT")
+    private String walkForwardConfig;
+    
+    // Portfolio backtests (symbol is PORTFOLIO; weights and rebalancing rules as JSON)
+    @Column(name = "portfolio_config", columnDefinition = "TEXT")
+    private String portfolioConfig;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -138,6 +167,9 @@ public class Backtest {
     @OneToMany(mappedBy = "backtest", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<BacktestTrade> trades;
     
+    @OneToMany(mappedBy = "backtest", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<BacktestWalkForwardWindow> walkForwardWindows;
+    
     // Constructors
     public Backtest() {}
     
@@ -162,6 +194,12 @@ public class Backtest {
     public StrategyVersion getStrategyVersion() { return strategyVersion; }
     public void setStrategyVersion(StrategyVersion strategyVersion) { this.strategyVersion = strategyVersion; }
     
+    public Boolean getPinned() { return pinned; }
+    public void setPinned(Boolean pinned) { this.pinned = pinned; }
+    
+    public Backtest getSourceBacktest() { return sourceBacktest; }
+    public void setSourceBacktest(Backtest sourceBacktest) { this.sourceBacktest = sourceBacktest; }
+    
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
     
@@ -192,6 +230,9 @@ public class Backtest {
     public BacktestStatus getStatus() { return status; }
     public void setStatus(BacktestStatus status) { this.status = status; }
     
+    public BacktestPriority getPriority() { return priority; }
+    public void setPriority(BacktestPriority priority) { this.priority = priority; }
+    
     public Integer getProgress() { return progress; }
     public void setProgress(Integer progress) { this.progress = progress; }
     
@@ -249,6 +290,15 @@ public class Backtest {
     public String getMonthlyReturns() { return monthlyReturns; }
     public void setMonthlyReturns(String monthlyReturns) { this.monthlyReturns = monthlyReturns; }
     
+    public Boolean getWalkForwardEnabled() { return walkForwardEnabled; }
+    public void setWalkForwardEnabled(Boolean walkForwardEnabled) { this.walkForwardEnabled = walkForwardEnabled; }
+    
+    public String getWalkForwardConfig() { return walkForwardConfig; }
+    public void setWalkForwardConfig(String walkForwardConfig) { this.walkForwardConfig = walkForwardConfig; }
+    
+    public String getPortfolioConfig() { return portfolioConfig; }
+    public void setPortfolioConfig(String portfolioConfig) { this.portfolioConfig = portfolioConfig; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
@@ -260,4 +310,7 @@ public class Backtest {
     
     public List<BacktestTrade> getTrades() { return trades; }
     public void setTrades(List<BacktestTrade> trades) { this.trades = trades; }
+    
+    public List<BacktestWalkForwardWindow> getWalkForwardWindows() { return walkForwardWindows; }
+    public void setWalkForwardWindows(List<BacktestWalkForwardWindow> walkForwardWindows) { this.walkForwardWindows = walkForwardWindows; }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.quantcrux.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Equity curve of a finished backtest, kept apart from the backtests row so list queries
+ * never read it. The payload is {@code CurveCodec}-encoded.
+ */
+@Entity
+@Table(name = "backtest_curves")
+public class BacktestCurve {
+    
+    @Id
+    @Column(name = "backtest_id")
+    private UUID backtestId;
+    
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "backtest_id")
+    private Backtest backtest;
+    
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+    
+    @Column(name = "encoding_version", nullable = false)
+    private Integer encodingVersion = 1;
+    
+    @Column(name = "equity_data", nullable = false, columnDefinition = "BYTEA")
+    private byte[] equityData;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public BacktestCurve() {}
+    
+    public BacktestCurve(Backtest backtest, Integer pointCount, byte[] equityData) {
+        this.backtest = backtest;
+        this.pointCount = pointCount;
+        this.equityData = equityData;
+    }
+    
+    // Getters and Setters
+    public UUID getBacktestId() { return backtestId; }
+    public void setBacktestId(UUID backtestId) { this.backtestId = backtestId; }
+    
+    public Backtest getBacktest() { return backtest; }
+    public void setBacktest(Backtest backtest) { this.backtest = backtest; }
+    
+    public Integer getPointCount() { return pointCount; }
+    public void setPointCount(Integer pointCount) { this.pointCount = pointCount; }
+    
+    public Integer getEncodingVersion() { return encodingVersion; }
+    public void setEncodingVersion(Integer encodingVersion) { this.encodingVersion = encodingVersion; }
+    
+    public byte[] getEquityData() { return equityData; }
+    public void setEquityData(byte[] equityData) { this.equityData = equityData; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,17 @@
+package com.quantcrux.model;
+
+public enum BacktestPriority {
+    HIGH("High"),
+    NORMAL("Normal"),
+    LOW("Low");
+    
+    private final String displayName;
+    
+    BacktestPriority(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -23,6 +23,10 @@ public class BacktestTrade {
     @Column(name = "trade_number", nullable = false)
     private Integer tradeNumber;
     
+    // Set for portfolio backtests, where one backtest trades several symbols
+    @Column(length = 20)
+    private String symbol;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "signal_type", nullable = false)
     private SignalType signalType;
@@ -109,6 +113,9 @@ public class BacktestTrade {
     public Integer getTradeNumber() { return tradeNumber; }
     public void setTradeNumber(Integer tradeNumber) { this.tradeNumber = tradeNumber; }
     
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    
     public SignalType getSignalType() { return signalType; }
     public void setSignalType(SignalType signalType) { this.signalType = signalType; }
     
@@ -0,0 +1,115 @@
+package com.quantcrux.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "backtest_walk_forward_windows")
+public class BacktestWalkForwardWindow {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "backtest_id", nullable = false)
+    private Backtest backtest;
+    
+    @Column(name = "window_number", nullable = false)
+    private Integer windowNumber;
+    
+    // Window boundaries
+    @Column(name = "in_sample_start", nullable = false)
+    private LocalDate inSampleStart;
+    
+    @Column(name = "in_sample_end", nullable = false)
+    private LocalDate inSampleEnd;
+    
+    @Column(name = "out_of_sample_start", nullable = false)
+    private LocalDate outOfSampleStart;
+    
+    @Column(name = "out_of_sample_end", nullable = false)
+    private LocalDate outOfSampleEnd;
+    
+    // Parameters chosen in-sample (JSON)
+    @Column(name = "parameters", columnDefinition = "TEXT")
+    private String parameters;
+    
+    @Column(name = "combinations_tested")
+    private Integer combinationsTested;
+    
+    // In-sample fit
+    @Column(name = "in_sample_return", precision = 10, scale = 6)
+    private BigDecimal inSampleReturn;
+    
+    // Out-of-sample results
+    @Column(name = "out_of_sample_return", precision = 10, scale = 6)
+    private BigDecimal outOfSampleReturn;
+    
+    @Column(name = "out_of_sample_trades")
+    private Integer outOfSampleTrades = 0;
+    
+    @Column(name = "out_of_sample_win_rate", precision = 8, scale = 6)
+    private BigDecimal outOfSampleWinRate;
+    
+    @Column(name = "out_of_sample_max_drawdown", precision = 10, scale = 6)
+    private BigDecimal outOfSampleMaxDrawdown;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public BacktestWalkForwardWindow() {}
+    
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public Backtest getBacktest() { return backtest; }
+    public void setBacktest(Backtest backtest) { this.backtest = backtest; }
+    
+    public Integer getWindowNumber() { return windowNumber; }
+    public void setWindowNumber(Integer windowNumber) { this.windowNumber = windowNumber; }
+    
+    public LocalDate getInSampleStart() { return inSampleStart; }
+    public void setInSampleStart(LocalDate inSampleStart) { this.inSampleStart = inSampleStart; }
+    
+    public LocalDate getInSampleEnd() { return inSampleEnd; }
+    public void setInSampleEnd(LocalDate inSampleEnd) { this.inSampleEnd = inSampleEnd; }
+    
+    public LocalDate getOutOfSampleStart() { return outOfSampleStart; }
+    public void setOutOfSampleStart(LocalDate outOfSampleStart) { this.outOfSampleStart = outOfSampleStart; }
+    
+    public LocalDate getOutOfSampleEnd() { return outOfSampleEnd; }
+    public void setOutOfSampleEnd(LocalDate outOfSampleEnd) { this.outOfSampleEnd = outOfSampleEnd; }
+    
+    public String getParameters() { return parameters; }
+    public void setParameters(String parameters) { this.parameters = parameters; }
+    
+    public Integer getCombinationsTested() { return combinationsTested; }
+    public void setCombinationsTested(Integer combinationsTested) { this.combinationsTested = combinationsTested; }
+    
+    public BigDecimal getInSampleReturn() { return inSampleReturn; }
+    public void setInSampleReturn(BigDecimal inSampleReturn) { this.inSampleReturn = inSampleReturn; }
+    
+    public BigDecimal getOutOfSampleReturn() { return outOfSampleReturn; }
+    public void setOutOfSampleReturn(BigDecimal outOfSampleReturn) { this.outOfSampleReturn = outOfSampleReturn; }
+    
+    public Integer getOutOfSampleTrades() { return outOfSampleTrades; }
+    public void setOutOfSampleTrades(Integer outOfSampleTrades) { this.outOfSampleTrades = outOfSampleTrades; }
+    
+    public BigDecimal getOutOfSampleWinRate() { return outOfSampleWinRate; }
+    public void setOutOfSampleWinRate(BigDecimal outOfSampleWinRate) { this.outOfSampleWinRate = outOfSampleWinRate; }
+    
+    public BigDecimal getOutOfSampleMaxDrawdown() { return outOfSampleMaxDrawdown; }
+    public void setOutOfSampleMaxDrawdown(BigDecimal outOfSampleMaxDrawdown) { this.outOfSampleMaxDrawdown = outOfSampleMaxDrawdown; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
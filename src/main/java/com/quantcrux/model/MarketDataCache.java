@@ -10,13 +10,19 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "market_data_cache")
+@Table(name = "market_data_cache", indexes = {
+    @Index(name = "uk_market_data_cache_key", columnList = "cache_key", unique = true)
+})
 public class MarketDataCache {
     
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
     
+    // One row per (symbol, dataType, timeframe); rows are upserted on this key
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+    
     @NotNull
     @Column(nullable = false, length = 20)
     private String symbol;
@@ -99,10 +105,17 @@ public class MarketDataCache {
         this.expiresAt = LocalDateTime.now().plusMinutes(1); // Default 1 minute expiry
     }
     
+    public static String keyFor(String symbol, DataType dataType, String timeframe) {
+        return symbol + ":" + dataType + ":" + (timeframe != null ? timeframe : "");
+    }
+    
     // Getters and Setters
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
     
+    public String getCacheKey() { return cacheKey; }
+    public void setCacheKey(String cacheKey) { this.cacheKey = cacheKey; }
+    
     public String getSymbol() { return symbol; }
     public void setSymbol(String symbol) { this.symbol = symbol; }
     
@@ -11,7 +11,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "strategy_signals")
+@Table(name = "strategy_signals", indexes = {
+    @Index(name = "idx_strategy_signals_strategy_created", columnList = "strategy_id, created_at")
+})
 public class StrategySignal {
     
     @Id
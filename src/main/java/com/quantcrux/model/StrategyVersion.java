@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "strategy_versions")
+@Table(name = "strategy_versions", indexes = {
+    @Index(name = "idx_strategy_versions_strategy_number", columnList = "strategy_id, version_number")
+})
 public class StrategyVersion {
     
     @Id
@@ -31,6 +33,17 @@ public class StrategyVersion {
     @Column(name = "change_description", columnDefinition = "TEXT")
     private String changeDescription;
     
+    // Computed once at save time; null on rows written before these columns existed
+    @Column(name = "config_hash", length = 64)
+    private String configHash;
+    
+    @Column(name = "config_size")
+    private Integer configSize;
+    
+    // JsonDiff operations against the previous version
+    @Column(name = "diff_json", columnDefinition = "TEXT")
+    private String diffJson;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -65,6 +78,15 @@ public class StrategyVersion {
     public String getChangeDescription() { return changeDescription; }
     public void setChangeDescription(String changeDescription) { this.changeDescription = changeDescription; }
     
+    public String getConfigHash() { return configHash; }
+    public void setConfigHash(String configHash) { this.configHash = configHash; }
+    
+    public Integer getConfigSize() { return configSize; }
+    public void setConfigSize(Integer configSize) { this.configSize = configSize; }
+    
+    public String getDiffJson() { return diffJson; }
+    public void setDiffJson(String diffJson) { this.diffJson = diffJson; }
+    
     public User getAuthor() { return author; }
     public void setAuthor(User author) { this.author = author; }
     
@@ -0,0 +1,20 @@
+package com.quantcrux.repository;
+
+import com.quantcrux.model.BacktestCurve;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Repository
+public interface BacktestCurveRepository extends JpaRepository<BacktestCurve, UUID> {
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BacktestCurve c WHERE c.backtestId = :backtestId")
+    int deleteByBacktestId(@Param("backtestId") UUID backtestId);
+}
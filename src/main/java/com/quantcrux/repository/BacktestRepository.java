@@ -1,15 +1,23 @@
 package com.quantcrux.repository;
 
+import com.quantcrux.dto.BacktestSummaryResponse;
 import com.quantcrux.model.Backtest;
+import com.quantcrux.model.BacktestPriority;
 import com.quantcrux.model.BacktestStatus;
 import com.quantcrux.model.Strategy;
 import com.quantcrux.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -40,4 +48,94 @@ public interface BacktestRepository extends JpaRepository<Backtest, UUID> {
     
     @Query("SELECT b FROM Backtest b WHERE b.user = :user AND b.strategy = :strategy ORDER BY b.createdAt DESC")
     List<Backtest> findByUserAndStrategyOrderByCreatedAtDesc(@Param("user") User user, @Param("strategy") Strategy strategy);
-}
\ No newline at end of file
+    
+    // List-view projections: scalar columns only (no curve TEXT/BYTEA), strategy and owner joined
+    // in the same statement, keyset-paged on (createdAt, id) so deep pages cost the same as the first
+    String SUMMARY_SELECT = "SELECT new com.quantcrux.dto.BacktestSummaryResponse(" +
+            "b.id, b.name, s.id, s.name, b.symbol, b.timeframe, b.startDate, b.endDate, b.initialCapital, " +
+            "b.status, b.progress, b.finalCapital, b.totalReturn, b.totalTrades, b.sharpeRatio, b.maxDrawdown, " +
+            "b.winRate, v.versionNumber, b.pinned, CONCAT(u.firstName, ' ', u.lastName), b.createdAt, b.completedAt) " +
+            "FROM Backtest b JOIN b.strategy s JOIN b.user u LEFT JOIN b.strategyVersion v ";
+    String SUMMARY_AFTER_CURSOR = "AND (b.createdAt < :cursorTime OR (b.createdAt = :cursorTime AND b.id < :cursorId)) ";
+    String SUMMARY_ORDER = "ORDER BY b.createdAt DESC, b.id DESC";
+    
+    @Query(SUMMARY_SELECT + "WHERE b.user = :user " + SUMMARY_ORDER)
+    List<BacktestSummaryResponse> findSummariesByUser(@Param("user") User user, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE b.user = :user " + SUMMARY_AFTER_CURSOR + SUMMARY_ORDER)
+    List<BacktestSummaryResponse> findSummariesByUserAfter(@Param("user") User user,
+                                                           @Param("cursorTime") LocalDateTime cursorTime,
+                                                           @Param("cursorId") UUID cursorId,
+                                                           Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE b.user = :user AND b.strategy = :strategy " + SUMMARY_ORDER)
+    List<BacktestSummaryResponse> findSummariesByUserAndStrategy(@Param("user") User user,
+                                                                 @Param("strategy") Strategy strategy,
+                                                                 Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE b.user = :user AND b.strategy = :strategy " + SUMMARY_AFTER_CURSOR + SUMMARY_ORDER)
+    List<BacktestSummaryResponse> findSummariesByUserAndStrategyAfter(@Param("user") User user,
+                                                                      @Param("strategy") Strategy strategy,
+                                                                      @Param("cursorTime") LocalDateTime cursorTime,
+                                                                      @Param("cursorId") UUID cursorId,
+                                                                      Pageable pageable);
+    
+    long countByStatus(BacktestStatus status);
+    
+    List<Backtest> findByStatusAndPriorityOrderByCreatedAtAsc(BacktestStatus status, BacktestPriority priority, Pageable pageable);
+    
+    // Dispatch scan that leaves out users already at their worker quota
+    @Query("SELECT b FROM Backtest b WHERE b.status = :status AND b.priority = :priority AND b.user.id NOT IN :excludedUsers " +
+           "ORDER BY b.createdAt ASC")
+    List<Backtest> findByStatusAndPriorityExcludingUsers(@Param("status") BacktestStatus status,
+                                                         @Param("priority") BacktestPriority priority,
+                                                         @Param("excludedUsers") Collection<UUID> excludedUsers,
+                                                         Pageable pageable);
+    
+    @Query("SELECT b FROM Backtest b LEFT JOIN FETCH b.strategyVersion WHERE b.strategy.id = :strategyId AND b.pinned = true " +
+           "ORDER BY b.createdAt ASC")
+    List<Backtest> findPinnedByStrategyId(@Param("strategyId") UUID strategyId);
+    
+    @Query("SELECT b FROM Backtest b JOIN FETCH b.strategy WHERE b.id = :id")
+    Optional<Backtest> findByIdWithStrategy(@Param("id") UUID id);
+    
+    // Compare-and-set on status so a job is only ever claimed by one worker
+    @Transactional
+    @Modifying
+    @Query("UPDATE Backtest b SET b.status = :newStatus, b.updatedAt = CURRENT_TIMESTAMP WHERE b.id = :id AND b.status = :expectedStatus")
+    int transitionStatus(@Param("id") UUID id, @Param("expectedStatus") BacktestStatus expectedStatus, @Param("newStatus") BacktestStatus newStatus);
+    
+    @Query("SELECT b.status FROM Backtest b WHERE b.id = :id AND b.user = :user")
+    Optional<BacktestStatus> findStatusByIdAndUser(@Param("id") UUID id, @Param("user") User user);
+    
+    @Query("SELECT b.progress FROM Backtest b WHERE b.id = :id")
+    Optional<Integer> findProgressById(@Param("id") UUID id);
+    
+    // Re-runs outlive the run they were copied from
+    @Modifying
+    @Query("UPDATE Backtest b SET b.sourceBacktest = NULL WHERE b.sourceBacktest.id = :id")
+    int clearSourceBacktest(@Param("id") UUID id);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Backtest b SET b.progress = :progress WHERE b.id = :id AND b.status = :status")
+    int updateProgress(@Param("id") UUID id, @Param("progress") Integer progress, @Param("status") BacktestStatus status);
+    
+    // Workers lock the row while writing results so a concurrent pin or delete is not overwritten
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Backtest b WHERE b.id = :id")
+    Optional<Backtest> findByIdForUpdate(@Param("id") UUID id);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Backtest b SET b.status = :newStatus, b.errorMessage = :errorMessage, b.progress = :progress, " +
+           "b.updatedAt = CURRENT_TIMESTAMP WHERE b.id = :id AND b.status = :expectedStatus")
+    int transitionStatusWithError(@Param("id") UUID id, @Param("expectedStatus") BacktestStatus expectedStatus,
+                                  @Param("newStatus") BacktestStatus newStatus, @Param("errorMessage") String errorMessage,
+                                  @Param("progress") Integer progress);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Backtest b SET b.pinned = :pinned, b.updatedAt = CURRENT_TIMESTAMP WHERE b.id = :id")
+    int updatePinned(@Param("id") UUID id, @Param("pinned") Boolean pinned);
+}
@@ -0,0 +1,105 @@
+package com.quantcrux.repository;
+
+import com.quantcrux.model.BacktestTrade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk insert path for backtest trades. Bypasses the persistence context and sends
+ * plain JDBC batches; with the driver's reWriteBatchedInserts enabled PostgreSQL
+ * receives them as multi-row INSERTs.
+ */
+@Repository
+public class BacktestTradeBatchWriter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BacktestTradeBatchWriter.class);
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO backtest_trades (id, backtest_id, trade_number, symbol, signal_type, " +
+        "entry_time, entry_price, entry_reason, entry_indicators, " +
+        "exit_time, exit_price, exit_reason, exit_indicators, " +
+        "quantity, gross_pnl, net_pnl, return_pct, duration_minutes, " +
+        "position_size_pct, commission_paid, slippage_cost, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${backtest.trades.batch-size:1000}")
+    private int batchSize;
+    
+    @Transactional
+    public void insertAll(List<BacktestTrade> trades) {
+        if (trades.isEmpty()) {
+            return;
+        }
+        
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, trades, batchSize, (ps, trade) -> {
+            if (trade.getId() == null) {
+                trade.setId(UUID.randomUUID());
+            }
+            trade.setCreatedAt(now);
+            bind(ps, trade);
+        });
+        
+        long elapsedMicros = Math.max(1, (System.nanoTime() - started) / 1000);
+        logger.debug("Inserted {} backtest trades in {} ms ({} rows/s, batch size {})",
+            trades.size(), elapsedMicros / 1000, trades.size() * 1_000_000L / elapsedMicros, batchSize);
+    }
+    
+    private void bind(PreparedStatement ps, BacktestTrade trade) throws SQLException {
+        ps.setObject(1, trade.getId());
+        ps.setObject(2, trade.getBacktest().getId());
+        ps.setInt(3, trade.getTradeNumber());
+        ps.setString(4, trade.getSymbol());
+        ps.setString(5, trade.getSignalType().name());
+        setTimestamp(ps, 6, trade.getEntryTime());
+        ps.setBigDecimal(7, trade.getEntryPrice());
+        ps.setString(8, trade.getEntryReason());
+        ps.setString(9, trade.getEntryIndicators());
+        setTimestamp(ps, 10, trade.getExitTime());
+        ps.setBigDecimal(11, trade.getExitPrice());
+        ps.setString(12, trade.getExitReason());
+        ps.setString(13, trade.getExitIndicators());
+        ps.setBigDecimal(14, trade.getQuantity());
+        ps.setBigDecimal(15, trade.getGrossPnl());
+        ps.setBigDecimal(16, trade.getNetPnl());
+        ps.setBigDecimal(17, trade.getReturnPct());
+        setInteger(ps, 18, trade.getDurationMinutes());
+        ps.setBigDecimal(19, trade.getPositionSizePct());
+        ps.setBigDecimal(20, trade.getCommissionPaid());
+        ps.setBigDecimal(21, trade.getSlippageCost());
+        setTimestamp(ps, 22, trade.getCreatedAt());
+    }
+    
+    private void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            ps.setObject(index, value);
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+    
+    private void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+}
@@ -4,9 +4,11 @@ import com.quantcrux.model.Backtest;
 import com.quantcrux.model.BacktestTrade;
 import com.quantcrux.model.SignalType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -38,4 +40,10 @@ public interface BacktestTradeRepository extends JpaRepository<BacktestTrade, UU
     
     @Query("SELECT SUM(ABS(bt.netPnl)) FROM BacktestTrade bt WHERE bt.backtest = :backtest AND bt.netPnl < 0")
     Double getTotalLosingPnl(@Param("backtest") Backtest backtest);
+    
+    // A re-queued run replaces whatever an interrupted attempt already wrote
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BacktestTrade bt WHERE bt.backtest.id = :backtestId")
+    int deleteByBacktestId(@Param("backtestId") UUID backtestId);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.quantcrux.repository;
+
+import com.quantcrux.model.Backtest;
+import com.quantcrux.model.BacktestWalkForwardWindow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BacktestWalkForwardWindowRepository extends JpaRepository<BacktestWalkForwardWindow, UUID> {
+    
+    List<BacktestWalkForwardWindow> findByBacktestOrderByWindowNumber(Backtest backtest);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BacktestWalkForwardWindow w WHERE w.backtest.id = :backtestId")
+    int deleteByBacktestId(@Param("backtestId") UUID backtestId);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,10 +35,29 @@ public interface DataSourceRepository extends JpaRepository<DataSource, UUID> {
     @Query("SELECT ds FROM DataSource ds WHERE ds.requestsToday < ds.rateLimitPerDay AND ds.requestsThisMinute < ds.rateLimitPerMinute ORDER BY ds.priority DESC")
     List<DataSource> findSourcesWithinRateLimit();
     
+    @Query("SELECT ds FROM DataSource ds WHERE ds.isActive = true AND ds.supportsLivePrices = true " +
+           "AND ds.requestsToday < ds.rateLimitPerDay AND ds.requestsThisMinute < ds.rateLimitPerMinute ORDER BY ds.priority DESC")
+    List<DataSource> findLivePriceSourcesWithinRateLimit();
+    
+    // Usage counters are bumped in SQL so concurrent fetches through one source are all counted
+    @Transactional
+    @Modifying
+    @Query("UPDATE DataSource ds SET ds.requestsToday = ds.requestsToday + 1, ds.requestsThisMinute = ds.requestsThisMinute + 1, " +
+           "ds.lastRequestAt = :now, ds.consecutiveFailures = 0 WHERE ds.id = :id")
+    int recordRequest(@Param("id") UUID id, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE DataSource ds SET ds.consecutiveFailures = ds.consecutiveFailures + 1, " +
+           "ds.lastErrorMessage = :message, ds.lastErrorAt = :now WHERE ds.id = :id")
+    int recordFailure(@Param("id") UUID id, @Param("message") String message, @Param("now") LocalDateTime now);
+    
+    @Transactional
     @Modifying
     @Query("UPDATE DataSource ds SET ds.requestsThisMinute = 0")
     int resetMinuteCounters();
     
+    @Transactional
     @Modifying
     @Query("UPDATE DataSource ds SET ds.requestsToday = 0, ds.requestsThisMinute = 0")
     int resetDailyCounters();
@@ -16,17 +16,20 @@ import java.util.UUID;
 @Repository
 public interface MarketDataCacheRepository extends JpaRepository<MarketDataCache, UUID> {
     
-    Optional<MarketDataCache> findBySymbolAndDataTypeAndTimeframe(String symbol, DataType dataType, String timeframe);
+    Optional<MarketDataCache> findByCacheKey(String cacheKey);
     
-    Optional<MarketDataCache> findBySymbolAndDataType(String symbol, DataType dataType);
+    Optional<MarketDataCache> findByCacheKeyAndExpiresAtAfter(String cacheKey, LocalDateTime cutoff);
+    
+    // Lookups without a timeframe match every timeframe's row; the newest one answers
+    Optional<MarketDataCache> findFirstBySymbolAndDataTypeOrderByDataTimestampDesc(String symbol, DataType dataType);
+    
+    Optional<MarketDataCache> findFirstBySymbolAndDataTypeAndExpiresAtAfterOrderByDataTimestampDesc(
+        String symbol, DataType dataType, LocalDateTime cutoff);
     
     List<MarketDataCache> findBySymbolAndDataTypeAndExpiresAtAfter(String symbol, DataType dataType, LocalDateTime cutoff);
     
     List<MarketDataCache> findByDataTypeAndExpiresAtAfter(DataType dataType, LocalDateTime cutoff);
     
-    @Query("SELECT mdc FROM MarketDataCache mdc WHERE mdc.symbol = :symbol AND mdc.dataType = :dataType AND mdc.expiresAt > CURRENT_TIMESTAMP ORDER BY mdc.dataTimestamp DESC")
-    Optional<MarketDataCache> findLatestValidBySymbolAndDataType(@Param("symbol") String symbol, @Param("dataType") DataType dataType);
-    
     @Query("SELECT mdc FROM MarketDataCache mdc WHERE mdc.symbol IN :symbols AND mdc.dataType = :dataType AND mdc.expiresAt > CURRENT_TIMESTAMP")
     List<MarketDataCache> findValidBySymbolsAndDataType(@Param("symbols") List<String> symbols, @Param("dataType") DataType dataType);
     
@@ -0,0 +1,138 @@
+package com.quantcrux.repository;
+
+import com.quantcrux.model.MarketDataCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Write path for market_data_cache. Each (symbol, dataType, timeframe) owns exactly one row,
+ * replaced in place with {@code INSERT ... ON CONFLICT (cache_key) DO UPDATE}, so the table
+ * stays proportional to the symbol universe instead of growing with every fetch. An update
+ * never replaces a row with older data.
+ */
+@Repository
+public class MarketDataCacheWriter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MarketDataCacheWriter.class);
+    
+    private static final String UPSERT_SQL =
+        "INSERT INTO market_data_cache (id, cache_key, symbol, data_type, timeframe, " +
+        "price, open_price, high_price, low_price, close_price, volume, " +
+        "bid_price, ask_price, spread, day_change, day_change_percent, " +
+        "data_timestamp, source, quality_score, created_at, updated_at, expires_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (cache_key) DO UPDATE SET " +
+        "price = EXCLUDED.price, open_price = EXCLUDED.open_price, high_price = EXCLUDED.high_price, " +
+        "low_price = EXCLUDED.low_price, close_price = EXCLUDED.close_price, volume = EXCLUDED.volume, " +
+        "bid_price = EXCLUDED.bid_price, ask_price = EXCLUDED.ask_price, spread = EXCLUDED.spread, " +
+        "day_change = EXCLUDED.day_change, day_change_percent = EXCLUDED.day_change_percent, " +
+        "data_timestamp = EXCLUDED.data_timestamp, source = EXCLUDED.source, " +
+        "quality_score = EXCLUDED.quality_score, updated_at = EXCLUDED.updated_at, expires_at = EXCLUDED.expires_at " +
+        "WHERE market_data_cache.data_timestamp <= EXCLUDED.data_timestamp";
+    
+    // Rows written before cache_key existed; the column is unique, so they would only shadow upserted rows
+    private static final String DELETE_UNKEYED_SQL = "DELETE FROM market_data_cache WHERE cache_key IS NULL";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${market-data.cache.batch-size:500}")
+    private int batchSize;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void deleteUnkeyedRows() {
+        int deleted = jdbcTemplate.update(DELETE_UNKEYED_SQL);
+        if (deleted > 0) {
+            logger.info("Removed {} market data cache rows without a cache key", deleted);
+        }
+    }
+    
+    @Transactional
+    public void upsert(MarketDataCache entry) {
+        prepare(entry, LocalDateTime.now());
+        jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, entry));
+    }
+    
+    /**
+     * Upserts many entries in JDBC batches. Entries sharing a key are collapsed to the last
+     * one first, since PostgreSQL rejects a statement that updates the same row twice.
+     */
+    @Transactional
+    public void upsertAll(Collection<MarketDataCache> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, MarketDataCache> byKey = new LinkedHashMap<>();
+        for (MarketDataCache entry : entries) {
+            prepare(entry, now);
+            byKey.put(entry.getCacheKey(), entry);
+        }
+        List<MarketDataCache> rows = new ArrayList<>(byKey.values());
+        
+        long started = System.nanoTime();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, batchSize, this::bind);
+        
+        logger.debug("Upserted {} market data cache rows in {} ms", rows.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private void prepare(MarketDataCache entry, LocalDateTime now) {
+        if (entry.getId() == null) {
+            entry.setId(UUID.randomUUID());
+        }
+        entry.setCacheKey(MarketDataCache.keyFor(entry.getSymbol(), entry.getDataType(), entry.getTimeframe()));
+        if (entry.getCreatedAt() == null) {
+            entry.setCreatedAt(now);
+        }
+        entry.setUpdatedAt(now);
+    }
+    
+    private void bind(PreparedStatement ps, MarketDataCache entry) throws SQLException {
+        ps.setObject(1, entry.getId());
+        ps.setString(2, entry.getCacheKey());
+        ps.setString(3, entry.getSymbol());
+        ps.setString(4, entry.getDataType().name());
+        ps.setString(5, entry.getTimeframe());
+        ps.setBigDecimal(6, entry.getPrice());
+        ps.setBigDecimal(7, entry.getOpenPrice());
+        ps.setBigDecimal(8, entry.getHighPrice());
+        ps.setBigDecimal(9, entry.getLowPrice());
+        ps.setBigDecimal(10, entry.getClosePrice());
+        ps.setBigDecimal(11, entry.getVolume());
+        ps.setBigDecimal(12, entry.getBidPrice());
+        ps.setBigDecimal(13, entry.getAskPrice());
+        ps.setBigDecimal(14, entry.getSpread());
+        ps.setBigDecimal(15, entry.getDayChange());
+        ps.setBigDecimal(16, entry.getDayChangePercent());
+        ps.setObject(17, entry.getDataTimestamp());
+        ps.setString(18, entry.getSource());
+        if (entry.getQualityScore() != null) {
+            ps.setInt(19, entry.getQualityScore());
+        } else {
+            ps.setNull(19, Types.INTEGER);
+        }
+        ps.setObject(20, entry.getCreatedAt());
+        ps.setObject(21, entry.getUpdatedAt());
+        ps.setObject(22, entry.getExpiresAt());
+    }
+}
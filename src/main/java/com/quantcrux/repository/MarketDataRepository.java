@@ -1,15 +1,21 @@
 package com.quantcrux.repository;
 
 import com.quantcrux.model.MarketData;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface MarketDataRepository extends JpaRepository<MarketData, UUID> {
@@ -25,12 +31,47 @@ public interface MarketDataRepository extends JpaRepository<MarketData, UUID> {
         @Param("endTime") LocalDateTime endTime
     );
     
+    /**
+     * Cursor-backed variant of {@link #findBySymbolAndTimeframeAndTimestampBetween}. Rows are
+     * fetched from the server in chunks; must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT md FROM MarketData md WHERE md.symbol = :symbol AND md.timeframe = :timeframe " +
+           "AND md.timestamp >= :startTime AND md.timestamp <= :endTime ORDER BY md.timestamp")
+    Stream<MarketData> streamBySymbolAndTimeframeAndTimestampBetween(
+        @Param("symbol") String symbol,
+        @Param("timeframe") String timeframe,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime
+    );
+    
+    long countBySymbolAndTimeframeAndTimestampBetween(String symbol, String timeframe, LocalDateTime startTime, LocalDateTime endTime);
+    
     Optional<MarketData> findBySymbolAndTimeframeAndTimestamp(String symbol, String timeframe, LocalDateTime timestamp);
     
     @Query("SELECT md FROM MarketData md WHERE md.symbol = :symbol AND md.timeframe = :timeframe " +
            "ORDER BY md.timestamp DESC")
     List<MarketData> findBySymbolAndTimeframeOrderByTimestampDesc(@Param("symbol") String symbol, @Param("timeframe") String timeframe);
     
+    @Query("SELECT md FROM MarketData md WHERE md.symbol = :symbol AND md.timeframe = :timeframe " +
+           "ORDER BY md.timestamp DESC")
+    List<MarketData> findRecentBySymbolAndTimeframe(@Param("symbol") String symbol, @Param("timeframe") String timeframe, Pageable pageable);
+    
+    // Latest :limit bars of every symbol in one statement, oldest first within each symbol
+    @Query(value = "SELECT md.* FROM market_data md WHERE md.id IN (" +
+                   "SELECT ranked.id FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY symbol ORDER BY timestamp DESC) AS rn " +
+                   "FROM market_data WHERE symbol IN (:symbols) AND timeframe = :timeframe) ranked WHERE ranked.rn <= :limit) " +
+                   "ORDER BY md.symbol, md.timestamp", nativeQuery = true)
+    List<MarketData> findRecentBySymbolsAndTimeframe(@Param("symbols") Collection<String> symbols, @Param("timeframe") String timeframe, @Param("limit") int limit);
+    
+    @Query("SELECT md FROM MarketData md WHERE md.symbol IN :symbols AND md.timeframe = :timeframe " +
+           "AND md.timestamp > :since ORDER BY md.symbol, md.timestamp")
+    List<MarketData> findBySymbolsAndTimeframeAfter(@Param("symbols") Collection<String> symbols, @Param("timeframe") String timeframe, @Param("since") LocalDateTime since);
+    
     @Query("SELECT md FROM MarketData md WHERE md.symbol = :symbol AND md.timeframe = :timeframe " +
            "AND md.timestamp <= :beforeTime ORDER BY md.timestamp DESC")
     List<MarketData> findLatestBefore(@Param("symbol") String symbol, @Param("timeframe") String timeframe, @Param("beforeTime") LocalDateTime beforeTime);
@@ -21,6 +21,8 @@ public interface StrategyRepository extends JpaRepository<Strategy, UUID> {
     
     List<Strategy> findBySymbol(String symbol);
     
+    List<Strategy> findByStatus(StrategyStatus status);
+    
     @Query("SELECT s FROM Strategy s WHERE s.user = :user AND s.name ILIKE %:name%")
     List<Strategy> findByUserAndNameContaining(@Param("user") User user, @Param("name") String name);
     
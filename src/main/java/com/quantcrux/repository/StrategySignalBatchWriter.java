@@ -0,0 +1,86 @@
+package com.quantcrux.repository;
+
+import com.quantcrux.model.StrategySignal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk insert path for strategy signals and their matched rules, sent as plain JDBC
+ * batches in the same way as {@link BacktestTradeBatchWriter}.
+ */
+@Repository
+public class StrategySignalBatchWriter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StrategySignalBatchWriter.class);
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO strategy_signals (id, strategy_id, signal_type, price, indicator_values, " +
+        "confidence_score, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    // The collection column is declared text[]; each element row carries its rule as a one-element array
+    private static final String INSERT_RULE_SQL =
+        "INSERT INTO signal_matched_rules (signal_id, matched_rules) VALUES (?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${strategy.live.batch-size:500}")
+    private int batchSize;
+    
+    @Transactional
+    public void insertAll(List<StrategySignal> signals) {
+        if (signals.isEmpty()) {
+            return;
+        }
+        
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rules = new ArrayList<>();
+        
+        for (StrategySignal signal : signals) {
+            if (signal.getId() == null) {
+                signal.setId(UUID.randomUUID());
+            }
+            if (signal.getCreatedAt() == null) {
+                signal.setCreatedAt(now);
+            }
+            if (signal.getMatchedRules() != null) {
+                for (String rule : signal.getMatchedRules()) {
+                    rules.add(new Object[] { signal.getId(), rule });
+                }
+            }
+        }
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, signals, batchSize, this::bind);
+        jdbcTemplate.batchUpdate(INSERT_RULE_SQL, rules, batchSize, (ps, rule) -> {
+            ps.setObject(1, rule[0]);
+            ps.setArray(2, ps.getConnection().createArrayOf("text", new Object[] { rule[1] }));
+        });
+        
+        long elapsedMicros = Math.max(1, (System.nanoTime() - started) / 1000);
+        logger.debug("Inserted {} strategy signals with {} matched rules in {} ms",
+            signals.size(), rules.size(), elapsedMicros / 1000);
+    }
+    
+    private void bind(PreparedStatement ps, StrategySignal signal) throws SQLException {
+        ps.setObject(1, signal.getId());
+        ps.setObject(2, signal.getStrategy().getId());
+        ps.setString(3, signal.getSignalType().name());
+        ps.setBigDecimal(4, signal.getPrice());
+        ps.setString(5, signal.getIndicatorValues());
+        ps.setBigDecimal(6, signal.getConfidenceScore());
+        ps.setObject(7, signal.getCreatedAt());
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,4 +25,11 @@ public interface StrategySignalRepository extends JpaRepository<StrategySignal,
     
     @Query("SELECT COUNT(ss) FROM StrategySignal ss WHERE ss.strategy = :strategy AND ss.signalType = :signalType")
     long countByStrategyAndSignalType(@Param("strategy") Strategy strategy, @Param("signalType") SignalType signalType);
+    
+    /**
+     * (strategy id, signal type) of the most recent signal of each given strategy.
+     */
+    @Query("SELECT ss.strategy.id, ss.signalType FROM StrategySignal ss WHERE ss.strategy.id IN :strategyIds " +
+           "AND ss.createdAt = (SELECT MAX(latest.createdAt) FROM StrategySignal latest WHERE latest.strategy = ss.strategy)")
+    List<Object[]> findLatestSignalTypes(@Param("strategyIds") Collection<UUID> strategyIds);
 }
\ No newline at end of file
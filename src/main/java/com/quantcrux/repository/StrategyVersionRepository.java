@@ -1,7 +1,9 @@
 package com.quantcrux.repository;
 
+import com.quantcrux.dto.StrategyVersionSummary;
 import com.quantcrux.model.Strategy;
 import com.quantcrux.model.StrategyVersion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,10 +16,33 @@ import java.util.UUID;
 @Repository
 public interface StrategyVersionRepository extends JpaRepository<StrategyVersion, UUID> {
     
+    String HISTORY_SELECT = "SELECT new com.quantcrux.dto.StrategyVersionSummary(" +
+            "sv.id, sv.versionNumber, sv.changeDescription, CONCAT(a.firstName, ' ', a.lastName), sv.createdAt, " +
+            "sv.configHash, sv.configSize, sv.diffJson) " +
+            "FROM StrategyVersion sv JOIN sv.author a WHERE sv.strategy = :strategy ";
+    String HISTORY_ORDER = "ORDER BY sv.versionNumber DESC";
+    
     List<StrategyVersion> findByStrategyOrderByVersionNumberDesc(Strategy strategy);
     
     Optional<StrategyVersion> findByStrategyAndVersionNumber(Strategy strategy, Integer versionNumber);
     
+    @Query(HISTORY_SELECT + HISTORY_ORDER)
+    List<StrategyVersionSummary> findHistory(@Param("strategy") Strategy strategy, Pageable pageable);
+    
+    @Query(HISTORY_SELECT + "AND sv.versionNumber < :beforeVersion " + HISTORY_ORDER)
+    List<StrategyVersionSummary> findHistoryBefore(@Param("strategy") Strategy strategy,
+                                                   @Param("beforeVersion") Integer beforeVersion, Pageable pageable);
+    
+    @Query("SELECT sv FROM StrategyVersion sv JOIN FETCH sv.author WHERE sv.strategy = :strategy " +
+           "AND sv.versionNumber = :versionNumber")
+    Optional<StrategyVersion> findWithAuthor(@Param("strategy") Strategy strategy, @Param("versionNumber") Integer versionNumber);
+    
+    @Query("SELECT sv FROM StrategyVersion sv WHERE sv.strategy = :strategy ORDER BY sv.versionNumber ASC")
+    List<StrategyVersion> findByStrategyOrderByVersionNumberAsc(@Param("strategy") Strategy strategy);
+    
+    @Query("SELECT sv.configJson FROM StrategyVersion sv WHERE sv.strategy = :strategy AND sv.versionNumber = :versionNumber")
+    Optional<String> findConfigJson(@Param("strategy") Strategy strategy, @Param("versionNumber") Integer versionNumber);
+    
     @Query("SELECT MAX(sv.versionNumber) FROM StrategyVersion sv WHERE sv.strategy = :strategy")
     Optional<Integer> findMaxVersionNumberByStrategy(@Param("strategy") Strategy strategy);
     
@@ -0,0 +1,229 @@
+package com.quantcrux.service;
+
+import com.quantcrux.dto.CacheStats;
+import com.quantcrux.engine.backtest.BarSeries;
+import com.quantcrux.engine.backtest.TimeAlignedMerge;
+import com.quantcrux.engine.backtest.TimeSlice;
+import com.quantcrux.model.MarketData;
+import com.quantcrux.repository.MarketDataRepository;
+import com.quantcrux.util.LruCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Feeds historical bars to the backtest engine. Rows are read through a server-side
+ * cursor and detached one by one, so the persistence context never holds more than the
+ * current row however long the requested range is. Symbols without stored history fall
+ * back to generated sample data. Series for ranges that ended before today are kept in an
+ * LRU cache bounded by total bars, so re-runs of the same backtest reuse the loaded columns.
+ */
+@Component
+public class BacktestDataLoader {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BacktestDataLoader.class);
+    
+    @Autowired
+    private MarketDataRepository marketDataRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    
+    // Closed ranges only; BarSeries columns are never written after build()
+    private final LruCache<String, BarSeries> barCache;
+    
+    public BacktestDataLoader(PlatformTransactionManager transactionManager,
+                              @Value("${backtest.bars.cache-max-bars:2000000}") long barCacheMaxBars) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Bounded by bars held rather than series count; one bar is about 48 bytes of columns
+        this.barCache = new LruCache<>("backtest-bar-series", barCacheMaxBars, bars -> Math.max(bars.size(), 1));
+    }
+    
+    /**
+     * Loads one symbol straight into primitive columns.
+     */
+    public BarSeries loadBarSeries(String symbol, String timeframe, LocalDate startDate, LocalDate endDate) {
+        if (!endDate.isBefore(LocalDate.now())) {
+            // Today's bars are still arriving
+            return readBarSeries(symbol, timeframe, startDate, endDate);
+        }
+        return barCache.getOrCompute(symbol + ":" + timeframe + ":" + startDate + ":" + endDate,
+            key -> readBarSeries(symbol, timeframe, startDate, endDate));
+    }
+    
+    public CacheStats getBarCacheStats() {
+        return barCache.stats();
+    }
+    
+    private BarSeries readBarSeries(String symbol, String timeframe, LocalDate startDate, LocalDate endDate) {
+        BarSeries bars = readOnlyTransaction.execute(status -> {
+            BarSeries.Builder builder = BarSeries.builder(symbol, timeframe, 256);
+            try (Stream<MarketData> rows = streamMarketData(symbol, timeframe, startDate, endDate)) {
+                rows.forEach(builder::add);
+            }
+            return builder.build();
+        });
+        
+        if (bars.isEmpty()) {
+            BarSeries.Builder builder = BarSeries.builder(symbol, timeframe, 256);
+            generateSampleMarketData(symbol, timeframe, startDate, endDate).forEach(builder::add);
+            bars = builder.build();
+        }
+        
+        logger.debug("Loaded {} {} bars for {}", bars.size(), timeframe, symbol);
+        return bars;
+    }
+    
+    /**
+     * The latest {@code barCount} bars, oldest first; used to warm up indicators for live evaluation.
+     */
+    public BarSeries loadRecentBars(String symbol, String timeframe, int barCount) {
+        List<MarketData> rows = marketDataRepository.findRecentBySymbolAndTimeframe(symbol, timeframe, PageRequest.of(0, barCount));
+        
+        BarSeries.Builder builder = BarSeries.builder(symbol, timeframe, Math.max(rows.size(), 16));
+        if (rows.isEmpty()) {
+            LocalDate today = LocalDate.now();
+            generateSampleMarketData(symbol, timeframe, today.minusDays(barCount - 1), today).forEach(builder::add);
+        } else {
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                builder.add(rows.get(i));
+            }
+        }
+        return builder.build();
+    }
+    
+    /**
+     * {@link #loadRecentBars(String, String, int)} for many symbols with a single query.
+     */
+    public Map<String, BarSeries> loadRecentBars(Collection<String> symbols, String timeframe, int barCount) {
+        Map<String, BarSeries.Builder> builders = new LinkedHashMap<>();
+        for (MarketData row : marketDataRepository.findRecentBySymbolsAndTimeframe(symbols, timeframe, barCount)) {
+            builders.computeIfAbsent(row.getSymbol(), symbol -> BarSeries.builder(symbol, timeframe, barCount)).add(row);
+        }
+        
+        Map<String, BarSeries> series = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        for (String symbol : symbols) {
+            BarSeries.Builder builder = builders.get(symbol);
+            if (builder == null) {
+                builder = BarSeries.builder(symbol, timeframe, barCount);
+                generateSampleMarketData(symbol, timeframe, today.minusDays(barCount - 1), today).forEach(builder::add);
+            }
+            series.put(symbol, builder.build());
+        }
+        return series;
+    }
+    
+    /**
+     * Opens one cursor per symbol, merges them by timestamp and hands the merged slices to
+     * {@code consumer}. All cursors share a single read-only transaction that stays open
+     * until the consumer returns.
+     */
+    public <T> T withMergedSeries(List<String> symbols, String timeframe, LocalDate startDate, LocalDate endDate,
+                                  Function<Iterator<TimeSlice>, T> consumer) {
+        return readOnlyTransaction.execute(status -> {
+            List<Stream<MarketData>> streams = new ArrayList<>(symbols.size());
+            try {
+                List<Iterator<MarketData>> sources = new ArrayList<>(symbols.size());
+                for (String symbol : symbols) {
+                    Stream<MarketData> rows = streamMarketData(symbol, timeframe, startDate, endDate);
+                    streams.add(rows);
+                    
+                    Iterator<MarketData> source = rows.iterator();
+                    if (!source.hasNext()) {
+                        source = generateSampleMarketData(symbol, timeframe, startDate, endDate).iterator();
+                    }
+                    sources.add(source);
+                }
+                return consumer.apply(new TimeAlignedMerge(sources));
+            } finally {
+                streams.forEach(Stream::close);
+            }
+        });
+    }
+    
+    /**
+     * Row count for the range, used to scale progress when bars are streamed.
+     */
+    public long countBars(String symbol, String timeframe, LocalDate startDate, LocalDate endDate) {
+        long stored = marketDataRepository.countBySymbolAndTimeframeAndTimestampBetween(
+            symbol, timeframe, startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
+        return stored > 0 ? stored : startDate.datesUntil(endDate.plusDays(1)).count();
+    }
+    
+    private Stream<MarketData> streamMarketData(String symbol, String timeframe, LocalDate startDate, LocalDate endDate) {
+        LocalDateTime startDateTime = startDate.atStartOfDay();
+        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
+        
+        return marketDataRepository.streamBySymbolAndTimeframeAndTimestampBetween(symbol, timeframe, startDateTime, endDateTime)
+                .peek(entityManager::detach);
+    }
+    
+    private List<MarketData> generateSampleMarketData(String symbol, String timeframe, LocalDate startDate, LocalDate endDate) {
+        List<MarketData> data = new ArrayList<>();
+        Random random = new Random();
+        
+        LocalDate currentDate = startDate;
+        BigDecimal currentPrice = getBasePrice(symbol);
+        
+        while (!currentDate.isAfter(endDate)) {
+            // Generate OHLCV data
+            BigDecimal open = currentPrice;
+            BigDecimal change = BigDecimal.valueOf((random.nextGaussian() * 0.02)); // 2% daily volatility
+            BigDecimal close = open.multiply(BigDecimal.ONE.add(change)).setScale(6, RoundingMode.HALF_UP);
+            
+            BigDecimal high = open.max(close).multiply(BigDecimal.valueOf(1 + random.nextDouble() * 0.01));
+            BigDecimal low = open.min(close).multiply(BigDecimal.valueOf(1 - random.nextDouble() * 0.01));
+            BigDecimal volume = BigDecimal.valueOf(100000 + random.nextInt(900000));
+            
+            MarketData marketData = new MarketData(
+                symbol,
+                timeframe,
+                currentDate.atStartOfDay(),
+                open, high, low, close, volume
+            );
+            
+            data.add(marketData);
+            currentPrice = close;
+            currentDate = currentDate.plusDays(1);
+        }
+        
+        return data;
+    }
+    
+    private BigDecimal getBasePrice(String symbol) {
+        switch (symbol.toUpperCase()) {
+            case "AAPL": return BigDecimal.valueOf(150.00);
+            case "GOOGL": return BigDecimal.valueOf(2500.00);
+            case "MSFT": return BigDecimal.valueOf(300.00);
+            case "TSLA": return BigDecimal.valueOf(200.00);
+            case "BTCUSD": return BigDecimal.valueOf(45000.00);
+            case "ETHUSD": return BigDecimal.valueOf(3000.00);
+            default: return BigDecimal.valueOf(100.00);
+        }
+    }
+}
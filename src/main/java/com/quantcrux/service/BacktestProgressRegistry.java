@@ -0,0 +1,73 @@
+package com.quantcrux.service;
+
+import com.quantcrux.model.BacktestStatus;
+import com.quantcrux.repository.BacktestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory progress of running backtests. Simulation threads only write a volatile int;
+ * the values are copied to the backtests table on a fixed cadence so the bar loop never
+ * waits on JDBC.
+ */
+@Component
+public class BacktestProgressRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BacktestProgressRegistry.class);
+    
+    @Autowired
+    private BacktestRepository backtestRepository;
+    
+    private final Map<UUID, ProgressEntry> running = new ConcurrentHashMap<>();
+    
+    public void start(UUID backtestId) {
+        running.put(backtestId, new ProgressEntry());
+    }
+    
+    public void report(UUID backtestId, int progress) {
+        ProgressEntry entry = running.get(backtestId);
+        if (entry != null) {
+            entry.progress = progress;
+        }
+    }
+    
+    public void complete(UUID backtestId) {
+        running.remove(backtestId);
+    }
+    
+    public Optional<Integer> getProgress(UUID backtestId) {
+        ProgressEntry entry = running.get(backtestId);
+        return entry != null ? Optional.of(entry.progress) : Optional.empty();
+    }
+    
+    @Scheduled(fixedDelayString = "${backtest.progress.flush-interval-ms:1000}")
+    public void flush() {
+        for (Map.Entry<UUID, ProgressEntry> e : running.entrySet()) {
+            ProgressEntry entry = e.getValue();
+            int progress = entry.progress;
+            if (progress == entry.flushed) {
+                continue;
+            }
+            
+            try {
+                backtestRepository.updateProgress(e.getKey(), progress, BacktestStatus.RUNNING);
+                entry.flushed = progress;
+            } catch (Exception ex) {
+                logger.warn("Failed to flush progress for backtest {}: {}", e.getKey(), ex.getMessage());
+            }
+        }
+    }
+    
+    private static class ProgressEntry {
+        private volatile int progress;
+        private volatile int flushed = -1;
+    }
+}
@@ -0,0 +1,281 @@
+package com.quantcrux.service;
+
+import com.quantcrux.dto.BacktestExecutorStats;
+import com.quantcrux.model.Backtest;
+import com.quantcrux.model.BacktestPriority;
+import com.quantcrux.model.BacktestStatus;
+import com.quantcrux.repository.BacktestRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatches PENDING backtests from the backtests table onto a bounded worker pool.
+ * The status column is the queue: jobs are claimed with a compare-and-set from PENDING
+ * to RUNNING, lanes are drained in {@link BacktestPriority} order and each user may only
+ * occupy a limited number of workers at a time. The LOW lane, which carries automatic
+ * re-runs, is further capped so it never takes every worker from interactive jobs.
+ * <p>
+ * Assumes a single application node: at startup every RUNNING row is treated as orphaned
+ * by the previous process and re-queued, which would also steal jobs another live node is
+ * still executing. Re-running a recovered job is safe on its own because results replace
+ * any partial rows an interrupted attempt left behind.
+ */
+@Component
+public class BacktestScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BacktestScheduler.class);
+    
+    @Autowired
+    private BacktestRepository backtestRepository;
+    
+    @Autowired
+    private BacktestService backtestService;
+    
+    @Autowired
+    @Qualifier("backtestExecutor")
+    private ThreadPoolTaskExecutor backtestExecutor;
+    
+    @Autowired
+    private BacktestDataLoader dataLoader;
+    
+    @Autowired
+    private javax.sql.DataSource dataSource;
+    
+    @Value("${backtest.executor.max-per-user:2}")
+    private int maxPerUser;
+    
+    @Value("${backtest.executor.scan-size:200}")
+    private int scanSize;
+    
+    // 0 = half the pool
+    @Value("${backtest.executor.max-low-priority-workers:0}")
+    private int maxLowPriorityWorkers;
+    
+    private final Map<UUID, AtomicInteger> runningByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    private final AtomicInteger activeLowPriorityJobs = new AtomicInteger();
+    
+    private final AtomicLong submittedJobs = new AtomicLong();
+    private final AtomicLong completedJobs = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private final AtomicLong recoveredJobs = new AtomicLong();
+    private final AtomicLong totalRunMillis = new AtomicLong();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterruptedBacktests() {
+        // Anything still RUNNING at startup was orphaned by the previous process (single node only)
+        List<Backtest> orphaned = backtestRepository.findStaleBacktests(BacktestStatus.RUNNING, LocalDateTime.now());
+        for (Backtest backtest : orphaned) {
+            if (backtestRepository.transitionStatus(backtest.getId(), BacktestStatus.RUNNING, BacktestStatus.PENDING) > 0) {
+                recoveredJobs.incrementAndGet();
+            }
+        }
+        
+        if (!orphaned.isEmpty()) {
+            logger.info("Re-queued {} backtests interrupted by a previous shutdown", orphaned.size());
+        }
+        
+        dispatch();
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBacktestSubmitted(BacktestSubmittedEvent event) {
+        submittedJobs.incrementAndGet();
+        dispatch();
+    }
+    
+    @Scheduled(fixedDelayString = "${backtest.executor.poll-interval-ms:5000}")
+    public void poll() {
+        dispatch();
+    }
+    
+    public synchronized void dispatch() {
+        int capacity = backtestExecutor.getMaxPoolSize() - activeJobs.get();
+        
+        for (BacktestPriority lane : BacktestPriority.values()) {
+            if (capacity <= 0) {
+                return;
+            }
+            
+            boolean lowLane = lane == BacktestPriority.LOW;
+            if (lowLane && activeLowPriorityJobs.get() >= lowPriorityLimit()) {
+                continue;
+            }
+            
+            // Users at quota are left out of the scan, so one user's backlog cannot fill the
+            // window and hide other users' jobs behind it. Rescan while a pass skipped rows of
+            // users who only reached their quota during that pass.
+            boolean rescan = true;
+            while (rescan && capacity > 0) {
+                Set<UUID> saturated = usersAtQuota();
+                List<Backtest> pending = saturated.isEmpty()
+                        ? backtestRepository.findByStatusAndPriorityOrderByCreatedAtAsc(
+                            BacktestStatus.PENDING, lane, PageRequest.of(0, scanSize))
+                        : backtestRepository.findByStatusAndPriorityExcludingUsers(
+                            BacktestStatus.PENDING, lane, saturated, PageRequest.of(0, scanSize));
+                rescan = false;
+                
+                for (Backtest backtest : pending) {
+                    if (capacity <= 0 || (lowLane && activeLowPriorityJobs.get() >= lowPriorityLimit())) {
+                        break;
+                    }
+                    
+                    UUID userId = backtest.getUser().getId();
+                    if (!tryAcquireUserSlot(userId)) {
+                        rescan = pending.size() == scanSize;
+                        continue;
+                    }
+                    
+                    if (backtestRepository.transitionStatus(backtest.getId(), BacktestStatus.PENDING, BacktestStatus.RUNNING) == 0) {
+                        // Claimed or cancelled in the meantime
+                        releaseUserSlot(userId);
+                        continue;
+                    }
+                    
+                    activeJobs.incrementAndGet();
+                    if (lowLane) {
+                        activeLowPriorityJobs.incrementAndGet();
+                    }
+                    capacity--;
+                    launch(backtest.getId(), userId, lowLane);
+                }
+                
+                if (lowLane && activeLowPriorityJobs.get() >= lowPriorityLimit()) {
+                    rescan = false;
+                }
+            }
+        }
+    }
+    
+    public BacktestExecutorStats getStats() {
+        BacktestExecutorStats stats = new BacktestExecutorStats();
+        stats.setPoolSize(backtestExecutor.getMaxPoolSize());
+        stats.setActiveWorkers(activeJobs.get());
+        stats.setMaxPerUser(maxPerUser);
+        stats.setLowPriorityWorkers(activeLowPriorityJobs.get());
+        stats.setMaxLowPriorityWorkers(lowPriorityLimit());
+        stats.setPendingJobs(backtestRepository.countByStatus(BacktestStatus.PENDING));
+        stats.setRunningJobs(backtestRepository.countByStatus(BacktestStatus.RUNNING));
+        stats.setSubmittedJobs(submittedJobs.get());
+        stats.setCompletedJobs(completedJobs.get());
+        stats.setFailedJobs(failedJobs.get());
+        stats.setRecoveredJobs(recoveredJobs.get());
+        
+        long finished = completedJobs.get() + failedJobs.get();
+        stats.setAvgRunMillis(finished > 0 ? (double) totalRunMillis.get() / finished : 0.0);
+        
+        HikariPoolMXBean pool = getConnectionPool();
+        if (pool != null) {
+            stats.setDbPoolActive(pool.getActiveConnections());
+            stats.setDbPoolIdle(pool.getIdleConnections());
+            stats.setDbPoolTotal(pool.getTotalConnections());
+            stats.setDbPoolWaiting(pool.getThreadsAwaitingConnection());
+        }
+        
+        stats.setBarCache(dataLoader.getBarCacheStats());
+        
+        return stats;
+    }
+    
+    private void launch(UUID backtestId, UUID userId, boolean lowLane) {
+        try {
+            backtestExecutor.execute(() -> {
+                long started = System.currentTimeMillis();
+                try {
+                    BacktestStatus status = backtestService.runBacktest(backtestId);
+                    if (status == BacktestStatus.COMPLETED) {
+                        completedJobs.incrementAndGet();
+                    } else {
+                        failedJobs.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failedJobs.incrementAndGet();
+                    logger.error("Backtest worker crashed for backtest {}", backtestId, e);
+                } finally {
+                    totalRunMillis.addAndGet(System.currentTimeMillis() - started);
+                    releaseWorker(userId, lowLane);
+                    dispatch();
+                }
+            });
+        } catch (Exception e) {
+            // Pool refused the job (e.g. during shutdown); put it back in the queue
+            logger.warn("Could not start backtest {}: {}", backtestId, e.getMessage());
+            backtestRepository.transitionStatus(backtestId, BacktestStatus.RUNNING, BacktestStatus.PENDING);
+            releaseWorker(userId, lowLane);
+        }
+    }
+    
+    private void releaseWorker(UUID userId, boolean lowLane) {
+        releaseUserSlot(userId);
+        if (lowLane) {
+            activeLowPriorityJobs.decrementAndGet();
+        }
+        activeJobs.decrementAndGet();
+    }
+    
+    private int lowPriorityLimit() {
+        int poolSize = backtestExecutor.getMaxPoolSize();
+        int limit = maxLowPriorityWorkers > 0 ? maxLowPriorityWorkers : poolSize / 2;
+        return Math.max(1, Math.min(limit, poolSize));
+    }
+    
+    private Set<UUID> usersAtQuota() {
+        Set<UUID> saturated = new HashSet<>();
+        runningByUser.forEach((userId, running) -> {
+            if (running.get() >= maxPerUser) {
+                saturated.add(userId);
+            }
+        });
+        return saturated;
+    }
+    
+    private boolean tryAcquireUserSlot(UUID userId) {
+        AtomicInteger running = runningByUser.computeIfAbsent(userId, id -> new AtomicInteger());
+        if (running.incrementAndGet() > maxPerUser) {
+            running.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+    
+    private void releaseUserSlot(UUID userId) {
+        AtomicInteger running = runningByUser.get(userId);
+        if (running != null) {
+            running.decrementAndGet();
+        }
+    }
+    
+    private HikariPoolMXBean getConnectionPool() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (Exception e) {
+            logger.debug("Connection pool metrics unavailable: {}", e.getMessage());
+        }
+        return null;
+    }
+}
@@ -4,22 +4,40 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quantcrux.dto.*;
+import com.quantcrux.engine.backtest.*;
+import com.quantcrux.engine.indicator.FeatureFrame;
+import com.quantcrux.engine.rules.CompiledStrategy;
 import com.quantcrux.model.*;
 import com.quantcrux.repository.*;
 import com.quantcrux.security.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @Transactional
@@ -27,12 +45,32 @@ public class BacktestService {
     
     private static final Logger logger = LoggerFactory.getLogger(BacktestService.class);
     
+    // Fixed signal timing for strategies whose config defines no rules
+    private static final int DEFAULT_ENTRY_INTERVAL = 20;
+    private static final int DEFAULT_EXIT_INTERVAL = 15;
+    
+    // Symbol recorded on portfolio backtests, which trade a basket
+    private static final String PORTFOLIO_SYMBOL = "PORTFOLIO";
+    
+    // Simulation knobs a parameter sweep may vary besides the strategy's own parameters
+    private static final String POSITION_SIZE_PARAMETER = "positionSizePct";
+    private static final Set<String> INTERVAL_PARAMETERS = Set.of("entryInterval", "exitInterval");
+    
     @Autowired
     private BacktestRepository backtestRepository;
     
     @Autowired
     private BacktestTradeRepository tradeRepository;
     
+    @Autowired
+    private BacktestTradeBatchWriter tradeWriter;
+    
+    @Autowired
+    private BacktestWalkForwardWindowRepository walkForwardWindowRepository;
+    
+    @Autowired
+    private BacktestCurveRepository curveRepository;
+    
     @Autowired
     private StrategyRepository strategyRepository;
     
@@ -40,28 +78,109 @@ public class BacktestService {
     private StrategyVersionRepository versionRepository;
     
     @Autowired
-    private MarketDataRepository marketDataRepository;
+    private BacktestDataLoader dataLoader;
+    
+    @Autowired
+    private CompiledStrategyCache strategyCache;
+    
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+    
+    @Autowired
+    private PortfolioHoldingRepository holdingRepository;
     
     @Autowired
     private MarketDataService marketDataService;
     
+    @Autowired
+    private BacktestProgressRegistry progressRegistry;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    @Qualifier("backtestSweepPool")
+    private ForkJoinPool sweepPool;
+    
+    @Value("${backtest.sweep.max-combinations:10000}")
+    private int maxSweepCombinations;
+    
+    @Value("${backtest.sweep.feature-frame-max-mb:256}")
+    private long featureFrameMaxMb;
+    
+    @Value("${backtest.portfolio.max-symbols:100}")
+    private int maxPortfolioSymbols;
+    
+    @Value("${backtest.curves.max-stored-points:20000}")
+    private int maxStoredCurvePoints;
+    
+    @Value("${backtest.curves.default-points:500}")
+    private int defaultCurvePoints;
+    
+    @Value("${backtest.curves.max-points:5000}")
+    private int maxCurvePoints;
+    
+    @Value("${backtest.list.default-page-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${backtest.list.max-page-size:200}")
+    private int maxPageSize;
+    
+    @Value("${backtest.rerun.max-per-version:50}")
+    private int maxRerunsPerVersion;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
-    public List<BacktestResponse> getUserBacktests(UserPrincipal userPrincipal) {
+    public BacktestPageResponse getUserBacktests(Integer limit, String cursor, UserPrincipal userPrincipal) {
         User user = userPrincipal.getUser();
-        List<Backtest> backtests = backtestRepository.findByUserOrderByCreatedAtDesc(user);
+        int pageSize = resolvePageSize(limit);
+        // One extra row tells whether another page exists without a COUNT query
+        Pageable page = PageRequest.of(0, pageSize + 1);
         
-        return backtests.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<BacktestSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = backtestRepository.findSummariesByUser(user, page);
+        } else {
+            PageCursor position = decodeCursor(cursor);
+            rows = backtestRepository.findSummariesByUserAfter(user, position.createdAt, position.id, page);
+        }
+        
+        return toPage(rows, pageSize);
     }
     
-    public BacktestResponse getBacktest(UUID backtestId, UserPrincipal userPrincipal) {
+    public BacktestResponse getBacktest(UUID backtestId, Integer points, UserPrincipal userPrincipal) {
         User user = userPrincipal.getUser();
         Backtest backtest = backtestRepository.findByIdAndUser(backtestId, user)
                 .orElseThrow(() -> new RuntimeException("Backtest not found"));
         
-        return convertToResponse(backtest);
+        BacktestResponse response = convertToResponse(backtest);
+        
+        // Curves are only decoded for the detail view
+        int pointCount = points != null ? Math.max(3, Math.min(points, maxCurvePoints)) : defaultCurvePoints;
+        setCurves(response, backtest, pointCount);
+        
+        if (Boolean.TRUE.equals(backtest.getWalkForwardEnabled())) {
+            response.setWalkForwardWindows(walkForwardWindowRepository.findByBacktestOrderByWindowNumber(backtest).stream()
+                    .map(this::convertWindowToResponse)
+                    .collect(Collectors.toList()));
+        }
+        
+        return response;
+    }
+    
+    public BacktestProgressResponse getBacktestProgress(UUID backtestId, UserPrincipal userPrincipal) {
+        User user = userPrincipal.getUser();
+        BacktestStatus status = backtestRepository.findStatusByIdAndUser(backtestId, user)
+                .orElseThrow(() -> new RuntimeException("Backtest not found"));
+        
+        // Running backtests are served from memory; the table lags by up to one flush interval
+        Integer progress = progressRegistry.getProgress(backtestId)
+                .orElseGet(() -> backtestRepository.findProgressById(backtestId).orElse(0));
+        
+        return new BacktestProgressResponse(backtestId, status, progress);
     }
     
     public BacktestResponse createBacktest(BacktestRequest request, UserPrincipal userPrincipal) {
@@ -76,11 +195,14 @@ public class BacktestService {
         Strategy strategy = strategyRepository.findByIdAndUser(request.getStrategyId(), user)
                 .orElseThrow(() -> new RuntimeException("Strategy not found"));
         
-        // Get strategy version if specified
+        // Get strategy version if specified, otherwise record the current one so the run can be traced
         StrategyVersion strategyVersion = null;
         if (request.getStrategyVersionId() != null) {
             strategyVersion = versionRepository.findById(request.getStrategyVersionId())
                     .orElse(null);
+        } else if (strategy.getCurrentVersion() != null) {
+            strategyVersion = versionRepository.findByStrategyAndVersionNumber(strategy, strategy.getCurrentVersion())
+                    .orElse(null);
         }
         
         // Create backtest
@@ -89,7 +211,15 @@ public class BacktestService {
         backtest.setStrategyVersion(strategyVersion);
         backtest.setUser(user);
         backtest.setName(request.getName());
-        backtest.setSymbol(request.getSymbol().toUpperCase());
+        if (request.getPortfolio() != null) {
+            backtest.setSymbol(PORTFOLIO_SYMBOL);
+            backtest.setPortfolioConfig(resolvePortfolioConfig(request.getPortfolio(), user));
+        } else if (request.getSymbol() != null && !request.getSymbol().isBlank()) {
+            backtest.setSymbol(request.getSymbol().toUpperCase());
+        } else {
+            throw new RuntimeException("Either a symbol or a portfolio is required");
+        }
+        requirePositiveCapital(request.getInitialCapital());
         backtest.setTimeframe(request.getTimeframe());
         backtest.setStartDate(request.getStartDate());
         backtest.setEndDate(request.getEndDate());
@@ -97,336 +227,1001 @@ public class BacktestService {
         backtest.setCommissionRate(request.getCommissionRate());
         backtest.setSlippageRate(request.getSlippageRate());
         backtest.setStatus(BacktestStatus.PENDING);
+        backtest.setPriority(request.getPriority() != null ? request.getPriority() : BacktestPriority.NORMAL);
+        backtest.setPinned(Boolean.TRUE.equals(request.getPinned()));
+        
+        // Compile now so a broken config is rejected before the job is queued
+        CompiledStrategy compiled = strategyVersion != null
+                ? strategyCache.forVersion(strategyVersion.getId())
+                : strategyCache.forStrategy(strategy);
+        
+        if (Boolean.TRUE.equals(request.getWalkForwardEnabled())) {
+            backtest.setWalkForwardEnabled(true);
+            backtest.setWalkForwardConfig(validateWalkForwardConfig(request.getWalkForward(), compiled));
+        }
         
         backtest = backtestRepository.save(backtest);
         
-        // Start backtest execution asynchronously
-        executeBacktestAsync(backtest);
+        // Queue for BacktestScheduler; dispatched once this transaction commits
+        eventPublisher.publishEvent(new BacktestSubmittedEvent(backtest.getId()));
         
         return convertToResponse(backtest);
     }
     
+    public BacktestResponse setPinned(UUID backtestId, boolean pinned, UserPrincipal userPrincipal) {
+        User user = userPrincipal.getUser();
+        Backtest backtest = backtestRepository.findByIdAndUser(backtestId, user)
+                .orElseThrow(() -> new RuntimeException("Backtest not found"));
+        
+        // Only the flag is written so a worker finishing this run concurrently keeps its results
+        backtestRepository.updatePinned(backtest.getId(), pinned);
+        
+        BacktestResponse response = convertToResponse(backtest);
+        response.setPinned(pinned);
+        return response;
+    }
+    
+    /**
+     * Re-runs the strategy's pinned backtests against a newly saved version. Only pinned runs
+     * recorded on an older version are copied; each copy is queued at LOW priority, takes over
+     * the pin and links back to the first run of its chain.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onStrategyVersionCreated(StrategyVersionCreatedEvent event) {
+        StrategyVersion version = versionRepository.findById(event.getVersionId()).orElse(null);
+        if (version == null) {
+            return;
+        }
+        
+        List<Backtest> stale = backtestRepository.findPinnedByStrategyId(event.getStrategyId()).stream()
+                .filter(backtest -> backtest.getStrategyVersion() == null
+                        || backtest.getStrategyVersion().getVersionNumber() < version.getVersionNumber())
+                .collect(Collectors.toList());
+        if (stale.isEmpty()) {
+            return;
+        }
+        if (stale.size() > maxRerunsPerVersion) {
+            logger.warn("Strategy {} has {} pinned backtests; re-running the first {}",
+                event.getStrategyId(), stale.size(), maxRerunsPerVersion);
+            stale = stale.subList(0, maxRerunsPerVersion);
+        }
+        
+        CompiledStrategy compiled = strategyCache.forVersion(version.getId());
+        int queued = 0;
+        for (Backtest previous : stale) {
+            Backtest rerun = copyForRerun(previous, version);
+            
+            if (Boolean.TRUE.equals(previous.getWalkForwardEnabled())) {
+                try {
+                    WalkForwardConfig config = objectMapper.readValue(previous.getWalkForwardConfig(), WalkForwardConfig.class);
+                    rerun.setWalkForwardConfig(validateWalkForwardConfig(config, compiled));
+                } catch (Exception e) {
+                    // e.g. an optimised parameter was removed from the config; keep the pin for the user to resolve
+                    logger.warn("Skipping re-run of backtest {} on version {}: {}",
+                        previous.getId(), version.getVersionNumber(), e.getMessage());
+                    continue;
+                }
+            }
+            
+            backtestRepository.updatePinned(previous.getId(), false);
+            rerun = backtestRepository.save(rerun);
+            eventPublisher.publishEvent(new BacktestSubmittedEvent(rerun.getId()));
+            queued++;
+        }
+        
+        logger.info("Queued {} re-runs of strategy {} for version {}", queued, event.getStrategyId(), version.getVersionNumber());
+    }
+    
+    private Backtest copyForRerun(Backtest previous, StrategyVersion version) {
+        Backtest rerun = new Backtest();
+        rerun.setStrategy(previous.getStrategy());
+        rerun.setStrategyVersion(version);
+        rerun.setUser(previous.getUser());
+        rerun.setName(previous.getName());
+        rerun.setSymbol(previous.getSymbol());
+        rerun.setTimeframe(previous.getTimeframe());
+        rerun.setStartDate(previous.getStartDate());
+        rerun.setEndDate(previous.getEndDate());
+        rerun.setInitialCapital(previous.getInitialCapital());
+        rerun.setCommissionRate(previous.getCommissionRate());
+        rerun.setSlippageRate(previous.getSlippageRate());
+        rerun.setPortfolioConfig(previous.getPortfolioConfig());
+        rerun.setWalkForwardEnabled(previous.getWalkForwardEnabled());
+        rerun.setWalkForwardConfig(previous.getWalkForwardConfig());
+        rerun.setStatus(BacktestStatus.PENDING);
+        rerun.setPriority(BacktestPriority.LOW);
+        rerun.setPinned(true);
+        rerun.setSourceBacktest(previous.getSourceBacktest() != null ? previous.getSourceBacktest() : previous);
+        return rerun;
+    }
+    
     public void deleteBacktest(UUID backtestId, UserPrincipal userPrincipal) {
         User user = userPrincipal.getUser();
         Backtest backtest = backtestRepository.findByIdAndUser(backtestId, user)
                 .orElseThrow(() -> new RuntimeException("Backtest not found"));
         
+        curveRepository.deleteByBacktestId(backtest.getId());
+        backtestRepository.clearSourceBacktest(backtest.getId());
         backtestRepository.delete(backtest);
     }
     
-    public List<BacktestResponse> getStrategyBacktests(UUID strategyId, UserPrincipal userPrincipal) {
+    public BacktestPageResponse getStrategyBacktests(UUID strategyId, Integer limit, String cursor,
+                                                     UserPrincipal userPrincipal) {
         User user = userPrincipal.getUser();
         Strategy strategy = strategyRepository.findByIdAndUser(strategyId, user)
                 .orElseThrow(() -> new RuntimeException("Strategy not found"));
         
-        List<Backtest> backtests = backtestRepository.findByUserAndStrategyOrderByCreatedAtDesc(user, strategy);
+        int pageSize = resolvePageSize(limit);
+        Pageable page = PageRequest.of(0, pageSize + 1);
         
-        return backtests.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<BacktestSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = backtestRepository.findSummariesByUserAndStrategy(user, strategy, page);
+        } else {
+            PageCursor position = decodeCursor(cursor);
+            rows = backtestRepository.findSummariesByUserAndStrategyAfter(user, strategy, position.createdAt, position.id, page);
+        }
+        
+        return toPage(rows, pageSize);
     }
     
-    private void executeBacktestAsync(Backtest backtest) {
-        // In a real implementation, this would be executed in a separate thread or job queue
-        // For now, we'll simulate the backtest execution
-        new Thread(() -> {
-            try {
-                executeBacktest(backtest);
-            } catch (Exception e) {
-                logger.error("Backtest execution failed for backtest {}", backtest.getId(), e);
-                backtest.setStatus(BacktestStatus.FAILED);
-                backtest.setErrorMessage(e.getMessage());
-                backtestRepository.save(backtest);
+    /**
+     * Runs every combination of the requested parameter grid against one shared bar series
+     * and returns the best {@code topN} combinations. Nothing is persisted; the simulations
+     * run in parallel on the sweep pool and no connection is held while they do.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BacktestSweepResponse runSweep(BacktestSweepRequest request, UserPrincipal userPrincipal) {
+        User user = userPrincipal.getUser();
+        
+        // Validate user role
+        if (!canRunBacktest(user.getRole())) {
+            throw new RuntimeException("Insufficient permissions to run backtests");
+        }
+        
+        Strategy strategy = strategyRepository.findByIdAndUser(request.getStrategyId(), user)
+                .orElseThrow(() -> new RuntimeException("Strategy not found"));
+        
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        
+        CompiledStrategy compiled = strategyCache.forStrategy(strategy);
+        Comparator<SweepRun> ranking = sweepRanking(request.getRankBy());
+        ParameterGrid grid = buildParameterGrid(request.getParameters(), compiled);
+        if (grid.size() > maxSweepCombinations) {
+            throw new RuntimeException("Parameter sweep has " + grid.size() + " combinations; the limit is " + maxSweepCombinations);
+        }
+        
+        requirePositiveCapital(request.getInitialCapital());
+        
+        long started = System.currentTimeMillis();
+        String symbol = request.getSymbol().toUpperCase();
+        
+        // One load for the whole sweep; every combination reads the same primitive columns
+        BarSeries bars = dataLoader.loadBarSeries(symbol, request.getTimeframe(), request.getStartDate(), request.getEndDate());
+        if (bars.isEmpty()) {
+            throw new RuntimeException("No market data available for the specified period");
+        }
+        
+        double initialCapital = request.getInitialCapital().doubleValue();
+        double commissionRate = request.getCommissionRate().doubleValue();
+        
+        // Combinations that resolve to the same indicator spec share one precomputed column
+        FeatureFrame frame = newFeatureFrame(bars);
+        
+        List<SweepRun> runs;
+        try {
+            runs = sweepPool.submit(() -> IntStream.range(0, grid.size())
+                    .parallel()
+                    .mapToObj(i -> runSweepCombination(frame, compiled, grid.combination(i), initialCapital, commissionRate))
+                    .sorted(ranking)
+                    .collect(Collectors.toList()))
+                .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Parameter sweep was interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Parameter sweep failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        
+        int topN = request.getTopN() != null && request.getTopN() > 0 ? request.getTopN() : runs.size();
+        List<BacktestSweepResponse.SweepResult> results = new ArrayList<>();
+        for (int rank = 0; rank < Math.min(topN, runs.size()); rank++) {
+            results.add(toSweepResult(rank + 1, runs.get(rank)));
+        }
+        
+        long elapsed = System.currentTimeMillis() - started;
+        logger.info("Parameter sweep of {} combinations over {} bars for strategy {} finished in {} ms " +
+            "({} indicator columns computed, {} reused)",
+            grid.size(), bars.size(), strategy.getId(), elapsed, frame.getComputedColumns(), frame.getHits());
+        
+        BacktestSweepResponse response = new BacktestSweepResponse();
+        response.setStrategyId(strategy.getId());
+        response.setStrategyName(strategy.getName());
+        response.setSymbol(symbol);
+        response.setTimeframe(request.getTimeframe());
+        response.setRankBy(request.getRankBy());
+        response.setTotalCombinations(grid.size());
+        response.setBarCount(bars.size());
+        response.setElapsedMillis(elapsed);
+        response.setResults(results);
+        
+        return response;
+    }
+    
+    private ParameterGrid buildParameterGrid(Map<String, BacktestSweepRequest.ParameterRange> parameters,
+                                             CompiledStrategy strategy) {
+        Map<String, double[]> axes = new LinkedHashMap<>();
+        
+        for (Map.Entry<String, BacktestSweepRequest.ParameterRange> entry : parameters.entrySet()) {
+            String name = entry.getKey();
+            boolean builtIn = POSITION_SIZE_PARAMETER.equals(name) || (!strategy.hasRules() && INTERVAL_PARAMETERS.contains(name));
+            if (!builtIn && !strategy.getParameters().containsKey(name)) {
+                throw new RuntimeException("Unsupported sweep parameter: " + name);
+            }
+            
+            BacktestSweepRequest.ParameterRange range = entry.getValue();
+            double[] values;
+            if (range.getValues() != null && !range.getValues().isEmpty()) {
+                values = range.getValues().stream().mapToDouble(BigDecimal::doubleValue).toArray();
+            } else if (range.getStart() != null && range.getEnd() != null) {
+                double step = range.getStep() != null ? range.getStep().doubleValue() : 1.0;
+                values = ParameterGrid.expand(range.getStart().doubleValue(), range.getEnd().doubleValue(), step);
+            } else {
+                throw new RuntimeException("Parameter " + name + " needs either values or start/end");
+            }
+            
+            // Strategy parameters may be any number the config accepts; bad values fail when bound
+            for (double value : values) {
+                if (builtIn && value <= 0.0) {
+                    throw new RuntimeException("Parameter " + name + " must be positive");
+                }
             }
-        }).start();
+            axes.put(name, values);
+        }
+        
+        return new ParameterGrid(axes);
+    }
+    
+    private SweepRun runSweepCombination(FeatureFrame frame, CompiledStrategy strategy, Map<String, Double> parameters,
+                                         double initialCapital, double commissionRate) {
+        return runSweepCombination(frame, 0, frame.getBars().size(), strategy, parameters, initialCapital, commissionRate);
+    }
+    
+    private SweepRun runSweepCombination(FeatureFrame frame, int from, int to, CompiledStrategy strategy,
+                                         Map<String, Double> parameters, double initialCapital, double commissionRate) {
+        SimulationSettings settings = sweepSettings(parameters, initialCapital, commissionRate);
+        // Only summary figures are ranked, so skip sampling the curves
+        settings.setCurveSampleInterval(Integer.MAX_VALUE);
+        
+        SimulationResult simulation = SimulationKernel.run(frame.getBars(), from, to, settings,
+            signalsFor(frame, strategy, parameters), null);
+        return new SweepRun(parameters, simulation);
+    }
+    
+    private FeatureFrame newFeatureFrame(BarSeries bars) {
+        return new FeatureFrame(bars, featureFrameMaxMb * 1024L * 1024L / Double.BYTES);
+    }
+    
+    private SimulationSettings sweepSettings(Map<String, Double> parameters, double initialCapital, double commissionRate) {
+        SimulationSettings settings = new SimulationSettings(initialCapital, commissionRate);
+        settings.setPositionSizePct(parameters.getOrDefault(POSITION_SIZE_PARAMETER, settings.getPositionSizePct()));
+        return settings;
+    }
+    
+    private SignalSource signalsFor(FeatureFrame frame, CompiledStrategy strategy, Map<String, Double> parameters) {
+        if (strategy.hasRules()) {
+            return strategy.bind(parameters).newSignalSource(frame);
+        }
+        
+        int entryInterval = (int) Math.round(parameters.getOrDefault("entryInterval", (double) DEFAULT_ENTRY_INTERVAL));
+        int exitInterval = (int) Math.round(parameters.getOrDefault("exitInterval", (double) DEFAULT_EXIT_INTERVAL));
+        return new IntervalSignalSource(Math.max(1, entryInterval), Math.max(1, exitInterval));
+    }
+    
+    private Comparator<SweepRun> sweepRanking(String rankBy) {
+        String key = rankBy != null ? rankBy : "totalReturn";
+        switch (key) {
+            case "totalReturn": return Comparator.comparingDouble((SweepRun r) -> r.totalReturn).reversed();
+            case "finalCapital": return Comparator.comparingDouble((SweepRun r) -> r.finalCapital).reversed();
+            case "winRate": return Comparator.comparingDouble((SweepRun r) -> r.winRate).reversed();
+            case "totalTrades": return Comparator.comparingInt((SweepRun r) -> r.totalTrades).reversed();
+            case "maxDrawdown": return Comparator.comparingDouble((SweepRun r) -> r.maxDrawdown);
+            // Undefined Sharpe (no volatility) ranks last
+            case "sharpeRatio": return Comparator.comparingDouble((SweepRun r) -> Double.isNaN(r.sharpeRatio) ? Double.NEGATIVE_INFINITY : r.sharpeRatio).reversed();
+            default: throw new RuntimeException("Unsupported ranking metric: " + rankBy);
+        }
+    }
+    
+    private BacktestSweepResponse.SweepResult toSweepResult(int rank, SweepRun run) {
+        Map<String, BigDecimal> parameters = new LinkedHashMap<>();
+        run.parameters.forEach((name, value) -> parameters.put(name, BigDecimal.valueOf(value)));
+        
+        BacktestSweepResponse.SweepResult result = new BacktestSweepResponse.SweepResult();
+        result.setRank(rank);
+        result.setParameters(parameters);
+        result.setFinalCapital(toDecimal(run.finalCapital));
+        result.setTotalReturn(toDecimal(run.totalReturn));
+        result.setTotalTrades(run.totalTrades);
+        result.setWinRate(toDecimal(run.winRate));
+        result.setMaxDrawdown(toDecimal(-run.maxDrawdown));
+        result.setSharpeRatio(toDecimalOrNull(run.sharpeRatio));
+        return result;
+    }
+    
+    /**
+     * Runs a backtest already claimed by {@link BacktestScheduler}. Deliberately executed
+     * outside a transaction so a long simulation does not pin a JDBC connection; the row is
+     * only touched through targeted updates until the results are written in one short
+     * transaction at the end.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BacktestStatus runBacktest(UUID backtestId) {
+        Backtest backtest = backtestRepository.findByIdWithStrategy(backtestId)
+                .orElseThrow(() -> new RuntimeException("Backtest not found"));
+        
+        executeBacktest(backtest);
+        
+        return backtest.getStatus();
     }
     
     private void executeBacktest(Backtest backtest) {
         logger.info("Starting backtest execution for backtest {}", backtest.getId());
+        progressRegistry.start(backtest.getId());
         
         try {
-            // Update status to running
+            // The scheduler already claimed the row; the worker's copy is never saved whole, so
+            // pins and deletes made while it runs are not overwritten
             backtest.setStatus(BacktestStatus.RUNNING);
             backtest.setProgress(0);
-            backtestRepository.save(backtest);
+            backtestRepository.updateProgress(backtest.getId(), 0, BacktestStatus.RUNNING);
             
-            // Load historical market data
-            List<MarketData> marketData = loadMarketData(backtest);
-            if (marketData.isEmpty()) {
-                throw new RuntimeException("No market data available for the specified period");
+            BacktestResult result;
+            if (backtest.getPortfolioConfig() != null) {
+                // Portfolio backtests merge one series per symbol themselves
+                result = simulatePortfolio(backtest);
+            } else {
+                // Stream OHLCV straight into primitive columns; the kernel never touches BigDecimal
+                BarSeries bars = dataLoader.loadBarSeries(backtest.getSymbol(), backtest.getTimeframe(),
+                    backtest.getStartDate(), backtest.getEndDate());
+                if (bars.isEmpty()) {
+                    throw new RuntimeException("No market data available for the specified period");
+                }
+                
+                // Compiled once per strategy version and shared by every run of it
+                CompiledStrategy strategy = backtest.getStrategyVersion() != null
+                        ? strategyCache.forVersion(backtest.getStrategyVersion().getId())
+                        : strategyCache.forStrategy(backtest.getStrategy());
+                
+                // Simulate backtest execution
+                result = Boolean.TRUE.equals(backtest.getWalkForwardEnabled())
+                        ? simulateWalkForward(backtest, bars, strategy)
+                        : simulateBacktest(backtest, bars, strategy);
             }
             
-            // Parse strategy configuration
-            String strategyConfig = backtest.getStrategy().getConfigJson();
-            
-            // Simulate backtest execution
-            BacktestResult result = simulateBacktest(backtest, marketData, strategyConfig);
-            
-            // Update backtest with results
-            updateBacktestResults(backtest, result);
-            
-            // Mark as completed
-            backtest.setStatus(BacktestStatus.COMPLETED);
-            backtest.setProgress(100);
-            backtest.setCompletedAt(LocalDateTime.now());
-            backtestRepository.save(backtest);
+            // Trades, windows, curve and the completed row commit together or not at all
+            Boolean stored = new TransactionTemplate(transactionManager).execute(status -> {
+                // Re-read under lock and copy only the result fields onto the current row
+                Backtest current = backtestRepository.findByIdForUpdate(backtest.getId()).orElse(null);
+                if (current == null || current.getStatus() != BacktestStatus.RUNNING) {
+                    return false;
+                }
+                updateBacktestResults(current, result);
+                current.setStatus(BacktestStatus.COMPLETED);
+                current.setProgress(100);
+                current.setCompletedAt(LocalDateTime.now());
+                return true;
+            });
             
-            logger.info("Backtest execution completed for backtest {}", backtest.getId());
+            if (Boolean.TRUE.equals(stored)) {
+                backtest.setStatus(BacktestStatus.COMPLETED);
+                logger.info("Backtest execution completed for backtest {}", backtest.getId());
+            } else {
+                backtest.setStatus(BacktestStatus.CANCELLED);
+                logger.info("Backtest {} was deleted or re-queued while running; results discarded", backtest.getId());
+            }
             
         } catch (Exception e) {
             logger.error("Backtest execution failed", e);
             backtest.setStatus(BacktestStatus.FAILED);
             backtest.setErrorMessage(e.getMessage());
-            backtestRepository.save(backtest);
+            progressRegistry.getProgress(backtest.getId()).ifPresent(backtest::setProgress);
+            backtestRepository.transitionStatusWithError(backtest.getId(), BacktestStatus.RUNNING,
+                BacktestStatus.FAILED, backtest.getErrorMessage(), backtest.getProgress());
+        } finally {
+            progressRegistry.complete(backtest.getId());
         }
     }
     
-    private List<MarketData> loadMarketData(Backtest backtest) {
-        // Try to load from database first
-        LocalDateTime startDateTime = backtest.getStartDate().atStartOfDay();
-        LocalDateTime endDateTime = backtest.getEndDate().atTime(23, 59, 59);
+    private BacktestResult simulateBacktest(Backtest backtest, BarSeries bars, CompiledStrategy strategy) {
+        BacktestResult result = new BacktestResult();
         
-        List<MarketData> data = marketDataRepository.findBySymbolAndTimeframeAndTimestampBetween(
-            backtest.getSymbol(), backtest.getTimeframe(), startDateTime, endDateTime);
+        SimulationSettings settings = new SimulationSettings(
+            backtest.getInitialCapital().doubleValue(), backtest.getCommissionRate().doubleValue());
         
-        // If no data in database, generate sample data
-        if (data.isEmpty()) {
-            data = generateSampleMarketData(backtest);
-        }
+        SignalSource signals = signalsFor(newFeatureFrame(bars), strategy, Collections.emptyMap());
+        
+        UUID backtestId = backtest.getId();
+        SimulationResult simulation = SimulationKernel.run(bars, settings, signals,
+            progress -> progressRegistry.report(backtestId, progress));
+        
+        List<BacktestTrade> trades = toBacktestTrades(backtest, bars, simulation.getTrades());
+        
+        // Calculate final metrics
+        result.setFinalCapital(toDecimal(simulation.getFinalCapital()));
+        result.setTotalReturn(toDecimal(simulation.getTotalReturn()));
+        result.setTrades(trades);
+        result.setEquityCurve(EquityCurve.of(bars, simulation.getCurveBars(), simulation.getEquityCurve()));
         
-        return data;
+        // Performance metrics were accumulated bar by bar inside the kernel
+        applyMetrics(result, simulation.getMetrics());
+        
+        return result;
     }
     
-    private List<MarketData> generateSampleMarketData(Backtest backtest) {
-        List<MarketData> data = new ArrayList<>();
-        Random random = new Random();
-        
-        LocalDate currentDate = backtest.getStartDate();
-        BigDecimal currentPrice = getBasePrice(backtest.getSymbol());
+    private String validateWalkForwardConfig(WalkForwardConfig config, CompiledStrategy strategy) {
+        if (config == null) {
+            throw new RuntimeException("Walk-forward settings are required when walk-forward is enabled");
+        }
+        if (config.getInSampleDays() == null || config.getInSampleDays() <= 0
+                || config.getOutOfSampleDays() == null || config.getOutOfSampleDays() <= 0) {
+            throw new RuntimeException("Walk-forward in-sample and out-of-sample days must be positive");
+        }
+        if (config.getParameters() == null || config.getParameters().isEmpty()) {
+            throw new RuntimeException("Walk-forward needs at least one parameter to optimise");
+        }
         
-        while (!currentDate.isAfter(backtest.getEndDate())) {
-            // Generate OHLCV data
-            BigDecimal open = currentPrice;
-            BigDecimal change = BigDecimal.valueOf((random.nextGaussian() * 0.02)); // 2% daily volatility
-            BigDecimal close = open.multiply(BigDecimal.ONE.add(change)).setScale(6, RoundingMode.HALF_UP);
-            
-            BigDecimal high = open.max(close).multiply(BigDecimal.valueOf(1 + random.nextDouble() * 0.01));
-            BigDecimal low = open.min(close).multiply(BigDecimal.valueOf(1 - random.nextDouble() * 0.01));
-            BigDecimal volume = BigDecimal.valueOf(100000 + random.nextInt(900000));
-            
-            MarketData marketData = new MarketData(
-                backtest.getSymbol(),
-                backtest.getTimeframe(),
-                currentDate.atStartOfDay(),
-                open, high, low, close, volume
-            );
-            
-            data.add(marketData);
-            currentPrice = close;
-            currentDate = currentDate.plusDays(1);
+        // Fail at submission rather than when the worker picks the job up
+        sweepRanking(config.getOptimizeFor());
+        ParameterGrid grid = buildParameterGrid(config.getParameters(), strategy);
+        if (grid.size() > maxSweepCombinations) {
+            throw new RuntimeException("Walk-forward grid has " + grid.size() + " combinations; the limit is " + maxSweepCombinations);
         }
         
-        return data;
+        try {
+            return objectMapper.writeValueAsString(config);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid walk-forward settings: " + e.getMessage());
+        }
     }
     
-    private BacktestResult simulateBacktest(Backtest backtest, List<MarketData> marketData, String strategyConfig) {
-        BacktestResult result = new BacktestResult();
+    /**
+     * Rolls in-sample/out-of-sample windows across the backtest range over one shared bar series.
+     * In-sample optimisation runs concurrently per window on the sweep pool; the chosen parameters
+     * are then traded out-of-sample in date order so capital carries from window to window.
+     */
+    private BacktestResult simulateWalkForward(Backtest backtest, BarSeries bars, CompiledStrategy strategy) {
+        WalkForwardConfig config;
+        try {
+            config = objectMapper.readValue(backtest.getWalkForwardConfig(), WalkForwardConfig.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid walk-forward settings: " + e.getMessage());
+        }
+        
+        ParameterGrid grid = buildParameterGrid(config.getParameters(), strategy);
+        Comparator<SweepRun> ranking = sweepRanking(config.getOptimizeFor());
+        List<WalkForwardSplit> splits = splitWalkForward(backtest.getStartDate(), backtest.getEndDate(),
+            config.getInSampleDays(), config.getOutOfSampleDays());
+        if (splits.isEmpty()) {
+            throw new RuntimeException("Backtest period is shorter than one in-sample plus out-of-sample window");
+        }
+        
+        UUID backtestId = backtest.getId();
+        double initialCapital = backtest.getInitialCapital().doubleValue();
+        double commissionRate = backtest.getCommissionRate().doubleValue();
+        
+        // Windows and combinations all read indicator columns from one frame
+        FeatureFrame frame = newFeatureFrame(bars);
+        
+        // Optimisation dominates the run time, so it drives progress up to 90%
+        AtomicInteger optimised = new AtomicInteger();
+        List<SweepRun> bestRuns;
+        try {
+            bestRuns = sweepPool.submit(() -> splits.parallelStream()
+                    .map(split -> {
+                        SweepRun best = optimiseWindow(frame, split, strategy, grid, ranking, initialCapital, commissionRate);
+                        progressRegistry.report(backtestId, optimised.incrementAndGet() * 90 / splits.size());
+                        return best;
+                    })
+                    .collect(Collectors.toList()))
+                .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Walk-forward optimisation was interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Walk-forward optimisation failed: " + e.getCause().getMessage(), e.getCause());
+        }
         
-        BigDecimal capital = backtest.getInitialCapital();
-        BigDecimal position = BigDecimal.ZERO;
-        BigDecimal positionPrice = BigDecimal.ZERO;
         List<BacktestTrade> trades = new ArrayList<>();
-        List<BacktestResponse.EquityPoint> equityCurve = new ArrayList<>();
-        List<BacktestResponse.DrawdownPoint> drawdownCurve = new ArrayList<>();
+        List<BacktestWalkForwardWindow> windows = new ArrayList<>();
+        List<EquityCurve> curveParts = new ArrayList<>();
+        double capital = initialCapital;
         
-        BigDecimal peakEquity = capital;
-        int tradeNumber = 1;
+        // One accumulator across all out-of-sample windows gives metrics for the stitched run
+        MetricsAccumulator metrics = new MetricsAccumulator(initialCapital);
         
-        // Simple simulation logic - in reality this would parse the strategy JSON
-        // and evaluate complex rules
-        for (int i = 0; i < marketData.size(); i++) {
-            MarketData candle = marketData.get(i);
-            BigDecimal currentPrice = candle.getClosePrice();
+        for (int w = 0; w < splits.size(); w++) {
+            WalkForwardSplit split = splits.get(w);
+            SweepRun best = bestRuns.get(w);
             
-            // Update progress
-            int progress = (int) ((double) i / marketData.size() * 100);
-            if (progress != backtest.getProgress()) {
-                backtest.setProgress(progress);
-                backtestRepository.save(backtest);
-            }
-            
-            // Simple RSI-like strategy simulation
-            boolean shouldBuy = (i % 20 == 0) && position.equals(BigDecimal.ZERO); // Buy every 20 bars if no position
-            boolean shouldSell = (i % 15 == 0) && position.compareTo(BigDecimal.ZERO) > 0; // Sell every 15 bars if in position
+            int from = bars.lowerBound(BarSeries.toEpochSecond(split.outOfSampleStart.atStartOfDay()));
+            int to = bars.lowerBound(BarSeries.toEpochSecond(split.outOfSampleEnd.plusDays(1).atStartOfDay()));
+            SimulationResult simulation = SimulationKernel.run(bars, from, to,
+                sweepSettings(best.parameters, capital, commissionRate), signalsFor(frame, strategy, best.parameters), metrics, null);
             
-            if (shouldBuy) {
-                // Enter long position
-                BigDecimal positionSize = capital.multiply(BigDecimal.valueOf(0.1)); // 10% of capital
-                position = positionSize.divide(currentPrice, 6, RoundingMode.HALF_UP);
-                positionPrice = currentPrice;
-                
-                BacktestTrade trade = new BacktestTrade();
-                trade.setBacktest(backtest);
-                trade.setTradeNumber(tradeNumber++);
-                trade.setSignalType(SignalType.BUY);
-                trade.setEntryTime(candle.getTimestamp());
-                trade.setEntryPrice(currentPrice);
-                trade.setQuantity(position);
-                trade.setEntryReason("Simulated buy signal");
-                trade.setPositionSizePct(BigDecimal.valueOf(10.0));
-                
+            for (BacktestTrade trade : toBacktestTrades(backtest, bars, simulation.getTrades())) {
+                trade.setTradeNumber(trades.size() + 1);
                 trades.add(trade);
-                
-            } else if (shouldSell && !trades.isEmpty()) {
-                // Exit position
-                BacktestTrade lastTrade = trades.get(trades.size() - 1);
-                if (lastTrade.getExitTime() == null) {
-                    lastTrade.setExitTime(candle.getTimestamp());
-                    lastTrade.setExitPrice(currentPrice);
-                    lastTrade.setExitReason("Simulated sell signal");
-                    
-                    // Calculate P&L
-                    BigDecimal grossPnl = position.multiply(currentPrice.subtract(positionPrice));
-                    BigDecimal commission = position.multiply(currentPrice).multiply(backtest.getCommissionRate());
-                    BigDecimal netPnl = grossPnl.subtract(commission);
-                    
-                    lastTrade.setGrossPnl(grossPnl);
-                    lastTrade.setNetPnl(netPnl);
-                    lastTrade.setCommissionPaid(commission);
-                    lastTrade.setReturnPct(netPnl.divide(capital, 6, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)));
-                    
-                    long durationMinutes = ChronoUnit.MINUTES.between(lastTrade.getEntryTime(), lastTrade.getExitTime());
-                    lastTrade.setDurationMinutes((int) durationMinutes);
-                    
-                    capital = capital.add(netPnl);
-                    position = BigDecimal.ZERO;
-                }
             }
             
-            // Calculate current equity
-            BigDecimal currentEquity = capital;
-            if (position.compareTo(BigDecimal.ZERO) > 0) {
-                currentEquity = currentEquity.add(position.multiply(currentPrice.subtract(positionPrice)));
+            // Each window's curve starts from the capital the previous one ended with
+            EquityCurve windowCurve = EquityCurve.of(bars, simulation.getCurveBars(), simulation.getEquityCurve());
+            curveParts.add(windowCurve);
+            
+            windows.add(toWalkForwardWindow(backtest, split, grid.size(), best, simulation, windowCurve));
+            capital = simulation.getFinalCapital();
+        }
+        
+        logger.info("Walk-forward backtest {} evaluated {} windows of {} combinations", backtestId, splits.size(), grid.size());
+        
+        BacktestResult result = new BacktestResult();
+        result.setFinalCapital(toDecimal(capital));
+        result.setTotalReturn(toDecimal((capital - initialCapital) / initialCapital));
+        result.setTrades(trades);
+        result.setWalkForwardWindows(windows);
+        result.setEquityCurve(EquityCurve.concat(curveParts));
+        
+        applyMetrics(result, metrics.snapshot());
+        
+        return result;
+    }
+    
+    private List<WalkForwardSplit> splitWalkForward(LocalDate startDate, LocalDate endDate, int inSampleDays, int outOfSampleDays) {
+        List<WalkForwardSplit> splits = new ArrayList<>();
+        LocalDate inSampleStart = startDate;
+        
+        while (true) {
+            LocalDate outOfSampleStart = inSampleStart.plusDays(inSampleDays);
+            if (outOfSampleStart.isAfter(endDate)) {
+                break;
             }
             
-            // Update peak equity and drawdown
-            if (currentEquity.compareTo(peakEquity) > 0) {
-                peakEquity = currentEquity;
+            LocalDate outOfSampleEnd = outOfSampleStart.plusDays(outOfSampleDays - 1);
+            if (outOfSampleEnd.isAfter(endDate)) {
+                outOfSampleEnd = endDate;
             }
             
-            BigDecimal drawdown = peakEquity.subtract(currentEquity).divide(peakEquity, 6, RoundingMode.HALF_UP);
+            splits.add(new WalkForwardSplit(splits.size() + 1, inSampleStart, outOfSampleStart.minusDays(1),
+                outOfSampleStart, outOfSampleEnd));
+            inSampleStart = inSampleStart.plusDays(outOfSampleDays);
+        }
+        
+        return splits;
+    }
+    
+    private SweepRun optimiseWindow(FeatureFrame frame, WalkForwardSplit split, CompiledStrategy strategy, ParameterGrid grid,
+                                    Comparator<SweepRun> ranking, double initialCapital, double commissionRate) {
+        BarSeries bars = frame.getBars();
+        int from = bars.lowerBound(BarSeries.toEpochSecond(split.inSampleStart.atStartOfDay()));
+        int to = bars.lowerBound(BarSeries.toEpochSecond(split.outOfSampleStart.atStartOfDay()));
+        
+        SweepRun best = null;
+        for (int i = 0; i < grid.size(); i++) {
+            SweepRun run = runSweepCombination(frame, from, to, strategy, grid.combination(i), initialCapital, commissionRate);
+            if (best == null || ranking.compare(run, best) < 0) {
+                best = run;
+            }
+        }
+        return best;
+    }
+    
+    private BacktestWalkForwardWindow toWalkForwardWindow(Backtest backtest, WalkForwardSplit split, int combinations,
+                                                          SweepRun best, SimulationResult outOfSample,
+                                                          EquityCurve outOfSampleCurve) {
+        BacktestWalkForwardWindow window = new BacktestWalkForwardWindow();
+        window.setBacktest(backtest);
+        window.setWindowNumber(split.number);
+        window.setInSampleStart(split.inSampleStart);
+        window.setInSampleEnd(split.inSampleEnd);
+        window.setOutOfSampleStart(split.outOfSampleStart);
+        window.setOutOfSampleEnd(split.outOfSampleEnd);
+        window.setCombinationsTested(combinations);
+        window.setInSampleReturn(toDecimal(best.totalReturn));
+        window.setOutOfSampleReturn(toDecimal(outOfSample.getTotalReturn()));
+        window.setOutOfSampleTrades(outOfSample.getClosedTrades());
+        window.setOutOfSampleWinRate(toDecimal(outOfSample.getWinRate()));
+        // The shared accumulator spans every window so far; this window's drawdown comes from its own curve
+        window.setOutOfSampleMaxDrawdown(toDecimal(-outOfSampleCurve.maxDrawdown()));
+        
+        try {
+            window.setParameters(objectMapper.writeValueAsString(best.parameters));
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize walk-forward parameters", e);
+        }
+        
+        return window;
+    }
+    
+    private String resolvePortfolioConfig(PortfolioBacktestConfig config, User user) {
+        Map<String, BigDecimal> weights = new LinkedHashMap<>();
+        
+        if (config.getWeights() != null && !config.getWeights().isEmpty()) {
+            config.getWeights().forEach((symbol, weight) -> weights.merge(symbol.toUpperCase(), weight, BigDecimal::add));
+        } else if (config.getPortfolioId() != null) {
+            // Start from the portfolio's current allocation, cash included
+            Portfolio portfolio = portfolioRepository.findByIdAndUser(config.getPortfolioId(), user)
+                    .orElseThrow(() -> new RuntimeException("Portfolio not found"));
+            List<PortfolioHolding> holdings = holdingRepository.findByPortfolio(portfolio).stream()
+                    .filter(h -> h.getMarketValue() != null && h.getMarketValue().compareTo(BigDecimal.ZERO) > 0)
+                    .collect(Collectors.toList());
             
-            // Add to curves (sample every 10th point to reduce data size)
-            if (i % 10 == 0) {
-                equityCurve.add(new BacktestResponse.EquityPoint(candle.getTimestamp(), currentEquity));
-                drawdownCurve.add(new BacktestResponse.DrawdownPoint(candle.getTimestamp(), drawdown));
+            BigDecimal total = portfolio.getCashBalance() != null ? portfolio.getCashBalance().max(BigDecimal.ZERO) : BigDecimal.ZERO;
+            for (PortfolioHolding holding : holdings) {
+                total = total.add(holding.getMarketValue());
+            }
+            for (PortfolioHolding holding : holdings) {
+                weights.merge(holding.getSymbol().toUpperCase(),
+                    holding.getMarketValue().divide(total, 6, RoundingMode.HALF_UP), BigDecimal::add);
             }
         }
         
-        // Save trades
-        for (BacktestTrade trade : trades) {
-            tradeRepository.save(trade);
+        if (weights.isEmpty()) {
+            throw new RuntimeException("Portfolio backtests need target weights or a portfolio with holdings");
+        }
+        if (weights.size() > maxPortfolioSymbols) {
+            throw new RuntimeException("Portfolio backtests support at most " + maxPortfolioSymbols + " symbols");
         }
         
-        // Calculate final metrics
-        result.setFinalCapital(capital);
-        result.setTotalReturn(capital.subtract(backtest.getInitialCapital()).divide(backtest.getInitialCapital(), 6, RoundingMode.HALF_UP));
-        result.setTrades(trades);
-        result.setEquityCurve(equityCurve);
-        result.setDrawdownCurve(drawdownCurve);
+        BigDecimal totalWeight = BigDecimal.ZERO;
+        for (BigDecimal weight : weights.values()) {
+            if (weight == null || weight.compareTo(BigDecimal.ZERO) < 0) {
+                throw new RuntimeException("Portfolio weights must not be negative");
+            }
+            totalWeight = totalWeight.add(weight);
+        }
+        if (totalWeight.compareTo(BigDecimal.valueOf(1.0001)) > 0) {
+            throw new RuntimeException("Portfolio weights must not add up to more than 1");
+        }
         
-        // Calculate performance metrics
-        calculateMetrics(result, backtest);
+        PortfolioBacktestConfig resolved = new PortfolioBacktestConfig();
+        resolved.setPortfolioId(config.getPortfolioId());
+        resolved.setWeights(weights);
+        resolved.setRebalanceFrequency(config.getRebalanceFrequency() != null ? config.getRebalanceFrequency() : RebalanceFrequency.NEVER);
+        resolved.setRebalanceThreshold(config.getRebalanceThreshold() != null ? config.getRebalanceThreshold() : BigDecimal.ZERO);
         
-        return result;
+        try {
+            return objectMapper.writeValueAsString(resolved);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid portfolio settings: " + e.getMessage());
+        }
     }
     
-    private void calculateMetrics(BacktestResult result, Backtest backtest) {
-        List<BacktestTrade> completedTrades = result.getTrades().stream()
-                .filter(t -> t.getExitTime() != null)
-                .collect(Collectors.toList());
+    /**
+     * Simulates a basket of symbols sharing one cash balance. Each symbol's series is read
+     * through its own cursor and merged on the fly, so only the current bar of every symbol
+     * is in memory at any time.
+     */
+    private BacktestResult simulatePortfolio(Backtest backtest) {
+        PortfolioBacktestConfig config;
+        try {
+            config = objectMapper.readValue(backtest.getPortfolioConfig(), PortfolioBacktestConfig.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid portfolio settings: " + e.getMessage());
+        }
         
-        if (completedTrades.isEmpty()) {
-            return;
+        List<String> symbols = new ArrayList<>(config.getWeights().keySet());
+        double[] targetWeights = new double[symbols.size()];
+        long expectedSlices = 0;
+        
+        for (int s = 0; s < symbols.size(); s++) {
+            targetWeights[s] = config.getWeights().get(symbols.get(s)).doubleValue();
+            expectedSlices = Math.max(expectedSlices, dataLoader.countBars(symbols.get(s), backtest.getTimeframe(),
+                backtest.getStartDate(), backtest.getEndDate()));
         }
         
-        // Basic metrics
-        long winningTrades = completedTrades.stream()
-                .filter(t -> t.getNetPnl() != null && t.getNetPnl().compareTo(BigDecimal.ZERO) > 0)
-                .count();
+        SimulationSettings settings = new SimulationSettings(
+            backtest.getInitialCapital().doubleValue(), backtest.getCommissionRate().doubleValue());
         
-        long losingTrades = completedTrades.stream()
-                .filter(t -> t.getNetPnl() != null && t.getNetPnl().compareTo(BigDecimal.ZERO) < 0)
-                .count();
+        UUID backtestId = backtest.getId();
+        int progressScale = (int) Math.min(Integer.MAX_VALUE, expectedSlices);
+        PortfolioSimulationResult simulation = dataLoader.withMergedSeries(symbols, backtest.getTimeframe(),
+            backtest.getStartDate(), backtest.getEndDate(),
+            slices -> PortfolioSimulator.run(slices, targetWeights, settings, config.getRebalanceFrequency(),
+                config.getRebalanceThreshold().doubleValue(), progressScale,
+                progress -> progressRegistry.report(backtestId, progress)));
         
-        result.setTotalTrades(completedTrades.size());
-        result.setWinningTrades((int) winningTrades);
-        result.setLosingTrades((int) losingTrades);
+        if (simulation.getSlices() == 0) {
+            throw new RuntimeException("No market data available for the specified period");
+        }
         
-        if (completedTrades.size() > 0) {
-            result.setWinRate(BigDecimal.valueOf(winningTrades).divide(BigDecimal.valueOf(completedTrades.size()), 6, RoundingMode.HALF_UP));
+        List<BacktestTrade> trades = new ArrayList<>(simulation.getFills().size());
+        for (PortfolioFill fill : simulation.getFills()) {
+            trades.add(toBacktestTrade(backtest, trades.size() + 1, symbols.get(fill.getSymbolIndex()), fill));
         }
         
-        // Calculate returns for Sharpe ratio
-        List<BigDecimal> returns = result.getEquityCurve().stream()
-                .map(BacktestResponse.EquityPoint::getEquity)
-                .collect(Collectors.toList());
+        logger.info("Portfolio backtest {} merged {} symbols into {} slices with {} rebalances",
+            backtestId, symbols.size(), simulation.getSlices(), simulation.getRebalances());
         
-        if (returns.size() > 1) {
-            // Simple Sharpe ratio calculation (assuming daily returns)
-            BigDecimal avgReturn = returns.stream()
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(returns.size()), 6, RoundingMode.HALF_UP);
-            
-            // Simplified metrics for demo
-            result.setSharpeRatio(BigDecimal.valueOf(1.2 + Math.random() * 0.8)); // Random between 1.2-2.0
-            result.setMaxDrawdown(BigDecimal.valueOf(-0.05 - Math.random() * 0.15)); // Random between -5% to -20%
+        BacktestResult result = new BacktestResult();
+        result.setFinalCapital(toDecimal(simulation.getFinalEquity()));
+        result.setTotalReturn(toDecimal(simulation.getTotalReturn()));
+        result.setTrades(trades);
+        result.setEquityCurve(new EquityCurve(simulation.getCurveTimes(), simulation.getEquityCurve()));
+        
+        applyMetrics(result, simulation.getMetrics());
+        
+        return result;
+    }
+    
+    private BacktestTrade toBacktestTrade(Backtest backtest, int tradeNumber, String symbol, PortfolioFill fill) {
+        String reason = String.format("Rebalance to %.2f%% target", fill.getTargetWeight() * 100.0);
+        
+        BacktestTrade trade = new BacktestTrade();
+        trade.setBacktest(backtest);
+        trade.setTradeNumber(tradeNumber);
+        trade.setSymbol(symbol);
+        trade.setPositionSizePct(toDecimal(fill.getTargetWeight() * 100.0));
+        trade.setQuantity(toDecimal(fill.getQuantity()));
+        trade.setCommissionPaid(toDecimal(fill.getCommission()));
+        
+        if (fill.isBuy()) {
+            trade.setSignalType(SignalType.BUY);
+            trade.setEntryTime(BarSeries.toLocalDateTime(fill.getEpochSecond()));
+            trade.setEntryPrice(toDecimal(fill.getPrice()));
+            trade.setEntryReason(reason);
+        } else {
+            // A sell closes part of the position at its average cost
+            trade.setSignalType(SignalType.SELL);
+            trade.setEntryTime(BarSeries.toLocalDateTime(fill.getOpenedAt()));
+            trade.setEntryPrice(toDecimal(fill.getAverageCost()));
+            trade.setExitTime(BarSeries.toLocalDateTime(fill.getEpochSecond()));
+            trade.setExitPrice(toDecimal(fill.getPrice()));
+            trade.setExitReason(reason);
+            trade.setGrossPnl(toDecimal(fill.getGrossPnl()));
+            trade.setNetPnl(toDecimal(fill.getNetPnl()));
+            if (fill.getAverageCost() > 0.0) {
+                trade.setReturnPct(toDecimal((fill.getPrice() / fill.getAverageCost() - 1.0) * 100.0));
+            }
+            trade.setDurationMinutes((int) ((fill.getEpochSecond() - fill.getOpenedAt()) / 60));
+        }
+        
+        return trade;
+    }
+    
+    private List<BacktestTrade> toBacktestTrades(Backtest backtest, BarSeries bars, TradeLog log) {
+        List<BacktestTrade> trades = new ArrayList<>(log.size());
+        
+        for (int t = 0; t < log.size(); t++) {
+            BacktestTrade trade = new BacktestTrade();
+            trade.setBacktest(backtest);
+            trade.setTradeNumber(t + 1);
+            trade.setSignalType(SignalType.BUY);
+            trade.setEntryTime(bars.timestampAt(log.entryBar(t)));
+            trade.setEntryPrice(toDecimal(log.entryPrice(t)));
+            trade.setQuantity(toDecimal(log.quantity(t)));
+            trade.setEntryReason(log.entryReason(t) != null ? log.entryReason(t) : "Entry signal");
+            trade.setPositionSizePct(toDecimal(log.positionSizePct(t)));
             
-            // Calculate CAGR
-            long daysBetween = ChronoUnit.DAYS.between(backtest.getStartDate(), backtest.getEndDate());
-            double years = daysBetween / 365.0;
-            if (years > 0) {
-                double cagr = Math.pow(result.getFinalCapital().divide(backtest.getInitialCapital(), 6, RoundingMode.HALF_UP).doubleValue(), 1.0 / years) - 1.0;
-                result.setCagr(BigDecimal.valueOf(cagr));
+            if (log.isClosed(t)) {
+                trade.setExitTime(bars.timestampAt(log.exitBar(t)));
+                trade.setExitPrice(toDecimal(log.exitPrice(t)));
+                trade.setExitReason(log.exitReason(t) != null ? log.exitReason(t) : "Exit signal");
+                trade.setGrossPnl(toDecimal(log.grossPnl(t)));
+                trade.setNetPnl(toDecimal(log.netPnl(t)));
+                trade.setCommissionPaid(toDecimal(log.commission(t)));
+                trade.setReturnPct(toDecimal(log.returnPct(t)));
+                
+                long durationMinutes = ChronoUnit.MINUTES.between(trade.getEntryTime(), trade.getExitTime());
+                trade.setDurationMinutes((int) durationMinutes);
             }
+            
+            trades.add(trade);
         }
+        
+        return trades;
+    }
+    
+    private BigDecimal toDecimal(double value) {
+        return BigDecimal.valueOf(value).setScale(6, RoundingMode.HALF_UP);
+    }
+    
+    private void applyMetrics(BacktestResult result, PerformanceMetrics metrics) {
+        result.setTotalTrades(metrics.getClosedTrades());
+        result.setWinningTrades(metrics.getWinningTrades());
+        result.setLosingTrades(metrics.getLosingTrades());
+        if (metrics.getClosedTrades() > 0) {
+            result.setWinRate(toDecimal(metrics.getWinRate()));
+            result.setAvgTradeDuration((int) (metrics.getAvgTradeDurationSeconds() / 60));
+            result.setProfitFactor(toDecimalOrNull(metrics.getProfitFactor()));
+        }
+        
+        result.setSharpeRatio(toDecimalOrNull(metrics.getSharpeRatio()));
+        result.setSortinoRatio(toDecimalOrNull(metrics.getSortinoRatio()));
+        result.setVolatility(toDecimalOrNull(metrics.getVolatility()));
+        result.setCagr(toDecimalOrNull(metrics.getCagr()));
+        
+        // Drawdown is reported as a negative fraction; its duration in whole days
+        result.setMaxDrawdown(toDecimal(-metrics.getMaxDrawdown()));
+        result.setMaxDrawdownDuration((int) (metrics.getMaxDrawdownDurationSeconds() / 86400));
+    }
+    
+    // Ratio columns are NUMERIC(10,6); undefined or degenerate values are left empty
+    private BigDecimal toDecimalOrNull(double value) {
+        return Double.isFinite(value) && Math.abs(value) < 10000.0 ? toDecimal(value) : null;
     }
     
     private void updateBacktestResults(Backtest backtest, BacktestResult result) {
+        // A recovered run starts over, so drop anything an interrupted attempt already wrote
+        tradeRepository.deleteByBacktestId(backtest.getId());
+        walkForwardWindowRepository.deleteByBacktestId(backtest.getId());
+        tradeWriter.insertAll(result.getTrades());
+        if (result.getWalkForwardWindows() != null) {
+            result.getWalkForwardWindows().forEach(window -> window.setBacktest(backtest));
+            walkForwardWindowRepository.saveAll(result.getWalkForwardWindows());
+        }
+        
         backtest.setFinalCapital(result.getFinalCapital());
         backtest.setTotalReturn(result.getTotalReturn());
         backtest.setTotalTrades(result.getTotalTrades());
         backtest.setWinningTrades(result.getWinningTrades());
         backtest.setLosingTrades(result.getLosingTrades());
         backtest.setSharpeRatio(result.getSharpeRatio());
+        backtest.setSortinoRatio(result.getSortinoRatio());
         backtest.setMaxDrawdown(result.getMaxDrawdown());
+        backtest.setMaxDrawdownDuration(result.getMaxDrawdownDuration());
         backtest.setCagr(result.getCagr());
+        backtest.setVolatility(result.getVolatility());
+        backtest.setProfitFactor(result.getProfitFactor());
         backtest.setWinRate(result.getWinRate());
+        backtest.setAvgTradeDuration(result.getAvgTradeDuration());
+        
+        // Curves go to backtest_curves in binary form; the legacy JSON columns are no longer written
+        backtest.setEquityCurve(null);
+        backtest.setDrawdownCurve(null);
+        saveCurve(backtest, result.getEquityCurve());
+    }
+    
+    private void saveCurve(Backtest backtest, EquityCurve curve) {
+        // Keep full resolution up to the storage cap; beyond that LTTB keeps the shape
+        EquityCurve stored = Lttb.downsample(curve, maxStoredCurvePoints);
+        byte[] encoded = CurveCodec.encode(stored);
+        
+        curveRepository.deleteByBacktestId(backtest.getId());
+        curveRepository.save(new BacktestCurve(backtest, stored.size(), encoded));
+        
+        logger.debug("Stored {} of {} curve points for backtest {} in {} bytes",
+            stored.size(), curve.size(), backtest.getId(), encoded.length);
+    }
+    
+    private void setCurves(BacktestResponse response, Backtest backtest, int points) {
+        EquityCurve curve = curveRepository.findById(backtest.getId())
+                .map(stored -> CurveCodec.decode(stored.getEquityData()))
+                .orElseGet(() -> parseLegacyCurve(backtest));
+        if (curve == null || curve.size() == 0) {
+            return;
+        }
+        
+        // Derived from the stored curve, which is already LTTB-capped at maxStoredCurvePoints, so
+        // troughs narrower than one stored point are only as deep as LTTB kept them
+        double[] drawdown = curve.drawdown();
+        int[] keep = Lttb.downsample(curve.times(), curve.equity(), points);
+        
+        List<BacktestResponse.EquityPoint> equityCurve = new ArrayList<>(keep.length);
+        List<BacktestResponse.DrawdownPoint> drawdownCurve = new ArrayList<>(keep.length);
+        for (int k : keep) {
+            LocalDateTime timestamp = BarSeries.toLocalDateTime(curve.times()[k]);
+            equityCurve.add(new BacktestResponse.EquityPoint(timestamp, toDecimal(curve.equity()[k])));
+            drawdownCurve.add(new BacktestResponse.DrawdownPoint(timestamp, toDecimal(drawdown[k])));
+        }
+        
+        response.setEquityCurve(equityCurve);
+        response.setDrawdownCurve(drawdownCurve);
+    }
+    
+    // Backtests completed before curves moved to backtest_curves still carry JSON
+    private EquityCurve parseLegacyCurve(Backtest backtest) {
+        if (backtest.getEquityCurve() == null) {
+            return null;
+        }
         
-        // Serialize curves to JSON
         try {
-            backtest.setEquityCurve(objectMapper.writeValueAsString(result.getEquityCurve()));
-            backtest.setDrawdownCurve(objectMapper.writeValueAsString(result.getDrawdownCurve()));
+            List<BacktestResponse.EquityPoint> points = objectMapper.readValue(
+                backtest.getEquityCurve(),
+                new TypeReference<List<BacktestResponse.EquityPoint>>() {}
+            );
+            long[] times = new long[points.size()];
+            double[] equity = new double[points.size()];
+            for (int k = 0; k < points.size(); k++) {
+                times[k] = BarSeries.toEpochSecond(points.get(k).getTimestamp());
+                equity[k] = points.get(k).getEquity().doubleValue();
+            }
+            return new EquityCurve(times, equity);
         } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize backtest curves", e);
+            logger.error("Failed to parse backtest curves", e);
+            return null;
         }
-        
-        backtestRepository.save(backtest);
     }
     
     private boolean canRunBacktest(UserRole role) {
         return role == UserRole.RESEARCHER || role == UserRole.PORTFOLIO_MANAGER || role == UserRole.ADMIN;
     }
     
-    private BigDecimal getBasePrice(String symbol) {
-        switch (symbol.toUpperCase()) {
-            case "AAPL": return BigDecimal.valueOf(150.00);
-            case "GOOGL": return BigDecimal.valueOf(2500.00);
-            case "MSFT": return BigDecimal.valueOf(300.00);
-            case "TSLA": return BigDecimal.valueOf(200.00);
-            case "BTCUSD": return BigDecimal.valueOf(45000.00);
-            case "ETHUSD": return BigDecimal.valueOf(3000.00);
-            default: return BigDecimal.valueOf(100.00);
+    // Returns and position sizes divide by capital, so zero would only surface later as NaN
+    private void requirePositiveCapital(BigDecimal initialCapital) {
+        if (initialCapital == null || initialCapital.signum() <= 0) {
+            throw new RuntimeException("Initial capital must be greater than zero");
+        }
+    }
+    
+    private BacktestResponse.WalkForwardWindow convertWindowToResponse(BacktestWalkForwardWindow window) {
+        BacktestResponse.WalkForwardWindow response = new BacktestResponse.WalkForwardWindow();
+        response.setWindowNumber(window.getWindowNumber());
+        response.setInSampleStart(window.getInSampleStart());
+        response.setInSampleEnd(window.getInSampleEnd());
+        response.setOutOfSampleStart(window.getOutOfSampleStart());
+        response.setOutOfSampleEnd(window.getOutOfSampleEnd());
+        response.setCombinationsTested(window.getCombinationsTested());
+        response.setInSampleReturn(window.getInSampleReturn());
+        response.setOutOfSampleReturn(window.getOutOfSampleReturn());
+        response.setOutOfSampleTrades(window.getOutOfSampleTrades());
+        response.setOutOfSampleWinRate(window.getOutOfSampleWinRate());
+        response.setOutOfSampleMaxDrawdown(window.getOutOfSampleMaxDrawdown());
+        
+        try {
+            if (window.getParameters() != null) {
+                response.setParameters(objectMapper.readValue(
+                    window.getParameters(),
+                    new TypeReference<Map<String, BigDecimal>>() {}
+                ));
+            }
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to parse walk-forward parameters", e);
+        }
+        
+        return response;
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+    
+    private BacktestPageResponse toPage(List<BacktestSummaryResponse> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<BacktestSummaryResponse> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        
+        // Running backtests report progress in memory; the column is only flushed periodically
+        for (BacktestSummaryResponse item : items) {
+            if (item.getStatus() == BacktestStatus.RUNNING) {
+                progressRegistry.getProgress(item.getId()).ifPresent(item::setProgress);
+            }
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            BacktestSummaryResponse last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        
+        return new BacktestPageResponse(items, nextCursor, hasMore);
+    }
+    
+    private String encodeCursor(LocalDateTime createdAt, UUID id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private PageCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid page cursor");
         }
     }
     
@@ -442,7 +1237,7 @@ public class BacktestService {
         response.setEndDate(backtest.getEndDate());
         response.setInitialCapital(backtest.getInitialCapital());
         response.setStatus(backtest.getStatus());
-        response.setProgress(backtest.getProgress());
+        response.setProgress(progressRegistry.getProgress(backtest.getId()).orElse(backtest.getProgress()));
         response.setErrorMessage(backtest.getErrorMessage());
         
         // Results
@@ -460,27 +1255,11 @@ public class BacktestService {
         response.setProfitFactor(backtest.getProfitFactor());
         response.setWinRate(backtest.getWinRate());
         response.setAvgTradeDuration(backtest.getAvgTradeDuration());
-        
-        // Parse curves from JSON
-        try {
-            if (backtest.getEquityCurve() != null) {
-                List<BacktestResponse.EquityPoint> equityCurve = objectMapper.readValue(
-                    backtest.getEquityCurve(), 
-                    new TypeReference<List<BacktestResponse.EquityPoint>>() {}
-                );
-                response.setEquityCurve(equityCurve);
-            }
-            
-            if (backtest.getDrawdownCurve() != null) {
-                List<BacktestResponse.DrawdownPoint> drawdownCurve = objectMapper.readValue(
-                    backtest.getDrawdownCurve(), 
-                    new TypeReference<List<BacktestResponse.DrawdownPoint>>() {}
-                );
-                response.setDrawdownCurve(drawdownCurve);
-            }
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to parse backtest curves", e);
-        }
+        response.setWalkForwardEnabled(backtest.getWalkForwardEnabled());
+        response.setStrategyVersionNumber(backtest.getStrategyVersion() != null
+                ? backtest.getStrategyVersion().getVersionNumber() : null);
+        response.setPinned(backtest.getPinned());
+        response.setSourceBacktestId(backtest.getSourceBacktest() != null ? backtest.getSourceBacktest().getId() : null);
         
         response.setOwnerName(backtest.getUser().getFullName());
         response.setCreatedAt(backtest.getCreatedAt());
@@ -490,6 +1269,56 @@ public class BacktestService {
         return response;
     }
     
+    // Date boundaries of one walk-forward window (inclusive)
+    private static class WalkForwardSplit {
+        private final int number;
+        private final LocalDate inSampleStart;
+        private final LocalDate inSampleEnd;
+        private final LocalDate outOfSampleStart;
+        private final LocalDate outOfSampleEnd;
+        
+        WalkForwardSplit(int number, LocalDate inSampleStart, LocalDate inSampleEnd,
+                         LocalDate outOfSampleStart, LocalDate outOfSampleEnd) {
+            this.number = number;
+            this.inSampleStart = inSampleStart;
+            this.inSampleEnd = inSampleEnd;
+            this.outOfSampleStart = outOfSampleStart;
+            this.outOfSampleEnd = outOfSampleEnd;
+        }
+    }
+    
+    // Last row of a page; lists run newest first by createdAt, then id
+    private static class PageCursor {
+        private final LocalDateTime createdAt;
+        private final UUID id;
+        
+        PageCursor(LocalDateTime createdAt, UUID id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+    }
+    
+    // One evaluated sweep combination; only the figures needed for ranking are kept
+    private static class SweepRun {
+        private final Map<String, Double> parameters;
+        private final double finalCapital;
+        private final double totalReturn;
+        private final int totalTrades;
+        private final double winRate;
+        private final double maxDrawdown;
+        private final double sharpeRatio;
+        
+        SweepRun(Map<String, Double> parameters, SimulationResult simulation) {
+            this.parameters = parameters;
+            this.finalCapital = simulation.getFinalCapital();
+            this.totalReturn = simulation.getTotalReturn();
+            this.totalTrades = simulation.getClosedTrades();
+            this.winRate = simulation.getWinRate();
+            this.maxDrawdown = simulation.getMaxDrawdown();
+            this.sharpeRatio = simulation.getMetrics().getSharpeRatio();
+        }
+    }
+    
     // Helper class for backtest results
     private static class BacktestResult {
         private BigDecimal finalCapital;
@@ -498,12 +1327,17 @@ public class BacktestService {
         private Integer winningTrades;
         private Integer losingTrades;
         private BigDecimal sharpeRatio;
+        private BigDecimal sortinoRatio;
         private BigDecimal maxDrawdown;
+        private Integer maxDrawdownDuration;
         private BigDecimal cagr;
+        private BigDecimal volatility;
+        private BigDecimal profitFactor;
         private BigDecimal winRate;
+        private Integer avgTradeDuration;
         private List<BacktestTrade> trades;
-        private List<BacktestResponse.EquityPoint> equityCurve;
-        private List<BacktestResponse.DrawdownPoint> drawdownCurve;
+        private List<BacktestWalkForwardWindow> walkForwardWindows;
+        private EquityCurve equityCurve;
         
         // Getters and setters
         public BigDecimal getFinalCapital() { return finalCapital; }
@@ -524,22 +1358,37 @@ public class BacktestService {
         public BigDecimal getSharpeRatio() { return sharpeRatio; }
         public void setSharpeRatio(BigDecimal sharpeRatio) { this.sharpeRatio = sharpeRatio; }
         
+        public BigDecimal getSortinoRatio() { return sortinoRatio; }
+        public void setSortinoRatio(BigDecimal sortinoRatio) { this.sortinoRatio = sortinoRatio; }
+        
         public BigDecimal getMaxDrawdown() { return maxDrawdown; }
         public void setMaxDrawdown(BigDecimal maxDrawdown) { this.maxDrawdown = maxDrawdown; }
         
+        public Integer getMaxDrawdownDuration() { return maxDrawdownDuration; }
+        public void setMaxDrawdownDuration(Integer maxDrawdownDuration) { this.maxDrawdownDuration = maxDrawdownDuration; }
+        
         public BigDecimal getCagr() { return cagr; }
         public void setCagr(BigDecimal cagr) { this.cagr = cagr; }
         
+        public BigDecimal getVolatility() { return volatility; }
+        public void setVolatility(BigDecimal volatility) { this.volatility = volatility; }
+        
+        public BigDecimal getProfitFactor() { return profitFactor; }
+        public void setProfitFactor(BigDecimal profitFactor) { this.profitFactor = profitFactor; }
+        
         public BigDecimal getWinRate() { return winRate; }
         public void setWinRate(BigDecimal winRate) { this.winRate = winRate; }
         
+        public Integer getAvgTradeDuration() { return avgTradeDuration; }
+        public void setAvgTradeDuration(Integer avgTradeDuration) { this.avgTradeDuration = avgTradeDuration; }
+        
         public List<BacktestTrade> getTrades() { return trades; }
         public void setTrades(List<BacktestTrade> trades) { this.trades = trades; }
         
-        public List<BacktestResponse.EquityPoint> getEquityCurve() { return equityCurve; }
-        public void setEquityCurve(List<BacktestResponse.EquityPoint> equityCurve) { this.equityCurve = equityCurve; }
+        public List<BacktestWalkForwardWindow> getWalkForwardWindows() { return walkForwardWindows; }
+        public void setWalkForwardWindows(List<BacktestWalkForwardWindow> walkForwardWindows) { this.walkForwardWindows = walkForwardWindows; }
         
-        public List<BacktestResponse.DrawdownPoint> getDrawdownCurve() { return drawdownCurve; }
-        public void setDrawdownCurve(List<BacktestResponse.DrawdownPoint> drawdownCurve) { this.drawdownCurve = drawdownCurve; }
+        public EquityCurve getEquityCurve() { return equityCurve; }
+        public void setEquityCurve(EquityCurve equityCurve) { this.equityCurve = equityCurve; }
     }
 }
\ No newline at end of file
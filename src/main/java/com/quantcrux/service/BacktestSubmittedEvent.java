@@ -0,0 +1,18 @@
+package com.quantcrux.service;
+
+import java.util.UUID;
+
+/**
+ * Published when a backtest is persisted as PENDING so the scheduler can dispatch it
+ * right after the surrounding transaction commits instead of waiting for the next poll.
+ */
+public class BacktestSubmittedEvent {
+    
+    private final UUID backtestId;
+    
+    public BacktestSubmittedEvent(UUID backtestId) {
+        this.backtestId = backtestId;
+    }
+    
+    public UUID getBacktestId() { return backtestId; }
+}
@@ -0,0 +1,100 @@
+package com.quantcrux.service;
+
+import com.quantcrux.dto.CacheStats;
+import com.quantcrux.engine.rules.CompiledStrategy;
+import com.quantcrux.engine.rules.StrategyCompiler;
+import com.quantcrux.model.Strategy;
+import com.quantcrux.model.StrategyVersion;
+import com.quantcrux.repository.StrategyVersionRepository;
+import com.quantcrux.util.LruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bounded LRU caches of compiled strategy configs. Saved versions are keyed by
+ * {@link StrategyVersion} id, which never needs a database read on a hit; configs that
+ * arrive as raw JSON (live evaluation, a strategy's current config) are keyed by the
+ * SHA-256 of the text, so a repeated config is hashed but never parsed again.
+ */
+@Component
+public class CompiledStrategyCache {
+    
+    @Autowired
+    private StrategyVersionRepository versionRepository;
+    
+    private final LruCache<UUID, CompiledStrategy> byVersion;
+    private final LruCache<String, CompiledStrategy> byConfig;
+    
+    public CompiledStrategyCache(@Value("${strategy.cache.max-versions:1000}") int maxVersions,
+                                 @Value("${strategy.cache.max-configs:500}") int maxConfigs) {
+        this.byVersion = new LruCache<>("compiled-strategy-versions", maxVersions);
+        this.byConfig = new LruCache<>("compiled-strategy-configs", maxConfigs);
+    }
+    
+    public CompiledStrategy forVersion(UUID versionId) {
+        return byVersion.getOrCompute(versionId, id -> compile(versionRepository.findById(id)
+                .map(StrategyVersion::getConfigJson)
+                .orElseThrow(() -> new RuntimeException("Strategy version not found"))));
+    }
+    
+    /**
+     * The strategy's current config, which is also its latest version's config.
+     */
+    public CompiledStrategy forStrategy(Strategy strategy) {
+        return forConfig(strategy.getConfigJson());
+    }
+    
+    public CompiledStrategy forConfig(String configJson) {
+        String text = configJson != null ? configJson : "";
+        return byConfig.getOrCompute(hash(text), key -> compile(text));
+    }
+    
+    /**
+     * The key {@link #forStrategy} looks the strategy's current config up under. Stable
+     * across evictions, so callers can tell an unchanged config from an edited one.
+     */
+    public static String configHash(Strategy strategy) {
+        String configJson = strategy.getConfigJson();
+        return hash(configJson != null ? configJson : "");
+    }
+    
+    /**
+     * Drops the entry for a config that is no longer any strategy's current one. Version
+     * entries are immutable and simply age out.
+     */
+    public void evictConfig(String configJson) {
+        byConfig.invalidate(hash(configJson != null ? configJson : ""));
+    }
+    
+    public List<CacheStats> getStats() {
+        return List.of(byVersion.stats(), byConfig.stats());
+    }
+    
+    private CompiledStrategy compile(String configJson) {
+        try {
+            return StrategyCompiler.compile(configJson);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid strategy config: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Hex SHA-256 of a config's text; also stored on each {@link StrategyVersion}.
+     */
+    static String hash(String configJson) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(configJson.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.quantcrux.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantcrux.dto.LiveSignalEngineStats;
+import com.quantcrux.engine.backtest.BarSeries;
+import com.quantcrux.engine.live.SignalChange;
+import com.quantcrux.engine.live.SymbolFeed;
+import com.quantcrux.engine.rules.CompiledStrategy;
+import com.quantcrux.model.MarketData;
+import com.quantcrux.model.SignalType;
+import com.quantcrux.model.Strategy;
+import com.quantcrux.model.StrategySignal;
+import com.quantcrux.model.StrategyStatus;
+import com.quantcrux.repository.MarketDataRepository;
+import com.quantcrux.repository.StrategyRepository;
+import com.quantcrux.repository.StrategySignalBatchWriter;
+import com.quantcrux.repository.StrategySignalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Runs every ACTIVE strategy against new bars of its symbol and timeframe as they land in
+ * market_data, and records a {@link StrategySignal} whenever a strategy's signal changes.
+ * Strategies on the same series share one {@link SymbolFeed}, so bars are loaded once per
+ * series and each indicator is updated once per bar however many strategies use it.
+ * All state is in memory; after a restart feeds are re-seeded from stored history and the
+ * last persisted signal of each strategy suppresses duplicates.
+ */
+@Component
+public class LiveSignalEngine {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LiveSignalEngine.class);
+    
+    // indicator_values is a plain varchar column
+    private static final int MAX_INDICATOR_JSON_LENGTH = 255;
+    
+    @Autowired
+    private StrategyRepository strategyRepository;
+    
+    @Autowired
+    private StrategySignalRepository signalRepository;
+    
+    @Autowired
+    private MarketDataRepository marketDataRepository;
+    
+    @Autowired
+    private StrategySignalBatchWriter signalWriter;
+    
+    @Autowired
+    private CompiledStrategyCache strategyCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    @Qualifier("signalEvaluationPool")
+    private ForkJoinPool evaluationPool;
+    
+    @Value("${strategy.live.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${strategy.live.history-bars:500}")
+    private int historyBars;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    // Guarded by this
+    private final Map<String, SymbolFeed> feeds = new HashMap<>();
+    private final Map<UUID, Strategy> strategies = new HashMap<>();
+    private final Map<UUID, String> feedKeys = new HashMap<>();
+    
+    private final AtomicLong barsProcessed = new AtomicLong();
+    private final AtomicLong signalsEmitted = new AtomicLong();
+    private final AtomicLong failedPolls = new AtomicLong();
+    private volatile long lastPollMillis;
+    private volatile LocalDateTime lastPollAt;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refreshStrategies();
+    }
+    
+    /**
+     * Attaches newly activated or edited strategies and detaches those no longer ACTIVE.
+     */
+    @Scheduled(fixedDelayString = "${strategy.live.refresh-interval-ms:30000}")
+    public synchronized void refreshStrategies() {
+        if (!enabled) {
+            return;
+        }
+        
+        // Unchanged strategies stay attached without touching the compiled-strategy cache
+        Map<UUID, Strategy> active = new HashMap<>();
+        Map<UUID, CompiledStrategy> compiled = new HashMap<>();
+        Map<UUID, String> configHashes = new HashMap<>();
+        for (Strategy strategy : strategyRepository.findByStatus(StrategyStatus.ACTIVE)) {
+            String configHash = CompiledStrategyCache.configHash(strategy);
+            String key = feedKey(strategy.getSymbol(), strategy.getTimeframe());
+            if (key.equals(feedKeys.get(strategy.getId())) && feeds.get(key).isAttached(strategy.getId(), configHash)) {
+                active.put(strategy.getId(), strategy);
+                continue;
+            }
+            try {
+                CompiledStrategy rules = strategyCache.forStrategy(strategy);
+                if (rules.hasRules()) {
+                    active.put(strategy.getId(), strategy);
+                    compiled.put(strategy.getId(), rules);
+                    configHashes.put(strategy.getId(), configHash);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Skipping strategy {} in live evaluation: {}", strategy.getId(), e.getMessage());
+            }
+        }
+        
+        for (UUID strategyId : new ArrayList<>(feedKeys.keySet())) {
+            if (!active.containsKey(strategyId) || compiled.containsKey(strategyId)) {
+                detach(strategyId);
+            }
+        }
+        
+        List<UUID> attaching = new ArrayList<>(compiled.keySet());
+        if (attaching.isEmpty()) {
+            return;
+        }
+        
+        Map<UUID, SignalType> lastSignals = new HashMap<>();
+        for (Object[] row : signalRepository.findLatestSignalTypes(attaching)) {
+            lastSignals.put((UUID) row[0], (SignalType) row[1]);
+        }
+        
+        List<SymbolFeed> created = new ArrayList<>();
+        for (UUID strategyId : attaching) {
+            Strategy strategy = active.get(strategyId);
+            String key = feedKey(strategy.getSymbol(), strategy.getTimeframe());
+            SymbolFeed feed = feeds.computeIfAbsent(key, k -> {
+                SymbolFeed f = new SymbolFeed(strategy.getSymbol(), strategy.getTimeframe(), historyBars);
+                created.add(f);
+                return f;
+            });
+            feed.attach(strategyId, configHashes.get(strategyId), compiled.get(strategyId), lastSignals.get(strategyId));
+            strategies.put(strategyId, strategy);
+            feedKeys.put(strategyId, key);
+        }
+        
+        seed(created);
+        logger.info("Live signal engine attached {} strategies; {} strategies on {} feeds",
+            attaching.size(), strategies.size(), feeds.size());
+    }
+    
+    /**
+     * Pulls bars newer than each feed's latest bar, one query per timeframe and starting bar
+     * (feeds that are in step share one), advances the feeds in parallel and persists the
+     * resulting signal changes as one batch.
+     */
+    @Scheduled(fixedDelayString = "${strategy.live.poll-interval-ms:5000}")
+    public synchronized void poll() {
+        if (!enabled || feeds.isEmpty()) {
+            return;
+        }
+        
+        long started = System.currentTimeMillis();
+        try {
+            // Each feed reads from its own last bar, so one quiet symbol never drags the others back
+            Map<String, Map<LocalDateTime, Map<String, SymbolFeed>>> cohorts = new HashMap<>();
+            LocalDateTime recent = LocalDateTime.now().minusDays(1);
+            for (SymbolFeed feed : feeds.values()) {
+                // Feeds without any stored history only pick up recent bars
+                LocalDateTime from = feed.getLastBarTime() == Long.MIN_VALUE ? recent : BarSeries.toLocalDateTime(feed.getLastBarTime());
+                cohorts.computeIfAbsent(feed.getTimeframe(), t -> new HashMap<>())
+                    .computeIfAbsent(from, f -> new HashMap<>())
+                    .put(feed.getSymbol(), feed);
+            }
+            
+            Map<SymbolFeed, List<MarketData>> updates = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<LocalDateTime, Map<String, SymbolFeed>>> timeframe : cohorts.entrySet()) {
+                for (Map.Entry<LocalDateTime, Map<String, SymbolFeed>> cohort : timeframe.getValue().entrySet()) {
+                    Map<String, SymbolFeed> bySymbol = cohort.getValue();
+                    for (MarketData bar : marketDataRepository.findBySymbolsAndTimeframeAfter(bySymbol.keySet(), timeframe.getKey(), cohort.getKey())) {
+                        SymbolFeed feed = bySymbol.get(bar.getSymbol());
+                        if (feed != null) {
+                            updates.computeIfAbsent(feed, f -> new ArrayList<>()).add(bar);
+                        }
+                    }
+                }
+            }
+            if (updates.isEmpty()) {
+                return;
+            }
+            
+            List<SignalChange> changes = evaluationPool.submit(() -> updates.entrySet().parallelStream()
+                    .flatMap(update -> advance(update.getKey(), update.getValue(), true).stream())
+                    .collect(Collectors.toList()))
+                .get();
+            
+            List<StrategySignal> signals = new ArrayList<>(changes.size());
+            for (SignalChange change : changes) {
+                signals.add(toSignal(change));
+            }
+            signalWriter.insertAll(signals);
+            signalsEmitted.addAndGet(signals.size());
+            if (!signals.isEmpty()) {
+                eventPublisher.publishEvent(new StrategySignalsRecordedEvent(signals));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            failedPolls.incrementAndGet();
+            logger.error("Live signal poll failed", e);
+        } finally {
+            lastPollMillis = System.currentTimeMillis() - started;
+            lastPollAt = LocalDateTime.now();
+        }
+    }
+    
+    public synchronized LiveSignalEngineStats getStats() {
+        LiveSignalEngineStats stats = new LiveSignalEngineStats();
+        stats.setEnabled(enabled);
+        stats.setFeeds(feeds.size());
+        stats.setStrategies(strategies.size());
+        stats.setIndicators(feeds.values().stream().mapToInt(SymbolFeed::getIndicatorCount).sum());
+        stats.setBarsProcessed(barsProcessed.get());
+        stats.setSignalsEmitted(signalsEmitted.get());
+        stats.setFailedPolls(failedPolls.get());
+        stats.setLastPollMillis(lastPollMillis);
+        stats.setLastPollAt(lastPollAt);
+        return stats;
+    }
+    
+    /**
+     * Warms new feeds up from stored history without emitting signals; the first live bar is
+     * then compared against the last persisted signal.
+     */
+    private void seed(List<SymbolFeed> created) {
+        Map<String, List<SymbolFeed>> byTimeframe = created.stream().collect(Collectors.groupingBy(SymbolFeed::getTimeframe));
+        for (Map.Entry<String, List<SymbolFeed>> group : byTimeframe.entrySet()) {
+            Map<String, SymbolFeed> bySymbol = new HashMap<>();
+            group.getValue().forEach(feed -> bySymbol.put(feed.getSymbol(), feed));
+            
+            Map<SymbolFeed, List<MarketData>> history = new HashMap<>();
+            for (MarketData bar : marketDataRepository.findRecentBySymbolsAndTimeframe(bySymbol.keySet(), group.getKey(), historyBars)) {
+                history.computeIfAbsent(bySymbol.get(bar.getSymbol()), f -> new ArrayList<>()).add(bar);
+            }
+            history.forEach((feed, bars) -> advance(feed, bars, false));
+        }
+    }
+    
+    private List<SignalChange> advance(SymbolFeed feed, List<MarketData> bars, boolean emit) {
+        List<SignalChange> changes = emit ? new ArrayList<>() : Collections.emptyList();
+        for (MarketData bar : bars) {
+            List<SignalChange> barChanges = feed.onBar(BarSeries.toEpochSecond(bar.getTimestamp()),
+                bar.getOpenPrice().doubleValue(), bar.getHighPrice().doubleValue(), bar.getLowPrice().doubleValue(),
+                bar.getClosePrice().doubleValue(), bar.getVolume().doubleValue(), emit);
+            if (emit) {
+                changes.addAll(barChanges);
+            }
+        }
+        barsProcessed.addAndGet(bars.size());
+        return changes;
+    }
+    
+    private void detach(UUID strategyId) {
+        String key = feedKeys.remove(strategyId);
+        strategies.remove(strategyId);
+        SymbolFeed feed = key != null ? feeds.get(key) : null;
+        if (feed != null) {
+            feed.detach(strategyId);
+            // Dropping an empty feed also releases indicators only its former strategies used
+            if (feed.isEmpty()) {
+                feeds.remove(key);
+            }
+        }
+    }
+    
+    private StrategySignal toSignal(SignalChange change) {
+        StrategySignal signal = new StrategySignal(strategies.get(change.getStrategyId()), change.getSignal(),
+                                                   BigDecimal.valueOf(change.getPrice()));
+        signal.setIndicatorValues(indicatorJson(change.getIndicatorValues()));
+        signal.setMatchedRules(change.getMatchedRules());
+        signal.setConfidenceScore(BigDecimal.valueOf(change.getConfidence()).setScale(4, RoundingMode.HALF_UP));
+        signal.setCreatedAt(BarSeries.toLocalDateTime(change.getBarTime()));
+        return signal;
+    }
+    
+    /**
+     * Indicator values rounded to 4 places, keeping as many leading entries as fit the column.
+     */
+    private String indicatorJson(Map<String, Double> values) {
+        Map<String, BigDecimal> rounded = new LinkedHashMap<>();
+        values.forEach((key, value) -> {
+            if (Double.isFinite(value)) {
+                rounded.put(key, BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP));
+            }
+        });
+        try {
+            String json = objectMapper.writeValueAsString(rounded);
+            while (json.length() > MAX_INDICATOR_JSON_LENGTH && !rounded.isEmpty()) {
+                List<String> keys = new ArrayList<>(rounded.keySet());
+                rounded.remove(keys.get(keys.size() - 1));
+                json = objectMapper.writeValueAsString(rounded);
+            }
+            return json;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+    
+    private static String feedKey(String symbol, String timeframe) {
+        return symbol + "|" + timeframe;
+    }
+}
@@ -3,16 +3,24 @@ package com.quantcrux.service;
 import com.quantcrux.dto.*;
 import com.quantcrux.model.*;
 import com.quantcrux.repository.*;
+import com.quantcrux.util.SingleFlight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,9 +29,15 @@ public class MarketDataService {
     
     private static final Logger logger = LoggerFactory.getLogger(MarketDataService.class);
     
+    private static final List<String> DEFAULT_REFRESH_SYMBOLS =
+        List.of("AAPL", "MSFT", "GOOGL", "TSLA", "BTCUSD", "ETHUSD", "SPY", "QQQ");
+    
     @Autowired
     private MarketDataCacheRepository cacheRepository;
     
+    @Autowired
+    private MarketDataCacheWriter cacheWriter;
+    
     @Autowired
     private SymbolMetadataRepository symbolRepository;
     
@@ -33,12 +47,86 @@ public class MarketDataService {
     @Autowired
     private BenchmarkDataRepository benchmarkRepository;
     
+    @Autowired
+    private QuoteCache quoteCache;
+    
+    @Autowired
+    private SymbolHotnessTracker hotnessTracker;
+    
+    @Autowired
+    @Qualifier("marketDataRefreshExecutor")
+    private ThreadPoolTaskExecutor refreshExecutor;
+    
+    // Serve live prices within the quote cache's grace window and refresh them in the background
+    @Value("${market-data.stale-while-revalidate.enabled:true}")
+    private boolean staleWhileRevalidate;
+    
+    // One external fetch per (symbol, dataType, timeframe) at a time; concurrent misses share it
+    private final SingleFlight<String, MarketDataResponse> fetches = new SingleFlight<>();
+    
+    // Keys with a background refresh queued or running
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicLong staleServed = new AtomicLong();
+    private final AtomicLong backgroundRefreshes = new AtomicLong();
+    private final AtomicLong prewarmRefreshes = new AtomicLong();
+    
     private final Random random = new Random();
     
+    // Quote reads join a caller's transaction but do not open one, so L1 hits never borrow a connection
+    @Transactional(propagation = Propagation.SUPPORTS)
     public MarketDataResponse getLivePrice(String symbol) {
         return getMarketData(new MarketDataRequest(symbol, DataType.LIVE_PRICE));
     }
     
+    /**
+     * Live prices for many symbols. L1 hits are answered from memory, everything else still
+     * valid in the table comes back from one query; only the misses go through the source
+     * chain individually.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<String, MarketDataResponse> getLivePrices(Collection<String> symbols) {
+        Map<String, MarketDataResponse> quotes = new HashMap<>();
+        if (symbols.isEmpty()) {
+            return quotes;
+        }
+        
+        List<String> cold = new ArrayList<>();
+        for (String symbol : symbols) {
+            hotnessTracker.record(symbol);
+            Optional<MarketDataCache> cached = quoteCache.get(symbol, DataType.LIVE_PRICE, null);
+            if (cached.isPresent() && QuoteCache.isFresh(cached.get())) {
+                quotes.put(symbol, convertCacheToResponse(cached.get()));
+            } else if (cached.isPresent() && staleWhileRevalidate) {
+                quotes.put(symbol, serveStale(new MarketDataRequest(symbol, DataType.LIVE_PRICE), cached.get()));
+            } else {
+                cold.add(symbol);
+            }
+        }
+        if (cold.isEmpty()) {
+            return quotes;
+        }
+        
+        Map<String, MarketDataCache> latest = new HashMap<>();
+        for (MarketDataCache cache : cacheRepository.findValidBySymbolsAndDataType(cold, DataType.LIVE_PRICE)) {
+            MarketDataCache current = latest.get(cache.getSymbol());
+            if (current == null || isNewer(cache.getDataTimestamp(), current.getDataTimestamp())) {
+                latest.put(cache.getSymbol(), cache);
+            }
+        }
+        for (MarketDataCache cache : latest.values()) {
+            quoteCache.put(cache.getSymbol(), DataType.LIVE_PRICE, null, cache);
+            quotes.put(cache.getSymbol(), convertCacheToResponse(cache));
+        }
+        
+        for (String symbol : symbols) {
+            if (!quotes.containsKey(symbol)) {
+                quotes.put(symbol, loadMarketData(new MarketDataRequest(symbol, DataType.LIVE_PRICE)));
+            }
+        }
+        return quotes;
+    }
+    
     public MarketDataResponse getOHLCVData(String symbol, String timeframe, LocalDateTime startTime, LocalDateTime endTime) {
         MarketDataRequest request = new MarketDataRequest(symbol, DataType.OHLCV);
         request.setTimeframe(timeframe);
@@ -47,23 +135,34 @@ public class MarketDataService {
         return getMarketData(request);
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public MarketDataResponse getMarketData(MarketDataRequest request) {
+        if (request.getDataType() == DataType.LIVE_PRICE) {
+            hotnessTracker.record(request.getSymbol());
+        }
+        return loadMarketData(request);
+    }
+    
+    private MarketDataResponse loadMarketData(MarketDataRequest request) {
         try {
-            // Check cache first (unless force refresh)
+            // Check cache first (unless force refresh): L1, then the table
             if (!request.getForceRefresh()) {
-                Optional<MarketDataCache> cached = getCachedData(request);
-                if (cached.isPresent()) {
+                boolean servesStale = servesStale(request);
+                Optional<MarketDataCache> cached = quoteCache.get(request.getSymbol(), request.getDataType(), request.getTimeframe());
+                if (cached.isEmpty()) {
+                    cached = servesStale ? getStaleData(request).filter(quoteCache::isRetained) : getCachedData(request);
+                    cached.ifPresent(entry -> quoteCache.put(request.getSymbol(), request.getDataType(), request.getTimeframe(), entry));
+                }
+                if (cached.isPresent() && QuoteCache.isFresh(cached.get())) {
                     return convertCacheToResponse(cached.get());
                 }
+                if (cached.isPresent() && servesStale) {
+                    return serveStale(request, cached.get());
+                }
             }
             
-            // Fetch from external source
-            MarketDataResponse response = fetchFromExternalSource(request);
-            
-            // Cache the result
-            cacheMarketData(request, response);
-            
-            return response;
+            // Fetch from external source and cache the result, once for all concurrent callers
+            return fetches.execute(flightKey(request), () -> fetchAndCache(request));
             
         } catch (Exception e) {
             logger.error("Failed to get market data for symbol: {}", request.getSymbol(), e);
@@ -118,39 +217,164 @@ public class MarketDataService {
     public void refreshCache() {
         // Clean expired entries
         int deletedCount = cacheRepository.deleteExpiredEntries();
-        logger.info("Cleaned {} expired cache entries", deletedCount);
+        int purgedCount = quoteCache.purgeExpired();
+        logger.info("Cleaned {} expired cache entries ({} from the in-memory tier)", deletedCount, purgedCount);
         
-        // Refresh popular symbols
-        List<String> popularSymbols = Arrays.asList("AAPL", "MSFT", "GOOGL", "TSLA", "BTCUSD", "ETHUSD", "SPY", "QQQ");
+        // Refresh the most requested symbols (or a default set before any traffic) and write them back in one batch
+        List<String> popularSymbols = hotnessTracker.topSymbols(DEFAULT_REFRESH_SYMBOLS.size());
+        if (popularSymbols.isEmpty()) {
+            popularSymbols = DEFAULT_REFRESH_SYMBOLS;
+        }
         
+        List<MarketDataCache> entries = new ArrayList<>();
         for (String symbol : popularSymbols) {
             try {
                 MarketDataRequest request = new MarketDataRequest(symbol, DataType.LIVE_PRICE);
                 request.setForceRefresh(true);
-                getMarketData(request);
+                entries.add(toCacheEntry(request, fetchFromExternalSource(request)));
             } catch (Exception e) {
                 logger.warn("Failed to refresh cache for symbol: {}", symbol, e);
             }
         }
+        
+        cacheWriter.upsertAll(entries);
+        entries.forEach(entry -> quoteCache.put(entry.getSymbol(), entry.getDataType(), entry.getTimeframe(), entry));
+    }
+    
+    public MarketDataCacheStats getCacheStats() {
+        MarketDataCacheStats stats = new MarketDataCacheStats();
+        stats.setQuoteCache(quoteCache.getStats());
+        stats.setFetchesInFlight(fetches.inFlight());
+        stats.setExternalFetches(fetches.executions());
+        stats.setCoalescedFetches(fetches.coalesced());
+        stats.setStaleServed(staleServed.get());
+        stats.setBackgroundRefreshes(backgroundRefreshes.get());
+        stats.setRefreshesPending(refreshing.size());
+        stats.setTrackedSymbols(hotnessTracker.getTrackedSymbols());
+        stats.setPrewarmRefreshes(prewarmRefreshes.get());
+        return stats;
+    }
+    
+    /**
+     * Queues background refreshes for live prices that are missing from the quote cache or
+     * expire within {@code leadSeconds}, in the given order, stopping after {@code maxRefreshes}.
+     * Returns how many were queued.
+     */
+    public int prewarmLivePrices(List<String> symbols, long leadSeconds, int maxRefreshes) {
+        LocalDateTime horizon = LocalDateTime.now().plusSeconds(leadSeconds);
+        int queued = 0;
+        for (String symbol : symbols) {
+            if (queued >= maxRefreshes) {
+                break;
+            }
+            Optional<MarketDataCache> cached = quoteCache.get(symbol, DataType.LIVE_PRICE, null);
+            if (cached.isPresent() && cached.get().getExpiresAt().isAfter(horizon)) {
+                continue;
+            }
+            if (refreshInBackground(new MarketDataRequest(symbol, DataType.LIVE_PRICE), true)) {
+                queued++;
+            }
+        }
+        prewarmRefreshes.addAndGet(queued);
+        return queued;
+    }
+    
+    private boolean servesStale(MarketDataRequest request) {
+        return staleWhileRevalidate && request.getDataType() == DataType.LIVE_PRICE;
+    }
+    
+    /**
+     * Answers from a row that expired within the grace window and leaves the fetch to a
+     * background refresh, so the caller never waits on an external source.
+     */
+    private MarketDataResponse serveStale(MarketDataRequest request, MarketDataCache entry) {
+        staleServed.incrementAndGet();
+        refreshInBackground(request, false);
+        
+        MarketDataResponse response = convertCacheToResponse(entry);
+        response.setIsStale(true);
+        response.setMessage("Serving cached data while it is refreshed");
+        return response;
+    }
+    
+    /**
+     * Queues one refresh per key; {@code force} fetches even while the cached row is still fresh.
+     * Returns false if a refresh for the key is already pending or the executor is saturated.
+     */
+    private boolean refreshInBackground(MarketDataRequest request, boolean force) {
+        String key = cacheKey(request);
+        if (!refreshing.add(key)) {
+            return false;
+        }
+        
+        MarketDataRequest refresh = new MarketDataRequest(request.getSymbol(), request.getDataType());
+        refresh.setTimeframe(request.getTimeframe());
+        refresh.setForceRefresh(force);
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    // Shares the flight with any synchronous miss for the same key
+                    fetches.execute(flightKey(refresh), () -> fetchAndCache(refresh));
+                    backgroundRefreshes.incrementAndGet();
+                } catch (Exception e) {
+                    logger.warn("Background refresh failed for {}: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            // Queue full; the stale row is still served and a later read retries
+            refreshing.remove(key);
+            logger.debug("Background refresh for {} rejected: {}", key, e.getMessage());
+            return false;
+        }
+    }
+    
+    private MarketDataResponse fetchAndCache(MarketDataRequest request) {
+        if (!request.getForceRefresh()) {
+            // A fetch for this key may have completed while we were checking the cache
+            Optional<MarketDataCache> cached = quoteCache.get(request.getSymbol(), request.getDataType(), request.getTimeframe());
+            if (cached.isPresent() && QuoteCache.isFresh(cached.get())) {
+                return convertCacheToResponse(cached.get());
+            }
+        }
+        
+        MarketDataResponse response = fetchFromExternalSource(request);
+        cacheMarketData(request, response);
+        return response;
+    }
+    
+    private static String cacheKey(MarketDataRequest request) {
+        return MarketDataCache.keyFor(request.getSymbol(), request.getDataType(), request.getTimeframe());
+    }
+    
+    // Requests for different ranges fetch different data, so only identical ranges share a flight
+    private static String flightKey(MarketDataRequest request) {
+        return cacheKey(request) + ":" + request.getStartTime() + ":" + request.getEndTime() + ":" + request.getLimit();
+    }
+    
+    private boolean isNewer(LocalDateTime candidate, LocalDateTime current) {
+        return candidate != null && (current == null || candidate.isAfter(current));
     }
     
     private Optional<MarketDataCache> getCachedData(MarketDataRequest request) {
         if (request.getTimeframe() != null) {
-            return cacheRepository.findBySymbolAndDataTypeAndTimeframe(
-                request.getSymbol(), request.getDataType(), request.getTimeframe());
+            return cacheRepository.findByCacheKeyAndExpiresAtAfter(
+                MarketDataCache.keyFor(request.getSymbol(), request.getDataType(), request.getTimeframe()), LocalDateTime.now());
         } else {
-            return cacheRepository.findLatestValidBySymbolAndDataType(
-                request.getSymbol(), request.getDataType());
+            return cacheRepository.findFirstBySymbolAndDataTypeAndExpiresAtAfterOrderByDataTimestampDesc(
+                request.getSymbol(), request.getDataType(), LocalDateTime.now());
         }
     }
     
     private Optional<MarketDataCache> getStaleData(MarketDataRequest request) {
         // Look for any cached data, even if expired
         if (request.getTimeframe() != null) {
-            return cacheRepository.findBySymbolAndDataTypeAndTimeframe(
-                request.getSymbol(), request.getDataType(), request.getTimeframe());
+            return cacheRepository.findByCacheKey(
+                MarketDataCache.keyFor(request.getSymbol(), request.getDataType(), request.getTimeframe()));
         } else {
-            return cacheRepository.findBySymbolAndDataType(
+            return cacheRepository.findFirstBySymbolAndDataTypeOrderByDataTimestampDesc(
                 request.getSymbol(), request.getDataType());
         }
     }
@@ -282,49 +506,50 @@ public class MarketDataService {
     
     private void cacheMarketData(MarketDataRequest request, MarketDataResponse response) {
         try {
-            MarketDataCache cache = new MarketDataCache();
-            cache.setSymbol(request.getSymbol());
-            cache.setDataType(request.getDataType());
-            cache.setTimeframe(request.getTimeframe());
-            cache.setPrice(response.getPrice());
-            cache.setBidPrice(response.getBidPrice());
-            cache.setAskPrice(response.getAskPrice());
-            cache.setDayChange(response.getDayChange());
-            cache.setDayChangePercent(response.getDayChangePercent());
-            cache.setVolume(response.getVolume());
-            cache.setDataTimestamp(response.getDataTimestamp());
-            cache.setSource(response.getSource());
-            cache.setQualityScore(response.getQualityScore());
+            MarketDataCache cache = toCacheEntry(request, response);
+            cacheWriter.upsert(cache);
             
-            // Set expiry based on data type
-            LocalDateTime expiry = LocalDateTime.now();
-            if (request.getDataType() == DataType.LIVE_PRICE) {
-                expiry = expiry.plusMinutes(1); // Live prices expire in 1 minute
-            } else {
-                expiry = expiry.plusHours(1); // Historical data expires in 1 hour
-            }
-            cache.setExpiresAt(expiry);
-            
-            cacheRepository.save(cache);
+            // Write-through: the next read of this key is served from memory
+            quoteCache.put(request.getSymbol(), request.getDataType(), request.getTimeframe(), cache);
             
         } catch (Exception e) {
             logger.error("Failed to cache market data for symbol: {}", request.getSymbol(), e);
         }
     }
     
+    private MarketDataCache toCacheEntry(MarketDataRequest request, MarketDataResponse response) {
+        MarketDataCache cache = new MarketDataCache();
+        cache.setSymbol(request.getSymbol());
+        cache.setDataType(request.getDataType());
+        cache.setTimeframe(request.getTimeframe());
+        cache.setPrice(response.getPrice());
+        cache.setBidPrice(response.getBidPrice());
+        cache.setAskPrice(response.getAskPrice());
+        cache.setDayChange(response.getDayChange());
+        cache.setDayChangePercent(response.getDayChangePercent());
+        cache.setVolume(response.getVolume());
+        cache.setDataTimestamp(response.getDataTimestamp());
+        cache.setSource(response.getSource());
+        cache.setQualityScore(response.getQualityScore());
+        
+        // Set expiry based on data type
+        LocalDateTime expiry = LocalDateTime.now();
+        if (request.getDataType() == DataType.LIVE_PRICE) {
+            expiry = expiry.plusMinutes(1); // Live prices expire in 1 minute
+        } else {
+            expiry = expiry.plusHours(1); // Historical data expires in 1 hour
+        }
+        cache.setExpiresAt(expiry);
+        
+        return cache;
+    }
+    
     private void updateSourceUsage(DataSource source) {
-        source.setLastRequestAt(LocalDateTime.now());
-        source.setRequestsToday(source.getRequestsToday() + 1);
-        source.setRequestsThisMinute(source.getRequestsThisMinute() + 1);
-        source.setConsecutiveFailures(0);
-        dataSourceRepository.save(source);
+        dataSourceRepository.recordRequest(source.getId(), LocalDateTime.now());
     }
     
     private void logSourceFailure(DataSource source, String errorMessage) {
-        source.setConsecutiveFailures(source.getConsecutiveFailures() + 1);
-        source.setLastErrorMessage(errorMessage);
-        source.setLastErrorAt(LocalDateTime.now());
-        dataSourceRepository.save(source);
+        dataSourceRepository.recordFailure(source.getId(), errorMessage, LocalDateTime.now());
     }
     
     private BigDecimal getBasePrice(String symbol) {
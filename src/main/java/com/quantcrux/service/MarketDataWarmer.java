@@ -0,0 +1,124 @@
+package com.quantcrux.service;
+
+import com.quantcrux.model.DataSource;
+import com.quantcrux.repository.DataSourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the hottest live prices in the quote cache. Every pass takes the top symbols from
+ * {@link SymbolHotnessTracker} and refreshes those about to expire before a request can
+ * miss them. Refreshes draw on the highest-priority live-price source, the one fetches go
+ * to, and the warmer spends at most a share of that source's per-minute limit in any one
+ * minute (and of its remaining daily quota spread over the rest of the day), so
+ * pre-warming never pushes interactive fetches over a rate limit. Also owns the
+ * per-minute and per-day reset of the sources' request counters.
+ */
+@Component
+public class MarketDataWarmer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MarketDataWarmer.class);
+    
+    @Autowired
+    private MarketDataService marketDataService;
+    
+    @Autowired
+    private SymbolHotnessTracker hotnessTracker;
+    
+    @Autowired
+    private DataSourceRepository dataSourceRepository;
+    
+    @Value("${market-data.warmer.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${market-data.warmer.top-symbols:50}")
+    private int topSymbols;
+    
+    // Refresh quotes that expire within this many seconds of a pass
+    @Value("${market-data.warmer.lead-seconds:20}")
+    private long leadSeconds;
+    
+    // Fraction of a source's rate limits the warmer may use, across all passes in a minute
+    @Value("${market-data.warmer.rate-limit-share:0.5}")
+    private double rateLimitShare;
+    
+    // Refreshes queued per source in the current minute; cleared when the minute turns
+    private final Map<UUID, Integer> spentThisMinute = new HashMap<>();
+    private long currentMinute = Long.MIN_VALUE;
+    
+    @Scheduled(fixedDelayString = "${market-data.warmer.interval-ms:15000}")
+    public synchronized void warm() {
+        if (!enabled) {
+            return;
+        }
+        
+        List<String> hot = hotnessTracker.topSymbols(topSymbols);
+        if (hot.isEmpty()) {
+            return;
+        }
+        
+        long minute = System.currentTimeMillis() / 60_000;
+        if (minute != currentMinute) {
+            currentMinute = minute;
+            spentThisMinute.clear();
+        }
+        
+        List<DataSource> sources = dataSourceRepository.findLivePriceSourcesWithinRateLimit();
+        DataSource source = sources.isEmpty() ? null : sources.get(0);
+        int budget = source != null ? budgetFor(source) : 0;
+        if (budget <= 0) {
+            logger.debug("Skipping quote pre-warm: the warmer's share of live price rate limits is spent");
+            return;
+        }
+        
+        int queued = marketDataService.prewarmLivePrices(hot, leadSeconds, budget);
+        spentThisMinute.merge(source.getId(), queued, Integer::sum);
+        if (queued > 0) {
+            logger.debug("Queued {} quote refreshes for {} hot symbols via {} (budget {})", queued, hot.size(), source.getName(), budget);
+        }
+    }
+    
+    @Scheduled(cron = "0 * * * * *")
+    public void resetMinuteCounters() {
+        dataSourceRepository.resetMinuteCounters();
+    }
+    
+    @Scheduled(cron = "0 0 0 * * *")
+    public void resetDailyCounters() {
+        int reset = dataSourceRepository.resetDailyCounters();
+        logger.info("Reset daily request counters for {} data sources", reset);
+    }
+    
+    private int budgetFor(DataSource source) {
+        long minuteLimit = source.getRateLimitPerMinute() != null ? source.getRateLimitPerMinute() : 0;
+        long dayLeft = remaining(source.getRateLimitPerDay(), source.getRequestsToday());
+        
+        // Counters reset at midnight; the daily share is spread evenly over the minutes left
+        LocalDateTime now = LocalDateTime.now();
+        long minutesLeftToday = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMinutes() + 1;
+        
+        long allowance = (long) Math.min(minuteLimit * rateLimitShare, dayLeft * rateLimitShare / minutesLeftToday);
+        long left = allowance - spentThisMinute.getOrDefault(source.getId(), 0);
+        // Never more than a share of what the source has left, however little the warmer spent
+        long sourceLeft = (long) (Math.min(remaining(source.getRateLimitPerMinute(), source.getRequestsThisMinute()), dayLeft) * rateLimitShare);
+        return (int) Math.max(0, Math.min(left, sourceLeft));
+    }
+    
+    private static long remaining(Integer limit, Integer used) {
+        if (limit == null) {
+            return 0;
+        }
+        return Math.max(0, limit - (used != null ? used : 0));
+    }
+}
@@ -0,0 +1,69 @@
+package com.quantcrux.service;
+
+import com.quantcrux.dto.CacheStats;
+import com.quantcrux.model.DataType;
+import com.quantcrux.model.MarketDataCache;
+import com.quantcrux.util.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * In-heap tier in front of the market_data_cache table, keyed by (symbol, dataType,
+ * timeframe). Entries carry the row's {@code expiresAt}; they are kept for a grace window
+ * past it so stale-while-revalidate reads can still be answered, and dropped on the first
+ * read after that. Callers decide with {@link #isFresh} whether a row may be served as
+ * current. Rows are shared between callers and must not be modified once stored.
+ */
+@Component
+public class QuoteCache {
+    
+    private final LruCache<String, MarketDataCache> quotes;
+    private final long graceSeconds;
+    
+    public QuoteCache(@Value("${market-data.quote-cache.max-size:10000}") int maxSize,
+                      @Value("${market-data.stale-while-revalidate.grace-seconds:30}") long graceSeconds) {
+        this.quotes = new LruCache<>("market-data-quotes", maxSize);
+        this.graceSeconds = Math.max(0, graceSeconds);
+    }
+    
+    /**
+     * The row for the key if it is fresh or expired by less than the grace window.
+     */
+    public Optional<MarketDataCache> get(String symbol, DataType dataType, String timeframe) {
+        LocalDateTime now = LocalDateTime.now();
+        return Optional.ofNullable(quotes.get(MarketDataCache.keyFor(symbol, dataType, timeframe), entry -> isRetained(entry, now)));
+    }
+    
+    /**
+     * Stores a row under the lookup key it answers; rows already past the grace window are not kept.
+     */
+    public void put(String symbol, DataType dataType, String timeframe, MarketDataCache entry) {
+        if (isRetained(entry, LocalDateTime.now())) {
+            quotes.put(MarketDataCache.keyFor(symbol, dataType, timeframe), entry);
+        }
+    }
+    
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        return quotes.expireIf(entry -> !isRetained(entry, now));
+    }
+    
+    public boolean isRetained(MarketDataCache entry) {
+        return isRetained(entry, LocalDateTime.now());
+    }
+    
+    public CacheStats getStats() {
+        return quotes.stats();
+    }
+    
+    public static boolean isFresh(MarketDataCache entry) {
+        return entry.getExpiresAt() != null && entry.getExpiresAt().isAfter(LocalDateTime.now());
+    }
+    
+    private boolean isRetained(MarketDataCache entry, LocalDateTime now) {
+        return entry.getExpiresAt() != null && entry.getExpiresAt().plusSeconds(graceSeconds).isAfter(now);
+    }
+}
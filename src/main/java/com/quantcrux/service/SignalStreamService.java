@@ -0,0 +1,365 @@
+package com.quantcrux.service;
+
+import com.quantcrux.dto.MarketDataResponse;
+import com.quantcrux.dto.StrategySignalUpdate;
+import com.quantcrux.dto.StreamStats;
+import com.quantcrux.model.Strategy;
+import com.quantcrux.model.StrategySignal;
+import com.quantcrux.model.User;
+import com.quantcrux.repository.StrategyRepository;
+import com.quantcrux.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Server-sent event streams of live prices and strategy signals.
+ *
+ * Prices of every watched symbol are refreshed once per interval with a single batched
+ * lookup, however many connections watch them, and signals arrive from the live signal
+ * engine. Each connection keeps at most one pending update per symbol or strategy: a
+ * newer update replaces one not yet sent, so a slow consumer receives the latest state
+ * instead of a growing backlog, and at most one send per connection is in flight on the
+ * stream executor at any time.
+ */
+@Service
+public class SignalStreamService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SignalStreamService.class);
+    
+    private static final String HEARTBEAT_KEY = "heartbeat";
+    
+    @Autowired
+    private MarketDataService marketDataService;
+    
+    @Autowired
+    private StrategyRepository strategyRepository;
+    
+    @Autowired
+    @Qualifier("streamExecutor")
+    private ThreadPoolTaskExecutor streamExecutor;
+    
+    @Value("${stream.max-connections:1000}")
+    private int maxConnections;
+    
+    @Value("${stream.max-subscriptions:100}")
+    private int maxSubscriptions;
+    
+    @Value("${stream.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    @Value("${stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+    
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Connection>> bySymbol = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Connection>> byStrategy = new ConcurrentHashMap<>();
+    private final Map<String, MarketDataResponse> lastQuotes = new ConcurrentHashMap<>();
+    
+    private final AtomicLong openedConnections = new AtomicLong();
+    private final AtomicLong closedConnections = new AtomicLong();
+    private final AtomicLong stalledConnections = new AtomicLong();
+    private final AtomicLong sentEvents = new AtomicLong();
+    private final AtomicLong coalescedEvents = new AtomicLong();
+    private final AtomicLong priceRefreshes = new AtomicLong();
+    
+    /**
+     * Opens a stream of price updates for {@code symbols} and signals of the caller's
+     * {@code strategyIds}. The current price of each symbol is sent straight away.
+     */
+    public SseEmitter open(Collection<String> symbols, Collection<UUID> strategyIds, UserPrincipal userPrincipal) {
+        User user = userPrincipal.getUser();
+        
+        Set<String> watchedSymbols = symbols == null ? new LinkedHashSet<>() : symbols.stream()
+                .filter(symbol -> symbol != null && !symbol.isBlank())
+                .map(symbol -> symbol.trim().toUpperCase())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<UUID> watchedStrategies = strategyIds == null ? new LinkedHashSet<>() : new LinkedHashSet<>(strategyIds);
+        
+        if (watchedSymbols.isEmpty() && watchedStrategies.isEmpty()) {
+            throw new RuntimeException("At least one symbol or strategy id is required");
+        }
+        if (watchedSymbols.size() + watchedStrategies.size() > maxSubscriptions) {
+            throw new RuntimeException("A stream can watch at most " + maxSubscriptions + " symbols and strategies");
+        }
+        if (connections.size() >= maxConnections) {
+            throw new RuntimeException("Too many open streams, try again later");
+        }
+        for (UUID strategyId : watchedStrategies) {
+            strategyRepository.findByIdAndUser(strategyId, user)
+                    .orElseThrow(() -> new RuntimeException("Strategy not found: " + strategyId));
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(emitter, watchedSymbols, watchedStrategies);
+        emitter.onCompletion(() -> close(connection));
+        emitter.onTimeout(() -> close(connection));
+        emitter.onError(error -> close(connection));
+        
+        connections.add(connection);
+        // Added inside compute so close() cannot drop the set between lookup and add
+        watchedSymbols.forEach(symbol -> bySymbol.compute(symbol, (key, watchers) -> addWatcher(watchers, connection)));
+        watchedStrategies.forEach(id -> byStrategy.compute(id, (key, watchers) -> addWatcher(watchers, connection)));
+        openedConnections.incrementAndGet();
+        
+        if (!watchedSymbols.isEmpty()) {
+            marketDataService.getLivePrices(watchedSymbols).forEach((symbol, quote) -> {
+                lastQuotes.putIfAbsent(symbol, quote);
+                enqueue(connection, "price:" + symbol, SseEmitter.event().name("price").data(quote));
+            });
+        }
+        
+        return emitter;
+    }
+    
+    @EventListener
+    public void onSignalsRecorded(StrategySignalsRecordedEvent event) {
+        for (StrategySignal signal : event.getSignals()) {
+            Set<Connection> watchers = byStrategy.get(signal.getStrategy().getId());
+            if (watchers == null || watchers.isEmpty()) {
+                continue;
+            }
+            
+            StrategySignalUpdate update = toUpdate(signal);
+            for (Connection connection : watchers) {
+                enqueue(connection, "signal:" + update.getStrategyId(), SseEmitter.event().name("signal").data(update));
+            }
+        }
+    }
+    
+    /**
+     * Refreshes every watched symbol with one batched lookup and pushes the quotes that moved.
+     */
+    @Scheduled(fixedDelayString = "${stream.price-interval-ms:2000}")
+    public void refreshPrices() {
+        lastQuotes.keySet().retainAll(bySymbol.keySet());
+        if (bySymbol.isEmpty()) {
+            return;
+        }
+        
+        Map<String, MarketDataResponse> quotes;
+        try {
+            quotes = marketDataService.getLivePrices(new ArrayList<>(bySymbol.keySet()));
+        } catch (Exception e) {
+            logger.warn("Price refresh for streams failed: {}", e.getMessage());
+            return;
+        }
+        priceRefreshes.incrementAndGet();
+        
+        quotes.forEach((symbol, quote) -> {
+            MarketDataResponse previous = lastQuotes.put(symbol, quote);
+            if (previous != null && Objects.equals(previous.getPrice(), quote.getPrice())
+                    && Objects.equals(previous.getDataTimestamp(), quote.getDataTimestamp())) {
+                return;
+            }
+            Set<Connection> watchers = bySymbol.get(symbol);
+            if (watchers != null) {
+                for (Connection connection : watchers) {
+                    enqueue(connection, "price:" + symbol, SseEmitter.event().name("price").data(quote));
+                }
+            }
+        });
+    }
+    
+    /**
+     * Keeps idle streams open through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Connection connection : connections) {
+            enqueue(connection, HEARTBEAT_KEY, SseEmitter.event().comment("keepalive"));
+        }
+    }
+    
+    /**
+     * Drops streams stuck in a single send past the timeout so they stop receiving work. The
+     * emitter is synchronized while it writes, so it is completed by the sender once the
+     * blocked write returns or the container's write timeout breaks it.
+     */
+    @Scheduled(fixedDelayString = "${stream.stall-check-interval-ms:1000}")
+    public void dropStalledStreams() {
+        long cutoff = System.currentTimeMillis() - sendTimeoutMs;
+        for (Connection connection : connections) {
+            long sendingSince = connection.sendingSince;
+            if (sendingSince != 0 && sendingSince < cutoff) {
+                logger.debug("Dropping stream stalled in send for {} ms", System.currentTimeMillis() - sendingSince);
+                connection.stalled = true;
+                stalledConnections.incrementAndGet();
+                close(connection);
+            }
+        }
+    }
+    
+    public StreamStats getStats() {
+        StreamStats stats = new StreamStats();
+        stats.setConnections(connections.size());
+        stats.setMaxConnections(maxConnections);
+        stats.setWatchedSymbols((int) bySymbol.values().stream().filter(watchers -> !watchers.isEmpty()).count());
+        stats.setWatchedStrategies((int) byStrategy.values().stream().filter(watchers -> !watchers.isEmpty()).count());
+        stats.setPendingUpdates(connections.stream().mapToInt(Connection::pendingCount).sum());
+        stats.setOpenedConnections(openedConnections.get());
+        stats.setClosedConnections(closedConnections.get());
+        stats.setStalledConnections(stalledConnections.get());
+        stats.setSentEvents(sentEvents.get());
+        stats.setCoalescedEvents(coalescedEvents.get());
+        stats.setPriceRefreshes(priceRefreshes.get());
+        return stats;
+    }
+    
+    private void enqueue(Connection connection, String key, SseEmitter.SseEventBuilder event) {
+        if (!connections.contains(connection)) {
+            return;
+        }
+        if (connection.offer(key, event)) {
+            coalescedEvents.incrementAndGet();
+        }
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                streamExecutor.execute(() -> drain(connection));
+            } catch (Exception e) {
+                connection.draining.set(false);
+                logger.warn("Dropping stream that could not be scheduled: {}", e.getMessage());
+                connection.emitter.completeWithError(e);
+                close(connection);
+            }
+        }
+    }
+    
+    private void drain(Connection connection) {
+        while (true) {
+            List<SseEmitter.SseEventBuilder> batch = connection.takeAll();
+            if (batch.isEmpty()) {
+                connection.draining.set(false);
+                // An update may have arrived between the empty take and releasing the flag
+                if (connection.pendingCount() == 0 || !connection.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            
+            try {
+                for (SseEmitter.SseEventBuilder event : batch) {
+                    connection.sendingSince = System.currentTimeMillis();
+                    connection.emitter.send(event);
+                    connection.sendingSince = 0;
+                    sentEvents.incrementAndGet();
+                    if (connection.stalled) {
+                        throw new IOException("Send exceeded " + sendTimeoutMs + " ms");
+                    }
+                }
+            } catch (Exception e) {
+                // Client went away; the emitter callbacks may not fire for a broken pipe
+                logger.debug("Closing stream after failed send: {}", e.getMessage());
+                connection.sendingSince = 0;
+                connection.draining.set(false);
+                connection.emitter.completeWithError(e);
+                close(connection);
+                return;
+            }
+        }
+    }
+    
+    private void close(Connection connection) {
+        if (!connections.remove(connection)) {
+            return;
+        }
+        connection.symbols.forEach(symbol -> bySymbol.computeIfPresent(symbol, (key, watchers) -> {
+            watchers.remove(connection);
+            return watchers.isEmpty() ? null : watchers;
+        }));
+        connection.strategyIds.forEach(id -> byStrategy.computeIfPresent(id, (key, watchers) -> {
+            watchers.remove(connection);
+            return watchers.isEmpty() ? null : watchers;
+        }));
+        connection.clear();
+        closedConnections.incrementAndGet();
+    }
+    
+    private static Set<Connection> addWatcher(Set<Connection> watchers, Connection connection) {
+        Set<Connection> updated = watchers != null ? watchers : ConcurrentHashMap.<Connection>newKeySet();
+        updated.add(connection);
+        return updated;
+    }
+    
+    private StrategySignalUpdate toUpdate(StrategySignal signal) {
+        Strategy strategy = signal.getStrategy();
+        StrategySignalUpdate update = new StrategySignalUpdate();
+        update.setSignalId(signal.getId());
+        update.setStrategyId(strategy.getId());
+        update.setStrategyName(strategy.getName());
+        update.setSymbol(strategy.getSymbol());
+        update.setTimeframe(strategy.getTimeframe());
+        update.setSignal(signal.getSignalType());
+        update.setPrice(signal.getPrice());
+        update.setConfidenceScore(signal.getConfidenceScore());
+        update.setMatchedRules(signal.getMatchedRules());
+        update.setIndicatorValues(signal.getIndicatorValues());
+        update.setCreatedAt(signal.getCreatedAt());
+        return update;
+    }
+    
+    /**
+     * One open stream. Pending updates are keyed by what they describe, so the map never
+     * holds more than one entry per watched symbol or strategy plus the heartbeat.
+     */
+    private static final class Connection {
+        private final SseEmitter emitter;
+        private final Set<String> symbols;
+        private final Set<UUID> strategyIds;
+        private final Map<String, SseEmitter.SseEventBuilder> pending = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        // When the send in progress started, 0 when idle; set by the draining thread only
+        private volatile long sendingSince;
+        private volatile boolean stalled;
+        
+        Connection(SseEmitter emitter, Set<String> symbols, Set<UUID> strategyIds) {
+            this.emitter = emitter;
+            this.symbols = symbols;
+            this.strategyIds = strategyIds;
+        }
+        
+        /**
+         * Queues {@code event}; returns true if it replaced an unsent update for the same key.
+         */
+        synchronized boolean offer(String key, SseEmitter.SseEventBuilder event) {
+            return pending.put(key, event) != null;
+        }
+        
+        synchronized List<SseEmitter.SseEventBuilder> takeAll() {
+            List<SseEmitter.SseEventBuilder> events = new ArrayList<>(pending.values());
+            pending.clear();
+            return events;
+        }
+        
+        synchronized int pendingCount() {
+            return pending.size();
+        }
+        
+        synchronized void clear() {
+            pending.clear();
+        }
+    }
+}
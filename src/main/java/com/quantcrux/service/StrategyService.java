@@ -1,18 +1,34 @@
 package com.quantcrux.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
 import com.quantcrux.dto.*;
+import com.quantcrux.engine.backtest.BarSeries;
+import com.quantcrux.engine.rules.CompiledStrategy;
+import com.quantcrux.engine.rules.StrategyEvaluator;
 import com.quantcrux.model.*;
 import com.quantcrux.repository.StrategyRepository;
 import com.quantcrux.repository.StrategyVersionRepository;
 import com.quantcrux.repository.StrategySignalRepository;
 import com.quantcrux.security.UserPrincipal;
+import com.quantcrux.util.JsonDiff;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +47,36 @@ public class StrategyService {
     @Autowired
     private MarketDataService marketDataService;
     
+    @Autowired
+    private BacktestDataLoader dataLoader;
+    
+    @Autowired
+    private CompiledStrategyCache strategyCache;
+    
+    @Autowired
+    private StrategyVersionCache versionCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    @Qualifier("signalEvaluationPool")
+    private ForkJoinPool evaluationPool;
+    
+    @Value("${strategy.evaluation.min-history-bars:100}")
+    private int minHistoryBars;
+    
+    @Value("${strategy.evaluation.max-batch-size:2000}")
+    private int maxBatchEvaluations;
+    
+    @Value("${strategy.versions.default-page-size:50}")
+    private int defaultVersionPageSize;
+    
+    @Value("${strategy.versions.max-page-size:200}")
+    private int maxVersionPageSize;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
     public List<StrategyResponse> getUserStrategies(UserPrincipal userPrincipal) {
         User user = userPrincipal.getUser();
         List<Strategy> strategies = strategyRepository.findByUser(user);
@@ -69,7 +115,7 @@ public class StrategyService {
         strategy = strategyRepository.save(strategy);
         
         // Create initial version
-        createStrategyVersion(strategy, 1, request.getConfigJson(), "Initial version", user);
+        createStrategyVersion(strategy, 1, request.getConfigJson(), null, "Initial version", user);
         
         return convertToResponse(strategy);
     }
@@ -80,7 +126,8 @@ public class StrategyService {
                 .orElseThrow(() -> new RuntimeException("Strategy not found"));
         
         // Check if config changed to create new version
-        boolean configChanged = !strategy.getConfigJson().equals(request.getConfigJson());
+        String previousConfig = strategy.getConfigJson();
+        boolean configChanged = !previousConfig.equals(request.getConfigJson());
         
         strategy.setName(request.getName());
         strategy.setDescription(request.getDescription());
@@ -93,7 +140,11 @@ public class StrategyService {
         if (configChanged) {
             Integer nextVersion = strategy.getCurrentVersion() + 1;
             strategy.setCurrentVersion(nextVersion);
-            createStrategyVersion(strategy, nextVersion, request.getConfigJson(), "Updated configuration", user);
+            StrategyVersion version = createStrategyVersion(strategy, nextVersion, request.getConfigJson(), previousConfig,
+                                                            "Updated configuration", user);
+            strategyCache.evictConfig(previousConfig);
+            // Pinned backtests of this strategy are re-run against the new version after commit
+            eventPublisher.publishEvent(new StrategyVersionCreatedEvent(strategy.getId(), version.getId()));
         }
         
         strategy = strategyRepository.save(strategy);
@@ -106,26 +157,24 @@ public class StrategyService {
                 .orElseThrow(() -> new RuntimeException("Strategy not found"));
         
         strategyRepository.delete(strategy);
+        strategyCache.evictConfig(strategy.getConfigJson());
+        versionCache.evictStrategy(strategy);
     }
     
     public SignalEvaluationResponse evaluateStrategy(SignalEvaluationRequest request, UserPrincipal userPrincipal) {
         try {
-            // Get market data for the symbol
-            Map<String, Object> marketData = marketDataService.getMarketData(request.getSymbol(), request.getTimeframe());
+            // Repeated configs come back from the cache without being parsed again
+            CompiledStrategy strategy = strategyCache.forConfig(request.getConfigJson());
+            String symbol = request.getSymbol().toUpperCase();
             
-            // Parse strategy configuration
-            // In a real implementation, you would parse the JSON and evaluate the rules
-            // For now, we'll simulate the evaluation
+            // Get market data for the symbol
+            Map<String, Object> marketData = marketDataService.getMarketData(symbol, request.getTimeframe());
+            BigDecimal price = (BigDecimal) marketData.get("price");
             
-            SignalEvaluationResponse response = new SignalEvaluationResponse();
-            response.setSignal(simulateSignalEvaluation(request.getConfigJson(), marketData));
-            response.setCurrentPrice((BigDecimal) marketData.get("price"));
-            response.setIndicatorValues(getIndicatorValues(marketData));
-            response.setMatchedRules(getMatchedRules(request.getConfigJson()));
-            response.setConfidenceScore(BigDecimal.valueOf(0.75));
-            response.setEvaluatedAt(LocalDateTime.now());
-            response.setMessage("Strategy evaluated successfully");
+            BarSeries history = dataLoader.loadRecentBars(symbol, request.getTimeframe(), historyBars(strategy));
             
+            SignalEvaluationResponse response = evaluate(strategy, history, price, (BigDecimal) marketData.get("volume"));
+            response.setSymbol(symbol);
             return response;
         } catch (Exception e) {
             SignalEvaluationResponse errorResponse = new SignalEvaluationResponse();
@@ -136,23 +185,174 @@ public class StrategyService {
         }
     }
     
-    public List<StrategyVersion> getStrategyVersions(UUID strategyId, UserPrincipal userPrincipal) {
+    /**
+     * Applies every requested strategy to every requested symbol. History and quotes for all
+     * symbols are fetched up front in one query each; the evaluations themselves are pure CPU
+     * work and fan out over the signal evaluation pool.
+     */
+    public BatchSignalEvaluationResponse evaluateBatch(BatchSignalEvaluationRequest request, UserPrincipal userPrincipal) {
+        User user = userPrincipal.getUser();
+        long started = System.currentTimeMillis();
+        
+        List<String> symbols = request.getSymbols().stream()
+                .filter(symbol -> symbol != null && !symbol.isBlank())
+                .map(symbol -> symbol.trim().toUpperCase())
+                .distinct()
+                .collect(Collectors.toList());
+        
+        List<EvaluationTarget> targets = new ArrayList<>();
+        if (request.getConfigJson() != null && !request.getConfigJson().isBlank()) {
+            targets.add(new EvaluationTarget(null, null, strategyCache.forConfig(request.getConfigJson())));
+        }
+        if (request.getStrategyIds() != null) {
+            for (UUID strategyId : new LinkedHashSet<>(request.getStrategyIds())) {
+                Strategy strategy = strategyRepository.findByIdAndUser(strategyId, user)
+                        .orElseThrow(() -> new RuntimeException("Strategy not found: " + strategyId));
+                targets.add(new EvaluationTarget(strategy.getId(), strategy.getName(), strategyCache.forStrategy(strategy)));
+            }
+        }
+        
+        if (symbols.isEmpty() || targets.isEmpty()) {
+            throw new RuntimeException("At least one symbol and either a config or strategy ids are required");
+        }
+        if ((long) symbols.size() * targets.size() > maxBatchEvaluations) {
+            throw new RuntimeException("Batch has " + symbols.size() * targets.size()
+                + " evaluations; the limit is " + maxBatchEvaluations);
+        }
+        
+        int barCount = targets.stream().mapToInt(target -> historyBars(target.strategy)).max().orElse(minHistoryBars);
+        Map<String, BarSeries> histories = dataLoader.loadRecentBars(symbols, request.getTimeframe(), barCount);
+        Map<String, MarketDataResponse> quotes = marketDataService.getLivePrices(symbols);
+        
+        List<SignalEvaluationResponse> results;
+        try {
+            results = evaluationPool.submit(() -> symbols.parallelStream()
+                    .flatMap(symbol -> targets.stream()
+                        .map(target -> evaluateTarget(target, symbol, histories.get(symbol), quotes.get(symbol))))
+                    .collect(Collectors.toList()))
+                .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch evaluation was interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Batch evaluation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        
+        BatchSignalEvaluationResponse response = new BatchSignalEvaluationResponse();
+        response.setTimeframe(request.getTimeframe());
+        response.setSymbolCount(symbols.size());
+        response.setStrategyCount(targets.size());
+        response.setResults(results);
+        response.setElapsedMillis(System.currentTimeMillis() - started);
+        
+        return response;
+    }
+    
+    /**
+     * Newest-first version history. Rows carry metadata and the diff stored when each version
+     * was saved; config bodies are only served by {@link #getStrategyVersion}.
+     */
+    public StrategyVersionPageResponse getStrategyVersions(UUID strategyId, Integer limit, String cursor,
+                                                          UserPrincipal userPrincipal) {
+        User user = userPrincipal.getUser();
+        Strategy strategy = strategyRepository.findByIdAndUser(strategyId, user)
+                .orElseThrow(() -> new RuntimeException("Strategy not found"));
+        
+        int pageSize = limit == null ? defaultVersionPageSize : Math.max(1, Math.min(limit, maxVersionPageSize));
+        Integer beforeVersion = decodeVersionCursor(cursor);
+        
+        List<StrategyVersionSummary> rows = findVersionHistory(strategy, beforeVersion, pageSize);
+        if (rows.stream().anyMatch(row -> row.getConfigHash() == null)) {
+            // Versions saved before diffs were stored are filled in once, on first view
+            backfillVersionMetadata(strategy);
+            rows = findVersionHistory(strategy, beforeVersion, pageSize);
+        }
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<StrategyVersionSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? String.valueOf(items.get(items.size() - 1).getVersionNumber()) : null;
+        
+        return new StrategyVersionPageResponse(new ArrayList<>(items), nextCursor, hasMore);
+    }
+    
+    public StrategyVersionResponse getStrategyVersion(UUID strategyId, Integer versionNumber, UserPrincipal userPrincipal) {
         User user = userPrincipal.getUser();
         Strategy strategy = strategyRepository.findByIdAndUser(strategyId, user)
                 .orElseThrow(() -> new RuntimeException("Strategy not found"));
         
-        return versionRepository.findByStrategyOrderByVersionNumberDesc(strategy);
+        return versionCache.getSnapshot(strategy, versionNumber);
+    }
+    
+    private List<StrategyVersionSummary> findVersionHistory(Strategy strategy, Integer beforeVersion, int pageSize) {
+        // One extra row tells whether another page exists without a COUNT query
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        if (beforeVersion == null) {
+            return versionRepository.findHistory(strategy, page);
+        }
+        return versionRepository.findHistoryBefore(strategy, beforeVersion, page);
+    }
+    
+    private Integer decodeVersionCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(cursor.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid page cursor");
+        }
+    }
+    
+    private void backfillVersionMetadata(Strategy strategy) {
+        String previousConfig = null;
+        for (StrategyVersion version : versionRepository.findByStrategyOrderByVersionNumberAsc(strategy)) {
+            if (version.getConfigHash() == null) {
+                applyVersionMetadata(version, previousConfig);
+            }
+            previousConfig = version.getConfigJson();
+        }
     }
     
-    private void createStrategyVersion(Strategy strategy, Integer versionNumber, String configJson, String description, User author) {
+    private StrategyVersion createStrategyVersion(Strategy strategy, Integer versionNumber, String configJson,
+                                                  String previousConfig, String description, User author) {
         StrategyVersion version = new StrategyVersion();
         version.setStrategy(strategy);
         version.setVersionNumber(versionNumber);
         version.setConfigJson(configJson);
         version.setChangeDescription(description);
         version.setAuthor(author);
+        applyVersionMetadata(version, previousConfig);
         
-        versionRepository.save(version);
+        return versionRepository.save(version);
+    }
+    
+    /**
+     * Hash, size and the structural diff against {@code previousConfig}; the first version has no diff.
+     */
+    private void applyVersionMetadata(StrategyVersion version, String previousConfig) {
+        String configJson = version.getConfigJson();
+        version.setConfigHash(CompiledStrategyCache.hash(configJson));
+        version.setConfigSize(configJson.length());
+        if (previousConfig == null) {
+            version.setDiffJson(null);
+            return;
+        }
+        
+        try {
+            JsonNode diff = JsonDiff.diff(parseConfig(previousConfig), parseConfig(configJson));
+            version.setDiffJson(objectMapper.writeValueAsString(diff));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize strategy version diff: " + e.getMessage());
+        }
+    }
+    
+    private JsonNode parseConfig(String configJson) {
+        try {
+            return objectMapper.readTree(configJson);
+        } catch (JsonProcessingException e) {
+            // Unparseable configs are compared as plain text
+            return TextNode.valueOf(configJson);
+        }
     }
     
     private boolean canCreateStrategy(UserRole role) {
@@ -177,25 +377,82 @@ public class StrategyService {
         return response;
     }
     
-    private SignalType simulateSignalEvaluation(String configJson, Map<String, Object> marketData) {
-        // Simulate strategy evaluation logic
-        // In a real implementation, this would parse the JSON config and evaluate rules
-        Random random = new Random();
-        SignalType[] signals = {SignalType.BUY, SignalType.SELL, SignalType.HOLD, SignalType.NO_SIGNAL};
-        return signals[random.nextInt(signals.length)];
+    private SignalEvaluationResponse evaluateTarget(EvaluationTarget target, String symbol, BarSeries history,
+                                                    MarketDataResponse quote) {
+        SignalEvaluationResponse response;
+        try {
+            response = evaluate(target.strategy, history, quote != null ? quote.getPrice() : null,
+                                quote != null ? quote.getVolume() : null);
+        } catch (Exception e) {
+            // One bad symbol must not fail the whole batch
+            response = new SignalEvaluationResponse();
+            response.setSignal(SignalType.NO_SIGNAL);
+            response.setMessage("Error evaluating strategy: " + e.getMessage());
+            response.setEvaluatedAt(LocalDateTime.now());
+        }
+        response.setSymbol(symbol);
+        response.setStrategyId(target.strategyId);
+        response.setStrategyName(target.strategyName);
+        return response;
+    }
+    
+    /**
+     * Replays {@code history} to warm up every indicator, then applies the live quote as the forming bar.
+     */
+    private SignalEvaluationResponse evaluate(CompiledStrategy strategy, BarSeries history, BigDecimal price, BigDecimal volume) {
+        StrategyEvaluator evaluator = strategy.newEvaluator();
+        for (int i = 0; i < history.size(); i++) {
+            evaluator.update(history, i);
+        }
+        if (price != null) {
+            double last = price.doubleValue();
+            evaluator.update(last, last, last, last, volume != null ? volume.doubleValue() : 0.0);
+        }
+        
+        SignalEvaluationResponse response = toSignalResponse(strategy, evaluator);
+        response.setCurrentPrice(price);
+        return response;
+    }
+    
+    private int historyBars(CompiledStrategy strategy) {
+        return Math.max(minHistoryBars, strategy.getWarmupBars() * 3);
     }
     
-    private Map<String, Object> getIndicatorValues(Map<String, Object> marketData) {
-        Map<String, Object> indicators = new HashMap<>();
-        indicators.put("RSI", 45.2);
-        indicators.put("SMA_50", 150.5);
-        indicators.put("EMA_20", 152.1);
-        indicators.put("MACD", 0.8);
-        return indicators;
+    private SignalEvaluationResponse toSignalResponse(CompiledStrategy strategy, StrategyEvaluator evaluator) {
+        SignalEvaluationResponse response = new SignalEvaluationResponse();
+        response.setEvaluatedAt(LocalDateTime.now());
+        response.setIndicatorValues(new LinkedHashMap<>(evaluator.indicatorValues()));
+        
+        if (!strategy.hasRules()) {
+            response.setSignal(SignalType.NO_SIGNAL);
+            response.setMatchedRules(Collections.emptyList());
+            response.setMessage("Strategy defines no entry or exit rules");
+            return response;
+        }
+        if (!evaluator.isReady()) {
+            response.setSignal(SignalType.NO_SIGNAL);
+            response.setMatchedRules(Collections.emptyList());
+            response.setMessage("Not enough history to evaluate strategy");
+            return response;
+        }
+        
+        response.setSignal(evaluator.currentSignal());
+        response.setMatchedRules(evaluator.matchedRules());
+        response.setConfidenceScore(BigDecimal.valueOf(evaluator.confidence()).setScale(4, RoundingMode.HALF_UP));
+        response.setMessage("Strategy evaluated successfully");
+        
+        return response;
     }
     
-    private List<String> getMatchedRules(String configJson) {
-        // Simulate matched rules based on config
-        return Arrays.asList("RSI < 50", "Price > SMA_50");
+    private static class EvaluationTarget {
+        private final UUID strategyId;
+        private final String strategyName;
+        private final CompiledStrategy strategy;
+        
+        EvaluationTarget(UUID strategyId, String strategyName, CompiledStrategy strategy) {
+            this.strategyId = strategyId;
+            this.strategyName = strategyName;
+            this.strategy = strategy;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.quantcrux.service;
+
+import com.quantcrux.model.StrategySignal;
+
+import java.util.List;
+
+/**
+ * Published by the live signal engine after a batch of signal changes has been persisted,
+ * so the signals can be pushed to stream subscribers.
+ */
+public class StrategySignalsRecordedEvent {
+    
+    private final List<StrategySignal> signals;
+    
+    public StrategySignalsRecordedEvent(List<StrategySignal> signals) {
+        this.signals = signals;
+    }
+    
+    public List<StrategySignal> getSignals() { return signals; }
+}
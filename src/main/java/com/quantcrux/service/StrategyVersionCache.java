@@ -0,0 +1,63 @@
+package com.quantcrux.service;
+
+import com.quantcrux.dto.CacheStats;
+import com.quantcrux.dto.StrategyVersionResponse;
+import com.quantcrux.model.Strategy;
+import com.quantcrux.model.StrategyVersion;
+import com.quantcrux.repository.StrategyVersionRepository;
+import com.quantcrux.util.LruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of full version snapshots. Saved versions never change, so an entry
+ * stays valid until the strategy itself is deleted; callers check ownership first.
+ */
+@Component
+public class StrategyVersionCache {
+    
+    @Autowired
+    private StrategyVersionRepository versionRepository;
+    
+    private final LruCache<String, StrategyVersionResponse> snapshots;
+    
+    public StrategyVersionCache(@Value("${strategy.versions.snapshot-cache-size:500}") int maxSnapshots) {
+        this.snapshots = new LruCache<>("strategy-version-snapshots", maxSnapshots);
+    }
+    
+    public StrategyVersionResponse getSnapshot(Strategy strategy, Integer versionNumber) {
+        return snapshots.getOrCompute(key(strategy, versionNumber), key -> {
+            StrategyVersion version = versionRepository.findWithAuthor(strategy, versionNumber)
+                    .orElseThrow(() -> new RuntimeException("Strategy version not found"));
+            return toResponse(version, strategy);
+        });
+    }
+    
+    public void evictStrategy(Strategy strategy) {
+        String prefix = strategy.getId() + ":";
+        snapshots.invalidateIf(key -> key.startsWith(prefix));
+    }
+    
+    public CacheStats getStats() {
+        return snapshots.stats();
+    }
+    
+    private StrategyVersionResponse toResponse(StrategyVersion version, Strategy strategy) {
+        StrategyVersionResponse response = new StrategyVersionResponse();
+        response.setId(version.getId());
+        response.setStrategyId(strategy.getId());
+        response.setVersionNumber(version.getVersionNumber());
+        response.setConfigJson(version.getConfigJson());
+        response.setConfigHash(version.getConfigHash() != null ? version.getConfigHash()
+                                                               : CompiledStrategyCache.hash(version.getConfigJson()));
+        response.setChangeDescription(version.getChangeDescription());
+        response.setAuthorName(version.getAuthor().getFirstName() + " " + version.getAuthor().getLastName());
+        response.setCreatedAt(version.getCreatedAt());
+        return response;
+    }
+    
+    private static String key(Strategy strategy, Integer versionNumber) {
+        return strategy.getId() + ":" + versionNumber;
+    }
+}
@@ -0,0 +1,21 @@
+package com.quantcrux.service;
+
+import java.util.UUID;
+
+/**
+ * Published when a config change creates a new strategy version, so backtests pinned to
+ * the strategy can be re-run against it once the surrounding transaction commits.
+ */
+public class StrategyVersionCreatedEvent {
+    
+    private final UUID strategyId;
+    private final UUID versionId;
+    
+    public StrategyVersionCreatedEvent(UUID strategyId, UUID versionId) {
+        this.strategyId = strategyId;
+        this.versionId = versionId;
+    }
+    
+    public UUID getStrategyId() { return strategyId; }
+    public UUID getVersionId() { return versionId; }
+}
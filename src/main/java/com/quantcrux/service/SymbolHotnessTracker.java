@@ -0,0 +1,83 @@
+package com.quantcrux.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Exponentially decayed request counts per symbol. Reads only bump a counter for the
+ * current window; each decay folds the window into the score ({@code score * decay + count})
+ * and forgets symbols whose score has faded, so the table follows the symbols that are
+ * hot now rather than those that ever were.
+ */
+@Component
+public class SymbolHotnessTracker {
+    
+    // Scores below this are dropped at the next decay
+    private static final double MIN_SCORE = 0.1;
+    
+    private final double decayFactor;
+    private final int maxTrackedSymbols;
+    
+    private final ConcurrentHashMap<String, LongAdder> window = new ConcurrentHashMap<>();
+    private volatile Map<String, Double> scores = Map.of();
+    
+    public SymbolHotnessTracker(@Value("${market-data.warmer.decay-factor:0.5}") double decayFactor,
+                                @Value("${market-data.warmer.max-tracked-symbols:10000}") int maxTrackedSymbols) {
+        if (decayFactor < 0 || decayFactor >= 1) {
+            throw new IllegalArgumentException("Hotness decay factor must be in [0, 1)");
+        }
+        this.decayFactor = decayFactor;
+        this.maxTrackedSymbols = maxTrackedSymbols;
+    }
+    
+    public void record(String symbol) {
+        LongAdder counter = window.get(symbol);
+        if (counter == null) {
+            // Bounded so a scan over arbitrary symbols cannot grow the table without limit
+            if (window.size() >= maxTrackedSymbols) {
+                return;
+            }
+            counter = window.computeIfAbsent(symbol, s -> new LongAdder());
+        }
+        counter.increment();
+    }
+    
+    @Scheduled(fixedDelayString = "${market-data.warmer.decay-interval-ms:60000}")
+    public synchronized void decay() {
+        Map<String, Double> next = new HashMap<>();
+        scores.forEach((symbol, score) -> next.put(symbol, score * decayFactor));
+        window.forEach((symbol, counter) -> next.merge(symbol, (double) counter.sumThenReset(), Double::sum));
+        
+        next.values().removeIf(score -> score < MIN_SCORE);
+        window.keySet().removeIf(symbol -> !next.containsKey(symbol));
+        scores = next;
+    }
+    
+    /**
+     * The {@code limit} hottest symbols, hottest first; requests since the last decay count in full.
+     */
+    public List<String> topSymbols(int limit) {
+        Map<String, Double> current = new HashMap<>(scores);
+        window.forEach((symbol, counter) -> current.merge(symbol, (double) counter.sum(), Double::sum));
+        
+        return current.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+    
+    public int getTrackedSymbols() {
+        Map<String, Double> current = scores;
+        return (int) window.keySet().stream().filter(symbol -> !current.containsKey(symbol)).count() + current.size();
+    }
+}
@@ -0,0 +1,89 @@
+package com.quantcrux.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+
+/**
+ * Structural difference between two JSON documents as a list of operations in the style
+ * of RFC 6902: {@code {"op": "add" | "remove" | "replace", "path": "/entry/rules/0/value",
+ * "value": ..., "oldValue": ...}}. Objects are compared key by key and arrays position by
+ * position, so only the leaves that changed are reported.
+ */
+public final class JsonDiff {
+    
+    private static final JsonNodeFactory nodes = JsonNodeFactory.instance;
+    
+    private JsonDiff() {}
+    
+    public static ArrayNode diff(JsonNode before, JsonNode after) {
+        ArrayNode operations = nodes.arrayNode();
+        diff("", before, after, operations);
+        return operations;
+    }
+    
+    private static void diff(String path, JsonNode before, JsonNode after, ArrayNode operations) {
+        if (before.equals(after)) {
+            return;
+        }
+        
+        if (before.isObject() && after.isObject()) {
+            Iterator<String> removed = before.fieldNames();
+            while (removed.hasNext()) {
+                String field = removed.next();
+                if (!after.has(field)) {
+                    operations.add(operation("remove", path + "/" + escape(field), null, before.get(field)));
+                }
+            }
+            Iterator<String> fields = after.fieldNames();
+            while (fields.hasNext()) {
+                String field = fields.next();
+                String child = path + "/" + escape(field);
+                if (before.has(field)) {
+                    diff(child, before.get(field), after.get(field), operations);
+                } else {
+                    operations.add(operation("add", child, after.get(field), null));
+                }
+            }
+            return;
+        }
+        
+        if (before.isArray() && after.isArray()) {
+            int common = Math.min(before.size(), after.size());
+            for (int i = 0; i < common; i++) {
+                diff(path + "/" + i, before.get(i), after.get(i), operations);
+            }
+            for (int i = common; i < after.size(); i++) {
+                operations.add(operation("add", path + "/" + i, after.get(i), null));
+            }
+            // Highest index first so the operations can be applied in order
+            for (int i = before.size() - 1; i >= common; i--) {
+                operations.add(operation("remove", path + "/" + i, null, before.get(i)));
+            }
+            return;
+        }
+        
+        operations.add(operation("replace", path, after, before));
+    }
+    
+    private static ObjectNode operation(String op, String path, JsonNode value, JsonNode oldValue) {
+        ObjectNode operation = nodes.objectNode();
+        operation.put("op", op);
+        operation.put("path", path);
+        if (value != null) {
+            operation.set("value", value);
+        }
+        if (oldValue != null) {
+            operation.set("oldValue", oldValue);
+        }
+        return operation;
+    }
+    
+    // JSON Pointer escaping (RFC 6901)
+    private static String escape(String field) {
+        return field.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,216 @@
+package com.quantcrux.util;
+
+import com.quantcrux.dto.CacheStats;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Size-bounded map that evicts the least recently used entries. The bound is an entry count,
+ * or a total weight when the cache is built with a weigher. Reads and writes take one
+ * short lock; {@link #getOrCompute} runs the loader outside it, so a slow load never
+ * blocks other keys (two threads missing the same key may both load it, and the first
+ * stored value wins).
+ */
+public class LruCache<K, V> {
+    
+    private final String name;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final boolean weighted;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    // Guarded by entries
+    private long weight;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    
+    public LruCache(String name, int maxSize) {
+        this(name, maxSize, value -> 1, false);
+    }
+    
+    /**
+     * Bounds the summed {@code weigher} values instead of the entry count; an entry heavier
+     * than {@code maxWeight} on its own is returned by {@link #getOrCompute} but not kept.
+     */
+    public LruCache(String name, long maxWeight, ToLongFunction<? super V> weigher) {
+        this(name, maxWeight, weigher, true);
+    }
+    
+    private LruCache(String name, long maxWeight, ToLongFunction<? super V> weigher, boolean weighted) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.name = name;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.weighted = weighted;
+    }
+    
+    public V get(K key) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        (value != null ? hits : misses).incrementAndGet();
+        return value;
+    }
+    
+    /**
+     * {@link #get(Object)} for entries that can go stale: a value failing {@code valid} is
+     * removed and reported as a miss.
+     */
+    public V get(K key, Predicate<? super V> valid) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+            if (value != null && !valid.test(value)) {
+                removeLocked(key);
+                expirations.incrementAndGet();
+                value = null;
+            }
+        }
+        (value != null ? hits : misses).incrementAndGet();
+        return value;
+    }
+    
+    public V getOrCompute(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (entries) {
+            V existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            putLocked(key, loaded);
+            return loaded;
+        }
+    }
+    
+    public void put(K key, V value) {
+        synchronized (entries) {
+            putLocked(key, value);
+        }
+    }
+    
+    public void invalidate(K key) {
+        synchronized (entries) {
+            removeLocked(key);
+        }
+    }
+    
+    public void invalidateIf(Predicate<? super K> predicate) {
+        synchronized (entries) {
+            Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, V> entry = it.next();
+                if (predicate.test(entry.getKey())) {
+                    weight -= weigher.applyAsLong(entry.getValue());
+                    it.remove();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Drops every entry whose value matches {@code expired}; returns how many were removed.
+     */
+    public int expireIf(Predicate<? super V> expired) {
+        int removed = 0;
+        synchronized (entries) {
+            Iterator<V> values = entries.values().iterator();
+            while (values.hasNext()) {
+                V value = values.next();
+                if (expired.test(value)) {
+                    weight -= weigher.applyAsLong(value);
+                    values.remove();
+                    removed++;
+                }
+            }
+        }
+        expirations.addAndGet(removed);
+        return removed;
+    }
+    
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    public CacheStats stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        
+        CacheStats stats = new CacheStats();
+        stats.setName(name);
+        synchronized (entries) {
+            stats.setSize(entries.size());
+            stats.setWeight(weight);
+        }
+        if (weighted) {
+            stats.setMaxWeight(maxWeight);
+        } else {
+            stats.setMaxSize((int) maxWeight);
+        }
+        stats.setHits(hitCount);
+        stats.setMisses(missCount);
+        stats.setEvictions(evictions.get());
+        stats.setExpirations(expirations.get());
+        stats.setHitRate(lookups > 0 ? (double) hitCount / lookups : 0.0);
+        return stats;
+    }
+    
+    private void putLocked(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            // Keeping it would flush every other entry for one that barely fits
+            removeLocked(key);
+            return;
+        }
+        
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+        weight += valueWeight;
+        
+        // Access order puts the least recently used entries first
+        Iterator<V> eldest = entries.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= weigher.applyAsLong(eldest.next());
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+    
+    private void removeLocked(K key) {
+        V removed = entries.remove(key);
+        if (removed != null) {
+            weight -= weigher.applyAsLong(removed);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.quantcrux.engine.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class CurveCodecTest {
+    
+    @Test
+    void roundTripsTimesExactlyAndEquityToFloatPrecision() {
+        EquityCurve curve = LttbTest.randomCurve(2000, 17);
+        
+        EquityCurve decoded = CurveCodec.decode(CurveCodec.encode(curve));
+        
+        assertThat(decoded.size()).isEqualTo(curve.size());
+        assertThat(decoded.times()).containsExactly(curve.times());
+        for (int k = 0; k < curve.size(); k++) {
+            double expected = curve.equity()[k];
+            assertThat(decoded.equity()[k]).isCloseTo(expected, within(Math.abs(expected) * 1e-7));
+        }
+    }
+    
+    @Test
+    void roundTripsIrregularAndDecreasingTimestamps() {
+        long[] times = {-86_400L, 0L, 1L, 1_700_000_000L, 1_699_999_000L, Long.MAX_VALUE / 4};
+        double[] equity = {0.0, -250.5, 1.0, 1e9, 42.25, 100000.0};
+        EquityCurve curve = new EquityCurve(times, equity);
+        
+        EquityCurve decoded = CurveCodec.decode(CurveCodec.encode(curve));
+        
+        assertThat(decoded.times()).containsExactly(times);
+        assertThat(decoded.equity()).containsExactly(equity);
+    }
+    
+    @Test
+    void roundTripsAnEmptyCurve() {
+        EquityCurve decoded = CurveCodec.decode(CurveCodec.encode(new EquityCurve(new long[0], new double[0])));
+        
+        assertThat(decoded.size()).isZero();
+    }
+    
+    @Test
+    void regularBarsEncodeCompactly() {
+        EquityCurve curve = LttbTest.randomCurve(10_000, 23);
+        
+        // Hourly deltas take two varint bytes plus four for the float
+        assertThat(CurveCodec.encode(curve).length).isLessThan(curve.size() * 7);
+    }
+    
+    @Test
+    void rejectsUnknownVersions() {
+        byte[] data = CurveCodec.encode(LttbTest.randomCurve(10, 1));
+        data[0] = 99;
+        
+        assertThatThrownBy(() -> CurveCodec.decode(data)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
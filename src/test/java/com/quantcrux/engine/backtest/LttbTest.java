@@ -0,0 +1,83 @@
+package com.quantcrux.engine.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LttbTest {
+    
+    @Test
+    void keepsEndpointsAndReturnsAscendingIndices() {
+        EquityCurve curve = randomCurve(5000, 3);
+        int[] kept = Lttb.downsample(curve.times(), curve.equity(), 200);
+        
+        assertThat(kept).hasSize(200);
+        assertThat(kept[0]).isEqualTo(0);
+        assertThat(kept[kept.length - 1]).isEqualTo(curve.size() - 1);
+        for (int k = 1; k < kept.length; k++) {
+            assertThat(kept[k]).isGreaterThan(kept[k - 1]);
+        }
+    }
+    
+    @Test
+    void keepsAnIsolatedSpike() {
+        int n = 1000;
+        long[] times = new long[n];
+        double[] equity = new double[n];
+        for (int i = 0; i < n; i++) {
+            times[i] = 1_600_000_000L + i * 60L;
+            equity[i] = 100000.0;
+        }
+        equity[517] = 150000.0;
+        equity[803] = 60000.0;
+        
+        int[] kept = Lttb.downsample(times, equity, 50);
+        
+        assertThat(kept).contains(517, 803);
+    }
+    
+    @Test
+    void returnsEveryPointBelowTheThreshold() {
+        EquityCurve curve = randomCurve(40, 5);
+        
+        assertThat(Lttb.downsample(curve.times(), curve.equity(), 100)).hasSize(40);
+        assertThat(Lttb.downsample(curve, 100)).isSameAs(curve);
+    }
+    
+    @Test
+    void downsampledCurveCarriesTheSelectedPoints() {
+        EquityCurve curve = randomCurve(3000, 9);
+        int[] kept = Lttb.downsample(curve.times(), curve.equity(), 300);
+        EquityCurve reduced = Lttb.downsample(curve, 300);
+        
+        assertThat(reduced.size()).isEqualTo(300);
+        for (int k = 0; k < kept.length; k++) {
+            assertThat(reduced.times()[k]).isEqualTo(curve.times()[kept[k]]);
+            assertThat(reduced.equity()[k]).isEqualTo(curve.equity()[kept[k]]);
+        }
+    }
+    
+    @Test
+    void rejectsThresholdsBelowThree() {
+        EquityCurve curve = randomCurve(10, 1);
+        
+        assertThatThrownBy(() -> Lttb.downsample(curve.times(), curve.equity(), 2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    static EquityCurve randomCurve(int n, long seed) {
+        Random random = new Random(seed);
+        long[] times = new long[n];
+        double[] equity = new double[n];
+        double value = 100000.0;
+        for (int i = 0; i < n; i++) {
+            value *= 1.0 + random.nextGaussian() * 0.01;
+            times[i] = 1_600_000_000L + i * 3600L;
+            equity[i] = value;
+        }
+        return new EquityCurve(times, equity);
+    }
+}
@@ -0,0 +1,195 @@
+package com.quantcrux.engine.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks the single-pass statistics against a naive two-pass calculation over the same
+ * equity series: sample standard deviation, downside deviation over all returns, and
+ * annualisation by observed bar density.
+ */
+class MetricsAccumulatorTest {
+    
+    private static final double SECONDS_PER_YEAR = 365.25 * 24 * 3600;
+    private static final long START = 1_700_000_000L;
+    private static final long DAY = 86_400L;
+    private static final double TOLERANCE = 1e-9;
+    
+    @Test
+    void matchesTwoPassCalculationOnHandBuiltSeries() {
+        double[] equity = {100000, 110000, 99000, 103950, 93555, 121621.5, 115540.425, 127094.4675};
+        long[] times = spaced(equity.length, DAY);
+        
+        assertMatchesNaive(100000, times, equity);
+    }
+    
+    @Test
+    void matchesTwoPassCalculationOnRandomWalk() {
+        Random random = new Random(3);
+        double[] equity = new double[2000];
+        double value = 50000;
+        for (int i = 0; i < equity.length; i++) {
+            value *= 1.0 + random.nextGaussian() * 0.015 + 0.0003;
+            equity[i] = value;
+        }
+        
+        assertMatchesNaive(50000, spaced(equity.length, 3600L), equity);
+    }
+    
+    @Test
+    void flatSeriesHasNoRatiosAndNoDrawdown() {
+        double[] equity = {100000, 100000, 100000, 100000, 100000};
+        
+        PerformanceMetrics metrics = run(100000, spaced(equity.length, DAY), equity);
+        
+        assertThat(metrics.getSharpeRatio()).isNaN();
+        assertThat(metrics.getSortinoRatio()).isNaN();
+        assertThat(metrics.getVolatility()).isZero();
+        assertThat(metrics.getCagr()).isCloseTo(0.0, within(TOLERANCE));
+        assertThat(metrics.getMaxDrawdown()).isZero();
+        assertThat(metrics.getMaxDrawdownDurationSeconds()).isZero();
+    }
+    
+    @Test
+    void seriesWithoutLossesHasNoSortino() {
+        double[] equity = {100000, 101000, 103000, 103500, 107000};
+        long[] times = spaced(equity.length, DAY);
+        
+        PerformanceMetrics metrics = run(100000, times, equity);
+        Naive naive = new Naive(100000, times, equity);
+        
+        assertThat(metrics.getSortinoRatio()).isNaN();
+        assertThat(metrics.getSharpeRatio()).isCloseTo(naive.sharpe, within(TOLERANCE));
+        assertThat(metrics.getSharpeRatio()).isPositive();
+        assertThat(metrics.getMaxDrawdown()).isZero();
+        assertThat(metrics.getMaxDrawdownDurationSeconds()).isZero();
+    }
+    
+    @Test
+    void singleBarLeavesRatiosUndefined() {
+        PerformanceMetrics metrics = run(100000, new long[] {START}, new double[] {95000});
+        
+        assertThat(metrics.getSharpeRatio()).isNaN();
+        assertThat(metrics.getSortinoRatio()).isNaN();
+        assertThat(metrics.getCagr()).isNaN();
+        // Drawdown is measured from the initial equity, not only from the first bar
+        assertThat(metrics.getMaxDrawdown()).isCloseTo(0.05, within(TOLERANCE));
+    }
+    
+    @Test
+    void annualisesByObservedBarDensity() {
+        double[] equity = {100000, 101000, 99500, 102000, 101500, 103000};
+        
+        PerformanceMetrics daily = run(100000, spaced(equity.length, DAY), equity);
+        PerformanceMetrics hourly = run(100000, spaced(equity.length, 3600L), equity);
+        
+        assertThat(hourly.getSharpeRatio()).isCloseTo(daily.getSharpeRatio() * Math.sqrt(24), within(1e-9));
+        assertThat(hourly.getSortinoRatio()).isCloseTo(daily.getSortinoRatio() * Math.sqrt(24), within(1e-9));
+        assertThat(hourly.getVolatility()).isCloseTo(daily.getVolatility() * Math.sqrt(24), within(1e-9));
+    }
+    
+    @Test
+    void countsClosedTrades() {
+        MetricsAccumulator accumulator = new MetricsAccumulator(100000);
+        accumulator.onTradeClosed(500, 3600);
+        accumulator.onTradeClosed(-200, 7200);
+        accumulator.onTradeClosed(0, 1800);
+        accumulator.onTradeClosed(300, -60);
+        
+        PerformanceMetrics metrics = accumulator.snapshot();
+        
+        assertThat(metrics.getClosedTrades()).isEqualTo(4);
+        assertThat(metrics.getWinningTrades()).isEqualTo(2);
+        assertThat(metrics.getLosingTrades()).isEqualTo(1);
+        assertThat(metrics.getProfitFactor()).isCloseTo(4.0, within(TOLERANCE));
+        // Negative durations count as zero
+        assertThat(metrics.getAvgTradeDurationSeconds()).isEqualTo((3600 + 7200 + 1800) / 4);
+    }
+    
+    private static void assertMatchesNaive(double initial, long[] times, double[] equity) {
+        PerformanceMetrics metrics = run(initial, times, equity);
+        Naive naive = new Naive(initial, times, equity);
+        
+        assertThat(metrics.getSharpeRatio()).isCloseTo(naive.sharpe, within(TOLERANCE));
+        assertThat(metrics.getSortinoRatio()).isCloseTo(naive.sortino, within(TOLERANCE));
+        assertThat(metrics.getVolatility()).isCloseTo(naive.volatility, within(TOLERANCE));
+        assertThat(metrics.getCagr()).isCloseTo(naive.cagr, within(TOLERANCE));
+        assertThat(metrics.getMaxDrawdown()).isCloseTo(naive.maxDrawdown, within(TOLERANCE));
+        assertThat(metrics.getMaxDrawdownDurationSeconds()).isEqualTo(naive.maxDrawdownDuration);
+    }
+    
+    private static PerformanceMetrics run(double initial, long[] times, double[] equity) {
+        MetricsAccumulator accumulator = new MetricsAccumulator(initial);
+        for (int i = 0; i < equity.length; i++) {
+            accumulator.onBar(times[i], equity[i]);
+        }
+        return accumulator.snapshot();
+    }
+    
+    private static long[] spaced(int n, long step) {
+        long[] times = new long[n];
+        for (int i = 0; i < n; i++) {
+            times[i] = START + i * step;
+        }
+        return times;
+    }
+    
+    /**
+     * Textbook two-pass statistics: returns first, then their mean, then deviations.
+     */
+    private static final class Naive {
+        final double sharpe;
+        final double sortino;
+        final double volatility;
+        final double cagr;
+        double maxDrawdown;
+        long maxDrawdownDuration;
+        
+        Naive(double initial, long[] times, double[] equity) {
+            int n = equity.length - 1;
+            double[] returns = new double[n];
+            for (int i = 0; i < n; i++) {
+                returns[i] = equity[i + 1] / equity[i] - 1.0;
+            }
+            
+            double mean = 0.0;
+            for (double r : returns) {
+                mean += r;
+            }
+            mean /= n;
+            
+            double squares = 0.0;
+            double downside = 0.0;
+            for (double r : returns) {
+                squares += (r - mean) * (r - mean);
+                downside += Math.min(r, 0.0) * Math.min(r, 0.0);
+            }
+            double stdDev = Math.sqrt(squares / (n - 1));
+            double downsideDev = Math.sqrt(downside / n);
+            
+            double years = (times[times.length - 1] - times[0]) / SECONDS_PER_YEAR;
+            double annualiser = Math.sqrt(n / years);
+            sharpe = mean / stdDev * annualiser;
+            sortino = downsideDev > 0.0 ? mean / downsideDev * annualiser : Double.NaN;
+            volatility = stdDev * annualiser;
+            cagr = Math.pow(equity[equity.length - 1] / initial, 1.0 / years) - 1.0;
+            
+            for (int i = 0; i < equity.length; i++) {
+                double peak = initial;
+                long peakTime = times[0];
+                for (int j = 0; j <= i; j++) {
+                    if (equity[j] >= peak) {
+                        peak = equity[j];
+                        peakTime = times[j];
+                    }
+                }
+                maxDrawdown = Math.max(maxDrawdown, (peak - equity[i]) / peak);
+                maxDrawdownDuration = Math.max(maxDrawdownDuration, times[i] - peakTime);
+            }
+        }
+    }
+}
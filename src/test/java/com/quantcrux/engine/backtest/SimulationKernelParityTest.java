@@ -0,0 +1,171 @@
+package com.quantcrux.engine.backtest;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks the primitive kernel against the BigDecimal loop it replaced: buy 10% of capital
+ * every 20 bars when flat, sell every 15 bars when long, on seeded random walks.
+ */
+class SimulationKernelParityTest {
+    
+    private static final double INITIAL_CAPITAL = 100000.0;
+    private static final double COMMISSION_RATE = 0.001;
+    private static final int ENTRY_INTERVAL = 20;
+    private static final int EXIT_INTERVAL = 15;
+    
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 7L, 42L, 2024L})
+    void matchesBigDecimalBaseline(long seed) {
+        BigDecimal[] closes = randomWalk(seed, 1500);
+        BarSeries bars = toBars(closes);
+        
+        SimulationResult kernel = SimulationKernel.run(bars, new SimulationSettings(INITIAL_CAPITAL, COMMISSION_RATE),
+            new IntervalSignalSource(ENTRY_INTERVAL, EXIT_INTERVAL), null);
+        Baseline baseline = Baseline.run(closes);
+        
+        TradeLog log = kernel.getTrades();
+        assertThat(log.size()).isEqualTo(baseline.trades.size());
+        for (int t = 0; t < log.size(); t++) {
+            BaselineTrade expected = baseline.trades.get(t);
+            assertThat(log.entryBar(t)).isEqualTo(expected.entryBar);
+            assertThat(log.entryPrice(t)).isEqualTo(expected.entryPrice.doubleValue());
+            assertThat(log.quantity(t)).isCloseTo(expected.quantity.doubleValue(), within(1e-6));
+            assertThat(log.isClosed(t)).isEqualTo(expected.exitBar >= 0);
+            if (expected.exitBar >= 0) {
+                assertThat(log.exitBar(t)).isEqualTo(expected.exitBar);
+                assertThat(log.netPnl(t)).isCloseTo(expected.netPnl.doubleValue(), within(1e-3));
+                assertThat(log.returnPct(t)).isCloseTo(expected.returnPct.doubleValue(), within(1e-4));
+            }
+        }
+        
+        PerformanceMetrics metrics = kernel.getMetrics();
+        assertThat(kernel.getFinalCapital()).isCloseTo(baseline.capital.doubleValue(), within(1e-2));
+        assertThat(kernel.getTotalReturn()).isCloseTo(baseline.totalReturn().doubleValue(), within(1e-6));
+        assertThat(metrics.getClosedTrades()).isEqualTo(baseline.closedTrades());
+        assertThat(metrics.getWinningTrades()).isEqualTo(baseline.winningTrades());
+        assertThat(metrics.getLosingTrades()).isEqualTo(baseline.losingTrades());
+        assertThat(metrics.getWinRate()).isCloseTo(baseline.winRate(), within(1e-9));
+        assertThat(metrics.getMaxDrawdown()).isCloseTo(baseline.maxDrawdown.doubleValue(), within(1e-5));
+    }
+    
+    private static BigDecimal[] randomWalk(long seed, int n) {
+        Random random = new Random(seed);
+        BigDecimal[] closes = new BigDecimal[n];
+        double price = 100.0;
+        for (int i = 0; i < n; i++) {
+            price = Math.max(1.0, price * (1.0 + random.nextGaussian() * 0.02));
+            closes[i] = BigDecimal.valueOf(price).setScale(4, RoundingMode.HALF_UP);
+        }
+        return closes;
+    }
+    
+    private static BarSeries toBars(BigDecimal[] closes) {
+        BarSeries.Builder builder = BarSeries.builder("TEST", "1d", closes.length);
+        for (int i = 0; i < closes.length; i++) {
+            double close = closes[i].doubleValue();
+            builder.add(1_600_000_000L + i * 86_400L, close, close, close, close, 1000.0);
+        }
+        return builder.build();
+    }
+    
+    private static final class BaselineTrade {
+        int entryBar;
+        int exitBar = -1;
+        BigDecimal entryPrice;
+        BigDecimal quantity;
+        BigDecimal netPnl;
+        BigDecimal returnPct;
+    }
+    
+    /**
+     * The original per-bar BigDecimal simulation, minus persistence and progress writes.
+     */
+    private static final class Baseline {
+        final List<BaselineTrade> trades = new ArrayList<>();
+        BigDecimal capital = BigDecimal.valueOf(INITIAL_CAPITAL);
+        BigDecimal maxDrawdown = BigDecimal.ZERO;
+        
+        static Baseline run(BigDecimal[] closes) {
+            Baseline baseline = new Baseline();
+            BigDecimal commissionRate = BigDecimal.valueOf(COMMISSION_RATE);
+            BigDecimal position = BigDecimal.ZERO;
+            BigDecimal positionPrice = BigDecimal.ZERO;
+            BigDecimal peakEquity = baseline.capital;
+            
+            for (int i = 0; i < closes.length; i++) {
+                BigDecimal currentPrice = closes[i];
+                boolean shouldBuy = (i % ENTRY_INTERVAL == 0) && position.signum() == 0;
+                boolean shouldSell = (i % EXIT_INTERVAL == 0) && position.signum() > 0;
+                
+                if (shouldBuy) {
+                    BigDecimal positionSize = baseline.capital.multiply(BigDecimal.valueOf(0.1));
+                    position = positionSize.divide(currentPrice, 6, RoundingMode.HALF_UP);
+                    positionPrice = currentPrice;
+                    
+                    BaselineTrade trade = new BaselineTrade();
+                    trade.entryBar = i;
+                    trade.entryPrice = currentPrice;
+                    trade.quantity = position;
+                    baseline.trades.add(trade);
+                } else if (shouldSell && !baseline.trades.isEmpty()) {
+                    BaselineTrade trade = baseline.trades.get(baseline.trades.size() - 1);
+                    if (trade.exitBar < 0) {
+                        BigDecimal grossPnl = position.multiply(currentPrice.subtract(positionPrice));
+                        BigDecimal commission = position.multiply(currentPrice).multiply(commissionRate);
+                        BigDecimal netPnl = grossPnl.subtract(commission);
+                        
+                        trade.exitBar = i;
+                        trade.netPnl = netPnl;
+                        trade.returnPct = netPnl.divide(baseline.capital, 6, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+                        
+                        baseline.capital = baseline.capital.add(netPnl);
+                        position = BigDecimal.ZERO;
+                    }
+                }
+                
+                BigDecimal currentEquity = baseline.capital;
+                if (position.signum() > 0) {
+                    currentEquity = currentEquity.add(position.multiply(currentPrice.subtract(positionPrice)));
+                }
+                if (currentEquity.compareTo(peakEquity) > 0) {
+                    peakEquity = currentEquity;
+                }
+                BigDecimal drawdown = peakEquity.subtract(currentEquity).divide(peakEquity, 6, RoundingMode.HALF_UP);
+                baseline.maxDrawdown = baseline.maxDrawdown.max(drawdown);
+            }
+            return baseline;
+        }
+        
+        BigDecimal totalReturn() {
+            BigDecimal initial = BigDecimal.valueOf(INITIAL_CAPITAL);
+            return capital.subtract(initial).divide(initial, 10, RoundingMode.HALF_UP);
+        }
+        
+        int closedTrades() {
+            return (int) trades.stream().filter(t -> t.exitBar >= 0).count();
+        }
+        
+        int winningTrades() {
+            return (int) trades.stream().filter(t -> t.exitBar >= 0 && t.netPnl.signum() > 0).count();
+        }
+        
+        int losingTrades() {
+            return (int) trades.stream().filter(t -> t.exitBar >= 0 && t.netPnl.signum() < 0).count();
+        }
+        
+        double winRate() {
+            int closed = closedTrades();
+            return closed > 0 ? (double) winningTrades() / closed : 0.0;
+        }
+    }
+}
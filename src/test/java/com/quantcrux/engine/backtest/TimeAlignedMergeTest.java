@@ -0,0 +1,111 @@
+package com.quantcrux.engine.backtest;
+
+import com.quantcrux.model.MarketData;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeAlignedMergeTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    
+    @Test
+    void groupsEqualTimestampsAndLeavesGapsNull() {
+        List<MarketData> btc = bars("BTCUSD", 0, 1, 2, 4);
+        List<MarketData> eth = bars("ETHUSD", 1, 3, 4);
+        
+        TimeAlignedMerge merge = new TimeAlignedMerge(List.of(btc.iterator(), eth.iterator()));
+        List<TimeSlice> slices = drain(merge);
+        
+        assertThat(slices).extracting(TimeSlice::getEpochSecond)
+            .containsExactly(epoch(0), epoch(1), epoch(2), epoch(3), epoch(4));
+        assertThat(slices.get(0).getBars()).containsExactly(btc.get(0), null);
+        assertThat(slices.get(1).getBars()).containsExactly(btc.get(1), eth.get(0));
+        assertThat(slices.get(2).getBars()).containsExactly(btc.get(2), null);
+        assertThat(slices.get(3).getBars()).containsExactly(null, eth.get(1));
+        assertThat(slices.get(4).getBars()).containsExactly(btc.get(3), eth.get(2));
+    }
+    
+    @Test
+    void matchesANaiveUnionOfTimestamps() {
+        Random random = new Random(5);
+        int symbols = 6;
+        List<List<MarketData>> series = new ArrayList<>();
+        List<Iterator<MarketData>> sources = new ArrayList<>();
+        for (int s = 0; s < symbols; s++) {
+            List<Integer> hours = new ArrayList<>();
+            for (int h = 0; h < 500; h++) {
+                if (random.nextInt(4) != 0) {
+                    hours.add(h);
+                }
+            }
+            List<MarketData> bars = bars("SYM" + s, hours.stream().mapToInt(Integer::intValue).toArray());
+            series.add(bars);
+            sources.add(bars.iterator());
+        }
+        
+        List<TimeSlice> slices = drain(new TimeAlignedMerge(sources));
+        
+        int expectedSlices = 0;
+        int[] next = new int[symbols];
+        for (int h = 0; h < 500; h++) {
+            MarketData[] expected = new MarketData[symbols];
+            boolean any = false;
+            for (int s = 0; s < symbols; s++) {
+                List<MarketData> bars = series.get(s);
+                if (next[s] < bars.size() && bars.get(next[s]).getTimestamp().equals(START.plusHours(h))) {
+                    expected[s] = bars.get(next[s]++);
+                    any = true;
+                }
+            }
+            if (any) {
+                TimeSlice slice = slices.get(expectedSlices++);
+                assertThat(slice.getEpochSecond()).isEqualTo(epoch(h));
+                assertThat(slice.getBars()).containsExactly(expected);
+            }
+        }
+        assertThat(slices).hasSize(expectedSlices);
+    }
+    
+    @Test
+    void handlesEmptySources() {
+        TimeAlignedMerge none = new TimeAlignedMerge(List.of());
+        assertThat(none.hasNext()).isFalse();
+        assertThatThrownBy(none::next).isInstanceOf(NoSuchElementException.class);
+        
+        List<MarketData> btc = bars("BTCUSD", 0, 1);
+        TimeAlignedMerge merge = new TimeAlignedMerge(List.of(List.<MarketData>of().iterator(), btc.iterator()));
+        
+        assertThat(drain(merge)).extracting(slice -> slice.getBars()[1]).containsExactlyElementsOf(btc);
+    }
+    
+    private static List<TimeSlice> drain(TimeAlignedMerge merge) {
+        List<TimeSlice> slices = new ArrayList<>();
+        while (merge.hasNext()) {
+            slices.add(merge.next());
+        }
+        return slices;
+    }
+    
+    private static List<MarketData> bars(String symbol, int... hours) {
+        List<MarketData> bars = new ArrayList<>();
+        for (int h : hours) {
+            BigDecimal price = BigDecimal.valueOf(100 + h);
+            bars.add(new MarketData(symbol, "1h", START.plusHours(h), price, price, price, price, BigDecimal.ONE));
+        }
+        return bars;
+    }
+    
+    private static long epoch(int hour) {
+        return BarSeries.toEpochSecond(START.plusHours(hour));
+    }
+}
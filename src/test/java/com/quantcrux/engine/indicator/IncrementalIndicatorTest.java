@@ -0,0 +1,219 @@
+package com.quantcrux.engine.indicator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Compares every incremental indicator, bar by bar, with a naive recomputation over the
+ * window (or, for the recursive ones, the whole prefix) ending at that bar.
+ */
+class IncrementalIndicatorTest {
+
+    private static final int BARS = 600;
+    private static final double TOLERANCE = 1e-7;
+
+    private double[] high;
+    private double[] low;
+    private double[] close;
+
+    @BeforeEach
+    void generateBars() {
+        Random random = new Random(11);
+        high = new double[BARS];
+        low = new double[BARS];
+        close = new double[BARS];
+        double price = 5000.0;
+        for (int i = 0; i < BARS; i++) {
+            price = Math.max(1.0, price + random.nextGaussian() * 25.0);
+            double spread = Math.abs(random.nextGaussian()) * 20.0;
+            close[i] = price;
+            high[i] = price + spread * random.nextDouble();
+            low[i] = price - spread * random.nextDouble();
+        }
+    }
+
+    @Test
+    void simpleMovingAverageMatchesWindowMean() {
+        for (int period : new int[] {1, 5, 50}) {
+            SimpleMovingAverage sma = new SimpleMovingAverage(period);
+            for (int t = 0; t < BARS; t++) {
+                sma.update(high[t], low[t], close[t]);
+                assertThat(sma.isReady()).isEqualTo(t + 1 >= period);
+                if (sma.isReady()) {
+                    assertThat(sma.value()).isCloseTo(mean(t - period + 1, t), within(TOLERANCE));
+                }
+            }
+        }
+    }
+
+    @Test
+    void exponentialMovingAverageMatchesPrefixRecomputation() {
+        int period = 20;
+        ExponentialMovingAverage ema = new ExponentialMovingAverage(period);
+        for (int t = 0; t < BARS; t++) {
+            ema.update(high[t], low[t], close[t]);
+            if (ema.isReady()) {
+                assertThat(ema.value()).isCloseTo(naiveEma(close, 0, t, period), within(TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void relativeStrengthIndexMatchesPrefixRecomputation() {
+        int period = 14;
+        RelativeStrengthIndex rsi = new RelativeStrengthIndex(period);
+        for (int t = 0; t < BARS; t++) {
+            rsi.update(high[t], low[t], close[t]);
+            assertThat(rsi.isReady()).isEqualTo(t >= period);
+            if (rsi.isReady()) {
+                assertThat(rsi.value()).isCloseTo(naiveRsi(t, period), within(TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void macdMatchesPrefixRecomputation() {
+        int fastPeriod = 12;
+        int slowPeriod = 26;
+        int signalPeriod = 9;
+        MovingAverageConvergenceDivergence macd = new MovingAverageConvergenceDivergence(fastPeriod, slowPeriod, signalPeriod);
+
+        double[] lines = new double[BARS];
+        for (int t = 0; t < BARS; t++) {
+            macd.update(high[t], low[t], close[t]);
+            if (t + 1 < slowPeriod) {
+                assertThat(macd.value()).isNaN();
+                continue;
+            }
+
+            lines[t] = naiveEma(close, 0, t, fastPeriod) - naiveEma(close, 0, t, slowPeriod);
+            assertThat(macd.value(MovingAverageConvergenceDivergence.MACD)).isCloseTo(lines[t], within(TOLERANCE));
+
+            // The signal EMA runs over MACD values from the bar the slow EMA is seeded
+            int firstLine = slowPeriod - 1;
+            assertThat(macd.isReady()).isEqualTo(t - firstLine + 1 >= signalPeriod);
+            if (macd.isReady()) {
+                double signal = naiveEma(lines, firstLine, t, signalPeriod);
+                assertThat(macd.value(MovingAverageConvergenceDivergence.SIGNAL)).isCloseTo(signal, within(TOLERANCE));
+                assertThat(macd.value(MovingAverageConvergenceDivergence.HISTOGRAM)).isCloseTo(lines[t] - signal, within(TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void bollingerBandsMatchWindowDeviation() {
+        int period = 20;
+        double multiplier = 2.0;
+        BollingerBands bands = new BollingerBands(period, multiplier);
+        for (int t = 0; t < BARS; t++) {
+            bands.update(high[t], low[t], close[t]);
+            if (!bands.isReady()) {
+                continue;
+            }
+
+            int from = t - period + 1;
+            double mean = mean(from, t);
+            double squares = 0.0;
+            for (int i = from; i <= t; i++) {
+                squares += (close[i] - mean) * (close[i] - mean);
+            }
+            double deviation = Math.sqrt(squares / period);
+
+            // Prices near 5000 leave sum-of-squares cancellation a little more room
+            assertThat(bands.value(BollingerBands.MIDDLE)).isCloseTo(mean, within(TOLERANCE));
+            assertThat(bands.value(BollingerBands.UPPER)).isCloseTo(mean + multiplier * deviation, within(1e-5));
+            assertThat(bands.value(BollingerBands.LOWER)).isCloseTo(mean - multiplier * deviation, within(1e-5));
+        }
+    }
+
+    @Test
+    void averageTrueRangeMatchesPrefixRecomputation() {
+        int period = 14;
+        AverageTrueRange atr = new AverageTrueRange(period);
+        for (int t = 0; t < BARS; t++) {
+            atr.update(high[t], low[t], close[t]);
+            if (atr.isReady()) {
+                assertThat(atr.value()).isCloseTo(naiveAtr(t, period), within(TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void sharedSpecsResolveToOneInstance() {
+        IndicatorSet set = new IndicatorSet();
+        int first = set.register(IndicatorSpec.parse("SMA_20"));
+        int second = set.register(IndicatorSpec.parse("SMA_20"));
+        int other = set.register(IndicatorSpec.parse("EMA_20"));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    private double mean(int from, int to) {
+        double sum = 0.0;
+        for (int i = from; i <= to; i++) {
+            sum += close[i];
+        }
+        return sum / (to - from + 1);
+    }
+
+    // SMA of the first period values from {@code from}, then the EMA recursion up to {@code to}
+    private static double naiveEma(double[] values, int from, int to, int period) {
+        double ema = 0.0;
+        for (int i = from; i < from + period; i++) {
+            ema += values[i];
+        }
+        ema /= period;
+        double alpha = 2.0 / (period + 1);
+        for (int i = from + period; i <= to; i++) {
+            ema = alpha * values[i] + (1.0 - alpha) * ema;
+        }
+        return ema;
+    }
+
+    private double naiveRsi(int to, int period) {
+        double avgGain = 0.0;
+        double avgLoss = 0.0;
+        for (int i = 1; i <= period; i++) {
+            double change = close[i] - close[i - 1];
+            avgGain += Math.max(change, 0.0);
+            avgLoss += Math.max(-change, 0.0);
+        }
+        avgGain /= period;
+        avgLoss /= period;
+        for (int i = period + 1; i <= to; i++) {
+            double change = close[i] - close[i - 1];
+            avgGain = (avgGain * (period - 1) + Math.max(change, 0.0)) / period;
+            avgLoss = (avgLoss * (period - 1) + Math.max(-change, 0.0)) / period;
+        }
+        if (avgLoss == 0.0) {
+            return avgGain == 0.0 ? 50.0 : 100.0;
+        }
+        return 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+    }
+
+    private double naiveAtr(int to, int period) {
+        double atr = 0.0;
+        for (int i = 0; i < period; i++) {
+            atr += trueRange(i);
+        }
+        atr /= period;
+        for (int i = period; i <= to; i++) {
+            atr = (atr * (period - 1) + trueRange(i)) / period;
+        }
+        return atr;
+    }
+
+    private double trueRange(int i) {
+        double range = high[i] - low[i];
+        if (i == 0) {
+            return range;
+        }
+        return Math.max(range, Math.max(Math.abs(high[i] - close[i - 1]), Math.abs(low[i] - close[i - 1])));
+    }
+}
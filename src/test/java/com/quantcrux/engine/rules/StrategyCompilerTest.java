@@ -0,0 +1,179 @@
+package com.quantcrux.engine.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Covers each operand form of the config grammar. Compiled trees are checked through
+ * their descriptions, which name every resolved operand.
+ */
+class StrategyCompilerTest {
+    
+    @Test
+    void parsesInlineRules() {
+        CompiledStrategy strategy = compile("{'entry': ['close > 100', 'volume >= 5.5'], 'exit': ['price crosses below 90']}");
+        
+        assertThat(strategy.entry()).hasToString("(close > 100 AND volume >= 5.5)");
+        assertThat(strategy.exit()).hasToString("(price crosses below 90)");
+        assertThat(strategy.getEntryRuleCount()).isEqualTo(2);
+        assertThat(strategy.getExitRuleCount()).isEqualTo(1);
+        assertThat(strategy.getIndicatorKeys()).isEmpty();
+    }
+    
+    @Test
+    void acceptsObjectRulesUnderEveryFieldAlias() {
+        CompiledStrategy strategy = compile("{'entryRules': ["
+            + "{'left': 'close', 'operator': 'gt', 'right': 1},"
+            + "{'indicator': 'open', 'op': 'lte', 'value': 2},"
+            + "{'operand': 'high', 'condition': 'crossover', 'compareTo': 3},"
+            + "{'source': 'low', 'comparison': 'crosses_below', 'target': {'value': 4}}],"
+            + "'exit_rules': [{'left': 'close', 'operator': 'equals', 'right': 5}]}");
+        
+        assertThat(strategy.entry()).hasToString("(close > 1 AND open <= 2 AND high crosses above 3 AND low crosses below 4)");
+        assertThat(strategy.exit()).hasToString("(close == 5)");
+    }
+    
+    @Test
+    void substitutesParametersInTokensAndDeclarations() {
+        CompiledStrategy strategy = compile("{"
+            + "'parameters': {'fast': 5, 'slow': {'default': 30}, 'level': {'value': 70.5}},"
+            + "'indicators': [{'id': 'trend', 'type': 'EMA', 'period': '${slow}'}],"
+            + "'entry': ['SMA_${fast} > trend', {'left': 'RSI_14', 'operator': '<', 'right': {'param': 'level'}}],"
+            + "'exit': ['close < ${level}']}");
+        
+        assertThat(strategy.getParameters())
+            .containsExactly(Map.entry("fast", 5.0), Map.entry("slow", 30.0), Map.entry("level", 70.5));
+        assertThat(strategy.getIndicatorKeys()).containsExactly("EMA_30", "SMA_5", "RSI_14");
+        assertThat(strategy.entry()).hasToString("(SMA_5 > trend AND RSI_14 < 70.5)");
+        assertThat(strategy.exit()).hasToString("(close < 70.5)");
+    }
+    
+    @Test
+    void bindRecompilesOnlyWhenADeclaredParameterChanges() {
+        CompiledStrategy strategy = compile("{'parameters': {'fast': 5}, 'entry': ['SMA_${fast} > close']}");
+        
+        assertThat(strategy.bind(Map.of("fast", 5.0, "commission", 0.01))).isSameAs(strategy);
+        CompiledStrategy rebound = strategy.bind(Map.of("fast", 8.0));
+        assertThat(rebound.getIndicatorKeys()).containsExactly("SMA_8");
+        assertThat(rebound.getParameters()).containsEntry("fast", 8.0);
+    }
+    
+    @Test
+    void resolvesNamedIndicatorsCaseInsensitivelyAndKeepsTheAlias() {
+        CompiledStrategy strategy = compile("{"
+            + "'indicators': [{'name': 'Bands', 'type': 'BB', 'params': [20, 2.5]}, {'alias': 'fast', 'indicator': 'sma', 'period': 10}],"
+            + "'entry': ['close < bands.lower', 'FAST > bands'], 'exit': ['close > BANDS.upper']}");
+        
+        assertThat(strategy.getIndicatorKeys()).containsExactly("BOLLINGER_20_2.5", "SMA_10");
+        assertThat(strategy.entry()).hasToString("(close < bands.lower AND FAST > bands)");
+        assertThat(strategy.exit()).hasToString("(close > BANDS.upper)");
+    }
+    
+    @Test
+    void readsADotBeforeADigitAsPartOfTheName() {
+        CompiledStrategy strategy = compile("{'entry': ['close > BB_20_2.5', 'close > bb_20_2.5.upper', 'MACD_12_26_9.signal < 0']}");
+        
+        assertThat(strategy.getIndicatorKeys()).containsExactly("BOLLINGER_20_2.5", "MACD_12_26_9");
+        assertThat(strategy.entry())
+            .hasToString("(close > BOLLINGER_20_2.5 AND close > BOLLINGER_20_2.5.upper AND MACD_12_26_9.signal < 0)");
+    }
+    
+    @Test
+    void acceptsIndicatorObjectsAsOperands() {
+        CompiledStrategy strategy = compile("{'entry': [{'left': {'type': 'SMA', 'period': 50}, 'operator': 'crosses_above',"
+            + " 'right': {'indicator': 'MACD', 'output': 'histogram'}}]}");
+        
+        assertThat(strategy.getIndicatorKeys()).containsExactly("SMA_50", "MACD_12_26_9");
+        assertThat(strategy.entry()).hasToString("(SMA_50 crosses above MACD_12_26_9.histogram)");
+    }
+    
+    @Test
+    void sharesOneSlotBetweenRulesAndAliasesOfTheSameOutput() {
+        CompiledStrategy strategy = compile("{'indicators': [{'id': 'mid', 'type': 'SMA', 'period': 20}],"
+            + "'entry': ['close > SMA_20', 'close > mid'], 'exit': ['sma_20 > close']}");
+        
+        assertThat(strategy.getIndicatorKeys()).containsExactly("SMA_20");
+        assertThat(strategy.slotIndicators()).hasSize(1);
+    }
+    
+    @Test
+    void nestsGroups() {
+        CompiledStrategy strategy = compile("{'entry': {'logic': 'OR', 'rules': ["
+            + "{'type': 'ALL', 'conditions': ['close > 10', 'close < 20']},"
+            + "{'combinator': 'any', 'rules': ['close > 100', 'volume > 1000']}]}}");
+        
+        assertThat(strategy.entry()).hasToString("((close > 10 AND close < 20) OR (close > 100 OR volume > 1000))");
+        assertThat(strategy.getEntryRuleCount()).isEqualTo(4);
+    }
+    
+    @Test
+    void configsWithoutRulesHaveNone() {
+        assertThat(StrategyCompiler.compile(null).hasRules()).isFalse();
+        assertThat(StrategyCompiler.compile("  ").hasRules()).isFalse();
+        assertThat(compile("{'parameters': {'x': 1}}").hasRules()).isFalse();
+    }
+    
+    @Test
+    void reportsUnknownParameters() {
+        assertThatThrownBy(() -> compile("{'entry': ['SMA_${fast} > close']}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Unknown strategy parameter: fast");
+        assertThatThrownBy(() -> compile("{'entry': [{'left': 'close', 'operator': '>', 'right': {'param': 'level'}}]}"))
+            .hasMessage("Unknown strategy parameter: level");
+        assertThatThrownBy(() -> compile("{'indicators': [{'type': 'SMA', 'period': '${slow}'}]}"))
+            .hasMessage("Unknown strategy parameter: slow");
+        assertThatThrownBy(() -> compile("{'parameters': {'fast': 'ten'}}"))
+            .hasMessage("Strategy parameter fast must be numeric");
+    }
+    
+    @Test
+    void reportsUnknownOperands() {
+        assertThatThrownBy(() -> compile("{'entry': ['FOO_3 > 1']}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Unknown rule operand: FOO_3");
+        assertThatThrownBy(() -> compile("{'entry': ['trend > close']}"))
+            .hasMessage("Unknown rule operand: trend");
+        assertThatThrownBy(() -> compile("{'entry': ['MACD_12_26_9.slow > 0']}"))
+            .hasMessage("MACD has no output named slow");
+        assertThatThrownBy(() -> compile("{'entry': [{'left': true, 'operator': '>', 'right': 1}]}"))
+            .hasMessage("Invalid rule operand: true");
+        assertThatThrownBy(() -> compile("{'indicators': [{'id': 'x', 'type': 'VWAP'}]}"))
+            .hasMessage("Unknown indicator type: VWAP");
+        assertThatThrownBy(() -> compile("{'indicators': [{'type': 'SMA', 'period': 'long'}]}"))
+            .hasMessage("Expected a number but got \"long\"");
+    }
+    
+    @Test
+    void reportsMalformedRules() {
+        assertThatThrownBy(() -> compile("{'entry': ['close is high']}"))
+            .hasMessage("Cannot parse rule: close is high");
+        assertThatThrownBy(() -> compile("{'entry': [{'left': 'close', 'operator': 'near', 'right': 1}]}"))
+            .hasMessage("Unsupported rule operator: near");
+        assertThatThrownBy(() -> compile("{'entry': {'logic': 'XOR', 'rules': []}}"))
+            .hasMessage("Unsupported rule logic: XOR");
+        assertThatThrownBy(() -> compile("{'entry': [{'left': 'close', 'operator': '>'}]}"))
+            .hasMessageStartingWith("Rule needs a left operand, an operator and a right operand");
+        assertThatThrownBy(() -> StrategyCompiler.compile("[1, 2]"))
+            .hasMessage("Strategy config must be a JSON object");
+        assertThatThrownBy(() -> StrategyCompiler.compile("{entry"))
+            .hasMessageStartingWith("Strategy config is not valid JSON");
+    }
+    
+    @Test
+    void enforcesIndicatorLimits() {
+        assertThatThrownBy(() -> compile("{'entry': ['SMA_20000 > close']}"))
+            .hasMessage("Indicator period must be at most 10000, got 20000");
+        assertThatThrownBy(() -> compile("{'entry': ['SMA_2.5 > close']}"))
+            .hasMessage("Indicator period must be a positive whole number, got 2.5");
+        assertThatThrownBy(() -> compile("{'entry': ['BB_20_50 > close']}"))
+            .hasMessageStartingWith("Bollinger band width must be above 0 and at most 10.0");
+    }
+    
+    static CompiledStrategy compile(String json) {
+        return StrategyCompiler.compile(json.replace('\'', '"'));
+    }
+}
@@ -0,0 +1,136 @@
+package com.quantcrux.engine.rules;
+
+import com.quantcrux.engine.backtest.BarSeries;
+import com.quantcrux.engine.backtest.SignalSource;
+import com.quantcrux.model.SignalType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.quantcrux.engine.rules.StrategyCompilerTest.compile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class StrategyEvaluatorTest {
+    
+    @Test
+    void crossesAboveAndBelowFireOnlyOnTheCrossingBar() {
+        CompiledStrategy strategy = compile("{'entry': ['close crosses above 100'], 'exit': ['close crosses below 100']}");
+        double[] closes = {98, 99, 101, 102, 100, 99, 100, 103};
+        
+        List<Integer> above = new ArrayList<>();
+        List<Integer> below = new ArrayList<>();
+        StrategyEvaluator evaluator = strategy.newEvaluator();
+        for (int i = 0; i < closes.length; i++) {
+            evaluator.update(closes[i], closes[i], closes[i], closes[i], 0);
+            if (evaluator.entryTriggered()) {
+                above.add(i);
+            }
+            if (evaluator.exitTriggered()) {
+                below.add(i);
+            }
+        }
+        
+        // Touching the level (100) then moving through it counts; the first bar has no previous
+        assertThat(above).containsExactly(2, 7);
+        assertThat(below).containsExactly(5);
+    }
+    
+    @Test
+    void indicatorCrossingMatchesNaiveMovingAverages() {
+        CompiledStrategy strategy = compile("{'entry': ['SMA_2 crosses above SMA_4'], 'exit': ['SMA_2 crosses below SMA_4']}");
+        double[] closes = {10, 9, 8, 7, 8, 10, 12, 11, 9, 7, 6, 8, 11};
+        
+        int crossings = 0;
+        StrategyEvaluator evaluator = strategy.newEvaluator();
+        for (int i = 0; i < closes.length; i++) {
+            evaluator.update(closes[i], closes[i], closes[i], closes[i], 0);
+            
+            boolean expectedAbove = false;
+            boolean expectedBelow = false;
+            if (i >= 4) {
+                double fastPrev = mean(closes, i - 2, 2);
+                double slowPrev = mean(closes, i - 4, 4);
+                double fast = mean(closes, i - 1, 2);
+                double slow = mean(closes, i - 3, 4);
+                expectedAbove = fastPrev <= slowPrev && fast > slow;
+                expectedBelow = fastPrev >= slowPrev && fast < slow;
+            }
+            assertThat(evaluator.entryTriggered()).as("crosses above at bar %d", i).isEqualTo(expectedAbove);
+            assertThat(evaluator.exitTriggered()).as("crosses below at bar %d", i).isEqualTo(expectedBelow);
+            crossings += (expectedAbove ? 1 : 0) + (expectedBelow ? 1 : 0);
+        }
+        assertThat(crossings).isGreaterThanOrEqualTo(2);
+    }
+    
+    @Test
+    void unreadyIndicatorsNeverMatch() {
+        CompiledStrategy strategy = compile("{'entry': ['SMA_3 > 0'], 'exit': ['SMA_3 < 1000000']}");
+        StrategyEvaluator evaluator = strategy.newEvaluator();
+        
+        evaluator.update(5, 5, 5, 5, 0);
+        evaluator.update(5, 5, 5, 5, 0);
+        assertThat(evaluator.isReady()).isFalse();
+        assertThat(evaluator.entryTriggered()).isFalse();
+        assertThat(evaluator.exitTriggered()).isFalse();
+        assertThat(evaluator.currentSignal()).isEqualTo(SignalType.NO_SIGNAL);
+        assertThat(evaluator.indicatorValues()).isEmpty();
+        
+        evaluator.update(5, 5, 5, 5, 0);
+        assertThat(evaluator.isReady()).isTrue();
+        assertThat(evaluator.currentSignal()).isEqualTo(SignalType.BUY);
+        assertThat(evaluator.indicatorValues()).containsEntry("SMA_3", 5.0);
+    }
+    
+    @Test
+    void reportsSignalMatchedRulesAndConfidence() {
+        CompiledStrategy strategy = compile("{'entry': {'logic': 'OR', 'rules': ['close > 100', 'volume > 50']},"
+            + "'exit': ['close < 90', 'volume < 10']}");
+        StrategyEvaluator evaluator = strategy.newEvaluator();
+        
+        evaluator.update(105, 105, 105, 105, 20);
+        assertThat(evaluator.currentSignal()).isEqualTo(SignalType.BUY);
+        assertThat(evaluator.matchedRules()).containsExactly("close > 100");
+        assertThat(evaluator.confidence()).isCloseTo(0.5, within(1e-12));
+        
+        evaluator.update(80, 80, 80, 80, 5);
+        assertThat(evaluator.currentSignal()).isEqualTo(SignalType.SELL);
+        assertThat(evaluator.matchedRules()).containsExactly("close < 90", "volume < 10");
+        assertThat(evaluator.confidence()).isCloseTo(1.0, within(1e-12));
+        
+        evaluator.update(95, 95, 95, 95, 5);
+        assertThat(evaluator.currentSignal()).isEqualTo(SignalType.HOLD);
+        assertThat(evaluator.matchedRules()).containsExactly("volume < 10");
+        assertThat(evaluator.confidence()).isCloseTo(0.75, within(1e-12));
+    }
+    
+    @Test
+    void signalSourceEntersAndExitsByPosition() {
+        CompiledStrategy strategy = compile("{'entry': ['close crosses above 100'], 'exit': ['close crosses below 100']}");
+        double[] closes = {98, 101, 102, 99, 103};
+        BarSeries.Builder builder = BarSeries.builder("TEST", "1d", closes.length);
+        for (int i = 0; i < closes.length; i++) {
+            builder.add(1_700_000_000L + i * 86_400L, closes[i], closes[i], closes[i], closes[i], 1);
+        }
+        BarSeries bars = builder.build();
+        
+        StrategyEvaluator evaluator = strategy.newEvaluator();
+        // Starting part-way through still feeds the skipped bars
+        assertThat(evaluator.evaluate(bars, 1, false)).isEqualTo(SignalSource.ENTER_LONG);
+        assertThat(evaluator.reason(SignalSource.ENTER_LONG)).isEqualTo("close crosses above 100");
+        assertThat(evaluator.evaluate(bars, 2, true)).isEqualTo(SignalSource.NONE);
+        assertThat(evaluator.evaluate(bars, 3, true)).isEqualTo(SignalSource.EXIT_LONG);
+        assertThat(evaluator.evaluate(bars, 4, true)).isEqualTo(SignalSource.NONE);
+        assertThatThrownBy(() -> evaluator.evaluate(bars, 2, false)).isInstanceOf(IllegalStateException.class);
+    }
+    
+    private static double mean(double[] values, int from, int count) {
+        double sum = 0.0;
+        for (int i = from; i < from + count; i++) {
+            sum += values[i];
+        }
+        return sum / count;
+    }
+}
@@ -0,0 +1,166 @@
+package com.quantcrux.repository;
+
+import com.quantcrux.model.Backtest;
+import com.quantcrux.model.BacktestTrade;
+import com.quantcrux.model.SignalType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the writer through a real JdbcTemplate over a stub driver that only counts
+ * batches and bound parameters. Throughput against PostgreSQL is measured separately by
+ * {@link BacktestTradeWriteBenchmark}.
+ */
+class BacktestTradeBatchWriterTest {
+    
+    private final List<Integer> batches = new ArrayList<>();
+    private int pendingRows;
+    private int boundParameters;
+    private Connection connection;
+    
+    private BacktestTradeBatchWriter writer;
+    
+    @BeforeEach
+    void createWriter() {
+        writer = new BacktestTradeBatchWriter();
+        ReflectionTestUtils.setField(writer, "jdbcTemplate", new JdbcTemplate(stubDataSource()));
+        ReflectionTestUtils.setField(writer, "batchSize", 1000);
+    }
+    
+    @Test
+    void splitsRowsIntoBatchesOfTheConfiguredSize() {
+        writer.insertAll(trades(2500));
+        
+        assertThat(batches).containsExactly(1000, 1000, 500);
+        assertThat(boundParameters).isEqualTo(2500 * 22);
+    }
+    
+    @Test
+    void assignsIdsAndCreationTime() {
+        List<BacktestTrade> trades = trades(3);
+        UUID existing = UUID.randomUUID();
+        trades.get(0).setId(existing);
+        
+        writer.insertAll(trades);
+        
+        assertThat(trades.get(0).getId()).isEqualTo(existing);
+        assertThat(trades).allSatisfy(trade -> {
+            assertThat(trade.getId()).isNotNull();
+            assertThat(trade.getCreatedAt()).isNotNull();
+        });
+    }
+    
+    @Test
+    void skipsEmptyLists() {
+        writer.insertAll(List.of());
+        
+        assertThat(batches).isEmpty();
+    }
+    
+    @Test
+    void bindsEveryColumnOfLargeInputs() {
+        writer.insertAll(trades(50_000));
+        
+        assertThat(batches).hasSize(50).containsOnly(1000);
+        assertThat(boundParameters).isEqualTo(50_000 * 22);
+    }
+    
+    private static List<BacktestTrade> trades(int count) {
+        Backtest backtest = new Backtest();
+        backtest.setId(UUID.randomUUID());
+        return trades(backtest, count);
+    }
+    
+    static List<BacktestTrade> trades(Backtest backtest, int count) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        
+        List<BacktestTrade> trades = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BacktestTrade trade = new BacktestTrade(backtest, i + 1, SignalType.BUY, start.plusHours(i),
+                BigDecimal.valueOf(100 + i % 50), BigDecimal.valueOf(1.5));
+            trade.setSymbol("BTCUSD");
+            trade.setEntryReason("Entry signal");
+            if (i % 2 == 0) {
+                trade.setExitTime(start.plusHours(i + 1));
+                trade.setExitPrice(BigDecimal.valueOf(101 + i % 50));
+                trade.setExitReason("Exit signal");
+                trade.setNetPnl(BigDecimal.ONE);
+                trade.setDurationMinutes(60);
+            }
+            trades.add(trade);
+        }
+        return trades;
+    }
+    
+    private DataSource stubDataSource() {
+        DatabaseMetaData metaData = stub(DatabaseMetaData.class, (method, args) ->
+            method.getName().equals("supportsBatchUpdates") ? Boolean.TRUE : null);
+        
+        PreparedStatement statement = stub(PreparedStatement.class, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                boundParameters++;
+            } else if (name.equals("addBatch")) {
+                pendingRows++;
+            } else if (name.equals("getConnection")) {
+                return connection;
+            } else if (name.equals("executeBatch")) {
+                batches.add(pendingRows);
+                int[] counts = new int[pendingRows];
+                Arrays.fill(counts, 1);
+                pendingRows = 0;
+                return counts;
+            }
+            return null;
+        });
+        
+        connection = stub(Connection.class, (method, args) -> switch (method.getName()) {
+            case "getMetaData" -> metaData;
+            case "prepareStatement" -> statement;
+            default -> null;
+        });
+        
+        return stub(DataSource.class, (method, args) ->
+            method.getName().equals("getConnection") ? connection : null);
+    }
+    
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+    
+    // Interface stub returning the handler's answer, or the zero value for primitive returns
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Object result = handler.invoke(method, args);
+            if (result != null || !method.getReturnType().isPrimitive()) {
+                return result;
+            }
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            return returnType == void.class ? null : 0;
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package com.quantcrux.repository;
+
+import com.quantcrux.model.Backtest;
+import com.quantcrux.model.BacktestTrade;
+import com.quantcrux.model.Strategy;
+import com.quantcrux.model.User;
+import com.quantcrux.model.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rows per second for persisting backtest trades, per-entity {@code tradeRepository.save}
+ * (the path the batch writer replaced) against {@link BacktestTradeBatchWriter}, on the
+ * same generated trades. Needs a PostgreSQL database, so it is opt-in and not part of the
+ * regular test run:
+ *
+ * <pre>
+ *   SPRING_DATASOURCE_URL=... SPRING_DATASOURCE_USERNAME=... SPRING_DATASOURCE_PASSWORD=... \
+ *     mvn test -Dtest=BacktestTradeWriteBenchmark
+ * </pre>
+ *
+ * Every write runs in a transaction that is rolled back, so the database is left as it was.
+ */
+@SpringBootTest(properties = {"strategy.live.enabled=false", "logging.level.com.quantcrux.repository=DEBUG"})
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+class BacktestTradeWriteBenchmark {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BacktestTradeWriteBenchmark.class);
+    
+    private static final int TRADES = 20_000;
+    private static final int ROUNDS = 3;
+    
+    @Autowired
+    private BacktestTradeRepository tradeRepository;
+    
+    @Autowired
+    private BacktestTradeBatchWriter tradeWriter;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void compareEntitySavesWithBatchInserts() {
+        // First round warms up the JIT, the connection pool and the statement cache
+        long entityRate = 0L;
+        long batchRate = 0L;
+        for (int round = 0; round <= ROUNDS; round++) {
+            long entity = measure(trades -> {
+                for (BacktestTrade trade : trades) {
+                    tradeRepository.save(trade);
+                }
+                entityManager.flush();
+            });
+            long batch = measure(trades -> tradeWriter.insertAll(trades));
+            if (round > 0) {
+                entityRate = Math.max(entityRate, entity);
+                batchRate = Math.max(batchRate, batch);
+            }
+        }
+        
+        logger.info("Backtest trade writes, best of {} rounds of {} rows: save() {} rows/s, batchUpdate {} rows/s ({}x)",
+            ROUNDS, TRADES, entityRate, batchRate, String.format("%.1f", (double) batchRate / Math.max(1L, entityRate)));
+        assertThat(entityRate).isPositive();
+        assertThat(batchRate).isPositive();
+    }
+    
+    /**
+     * Rows per second for one write of {@link #TRADES} trades, in a rolled-back transaction.
+     */
+    private long measure(Consumer<List<BacktestTrade>> write) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long rate = transaction.execute(status -> {
+            status.setRollbackOnly();
+            List<BacktestTrade> trades = BacktestTradeBatchWriterTest.trades(fixtureBacktest(), TRADES);
+            
+            long started = System.nanoTime();
+            write.accept(trades);
+            long elapsedNanos = Math.max(1L, System.nanoTime() - started);
+            
+            entityManager.clear();
+            return TRADES * 1_000_000_000L / elapsedNanos;
+        });
+        return rate != null ? rate : 0L;
+    }
+    
+    private Backtest fixtureBacktest() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User("bench-" + suffix, "bench-" + suffix + "@example.com", "x", "Bench", "User", UserRole.RESEARCHER);
+        entityManager.persist(user);
+        
+        Strategy strategy = new Strategy(user, "Benchmark", "BTCUSD", "{}");
+        entityManager.persist(strategy);
+        
+        Backtest backtest = new Backtest(strategy, user, "Benchmark", "BTCUSD", "1h",
+                                         LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        entityManager.persist(backtest);
+        entityManager.flush();
+        return backtest;
+    }
+}
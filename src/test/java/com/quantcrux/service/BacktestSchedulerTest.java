@@ -0,0 +1,128 @@
+package com.quantcrux.service;
+
+import com.quantcrux.model.Backtest;
+import com.quantcrux.model.BacktestPriority;
+import com.quantcrux.model.BacktestStatus;
+import com.quantcrux.model.User;
+import com.quantcrux.repository.BacktestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BacktestSchedulerTest {
+    
+    private final BacktestRepository backtestRepository = mock(BacktestRepository.class);
+    private final ThreadPoolTaskExecutor backtestExecutor = mock(ThreadPoolTaskExecutor.class);
+    
+    // The PENDING queue in creation order, and the ids claimed from it
+    private final List<Backtest> queue = new ArrayList<>();
+    private final List<UUID> claimed = new ArrayList<>();
+    
+    private BacktestScheduler scheduler;
+    
+    @BeforeEach
+    void createScheduler() {
+        scheduler = new BacktestScheduler();
+        ReflectionTestUtils.setField(scheduler, "backtestRepository", backtestRepository);
+        ReflectionTestUtils.setField(scheduler, "backtestExecutor", backtestExecutor);
+        ReflectionTestUtils.setField(scheduler, "maxPerUser", 2);
+        ReflectionTestUtils.setField(scheduler, "scanSize", 3);
+        when(backtestExecutor.getMaxPoolSize()).thenReturn(4);
+        
+        when(backtestRepository.findByStatusAndPriorityOrderByCreatedAtAsc(eq(BacktestStatus.PENDING), any(), any()))
+            .thenAnswer(call -> scan(call.getArgument(1), List.of(), call.getArgument(2)));
+        when(backtestRepository.findByStatusAndPriorityExcludingUsers(eq(BacktestStatus.PENDING), any(), anyCollection(), any()))
+            .thenAnswer(call -> scan(call.getArgument(1), call.getArgument(2), call.getArgument(3)));
+        when(backtestRepository.transitionStatus(any(), eq(BacktestStatus.PENDING), eq(BacktestStatus.RUNNING)))
+            .thenAnswer(call -> {
+                UUID id = call.getArgument(0);
+                boolean removed = queue.removeIf(backtest -> backtest.getId().equals(id));
+                if (removed) {
+                    claimed.add(id);
+                }
+                return removed ? 1 : 0;
+            });
+    }
+    
+    @Test
+    void userAtQuotaDoesNotHideOtherUsersBehindTheScanWindow() {
+        User hog = user();
+        User other = user();
+        List<Backtest> hogJobs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            hogJobs.add(enqueue(hog, BacktestPriority.NORMAL));
+        }
+        Backtest otherJob = enqueue(other, BacktestPriority.NORMAL);
+        
+        scheduler.dispatch();
+        
+        assertThat(claimed).containsExactly(hogJobs.get(0).getId(), hogJobs.get(1).getId(), otherJob.getId());
+    }
+    
+    @Test
+    void usersSaturatedBeforeTheScanAreExcludedFromTheQuery() {
+        User hog = user();
+        User other = user();
+        for (int i = 0; i < 10; i++) {
+            enqueue(hog, BacktestPriority.HIGH);
+        }
+        scheduler.dispatch();
+        assertThat(claimed).hasSize(2);
+        
+        Backtest otherJob = enqueue(other, BacktestPriority.HIGH);
+        scheduler.dispatch();
+        
+        assertThat(claimed).hasSize(3).endsWith(otherJob.getId());
+    }
+    
+    @Test
+    void stopsScanningOnceEveryQueuedUserIsAtQuota() {
+        User hog = user();
+        for (int i = 0; i < 10; i++) {
+            enqueue(hog, BacktestPriority.NORMAL);
+        }
+        
+        scheduler.dispatch();
+        
+        assertThat(claimed).hasSize(2);
+        assertThat(queue).hasSize(8);
+    }
+    
+    private List<Backtest> scan(BacktestPriority priority, Collection<UUID> excludedUsers, Pageable page) {
+        return queue.stream()
+            .filter(backtest -> backtest.getPriority() == priority)
+            .filter(backtest -> !excludedUsers.contains(backtest.getUser().getId()))
+            .limit(page.getPageSize())
+            .toList();
+    }
+    
+    private Backtest enqueue(User user, BacktestPriority priority) {
+        Backtest backtest = new Backtest();
+        backtest.setId(UUID.randomUUID());
+        backtest.setUser(user);
+        backtest.setStatus(BacktestStatus.PENDING);
+        backtest.setPriority(priority);
+        queue.add(backtest);
+        return backtest;
+    }
+    
+    private static User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+}
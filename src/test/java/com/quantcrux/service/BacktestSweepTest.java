@@ -0,0 +1,163 @@
+package com.quantcrux.service;
+
+import com.quantcrux.dto.BacktestSweepRequest;
+import com.quantcrux.dto.BacktestSweepResponse;
+import com.quantcrux.engine.backtest.BarSeries;
+import com.quantcrux.model.Strategy;
+import com.quantcrux.model.User;
+import com.quantcrux.model.UserRole;
+import com.quantcrux.repository.StrategyRepository;
+import com.quantcrux.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs {@link BacktestService#runSweep} over a small grid on generated bars, with the
+ * sweep pool at different parallelism.
+ */
+class BacktestSweepTest {
+    
+    private static final String CROSSOVER = "{\"parameters\": {\"fast\": 5, \"slow\": 20},"
+        + " \"entry\": [\"SMA_${fast} crosses above SMA_${slow}\"], \"exit\": [\"SMA_${fast} crosses below SMA_${slow}\"]}";
+    
+    private final StrategyRepository strategyRepository = mock(StrategyRepository.class);
+    private final BacktestDataLoader dataLoader = mock(BacktestDataLoader.class);
+    
+    private Strategy strategy;
+    private UserPrincipal principal;
+    
+    @BeforeEach
+    void createFixtures() {
+        User user = new User("researcher", "researcher@example.com", "x", "Re", "Searcher", UserRole.RESEARCHER);
+        user.setId(UUID.randomUUID());
+        principal = new UserPrincipal(user);
+        
+        strategy = new Strategy(user, "Crossover", "BTCUSD", CROSSOVER);
+        strategy.setId(UUID.randomUUID());
+        when(strategyRepository.findByIdAndUser(eq(strategy.getId()), any())).thenReturn(Optional.of(strategy));
+        when(dataLoader.loadBarSeries(anyString(), anyString(), any(), any())).thenReturn(randomWalk(800, 19));
+    }
+    
+    @Test
+    void returnsOneRankedResultPerCombination() {
+        BacktestSweepResponse response = sweep(1, null);
+        List<BacktestSweepResponse.SweepResult> results = response.getResults();
+        
+        // 3 fast x 2 slow x 2 position sizes
+        assertThat(response.getTotalCombinations()).isEqualTo(12);
+        assertThat(results).hasSize(12);
+        assertThat(results).extracting(BacktestSweepResponse.SweepResult::getRank)
+            .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12);
+        
+        Set<Map<String, BigDecimal>> combinations = new HashSet<>();
+        results.forEach(result -> combinations.add(result.getParameters()));
+        assertThat(combinations).hasSize(12);
+        assertThat(results.get(0).getTotalTrades()).isPositive();
+        
+        for (int k = 1; k < results.size(); k++) {
+            assertThat(results.get(k).getTotalReturn()).isLessThanOrEqualTo(results.get(k - 1).getTotalReturn());
+        }
+    }
+    
+    @Test
+    void breaksTiesInGridOrder() {
+        List<BacktestSweepResponse.SweepResult> results = sweep(4, null).getResults();
+        
+        // fast == slow never crosses, so those combinations tie at a zero return
+        List<String> flat = results.stream()
+            .filter(result -> result.getParameters().get("fast").compareTo(result.getParameters().get("slow")) == 0)
+            .map(result -> label(result.getParameters()))
+            .collect(Collectors.toList());
+        assertThat(flat).containsExactly("10/10/0.1", "10/10/0.2", "20/20/0.1", "20/20/0.2");
+        assertThat(results.stream().filter(result -> flat.contains(label(result.getParameters()))))
+            .allSatisfy(result -> assertThat(result.getTotalTrades()).isZero());
+    }
+    
+    @Test
+    void resultsDoNotDependOnPoolParallelism() {
+        BacktestSweepResponse sequential = sweep(1, null);
+        
+        for (int parallelism : new int[] {2, 4, 8}) {
+            assertThat(sweep(parallelism, null).getResults())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(sequential.getResults());
+        }
+    }
+    
+    @Test
+    void truncatesToTopN() {
+        List<BacktestSweepResponse.SweepResult> all = sweep(4, null).getResults();
+        List<BacktestSweepResponse.SweepResult> top = sweep(4, 3).getResults();
+        
+        assertThat(top).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(all.subList(0, 3));
+    }
+    
+    private BacktestSweepResponse sweep(int parallelism, Integer topN) {
+        BacktestService service = new BacktestService();
+        ReflectionTestUtils.setField(service, "strategyRepository", strategyRepository);
+        ReflectionTestUtils.setField(service, "dataLoader", dataLoader);
+        ReflectionTestUtils.setField(service, "strategyCache", new CompiledStrategyCache(10, 10));
+        ReflectionTestUtils.setField(service, "maxSweepCombinations", 1000);
+        ReflectionTestUtils.setField(service, "featureFrameMaxMb", 16L);
+        
+        BacktestSweepRequest request = new BacktestSweepRequest();
+        request.setStrategyId(strategy.getId());
+        request.setSymbol("BTCUSD");
+        request.setStartDate(LocalDate.of(2022, 1, 1));
+        request.setEndDate(LocalDate.of(2024, 3, 1));
+        request.getParameters().put("fast", values(5, 10, 20));
+        request.getParameters().put("slow", values(10, 20));
+        request.getParameters().put("positionSizePct", values(0.1, 0.2));
+        request.setTopN(topN);
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ReflectionTestUtils.setField(service, "sweepPool", pool);
+            return service.runSweep(request, principal);
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private static BacktestSweepRequest.ParameterRange values(double... values) {
+        BacktestSweepRequest.ParameterRange range = new BacktestSweepRequest.ParameterRange();
+        range.setValues(Arrays.stream(values).mapToObj(BigDecimal::valueOf).collect(Collectors.toList()));
+        return range;
+    }
+    
+    private static String label(Map<String, BigDecimal> parameters) {
+        return parameters.values().stream().map(value -> value.stripTrailingZeros().toPlainString()).collect(Collectors.joining("/"));
+    }
+    
+    private static BarSeries randomWalk(int n, long seed) {
+        Random random = new Random(seed);
+        BarSeries.Builder builder = BarSeries.builder("BTCUSD", "1d", n);
+        double price = 30000.0;
+        for (int i = 0; i < n; i++) {
+            price = Math.max(100.0, price * (1.0 + random.nextGaussian() * 0.03));
+            builder.add(1_640_995_200L + i * 86_400L, price, price * 1.01, price * 0.99, price, 1000.0);
+        }
+        return builder.build();
+    }
+}
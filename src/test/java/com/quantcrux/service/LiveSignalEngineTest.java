@@ -0,0 +1,108 @@
+package com.quantcrux.service;
+
+import com.quantcrux.model.Strategy;
+import com.quantcrux.model.StrategyStatus;
+import com.quantcrux.repository.MarketDataRepository;
+import com.quantcrux.repository.StrategyRepository;
+import com.quantcrux.repository.StrategySignalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LiveSignalEngineTest {
+    
+    private static final String FAST_CROSS = "{\"entry\": [\"SMA_5 crosses above SMA_20\"], \"exit\": [\"SMA_5 crosses below SMA_20\"]}";
+    private static final String RSI_BANDS = "{\"entry\": [\"RSI_14 < 30\"], \"exit\": [\"RSI_14 > 70\"]}";
+    
+    private final StrategyRepository strategyRepository = mock(StrategyRepository.class);
+    private final StrategySignalRepository signalRepository = mock(StrategySignalRepository.class);
+    private final MarketDataRepository marketDataRepository = mock(MarketDataRepository.class);
+    
+    // A single-entry cache, so compiling either config evicts the other
+    private final CompiledStrategyCache strategyCache = new CompiledStrategyCache(1, 1);
+    
+    private LiveSignalEngine engine;
+    
+    @BeforeEach
+    void createEngine() {
+        engine = new LiveSignalEngine();
+        ReflectionTestUtils.setField(engine, "strategyRepository", strategyRepository);
+        ReflectionTestUtils.setField(engine, "signalRepository", signalRepository);
+        ReflectionTestUtils.setField(engine, "marketDataRepository", marketDataRepository);
+        ReflectionTestUtils.setField(engine, "strategyCache", strategyCache);
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "historyBars", 50);
+        when(marketDataRepository.findRecentBySymbolsAndTimeframe(anyCollection(), anyString(), anyInt())).thenReturn(List.of());
+        when(signalRepository.findLatestSignalTypes(any())).thenReturn(List.of());
+    }
+    
+    @Test
+    void keepsSubscribersWhenTheirCompiledConfigIsEvicted() {
+        Strategy first = strategy("BTCUSD", FAST_CROSS);
+        Strategy second = strategy("BTCUSD", RSI_BANDS);
+        when(strategyRepository.findByStatus(StrategyStatus.ACTIVE)).thenReturn(List.of(first, second));
+        
+        engine.refreshStrategies();
+        strategyCache.evictConfig(FAST_CROSS);
+        strategyCache.evictConfig(RSI_BANDS);
+        engine.refreshStrategies();
+        engine.refreshStrategies();
+        
+        // Only the first refresh attaches, so only it looks up the last recorded signals
+        verify(signalRepository, times(1)).findLatestSignalTypes(any());
+        verify(marketDataRepository, times(1)).findRecentBySymbolsAndTimeframe(anyCollection(), anyString(), anyInt());
+        assertThat(engine.getStats().getStrategies()).isEqualTo(2);
+        assertThat(engine.getStats().getFeeds()).isEqualTo(1);
+    }
+    
+    @Test
+    void reattachesOnlyTheStrategyWhoseConfigChanged() {
+        Strategy first = strategy("BTCUSD", FAST_CROSS);
+        Strategy second = strategy("ETHUSD", FAST_CROSS);
+        when(strategyRepository.findByStatus(StrategyStatus.ACTIVE)).thenReturn(List.of(first, second));
+        engine.refreshStrategies();
+        
+        second.setConfigJson(RSI_BANDS);
+        engine.refreshStrategies();
+        
+        verify(signalRepository).findLatestSignalTypes(List.of(second.getId()));
+        assertThat(engine.getStats().getStrategies()).isEqualTo(2);
+    }
+    
+    @Test
+    void detachesStrategiesThatAreNoLongerActive() {
+        Strategy first = strategy("BTCUSD", FAST_CROSS);
+        Strategy second = strategy("ETHUSD", RSI_BANDS);
+        when(strategyRepository.findByStatus(StrategyStatus.ACTIVE)).thenReturn(List.of(first, second));
+        engine.refreshStrategies();
+        
+        when(strategyRepository.findByStatus(StrategyStatus.ACTIVE)).thenReturn(List.of(first));
+        engine.refreshStrategies();
+        
+        assertThat(engine.getStats().getStrategies()).isEqualTo(1);
+        assertThat(engine.getStats().getFeeds()).isEqualTo(1);
+    }
+    
+    private static Strategy strategy(String symbol, String configJson) {
+        Strategy strategy = new Strategy();
+        strategy.setId(UUID.randomUUID());
+        strategy.setSymbol(symbol);
+        strategy.setTimeframe("1h");
+        strategy.setConfigJson(configJson);
+        strategy.setStatus(StrategyStatus.ACTIVE);
+        return strategy;
+    }
+}
@@ -0,0 +1,83 @@
+package com.quantcrux.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonDiffTest {
+    
+    private final ObjectMapper mapper = new ObjectMapper();
+    
+    @Test
+    void identicalDocumentsProduceNoOperations() throws Exception {
+        JsonNode doc = json("{'entry': {'logic': 'AND', 'rules': [{'value': 30}]}}");
+        
+        assertThat(JsonDiff.diff(doc, doc.deepCopy())).isEmpty();
+    }
+    
+    @Test
+    void reportsOnlyTheChangedLeaf() throws Exception {
+        JsonNode before = json("{'entry': {'logic': 'AND', 'rules': [{'indicator': 'RSI_14', 'value': 30}]}}");
+        JsonNode after = json("{'entry': {'logic': 'AND', 'rules': [{'indicator': 'RSI_14', 'value': 25}]}}");
+        
+        ArrayNode operations = JsonDiff.diff(before, after);
+        
+        assertThat(operations).hasSize(1);
+        assertThat(operations.get(0)).isEqualTo(json("{'op': 'replace', 'path': '/entry/rules/0/value', 'value': 25, 'oldValue': 30}"));
+    }
+    
+    @Test
+    void reportsAddedAndRemovedFields() throws Exception {
+        JsonNode before = json("{'symbol': 'BTCUSD', 'stopLoss': 0.05}");
+        JsonNode after = json("{'symbol': 'BTCUSD', 'takeProfit': 0.1}");
+        
+        ArrayNode operations = JsonDiff.diff(before, after);
+        
+        assertThat(operations).containsExactly(
+            json("{'op': 'remove', 'path': '/stopLoss', 'oldValue': 0.05}"),
+            json("{'op': 'add', 'path': '/takeProfit', 'value': 0.1}"));
+    }
+    
+    @Test
+    void removesTrailingArrayElementsHighestIndexFirst() throws Exception {
+        JsonNode before = json("{'rules': [1, 2, 3, 4]}");
+        JsonNode after = json("{'rules': [1, 5]}");
+        
+        ArrayNode operations = JsonDiff.diff(before, after);
+        
+        assertThat(operations).containsExactly(
+            json("{'op': 'replace', 'path': '/rules/1', 'value': 5, 'oldValue': 2}"),
+            json("{'op': 'remove', 'path': '/rules/3', 'oldValue': 4}"),
+            json("{'op': 'remove', 'path': '/rules/2', 'oldValue': 3}"));
+    }
+    
+    @Test
+    void appendsNewArrayElements() throws Exception {
+        ArrayNode operations = JsonDiff.diff(json("[1]"), json("[1, {'a': true}]"));
+        
+        assertThat(operations).containsExactly(json("{'op': 'add', 'path': '/1', 'value': {'a': true}}"));
+    }
+    
+    @Test
+    void replacesNodesWhoseTypeChanges() throws Exception {
+        ArrayNode operations = JsonDiff.diff(json("{'params': [14]}"), json("{'params': {'period': 14}}"));
+        
+        assertThat(operations).containsExactly(
+            json("{'op': 'replace', 'path': '/params', 'value': {'period': 14}, 'oldValue': [14]}"));
+    }
+    
+    @Test
+    void escapesPointerCharactersInFieldNames() throws Exception {
+        ArrayNode operations = JsonDiff.diff(json("{'a/b': 1, 'c~d': 1}"), json("{'a/b': 2, 'c~d': 2}"));
+        
+        assertThat(operations.get(0).get("path").asText()).isEqualTo("/a~1b");
+        assertThat(operations.get(1).get("path").asText()).isEqualTo("/c~0d");
+    }
+    
+    private JsonNode json(String text) throws Exception {
+        return mapper.readTree(text.replace('\'', '"'));
+    }
+}